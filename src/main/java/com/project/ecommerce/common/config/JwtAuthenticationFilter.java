@@ -29,10 +29,9 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
             // 헤더에서 JWT 토큰 받아옴
             String token = resolveToken(request);
 
-            // 유효한 토큰인지 확인
-            if (token != null && jwtTokenProvider.validateToken(token)) {
-                // 토큰이 유효하면 토큰으로부터 유저 정보를 받아옴
-                Authentication authentication = jwtTokenProvider.getAuthentication(token);
+            if (token != null) {
+                // 토큰 검증과 유저 정보 추출을 한 번에 (최근에 검증한 토큰이면 다시 파싱하지 않음)
+                Authentication authentication = jwtTokenProvider.authenticate(token);
 
                 // SecurityContextHolder 에 authentication 객체를 저장
                 SecurityContextHolder.getContext().setAuthentication(authentication);
@@ -4,4 +4,9 @@ public class CartErrorMessages {
 
     public static final String QUANTITY_MUST_BE_AT_LEAST_ONE = "장바구니에 담는 수량은 1개 이상이어야 합니다.";
     public static final String QUANTITY_MUST_NOT_BE_ZERO = "수정할 상품 수량이 0이어서는 안됩니다.";
+    public static final String REQUIRED_OPERATIONS = "장바구니 변경 내용이 없습니다.";
+    public static final String TOO_MANY_OPERATIONS = "장바구니는 한 번에 100건까지 변경할 수 있습니다.";
+    public static final String REQUIRED_OPERATION_TYPE = "장바구니 변경 종류를 선택하세요";
+    public static final String INVALID_OPERATION = "장바구니 변경 내용이 올바르지 않습니다.";
+    public static final String CONCURRENT_MODIFICATION = "장바구니가 다른 요청으로 바뀌었습니다. 다시 시도해 주세요.";
 }
\ No newline at end of file
@@ -4,5 +4,7 @@ public class CategoryErrorMessages {
     public static final String NOT_FOUND_CATEGORY = "해당 카테고리를 찾을 수 없습니다.";
     public static final String ALREADY_EXIST = "이미 존재하는 카테고리입니다.";
     public static final String CANNOT_ASSIGN_MYSELF = "자기 자신을 카테고리로 지정할 수 없습니다.";
+    public static final String CANNOT_ASSIGN_SUB_CATEGORY = "하위 카테고리를 상위 카테고리로 지정할 수 없습니다.";
     public static final String CANNOT_DELETE_BY_SUB_CATEGORY = "하위 카테고리가 존재하므로 삭제할 수 없습니다.";
+    public static final String LOAD_TIMEOUT = "요청이 많아 카테고리 정보를 불러오지 못했습니다. 잠시 후 다시 시도해주세요.";
 }
\ No newline at end of file
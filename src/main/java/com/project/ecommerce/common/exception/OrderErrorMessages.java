@@ -0,0 +1,9 @@
+package com.project.ecommerce.common.exception;
+
+public class OrderErrorMessages {
+    public static final String EMPTY_CART = "장바구니가 비어있어 주문할 수 없습니다.";
+    public static final String NOT_FOUND_ADDRESS = "배송지를 찾을 수 없습니다.";
+    public static final String NOT_ORDERABLE_PRODUCT = "판매중이 아닌 상품이 포함되어 있습니다.";
+    public static final String REQUIRED_ADDRESS_ID = "배송지를 선택하세요";
+    public static final String REQUIRED_PAYMENT_METHOD = "결제 수단을 선택하세요";
+}
@@ -0,0 +1,13 @@
+package com.project.ecommerce.common.exception;
+
+import org.springframework.http.HttpStatus;
+
+public class OrderException extends RuntimeException {
+
+    private final HttpStatus status;
+
+    public OrderException(String message, HttpStatus status) {
+        super(message);
+        this.status = status;
+    }
+}
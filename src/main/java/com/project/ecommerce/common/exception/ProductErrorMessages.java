@@ -8,4 +8,12 @@ public class ProductErrorMessages {
     public static final String STOCK_MUST_MORE_THAN_ZERO = "재고 수량은 0 이상이어야 합니다.";
     public static final String CANNOT_UPDATE_PRODUCT_WITH_SAME_STOCK = "기존 재고 수량과 같습니다.";
     public static final String REQUIRED_PRODUCT_ID = "상품을 선택하세요";
+    public static final String TOO_MANY_PRODUCT_IDS = "한 번에 조회할 수 있는 상품은 100개까지입니다.";
+    public static final String INVALID_CURSOR = "잘못된 페이지 커서입니다.";
+    public static final String INVALID_RESERVATION_QUANTITY = "예약 수량은 1개 이상이어야 합니다.";
+    public static final String NOT_ENOUGH_STOCK = "재고가 부족합니다.";
+    public static final String NOT_ORDERABLE_PRODUCT = "판매중이 아닌 상품입니다.";
+    public static final String NOT_FOUND_STOCK_RESERVATION = "해당 재고 예약을 찾을 수 없습니다.";
+    public static final String STOCK_RESERVATION_NOT_ACTIVE = "이미 확정되었거나 만료된 재고 예약입니다.";
+    public static final String LOAD_TIMEOUT = "요청이 많아 상품 정보를 불러오지 못했습니다. 잠시 후 다시 시도해주세요.";
 }
\ No newline at end of file
@@ -0,0 +1,269 @@
+package com.project.ecommerce.common.journal;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.stream.Stream;
+
+/**
+ * 아직 DB 에 반영하지 않은 변경을 한 줄씩 세그먼트 파일 끝에 덧붙여 두는 저널
+ * DB 반영 주기마다 새 세그먼트로 넘기고(roll), 반영이 끝난 세그먼트는 지운다.
+ * 덧붙인 내용은 OS 페이지 캐시에 바로 들어가므로 프로세스가 죽어도 남고, 세그먼트를 닫을 때 fsync 해서 디스크에 확정한다.
+ *
+ * 덧붙이기는 group commit 으로 한다. 줄을 락 없는 큐에 넣은 뒤 쓰기 락을 잡은 스레드 하나가 그때까지 쌓인 줄을 write 한 번으로 쓰고,
+ * 락을 못 잡은 스레드는 자기 줄이 써질 때까지 기다린다. 요청이 몰려도 줄마다 락을 잡고 write 를 부르지 않는다.
+ */
+public class SegmentedJournal {
+
+    private static final String SEGMENT_PREFIX = "segment-";
+    private static final String SEGMENT_SUFFIX = ".log";
+
+    // 다른 스레드가 내 줄까지 써 주길 락 없이 기다리는 횟수
+    private static final int SPIN_LIMIT = 64;
+
+    private final Path directory;
+
+    // 파일에 쓰기를 기다리는 줄 (여러 스레드가 넣고, 쓰기 락을 잡은 스레드가 꺼낸다)
+    private final Queue<Entry> pending = new ConcurrentLinkedQueue<>();
+    private final ReentrantLock writeLock = new ReentrantLock();
+
+    private volatile Segment current;
+
+    public SegmentedJournal(Path directory) {
+        this.directory = directory;
+    }
+
+    public void open() {
+        open(0L);
+    }
+
+    /**
+     * 디렉터리에 남아있는 세그먼트와 lastUsedSequence 중 큰 번호의 다음 번호로 새 세그먼트를 연다.
+     * 반영이 끝난 세그먼트 파일은 지워지므로, 몇 번까지 반영했는지 따로 기록하는 저널은 그 번호를 넘겨서 번호가 다시 1부터 시작하지 않게 한다.
+     */
+    public synchronized void open(long lastUsedSequence) {
+        try {
+            Files.createDirectories(directory);
+            long next = Math.max(segments().stream().mapToLong(Long::longValue).max().orElse(0L), lastUsedSequence) + 1;
+            current = new Segment(next, path(next));
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    /**
+     * 한 줄을 덧붙인다. 줄 안에 개행 문자는 없어야 한다.
+     */
+    protected void appendLine(String line) {
+        Entry entry = new Entry((line + "\n").getBytes(StandardCharsets.US_ASCII));
+        pending.add(entry);
+
+        // 쓰기 락을 잡으면 내 줄과 그때까지 쌓인 줄을 한꺼번에 쓰고, 못 잡으면 락을 잡은 스레드가 내 줄까지 써 주길 기다린다
+        // 한참 기다려도 안 써졌으면(코어가 부족해서 쓰는 스레드가 밀려난 경우 등) 락을 기다려서 직접 쓴다
+        for (int spins = 0; !entry.done; spins++) {
+            boolean locked = spins < SPIN_LIMIT ? writeLock.tryLock() : lock();
+            if (!locked) {
+                Thread.onSpinWait();
+                continue;
+            }
+
+            try {
+                if (!entry.done) {
+                    drain();
+                }
+            } finally {
+                writeLock.unlock();
+            }
+        }
+
+        if (entry.failure != null) {
+            throw new UncheckedIOException(entry.failure);
+        }
+    }
+
+    /**
+     * 쌓인 줄을 지금 세그먼트에 모두 쓰고 닫은 뒤(fsync) 새 세그먼트로 넘어간다. 닫힌 세그먼트에는 더 이상 쓰지 않는다.
+     * 지금 세그먼트가 비어 있으면 넘기지 않는다. fsync 는 쓰기 락을 놓은 뒤에 해서 그동안의 덧붙이기를 막지 않는다.
+     */
+    public synchronized void roll() {
+        Segment old;
+        writeLock.lock();
+        try {
+            drain();
+            old = current;
+            if (old.empty) {
+                return;
+            }
+
+            current = new Segment(old.sequence + 1, path(old.sequence + 1));
+        } finally {
+            writeLock.unlock();
+        }
+
+        old.seal();
+    }
+
+    /**
+     * 쌓인 줄을 모두 쓰고 지금 세그먼트를 닫는다. 세그먼트가 비어 있으면 파일도 지운다. (종료할 때 호출)
+     */
+    public synchronized void close() {
+        writeLock.lock();
+        try {
+            drain();
+            current.seal();
+            if (current.empty) {
+                delete(current.sequence);
+            }
+        } finally {
+            writeLock.unlock();
+        }
+    }
+
+    /**
+     * 닫혀서 DB 반영을 기다리는 세그먼트 번호 목록 (오래된 순)
+     */
+    public List<Long> sealedSegments() {
+        long currentSequence = current.sequence;
+
+        return segments().stream()
+                .filter(sequence -> sequence < currentSequence)
+                .sorted()
+                .toList();
+    }
+
+    /**
+     * 세그먼트의 줄을 쓴 순서대로 돌려준다. 쓰다가 끊긴 마지막 줄은 무시한다.
+     */
+    protected List<String> readLines(long sequence) {
+        try {
+            String content = Files.readString(path(sequence), StandardCharsets.US_ASCII);
+            int end = content.lastIndexOf('\n');
+            if (end < 0) {
+                return List.of();
+            }
+
+            return List.of(content.substring(0, end).split("\n"));
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    public void delete(long sequence) {
+        try {
+            Files.deleteIfExists(path(sequence));
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private List<Long> segments() {
+        try (Stream<Path> files = Files.list(directory)) {
+            return files.map(file -> file.getFileName().toString())
+                    .filter(name -> name.startsWith(SEGMENT_PREFIX) && name.endsWith(SEGMENT_SUFFIX))
+                    .map(name -> Long.parseLong(name.substring(SEGMENT_PREFIX.length(), name.length() - SEGMENT_SUFFIX.length())))
+                    .toList();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private Path path(long sequence) {
+        return directory.resolve(SEGMENT_PREFIX + sequence + SEGMENT_SUFFIX);
+    }
+
+    private boolean lock() {
+        writeLock.lock();
+        return true;
+    }
+
+    /**
+     * 큐에 쌓인 줄을 버퍼 하나로 모아서 지금 세그먼트에 쓴다. (쓰기 락 안에서 호출)
+     */
+    private void drain() {
+        List<Entry> batch = new ArrayList<>();
+        int size = 0;
+        Entry entry;
+        while ((entry = pending.poll()) != null) {
+            batch.add(entry);
+            size += entry.bytes.length;
+        }
+
+        if (batch.isEmpty()) {
+            return;
+        }
+
+        ByteBuffer buffer = ByteBuffer.allocate(size);
+        batch.forEach(written -> buffer.put(written.bytes));
+        buffer.flip();
+
+        IOException failure = null;
+        try {
+            current.write(buffer);
+        } catch (IOException e) {
+            failure = e;
+        }
+
+        for (Entry written : batch) {
+            written.failure = failure;
+            written.done = true;
+        }
+    }
+
+    private static class Entry {
+
+        private final byte[] bytes;
+        private IOException failure;
+
+        // failure 를 먼저 쓰고 done 을 쓰므로, done 을 본 스레드는 failure 도 본다
+        private volatile boolean done;
+
+        Entry(byte[] bytes) {
+            this.bytes = bytes;
+        }
+    }
+
+    /**
+     * 쓰기는 쓰기 락 안에서만 하고, 닫는 건 roll 에서 current 를 바꾼 뒤라서 따로 동기화하지 않는다.
+     */
+    private static class Segment {
+
+        private final long sequence;
+        private final FileChannel channel;
+        private boolean empty = true;
+
+        Segment(long sequence, Path path) {
+            this.sequence = sequence;
+            try {
+                this.channel = FileChannel.open(path, StandardOpenOption.CREATE, StandardOpenOption.WRITE, StandardOpenOption.APPEND);
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        }
+
+        void write(ByteBuffer buffer) throws IOException {
+            while (buffer.hasRemaining()) {
+                channel.write(buffer);
+            }
+            empty = false;
+        }
+
+        void seal() {
+            try {
+                channel.force(false);
+                channel.close();
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        }
+    }
+}
@@ -0,0 +1,32 @@
+package com.project.ecommerce.common.utils;
+
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+/**
+ * 메모리에 들고 있는 상태(색인, 인메모리 장바구니 등)를 트랜잭션이 커밋된 뒤에만 바꾸기 위한 도우미
+ * BEFORE_COMMIT 에서 바로 바꾸면 그 뒤의 flush(낙관적 락 충돌, 제약 위반)로 롤백돼도 메모리에는 새 값이 남는다.
+ * 엔티티에서 필요한 값은 호출하기 전에 읽어두고, 넘기는 작업에서는 엔티티를 건드리지 않아야 한다.
+ */
+public final class AfterCommit {
+
+    private AfterCommit() {
+    }
+
+    /**
+     * 진행 중인 트랜잭션이 커밋되면 실행한다. 트랜잭션 밖이면 바로 실행한다.
+     */
+    public static void run(Runnable action) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            action.run();
+            return;
+        }
+
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                action.run();
+            }
+        });
+    }
+}
@@ -1,7 +1,12 @@
 package com.project.ecommerce.common.utils;
 
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
 import com.project.ecommerce.common.exception.JwtErrorMessages;
 import com.project.ecommerce.common.exception.JwtException;
+import com.project.ecommerce.domain.user.entity.Role;
+import com.project.ecommerce.domain.user.entity.User;
 import io.jsonwebtoken.*;
 import io.jsonwebtoken.security.Keys;
 import jakarta.annotation.PostConstruct;
@@ -10,29 +15,48 @@ import org.springframework.security.authentication.UsernamePasswordAuthenticatio
 import org.springframework.security.core.Authentication;
 import org.springframework.security.core.GrantedAuthority;
 import org.springframework.security.core.authority.SimpleGrantedAuthority;
-import org.springframework.security.core.userdetails.User;
-import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.stereotype.Component;
 
+import java.nio.charset.StandardCharsets;
 import java.security.Key;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
 import java.time.Instant;
-import java.util.Base64;
-import java.util.Collection;
-import java.util.Date;
-import java.util.List;
+import java.util.*;
 import java.util.stream.Collectors;
 
 @Component
 public class JwtTokenProvider {
 
+    private static final String AUTHORITIES_KEY = "auth";
+    private static final String USER_ID_KEY = "uid";
+    private static final String ROLE_KEY = "role";
+
     @Value("${jwt.secret}")
     private String secretKey;
 
     @Value("${jwt.token-validity-in-seconds:1800}")
     private long tokenValidInSeconds;
 
+    @Value("${jwt.cache.maximum-size:10000}")
+    private long cacheMaximumSize = 10_000;
+
     private Key key;
 
+    // 서명 키가 고정이므로 파서는 한 번만 만들어서 재사용한다 (스레드 안전)
+    private JwtParser parser;
+
+    // 최근에 검증한 토큰 (토큰의 SHA-256 -> 검증 결과). 토큰의 만료 시각이 지나면 캐시에서도 사라진다
+    private Cache<String, VerifiedToken> verifiedTokens;
+
+    private static final ThreadLocal<MessageDigest> SHA_256 = ThreadLocal.withInitial(() -> {
+        try {
+            return MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    });
+
     @PostConstruct
     public void init() {
         if (secretKey == null || secretKey.isBlank()) {
@@ -48,6 +72,30 @@ public class JwtTokenProvider {
 
         // JWT 서명(Signature) 키를 안전하게 생성하는 메서드
         this.key = Keys.hmacShaKeyFor(decodedKey);
+
+        this.parser = Jwts.parserBuilder()
+                .setSigningKey(key)
+                .build();
+
+        this.verifiedTokens = Caffeine.newBuilder()
+                .maximumSize(cacheMaximumSize)
+                .expireAfter(new Expiry<String, VerifiedToken>() {
+                    @Override
+                    public long expireAfterCreate(String tokenHash, VerifiedToken verifiedToken, long currentTime) {
+                        return Math.max(0, verifiedToken.expiresAt() - System.currentTimeMillis()) * 1_000_000;
+                    }
+
+                    @Override
+                    public long expireAfterUpdate(String tokenHash, VerifiedToken verifiedToken, long currentTime, long currentDuration) {
+                        return currentDuration;
+                    }
+
+                    @Override
+                    public long expireAfterRead(String tokenHash, VerifiedToken verifiedToken, long currentTime, long currentDuration) {
+                        return currentDuration;
+                    }
+                })
+                .build();
     }
 
     // JWT 토큰 생성
@@ -64,14 +112,41 @@ public class JwtTokenProvider {
         Date validity = Date.from(Instant.now().plusSeconds(tokenValidInSeconds));
 
         // JWT 토큰 생성
-        return Jwts.builder()
+        JwtBuilder builder = Jwts.builder()
                 .setSubject(authentication.getName()) // 사용자 정보 설정
-                .claim("auth", authorities) // 사용자 권한을 "auth" 클레임에 추가
+                .claim(AUTHORITIES_KEY, authorities); // 사용자 권한을 "auth" 클레임에 추가
+
+        // 로그인한 사용자의 id, 역할도 넣어두면 요청마다 DB 에서 사용자를 다시 찾지 않아도 된다
+        if (authentication.getPrincipal() instanceof User user) {
+            builder.claim(USER_ID_KEY, user.getId())
+                    .claim(ROLE_KEY, user.getRole().name());
+        }
+
+        return builder
                 .signWith(key, SignatureAlgorithm.HS512) // 서명 (HMAC SHA-512 알고리즘)
                 .setExpiration(validity) // 만료 시간 설정
                 .compact(); // JWT 문자열로 변환
     }
 
+    /**
+     * 토큰 검증과 Authentication 생성을 한 번의 파싱으로 처리한다. (요청마다 필터에서 호출)
+     * 최근에 검증한 토큰이면 서명 검증/파싱 없이 캐시된 결과로 만든다. 캐시에는 원본 토큰 대신 해시만 둔다.
+     * @param token
+     * @return Authentication
+     */
+    public Authentication authenticate(String token) {
+        String tokenHash = hash(token);
+
+        VerifiedToken verifiedToken = verifiedTokens.getIfPresent(tokenHash);
+        if (verifiedToken == null || verifiedToken.expiresAt() <= System.currentTimeMillis()) {
+            verifiedToken = verify(token);
+            verifiedTokens.put(tokenHash, verifiedToken);
+        }
+
+        // Authentication 은 변경 가능한 객체라서 요청마다 새로 만든다
+        return new UsernamePasswordAuthenticationToken(verifiedToken.principal(), token, verifiedToken.authorities());
+    }
+
     /**
      * 토큰에서 Authentication 객체 추출
      * JWT에서 유저 정보 + 권한 정보를 가져와서 UsernamePasswordAuthenticationToken 생성
@@ -81,24 +156,15 @@ public class JwtTokenProvider {
     public Authentication getAuthentication(String token) {
         try {
             // 1. JWT 파싱 (서명 검증 + 클레임 추출)
-            Claims claims = Jwts.parserBuilder()
-                    .setSigningKey(key) // 서명을 검증할 key 설정
-                    .build()
+            Claims claims = parser
                     .parseClaimsJws(token) // JWT 토큰 파싱 + 검증 포함
                     .getBody(); // 클레임 추출
 
-            // 2. "auth" 클레임에서 권한 정보를 가져와서 GrantedAuthority 리스트로 변환
-            List<String> roles = claims.get("auth", List.class);
-            Collection<? extends GrantedAuthority> authorities = roles.stream()
-                    .map(SimpleGrantedAuthority::new)
-                    .toList();
+            // 2. 클레임에서 id, 권한 정보를 꺼내 UserPrincipal 생성 (비밀번호 없이 UserDetails 역할 수행)
+            UserPrincipal principal = toPrincipal(claims);
 
-            // 3. User 객체 생성 (비밀번호 없이 UserDetails 역할 수행)
-            // todo: 비밀번호 없이 principal 객체 개선하는 거 수정 (User 대신 CustomUserDetails 활용)
-            UserDetails principal = new User(claims.getSubject(), "", authorities);
-
-            // 4. Spring Security 의 Authentication 객체 반환
-            return new UsernamePasswordAuthenticationToken(principal, token, authorities);
+            // 3. Spring Security 의 Authentication 객체 반환
+            return new UsernamePasswordAuthenticationToken(principal, token, principal.getAuthorities());
         } catch (ExpiredJwtException e) {
             throw new JwtException(JwtErrorMessages.EXPIRED_TOKEN);
         } catch (MalformedJwtException | IllegalArgumentException e) {
@@ -112,10 +178,7 @@ public class JwtTokenProvider {
      */
     public boolean validateToken(String token) {
         try {
-            Jwts.parserBuilder()
-                    .setSigningKey(key) // 서명을 검증할 key 설정
-                    .build()
-                    .parseClaimsJws(token);
+            parser.parseClaimsJws(token);
             return true;
         } catch (SecurityException | MalformedJwtException e) {
             throw new JwtException(JwtErrorMessages.INVALID_TOKEN);
@@ -130,11 +193,61 @@ public class JwtTokenProvider {
 
     // 토큰에서 username 추출
     public String getUsernameFromToken(String token) {
-        return Jwts.parserBuilder()
-                .setSigningKey(key)
-                .build()
+        return parser
                 .parseClaimsJws(token)
                 .getBody()
                 .getSubject();
     }
-}
\ No newline at end of file
+
+    /**
+     * 서명 검증 + 클레임 추출을 한 번에 한다. 실패 사유는 validateToken 과 같은 메시지로 알려준다.
+     */
+    private VerifiedToken verify(String token) {
+        try {
+            Claims claims = parser.parseClaimsJws(token).getBody();
+            UserPrincipal principal = toPrincipal(claims);
+
+            return new VerifiedToken(principal, principal.getAuthorities(), claims.getExpiration().getTime());
+        } catch (SecurityException | MalformedJwtException e) {
+            throw new JwtException(JwtErrorMessages.INVALID_TOKEN);
+        } catch (ExpiredJwtException e) {
+            throw new JwtException(JwtErrorMessages.EXPIRED_TOKEN);
+        } catch (UnsupportedJwtException e) {
+            throw new JwtException(JwtErrorMessages.UNSUPPORTED_TOKEN);
+        } catch (IllegalArgumentException e) {
+            throw new JwtException(JwtErrorMessages.WRONG_TOKEN);
+        } catch (io.jsonwebtoken.JwtException e) {
+            // 서명 불일치(SignatureException) 등 나머지 검증 실패
+            throw new JwtException(JwtErrorMessages.INVALID_TOKEN);
+        }
+    }
+
+    private UserPrincipal toPrincipal(Claims claims) {
+        List<String> roles = claims.get(AUTHORITIES_KEY, List.class);
+        List<GrantedAuthority> authorities = roles.stream()
+                .map(role -> (GrantedAuthority) new SimpleGrantedAuthority(role))
+                .toList();
+
+        // 서비스는 principal 의 id 로 사용자를 찾으므로, 서명이 맞아도 uid 클레임이 없는 토큰은 받지 않는다
+        Number userId = claims.get(USER_ID_KEY, Number.class);
+        if (userId == null) {
+            throw new JwtException(JwtErrorMessages.INVALID_TOKEN);
+        }
+        String role = claims.get(ROLE_KEY, String.class);
+
+        return new UserPrincipal(
+                userId.longValue(),
+                claims.getSubject(),
+                role == null ? null : Role.valueOf(role),
+                authorities
+        );
+    }
+
+    private String hash(String token) {
+        byte[] digest = SHA_256.get().digest(token.getBytes(StandardCharsets.US_ASCII));
+        return HexFormat.of().formatHex(digest);
+    }
+
+    private record VerifiedToken(UserPrincipal principal, List<GrantedAuthority> authorities, long expiresAt) {
+    }
+}
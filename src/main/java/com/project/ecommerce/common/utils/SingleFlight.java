@@ -0,0 +1,77 @@
+package com.project.ecommerce.common.utils;
+
+import java.time.Duration;
+import java.util.concurrent.*;
+import java.util.function.Supplier;
+
+/**
+ * 같은 키를 동시에 읽으려는 요청을 하나로 합친다.
+ * 처음 들어온 요청(leader)만 실제로 읽고, 그 사이에 들어온 요청은 leader 의 결과를 timeout 까지 기다려서 같이 쓴다.
+ * leader 가 예외로 끝나면 기다리던 요청도 같은 예외를 받는다. (DB 장애 때 기다리던 요청이 하나씩 다시 읽으러 가지 않도록)
+ * 결과를 저장하지는 않으므로, 읽기가 끝나면 다음 요청은 다시 읽는다.
+ */
+public class SingleFlight<K, V> {
+
+    private final ConcurrentMap<K, CompletableFuture<V>> inFlight = new ConcurrentHashMap<>();
+    private final Duration timeout;
+    private final Supplier<? extends RuntimeException> timeoutException;
+
+    public SingleFlight(Duration timeout, Supplier<? extends RuntimeException> timeoutException) {
+        this.timeout = timeout;
+        this.timeoutException = timeoutException;
+    }
+
+    public V execute(K key, Supplier<V> loader) {
+        CompletableFuture<V> created = new CompletableFuture<>();
+        CompletableFuture<V> existing = inFlight.putIfAbsent(key, created);
+        if (existing != null) {
+            return await(existing, timeout, timeoutException);
+        }
+
+        try {
+            return lead(created, loader);
+        } finally {
+            inFlight.remove(key, created);
+        }
+    }
+
+    public int inFlightCount() {
+        return inFlight.size();
+    }
+
+    /**
+     * leader 로서 직접 읽고, 결과나 예외를 기다리던 요청들에게 넘긴다.
+     */
+    public static <V> V lead(CompletableFuture<V> promise, Supplier<V> loader) {
+        try {
+            V value = loader.get();
+            promise.complete(value);
+            return value;
+        } catch (RuntimeException | Error e) {
+            promise.completeExceptionally(e);
+            throw e;
+        }
+    }
+
+    /**
+     * 다른 요청이 읽고 있는 결과를 timeout 까지 기다린다. leader 가 던진 예외는 감싸지 않고 그대로 다시 던진다.
+     */
+    public static <V> V await(CompletableFuture<V> future, Duration timeout, Supplier<? extends RuntimeException> timeoutException) {
+        try {
+            return future.get(timeout.toMillis(), TimeUnit.MILLISECONDS);
+        } catch (TimeoutException e) {
+            throw timeoutException.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw timeoutException.get();
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            if (e.getCause() instanceof Error cause) {
+                throw cause;
+            }
+            throw new IllegalStateException(e.getCause());
+        }
+    }
+}
@@ -0,0 +1,47 @@
+package com.project.ecommerce.common.utils;
+
+import com.project.ecommerce.domain.user.entity.Role;
+import lombok.Getter;
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.core.userdetails.UserDetails;
+
+import java.util.List;
+
+/**
+ * JWT 클레임만으로 만드는 인증 사용자 정보
+ * 요청마다 DB 에서 User 를 다시 읽지 않도록 id, 이메일, 권한만 들고 다닌다. (비밀번호는 갖지 않는다)
+ */
+@Getter
+public class UserPrincipal implements UserDetails {
+
+    private final Long id;
+    private final String email;
+    private final Role role;
+    private final List<GrantedAuthority> authorities;
+
+    public UserPrincipal(Long id, String email, Role role, List<GrantedAuthority> authorities) {
+        this.id = id;
+        this.email = email;
+        this.role = role;
+        this.authorities = List.copyOf(authorities);
+    }
+
+    public boolean isSeller() {
+        return this.role == Role.SELLER;
+    }
+
+    @Override
+    public List<GrantedAuthority> getAuthorities() {
+        return authorities;
+    }
+
+    @Override
+    public String getPassword() {
+        return "";
+    }
+
+    @Override
+    public String getUsername() {
+        return email;
+    }
+}
@@ -1,14 +1,15 @@
 package com.project.ecommerce.domain.cart;
 
+import com.project.ecommerce.common.utils.UserPrincipal;
 import com.project.ecommerce.domain.cart.dto.CartDto;
 import com.project.ecommerce.domain.cart.service.CartService;
-import com.project.ecommerce.domain.user.entity.User;
+import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.core.annotation.AuthenticationPrincipal;
-import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.web.bind.annotation.*;
 
+import java.util.List;
 import java.util.Map;
 
 import static com.project.ecommerce.common.utils.ResponseUtil.createSuccessResponse;
@@ -21,8 +22,8 @@ public class CartController {
     private final CartService cartService;
 
     @GetMapping
-    public ResponseEntity<Map<String, Object>> getCart(@AuthenticationPrincipal UserDetails userDetails) {
-        Long userId = ((User) userDetails).getId();
+    public ResponseEntity<Map<String, Object>> getCart(@AuthenticationPrincipal UserPrincipal principal) {
+        Long userId = principal.getId();
         CartDto.CartResponse response = cartService.getCart(userId);
 
         return ResponseEntity.ok(createSuccessResponse(response));
@@ -30,42 +31,64 @@ public class CartController {
 
     @PostMapping("/items")
     public ResponseEntity<Map<String, Object>> addItemToCart(
-            @AuthenticationPrincipal UserDetails userDetails,
+            @AuthenticationPrincipal UserPrincipal principal,
             @RequestBody CartDto.AddItemRequest request
     ) {
-        Long userId = ((User) userDetails).getId();
+        Long userId = principal.getId();
         CartDto.CartResponse response = cartService.addItemToCart(userId, request);
 
         return ResponseEntity.ok(createSuccessResponse(response));
     }
 
+    @PostMapping("/items/batch")
+    public ResponseEntity<Map<String, Object>> applyBatch(
+            @AuthenticationPrincipal UserPrincipal principal,
+            @Valid @RequestBody CartDto.BatchRequest request
+    ) {
+        Long userId = principal.getId();
+        CartDto.CartResponse response = cartService.applyBatch(userId, request);
+
+        return ResponseEntity.ok(createSuccessResponse(response));
+    }
+
     @PatchMapping("/items")
     public ResponseEntity<Map<String, Object>> updateItemQuantity(
-            @AuthenticationPrincipal UserDetails userDetails,
+            @AuthenticationPrincipal UserPrincipal principal,
             @RequestBody CartDto.UpdateItemQuantityRequest request
     ) {
-        Long userId = ((User) userDetails).getId();
+        Long userId = principal.getId();
         CartDto.CartResponse response = cartService.updateItemQuantity(userId, request);
 
         return ResponseEntity.ok(createSuccessResponse(response));
     }
 
-    @DeleteMapping
+    @DeleteMapping(value = "/items", params = "cartItemId")
     public ResponseEntity<Map<String, Object>> deleteItemFromCart(
-            @AuthenticationPrincipal UserDetails userDetails,
+            @AuthenticationPrincipal UserPrincipal principal,
             @RequestParam Long cartItemId
     ) {
-        Long userId = ((User) userDetails).getId();
+        Long userId = principal.getId();
         CartDto.CartResponse response = cartService.deleteItemFromCart(userId, cartItemId);
 
         return ResponseEntity.ok(createSuccessResponse(response));
     }
 
+    @DeleteMapping(value = "/items", params = "cartItemIds")
+    public ResponseEntity<Map<String, Object>> deleteItemsFromCart(
+            @AuthenticationPrincipal UserPrincipal principal,
+            @RequestParam List<Long> cartItemIds
+    ) {
+        Long userId = principal.getId();
+        CartDto.CartResponse response = cartService.deleteItemsFromCart(userId, cartItemIds);
+
+        return ResponseEntity.ok(createSuccessResponse(response));
+    }
+
     @DeleteMapping
     public ResponseEntity<Map<String, Object>> clearCart(
-            @AuthenticationPrincipal UserDetails userDetails
+            @AuthenticationPrincipal UserPrincipal principal
     ) {
-        Long userId = ((User) userDetails).getId();
+        Long userId = principal.getId();
         cartService.clearCart(userId);
 
         return ResponseEntity.ok(createSuccessResponse(null));
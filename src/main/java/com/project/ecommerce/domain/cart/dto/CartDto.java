@@ -5,10 +5,15 @@ import com.project.ecommerce.common.exception.CartItemErrorMessages;
 import com.project.ecommerce.common.exception.ProductErrorMessages;
 import com.project.ecommerce.domain.cart.entity.Cart;
 import com.project.ecommerce.domain.cart.entity.CartItem;
+import jakarta.validation.Valid;
 import jakarta.validation.constraints.Min;
+import jakarta.validation.constraints.NotEmpty;
 import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Size;
+import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.Getter;
+import lombok.NoArgsConstructor;
 
 import java.math.BigDecimal;
 import java.util.ArrayList;
@@ -38,22 +43,23 @@ public class CartDto {
                     .build();
         }
 
+        /**
+         * 합계는 장바구니가 들고 있는 값을 그대로 쓴다. (아이템이 바뀔 때마다 갱신됨)
+         */
         public static CartResponse of(Cart cart) {
             List<CartItemDto.CartItemResponse> items = new ArrayList<>();
-            BigDecimal totalPrice = BigDecimal.ZERO;
-
-            List<CartItem> cartItems = cart.getCartItems();
-            for (CartItem cartItem : cartItems) {
-                CartItemDto.CartItemResponse cartItemResponse = CartItemDto.CartItemResponse.of(cartItem);
-                items.add(cartItemResponse);
-
-                totalPrice = totalPrice.add(cartItemResponse.getTotalPrice());
+            for (CartItem cartItem : cart.getCartItems()) {
+                items.add(CartItemDto.CartItemResponse.of(cartItem));
             }
 
+            return of(cart.getId(), items, cart.getItemCount(), cart.getTotalPrice());
+        }
+
+        public static CartResponse of(Long cartId, List<CartItemDto.CartItemResponse> items, int totalItems, BigDecimal totalPrice) {
             return CartDto.CartResponse.builder()
-                    .cartId(cart.getId())
+                    .cartId(cartId)
                     .items(items)
-                    .totalItems(items.size())
+                    .totalItems(totalItems)
                     .totalPrice(totalPrice)
                     .build();
         }
@@ -80,4 +86,43 @@ public class CartDto {
         @Min(value = 0, message = CartErrorMessages.QUANTITY_MUST_NOT_BE_ZERO)
         private int quantity;
     }
+
+    /**
+     * 담기/수량 변경/삭제 여러 건을 한 번에 반영하는 요청 (재주문, 묶음 상품 담기)
+     * 순서대로 반영하고, 하나라도 실패하면 전부 반영하지 않는다.
+     */
+    @Getter
+    @Builder
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class BatchRequest {
+
+        @Valid
+        @NotEmpty(message = CartErrorMessages.REQUIRED_OPERATIONS)
+        @Size(max = 100, message = CartErrorMessages.TOO_MANY_OPERATIONS)
+        private List<BatchOperation> operations;
+    }
+
+    /**
+     * ADD 는 productId / quantity, UPDATE 는 cartItemId / quantity, REMOVE 는 cartItemId 를 쓴다.
+     */
+    @Getter
+    @Builder
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class BatchOperation {
+
+        @NotNull(message = CartErrorMessages.REQUIRED_OPERATION_TYPE)
+        private Type type;
+
+        private Long productId;
+
+        private Long cartItemId;
+
+        private int quantity;
+
+        public enum Type {
+            ADD, UPDATE, REMOVE
+        }
+    }
 }
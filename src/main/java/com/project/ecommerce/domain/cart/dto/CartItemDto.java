@@ -1,8 +1,8 @@
 package com.project.ecommerce.domain.cart.dto;
 
 import com.project.ecommerce.domain.cart.entity.CartItem;
+import com.project.ecommerce.domain.cart.entity.ProductSnapshot;
 import com.project.ecommerce.domain.product.dto.ProductDto;
-import com.project.ecommerce.domain.product.entity.Product;
 import lombok.Builder;
 import lombok.Getter;
 
@@ -20,16 +20,25 @@ public class CartItemDto {
         private BigDecimal totalPrice;
 
         public static CartItemResponse of(CartItem cartItem) {
-            Product itemProduct = cartItem.getProduct();
-            int itemQuantity = cartItem.getQuantity();
-            BigDecimal itemPrice = itemProduct.getPrice();
+            return of(cartItem.getId(), cartItem.getProductId(), cartItem.getProductSnapshot(), cartItem.getQuantity());
+        }
 
+        /**
+         * 아이템에 복사해둔 상품 정보로 만든다. (상품을 읽지 않음)
+         */
+        public static CartItemResponse of(Long cartItemId, Long productId, ProductSnapshot product, int itemQuantity) {
             return CartItemResponse.builder()
-                    .cartItemId(cartItem.getId())
-                    .product(ProductDto.ProductSimpleResponse.of(itemProduct))
+                    .cartItemId(cartItemId)
+                    .product(ProductDto.ProductSimpleResponse.builder()
+                            .productId(productId)
+                            .name(product.getName())
+                            .price(product.getPrice())
+                            .mainImage(product.getMainImage())
+                            .status(product.getStatus().name())
+                            .build())
                     .quantity(itemQuantity)
-                    .pricePerProduct(itemPrice)
-                    .totalPrice(itemPrice.multiply(BigDecimal.valueOf(itemQuantity)))
+                    .pricePerProduct(product.getPrice())
+                    .totalPrice(product.priceOf(itemQuantity))
                     .build();
         }
     }
@@ -12,8 +12,11 @@ import lombok.Getter;
 import lombok.NoArgsConstructor;
 import org.springframework.http.HttpStatus;
 
+import java.math.BigDecimal;
 import java.util.ArrayList;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 
 @Getter
 @NoArgsConstructor(access = AccessLevel.PROTECTED)
@@ -22,7 +25,8 @@ import java.util.List;
 public class Cart extends BaseEntity {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "cart_seq_generator")
+    @SequenceGenerator(name = "cart_seq_generator", sequenceName = "carts_seq", allocationSize = 50)
     @Column(name = "cart_id")
     private Long id;
 
@@ -33,6 +37,24 @@ public class Cart extends BaseEntity {
     @OneToMany(mappedBy = "cart", cascade = CascadeType.ALL, orphanRemoval = true)
     private List<CartItem> cartItems = new ArrayList<>();
 
+    // 아이템이 바뀔 때마다 같이 갱신하는 합계 (조회할 때 아이템/상품을 다시 더하지 않는다)
+    private int itemCount;
+
+    private BigDecimal totalPrice = BigDecimal.ZERO;
+
+    // 합계를 메모리에서 계산해 쓰는 엔티티 수정과 SQL 로 더하는 벌크 쿼리가 서로의 변경을 덮어쓰지 않도록 낙관적 락 버전을 둔다
+    // (합계를 바꾸는 벌크 쿼리는 모두 버전도 올린다)
+    @Version
+    private Long version;
+
+    // 상품 id -> 아이템, 장바구니 아이템 id -> 아이템
+    // 아이템이 수백 개인 장바구니에서도 리스트를 매번 훑지 않도록 처음 찾을 때 만들어두고 변경 시 같이 갱신한다
+    @Transient
+    private Map<Long, CartItem> itemsByProductId;
+
+    @Transient
+    private Map<Long, CartItem> itemsById;
+
     @Builder
     public Cart(User user) {
         this.user = user;
@@ -41,39 +63,76 @@ public class Cart extends BaseEntity {
     //==연관관계 편의 메서드==//
     public void addItems(Product product, int quantity) {
         // 같은 아이템이 있다면 수량만 증가시키는 게 좋을 것 같음
-        CartItem existingItem = this.cartItems.stream()
-                .filter(item -> item.getProduct().equals(product))
-                .findFirst()
-                        .orElse(null);
+        // 상품 프록시의 id 는 초기화 없이 꺼낼 수 있으므로 equals 로 비교하지 않고 id 로 찾는다
+        CartItem existingItem = itemsByProductId().get(product.getId());
 
         if (existingItem != null) {
             existingItem.increaseQuantity(quantity);
+            this.totalPrice = this.totalPrice.add(existingItem.getProductSnapshot().priceOf(quantity));
         } else {
-            this.cartItems.add(CartItem.builder()
+            CartItem cartItem = CartItem.builder()
                     .cart(this)
                     .product(product)
                     .quantity(quantity)
-                    .build());
+                    .build();
+            this.cartItems.add(cartItem);
+            itemsByProductId().put(product.getId(), cartItem);
+            this.itemCount++;
+            this.totalPrice = this.totalPrice.add(cartItem.getTotalPrice());
         }
     }
 
     public void updateQuantity(Long cartItemId, int quantity) {
         // 수량을 변경할 장바구니 아이템을 찾는다. 없으면 에러, 있으면 수량만 변경
-        CartItem existingItem = this.getCartItems().stream()
-                .filter(item -> item.getId().equals(cartItemId))
-                .findFirst()
-                .orElseThrow(() -> new CartException(CartItemErrorMessages.NO_ITEM_FOR_UPDATE, HttpStatus.NOT_FOUND));
+        CartItem existingItem = findItem(cartItemId);
+        if (existingItem == null) {
+            throw new CartException(CartItemErrorMessages.NO_ITEM_FOR_UPDATE, HttpStatus.NOT_FOUND);
+        }
 
+        this.totalPrice = this.totalPrice.add(existingItem.getProductSnapshot().priceOf(quantity - existingItem.getQuantity()));
         existingItem.updateQuantity(quantity);
     }
 
-    public void deleteItems(Long cartItemId) {
-        CartItem cartItem = this.cartItems.stream()
-                .filter(item -> item.getId().equals(cartItemId))
-                .findFirst()
-                .orElseThrow(() -> new CartException(CartItemErrorMessages.NO_ITEM_FOR_DELETE, HttpStatus.NOT_FOUND));
+    public CartItem deleteItems(Long cartItemId) {
+        CartItem cartItem = findItem(cartItemId);
+        if (cartItem == null) {
+            throw new CartException(CartItemErrorMessages.NO_ITEM_FOR_DELETE, HttpStatus.NOT_FOUND);
+        }
 
         cartItem.removeFromCart(); // cartItem과 cart와의 연관관계를 끊으면 cartItem이 DB에서도 삭제됨
         this.cartItems.remove(cartItem);
+        itemsById.remove(cartItemId);
+        itemsByProductId().remove(cartItem.getProductId());
+        this.itemCount--;
+        this.totalPrice = this.totalPrice.subtract(cartItem.getTotalPrice());
+
+        return cartItem;
+    }
+
+    private Map<Long, CartItem> itemsByProductId() {
+        if (itemsByProductId == null) {
+            itemsByProductId = new HashMap<>();
+            for (CartItem item : cartItems) {
+                itemsByProductId.put(item.getProductId(), item);
+            }
+        }
+
+        return itemsByProductId;
+    }
+
+    /**
+     * 새로 담은 아이템은 flush 된 뒤에야 id 가 생기므로, 색인에 없으면 한 번 다시 만들어서 찾는다.
+     */
+    private CartItem findItem(Long cartItemId) {
+        if (itemsById == null || !itemsById.containsKey(cartItemId)) {
+            itemsById = new HashMap<>();
+            for (CartItem item : cartItems) {
+                if (item.getId() != null) {
+                    itemsById.put(item.getId(), item);
+                }
+            }
+        }
+
+        return itemsById.get(cartItemId);
     }
 }
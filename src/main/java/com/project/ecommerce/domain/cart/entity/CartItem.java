@@ -8,14 +8,23 @@ import lombok.Builder;
 import lombok.Getter;
 import lombok.NoArgsConstructor;
 
+import java.math.BigDecimal;
+
 @Getter
 @NoArgsConstructor(access = AccessLevel.PROTECTED)
 @Entity
-@Table(name = "cart_items")
+@Table(name = "cart_items", uniqueConstraints = {
+        // 한 장바구니에 같은 상품은 한 줄만 (담기는 upsert 로 수량을 올린다)
+        @UniqueConstraint(name = "uk_cart_items_cart_product", columnNames = {"cart_id", "product_id"})
+}, indexes = {
+        // 상품이 바뀌었을 때 그 상품을 담은 장바구니 찾기
+        @Index(name = "idx_cart_items_product_id", columnList = "product_id")
+})
 public class CartItem extends BaseEntity {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "cart_item_seq_generator")
+    @SequenceGenerator(name = "cart_item_seq_generator", sequenceName = "cart_items_seq", allocationSize = 50)
     @Column(name = "cart_item_id")
     private Long id;
 
@@ -29,11 +38,29 @@ public class CartItem extends BaseEntity {
 
     private int quantity;
 
+    @Embedded
+    private ProductSnapshot productSnapshot;
+
     @Builder
     public CartItem(Cart cart, Product product, int quantity) {
         this.cart = cart;
         this.product = product;
         this.quantity = quantity;
+        this.productSnapshot = ProductSnapshot.of(product);
+    }
+
+    /**
+     * 상품 프록시를 초기화하지 않고 상품 id 만 꺼낸다.
+     */
+    public Long getProductId() {
+        return product.getId();
+    }
+
+    /**
+     * 이 줄의 금액 (담을 때 복사해둔 가격 기준, 상품 가격이 바뀌면 같이 갱신된다)
+     */
+    public BigDecimal getTotalPrice() {
+        return productSnapshot.priceOf(quantity);
     }
 
     public void increaseQuantity(int quantity) {
@@ -0,0 +1,51 @@
+package com.project.ecommerce.domain.cart.entity;
+
+import com.project.ecommerce.domain.product.entity.Product;
+import com.project.ecommerce.domain.product.entity.ProductStatus;
+import jakarta.persistence.Column;
+import jakarta.persistence.Embeddable;
+import jakarta.persistence.EnumType;
+import jakarta.persistence.Enumerated;
+import lombok.AccessLevel;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+
+/**
+ * 장바구니 아이템에 복사해두는 상품 정보
+ * 장바구니를 조회할 때 상품을 읽지 않도록 화면에 필요한 값만 들고 있고, 상품이 바뀌면 CartProductSynchronizer 가 같이 바꾼다.
+ */
+@Getter
+@Embeddable
+@NoArgsConstructor(access = AccessLevel.PROTECTED)
+public class ProductSnapshot {
+
+    @Column(name = "product_name")
+    private String name;
+
+    @Column(name = "unit_price")
+    private BigDecimal price;
+
+    @Column(name = "main_image")
+    private String mainImage;
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = "product_status")
+    private ProductStatus status;
+
+    public ProductSnapshot(String name, BigDecimal price, String mainImage, ProductStatus status) {
+        this.name = name;
+        this.price = price;
+        this.mainImage = mainImage;
+        this.status = status;
+    }
+
+    public static ProductSnapshot of(Product product) {
+        return new ProductSnapshot(product.getName(), product.getPrice(), product.getMainImage(), product.getStatus());
+    }
+
+    public BigDecimal priceOf(int quantity) {
+        return price.multiply(BigDecimal.valueOf(quantity));
+    }
+}
@@ -0,0 +1,38 @@
+package com.project.ecommerce.domain.cart.repository;
+
+import com.project.ecommerce.domain.cart.entity.CartItem;
+import com.project.ecommerce.domain.cart.entity.ProductSnapshot;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+public interface CartItemRepository extends JpaRepository<CartItem, Long> {
+
+    /**
+     * 장바구니에 상품을 담는다. 이미 담긴 상품이면 수량만 더하고, 없으면 상품 정보를 복사해서 새 줄을 만든다. (MERGE 한 문장)
+     * 장바구니를 읽어서 비교한 뒤 INSERT/UPDATE 하지 않으므로 이미 담긴 상품을 동시에 담아도 수량이 유실되지 않는다.
+     * 처음 담는 상품을 동시에 담으면 둘 다 새 줄을 넣으려 해서 늦은 쪽이 (cart_id, product_id) 유니크 제약에 걸리므로, 호출하는 쪽에서 다시 실행해야 한다.
+     * 상품이 없으면 아무 것도 하지 않고 0 을 돌려준다.
+     * 영속성 컨텍스트의 장바구니는 바뀐 내용을 모르므로 실행 후 비운다.
+     */
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query(value = "merge into cart_items ci " +
+            "using (select cast(:cartId as bigint) as cart_id, p.product_id, cast(:quantity as integer) as quantity, " +
+            "p.name, p.price, p.main_image, p.status from products p where p.product_id = :productId) src " +
+            "on ci.cart_id = src.cart_id and ci.product_id = src.product_id " +
+            "when matched then update set quantity = ci.quantity + src.quantity, modified_at = current_timestamp " +
+            "when not matched then insert (cart_item_id, cart_id, product_id, quantity, product_name, unit_price, main_image, product_status, created_at, modified_at) " +
+            "values (next value for cart_items_seq, src.cart_id, src.product_id, src.quantity, src.name, src.price, src.main_image, src.status, current_timestamp, current_timestamp)",
+            nativeQuery = true)
+    int upsertQuantity(@Param("cartId") Long cartId, @Param("productId") Long productId, @Param("quantity") int quantity);
+
+    /**
+     * 상품이 바뀌면 그 상품을 담은 모든 장바구니 아이템의 상품 정보를 한 번에 바꾼다.
+     */
+    @Modifying(flushAutomatically = true)
+    @Query("update CartItem ci set ci.productSnapshot.name = :#{#snapshot.name}, ci.productSnapshot.price = :#{#snapshot.price}, " +
+            "ci.productSnapshot.mainImage = :#{#snapshot.mainImage}, ci.productSnapshot.status = :#{#snapshot.status} " +
+            "where ci.product.id = :productId")
+    int updateProductSnapshot(@Param("productId") Long productId, @Param("snapshot") ProductSnapshot snapshot);
+}
@@ -3,10 +3,51 @@ package com.project.ecommerce.domain.cart.repository;
 import com.project.ecommerce.domain.cart.entity.Cart;
 import com.project.ecommerce.domain.user.entity.User;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 
+import java.math.BigDecimal;
 import java.util.Optional;
 
-public interface CartRepository extends JpaRepository<Cart, Long> {
+public interface CartRepository extends JpaRepository<Cart, Long>, CartRepositoryCustom {
 
     Optional<Cart> findByUser(User user);
+
+    @Query("select c.id from Cart c where c.user.id = :userId")
+    Optional<Long> findIdByUserId(@Param("userId") Long userId);
+
+    /**
+     * 장바구니와 아이템을 쿼리 한 번으로 읽어온다. 화면에 필요한 상품 정보는 아이템에 복사돼 있으므로 상품은 읽지 않는다.
+     */
+    @Query("select distinct c from Cart c left join fetch c.cartItems where c.user.id = :userId")
+    Optional<Cart> findWithItemsByUserId(@Param("userId") Long userId);
+
+    /**
+     * 주문할 때 장바구니, 아이템, 상품을 쿼리 한 번으로 읽어온다. (재고/판매 상태는 상품에서 확인해야 한다)
+     */
+    @Query("select distinct c from Cart c left join fetch c.cartItems ci left join fetch ci.product where c.user.id = :userId")
+    Optional<Cart> findWithItemsAndProductsByUserId(@Param("userId") Long userId);
+
+    /**
+     * upsert 로 상품을 담은 뒤 합계를 갱신한다. 금액은 담은 수량만큼만 더하고, 아이템 수는 (cart_id, product_id) 유니크 인덱스로 센다.
+     */
+    @Modifying(flushAutomatically = true)
+    @Query("update Cart c set " +
+            "c.totalPrice = c.totalPrice + (select ci.productSnapshot.price from CartItem ci where ci.cart.id = :cartId and ci.product.id = :productId) * :quantity, " +
+            "c.itemCount = (select count(ci2) from CartItem ci2 where ci2.cart.id = :cartId), " +
+            "c.version = c.version + 1 " +
+            "where c.id = :cartId")
+    int addToTotals(@Param("cartId") Long cartId, @Param("productId") Long productId, @Param("quantity") int quantity);
+
+    /**
+     * 상품 가격이 바뀌면 그 상품을 담은 장바구니의 합계에 (새 가격 - 담긴 가격) x 수량 만큼 더한다.
+     * 아이템의 가격을 바꾸기 전에 실행해야 한다.
+     */
+    @Modifying(flushAutomatically = true)
+    @Query("update Cart c set c.totalPrice = c.totalPrice + " +
+            "(select sum(ci.quantity * (:price - ci.productSnapshot.price)) from CartItem ci where ci.cart = c and ci.product.id = :productId), " +
+            "c.version = c.version + 1 " +
+            "where exists (select 1 from CartItem ci2 where ci2.cart = c and ci2.product.id = :productId and ci2.productSnapshot.price <> :price)")
+    int applyPriceChange(@Param("productId") Long productId, @Param("price") BigDecimal price);
 }
@@ -0,0 +1,19 @@
+package com.project.ecommerce.domain.cart.repository;
+
+import java.util.Collection;
+
+public interface CartRepositoryCustom {
+
+    /**
+     * 장바구니 아이템을 DELETE 한 번으로 비우고 합계를 0 으로 만든다.
+     * @return 삭제한 아이템 수
+     */
+    int clearItems(Long cartId);
+
+    /**
+     * 장바구니에서 지정한 아이템들을 DELETE 한 번으로 지우고 남은 아이템으로 합계를 다시 계산한다.
+     * 다른 장바구니의 아이템 id 는 지우지 않는다.
+     * @return 삭제한 아이템 수
+     */
+    int removeItems(Long cartId, Collection<Long> cartItemIds);
+}
@@ -0,0 +1,68 @@
+package com.project.ecommerce.domain.cart.repository;
+
+import com.project.ecommerce.domain.cart.entity.Cart;
+import jakarta.persistence.EntityManager;
+import lombok.RequiredArgsConstructor;
+
+import java.util.Collection;
+
+/**
+ * orphanRemoval 로 지우면 아이템을 모두 읽고 아이템 수만큼 DELETE 가 나가므로, 조건으로 한 번에 지운다.
+ * 벌크 쿼리는 영속성 컨텍스트를 거치지 않으므로 이미 올라와 있는 장바구니는 떼어내서 다음에 다시 읽게 한다.
+ * (clearAutomatically 는 주문처럼 같은 트랜잭션의 다른 엔티티까지 모두 떼어내므로 쓰지 않는다)
+ */
+@RequiredArgsConstructor
+class CartRepositoryCustomImpl implements CartRepositoryCustom {
+
+    private final EntityManager entityManager;
+
+    @Override
+    public int clearItems(Long cartId) {
+        detachCart(cartId);
+
+        int deleted = entityManager.createQuery("delete from CartItem ci where ci.cart.id = :cartId")
+                .setParameter("cartId", cartId)
+                .executeUpdate();
+        entityManager.createQuery("update Cart c set c.itemCount = 0, c.totalPrice = 0, c.version = c.version + 1 where c.id = :cartId")
+                .setParameter("cartId", cartId)
+                .executeUpdate();
+
+        return deleted;
+    }
+
+    @Override
+    public int removeItems(Long cartId, Collection<Long> cartItemIds) {
+        if (cartItemIds.isEmpty()) {
+            return 0;
+        }
+
+        detachCart(cartId);
+
+        int deleted = entityManager.createQuery("delete from CartItem ci where ci.cart.id = :cartId and ci.id in :cartItemIds")
+                .setParameter("cartId", cartId)
+                .setParameter("cartItemIds", cartItemIds)
+                .executeUpdate();
+        if (deleted == 0) {
+            return 0;
+        }
+
+        entityManager.createQuery("update Cart c set " +
+                        "c.itemCount = (select count(ci) from CartItem ci where ci.cart = c), " +
+                        "c.totalPrice = coalesce((select sum(ci2.productSnapshot.price * ci2.quantity) from CartItem ci2 where ci2.cart = c), 0), " +
+                        "c.version = c.version + 1 " +
+                        "where c.id = :cartId")
+                .setParameter("cartId", cartId)
+                .executeUpdate();
+
+        return deleted;
+    }
+
+    /**
+     * 바뀐 내용을 먼저 반영한 뒤, 영속성 컨텍스트에 있는 장바구니를 아이템과 함께 떼어낸다. (cascade ALL 에 DETACH 포함)
+     * getReference 는 이미 올라와 있으면 그 객체를, 없으면 프록시를 돌려주므로 쿼리가 나가지 않는다.
+     */
+    private void detachCart(Long cartId) {
+        entityManager.flush();
+        entityManager.detach(entityManager.getReference(Cart.class, cartId));
+    }
+}
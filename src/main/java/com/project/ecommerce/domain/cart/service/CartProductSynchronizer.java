@@ -0,0 +1,51 @@
+package com.project.ecommerce.domain.cart.service;
+
+import com.project.ecommerce.common.utils.AfterCommit;
+import com.project.ecommerce.domain.cart.entity.ProductSnapshot;
+import com.project.ecommerce.domain.cart.repository.CartItemRepository;
+import com.project.ecommerce.domain.cart.repository.CartRepository;
+import com.project.ecommerce.domain.cart.store.HotCartStore;
+import com.project.ecommerce.domain.product.entity.Product;
+import com.project.ecommerce.domain.product.event.ProductChangedEvent;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionTemplate;
+
+/**
+ * 상품이 바뀌면 그 상품을 담은 장바구니 아이템의 상품 정보와 장바구니 합계를 같이 바꾼다.
+ * 장바구니 조회는 아이템에 복사해둔 상품 정보만 쓰므로, 가격이 바뀌었을 때 합계를 맞춰주는 곳은 여기 하나다.
+ */
+@RequiredArgsConstructor
+@Component
+public class CartProductSynchronizer {
+
+    private final CartRepository cartRepository;
+    private final CartItemRepository cartItemRepository;
+    private final HotCartStore hotCartStore;
+    private final TransactionTemplate transactionTemplate;
+
+    /**
+     * 상품 수정과 같은 트랜잭션에서 커밋 직전에 반영한다. (트랜잭션 밖에서 발행된 이벤트는 새 트랜잭션에서 반영)
+     * 장바구니 합계를 먼저 바꾸고 아이템 가격을 바꿔야 (새 가격 - 담긴 가격) 을 계산할 수 있다.
+     */
+    @TransactionalEventListener(phase = TransactionPhase.BEFORE_COMMIT, fallbackExecution = true)
+    public void onProductChanged(ProductChangedEvent event) {
+        if (event.getChangeType() == ProductChangedEvent.ChangeType.REGISTERED) {
+            return;
+        }
+
+        Product product = event.getProduct();
+        ProductSnapshot snapshot = ProductSnapshot.of(product);
+
+        transactionTemplate.executeWithoutResult(status -> {
+            cartRepository.applyPriceChange(product.getId(), snapshot.getPrice());
+            cartItemRepository.updateProductSnapshot(product.getId(), snapshot);
+        });
+
+        // 메모리의 장바구니는 커밋된 뒤에 바꾼다 (롤백되면 그대로 둔다)
+        Long productId = product.getId();
+        AfterCommit.run(() -> hotCartStore.applyProductChange(productId, snapshot));
+    }
+}
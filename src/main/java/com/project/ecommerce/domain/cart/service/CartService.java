@@ -2,6 +2,8 @@ package com.project.ecommerce.domain.cart.service;
 
 import com.project.ecommerce.domain.cart.dto.CartDto;
 
+import java.util.List;
+
 public interface CartService {
     // 장바구니 조회
     CartDto.CartResponse getCart(Long userId);
@@ -15,5 +17,11 @@ public interface CartService {
     // 장바구니에서 아이템 삭제
     CartDto.CartResponse deleteItemFromCart(Long userId, Long productId);
 
+    // 장바구니에서 여러 아이템 삭제
+    CartDto.CartResponse deleteItemsFromCart(Long userId, List<Long> cartItemIds);
+
     void clearCart(Long userId);
+
+    // 장바구니 담기/수량 변경/삭제 여러 건을 한 트랜잭션으로 반영
+    CartDto.CartResponse applyBatch(Long userId, CartDto.BatchRequest request);
 }
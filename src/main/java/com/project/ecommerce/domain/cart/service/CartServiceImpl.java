@@ -2,17 +2,30 @@ package com.project.ecommerce.domain.cart.service;
 
 import com.project.ecommerce.common.exception.*;
 import com.project.ecommerce.domain.cart.dto.CartDto;
+import com.project.ecommerce.domain.cart.dto.CartItemDto;
 import com.project.ecommerce.domain.cart.entity.Cart;
 import com.project.ecommerce.domain.cart.entity.CartItem;
+import com.project.ecommerce.domain.cart.entity.ProductSnapshot;
+import com.project.ecommerce.domain.cart.repository.CartItemRepository;
 import com.project.ecommerce.domain.cart.repository.CartRepository;
+import com.project.ecommerce.domain.cart.store.CartMutation;
+import com.project.ecommerce.domain.cart.store.CartView;
+import com.project.ecommerce.domain.cart.store.HotCartStore;
 import com.project.ecommerce.domain.product.entity.Product;
 import com.project.ecommerce.domain.product.repository.ProductRepository;
-import com.project.ecommerce.domain.user.entity.User;
 import com.project.ecommerce.domain.user.repository.UserRepository;
 import lombok.RequiredArgsConstructor;
+import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.http.HttpStatus;
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.*;
+import java.util.function.Function;
+import java.util.stream.Collectors;
 
 @RequiredArgsConstructor
 @Transactional
@@ -21,19 +34,21 @@ public class CartServiceImpl implements CartService {
 
     private final UserRepository userRepository;
     private final CartRepository cartRepository;
+    private final CartItemRepository cartItemRepository;
     private final ProductRepository productRepository;
+    private final HotCartStore hotCartStore;
+    private final TransactionTemplate transactionTemplate;
 
     @Override
     @Transactional(readOnly = true)
     public CartDto.CartResponse getCart(Long userId) {
-        User user = userRepository.findById(userId)
-                .orElseThrow(() -> new UserException(UserErrorMessages.NOT_FOUND_USER, HttpStatus.NOT_FOUND));
-
-        Cart cart = cartRepository.findByUser(user)
-//                .orElse(null); // as-is 그냥 null을 리턴
-                .orElseGet(() -> Cart.builder()
-                        .user(user)
-                        .build()); // to-be 빈 장바구니를 만들어서 리턴
+        if (hotCartStore.isEnabled()) {
+            return toResponse(hotCartStore.getCart(userId));
+        }
+
+        // 토큰의 사용자 id 로 장바구니 + 아이템을 한 번에 읽는다 (사용자/상품 조회 생략)
+        Cart cart = cartRepository.findWithItemsByUserId(userId)
+                .orElse(null);
         // 장바구니가 없다고 에러를 날릴 필요가 없음, 그냥 빈 바구니를 리턴하면 됨
 
         if (cart == null || cart.getCartItems().isEmpty()) {
@@ -43,76 +58,227 @@ public class CartServiceImpl implements CartService {
         return CartDto.CartResponse.of(cart);
     }
 
+    /**
+     * 같은 상품을 처음 담는 요청이 동시에 오면 MERGE 가 둘 다 새 줄을 넣으려 하고, 늦은 쪽은 (cart_id, product_id) 유니크 제약에 걸린다.
+     * (장바구니를 처음 만드는 요청끼리도 같다) 실패한 트랜잭션은 롤백만 할 수 있으므로 새 트랜잭션에서 한 번 더 담는다.
+     * 다시 담을 때는 먼저 커밋된 줄이 보이므로 수량을 더하는 쪽으로 간다.
+     */
     @Override
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
     public CartDto.CartResponse addItemToCart(Long userId, CartDto.AddItemRequest request) {
-        // 유저를 찾고
-        User user = userRepository.findById(userId)
-                .orElseThrow(() -> new UserException(UserErrorMessages.NOT_FOUND_USER, HttpStatus.NOT_FOUND));
+        try {
+            return transactionTemplate.execute(status -> addItem(userId, request));
+        } catch (DataIntegrityViolationException e) {
+            return transactionTemplate.execute(status -> addItem(userId, request));
+        }
+    }
 
-        // 카트를 찾는다. 카트가 없으면 카트를 생성해야 한다.
-        Cart cart = cartRepository.findByUser(user)
-                .orElseGet(() -> {
-                    Cart newCart = Cart.builder()
-                                    .user(user)
-                                            .build();
+    private CartDto.CartResponse addItem(Long userId, CartDto.AddItemRequest request) {
+        if (hotCartStore.isEnabled()) {
+            Product product = productRepository.findById(request.getProductId())
+                    .orElseThrow(() -> new ProductException(ProductErrorMessages.NOT_FOUND_PRODUCT, HttpStatus.NOT_FOUND));
 
-                    return cartRepository.save(newCart);
-                });
+            return toResponse(hotCartStore.addItem(userId, product.getId(), request.getQuantity(), ProductSnapshot.of(product)));
+        }
 
-        // 카트에 cartItems에 add 한다.
-        Product product = productRepository.findById(request.getProductId())
-                .orElseThrow(() -> new ProductException(ProductErrorMessages.NOT_FOUND_PRODUCT, HttpStatus.NOT_FOUND));
+        // 카트를 찾는다. 카트가 없으면 카트를 생성해야 한다.
+        // 사용자는 인증된 토큰의 id 이므로 DB 에서 다시 읽지 않고 프록시(참조)만 연결한다.
+        Long cartId = cartRepository.findIdByUserId(userId)
+                .orElseGet(() -> cartRepository.save(Cart.builder()
+                                .user(userRepository.getReferenceById(userId))
+                                .build())
+                        .getId());
 
-        cart.addItems(product, request.getQuantity());
+        // 아이템을 전부 읽어서 비교하지 않고, 같은 상품이 있으면 수량 증가 / 없으면 추가를 DB 에서 한 번에 처리한다
+        // 상품 정보는 MERGE 안에서 products 를 읽어 복사하므로, 반영된 행이 없으면 없는 상품이다
+        if (cartItemRepository.upsertQuantity(cartId, request.getProductId(), request.getQuantity()) == 0) {
+            throw new ProductException(ProductErrorMessages.NOT_FOUND_PRODUCT, HttpStatus.NOT_FOUND);
+        }
+        cartRepository.addToTotals(cartId, request.getProductId(), request.getQuantity());
 
-        return CartDto.CartResponse.of(cart);
+        return CartDto.CartResponse.of(cartRepository.findWithItemsByUserId(userId).orElseThrow());
     }
 
     @Override
     public CartDto.CartResponse updateItemQuantity(Long userId, CartDto.UpdateItemQuantityRequest request) {
-        // 유저를 찾고
-        User user = userRepository.findById(userId)
-                .orElseThrow(() -> new UserException(UserErrorMessages.NOT_FOUND_USER, HttpStatus.NOT_FOUND));
+        if (hotCartStore.isEnabled()) {
+            return toResponse(hotCartStore.updateQuantity(userId, request.getCartItemId(), request.getQuantity()));
+        }
 
         // 카트를 찾아서
-        Cart cart = cartRepository.findByUser(user)
+        Cart cart = cartRepository.findWithItemsByUserId(userId)
                 .orElseThrow(() -> new CartException(CartItemErrorMessages.EMPTY_CART, HttpStatus.BAD_REQUEST));
 
         cart.updateQuantity(request.getCartItemId(), request.getQuantity());
+        flushCart();
 
         return CartDto.CartResponse.of(cart);
     }
 
     @Override
     public CartDto.CartResponse deleteItemFromCart(Long userId, Long cartItemId) {
-        // 유저를 찾고
-        User user = userRepository.findById(userId)
-                .orElseThrow(() -> new UserException(UserErrorMessages.NOT_FOUND_USER, HttpStatus.NOT_FOUND));
+        if (hotCartStore.isEnabled()) {
+            return toResponse(hotCartStore.removeItem(userId, cartItemId));
+        }
 
         // 카트를 찾아서
-        Cart cart = cartRepository.findByUser(user).orElse(null);
+        Cart cart = cartRepository.findWithItemsByUserId(userId).orElse(null);
         if (cart == null) {
             return CartDto.CartResponse.empty();
         }
 
         cart.deleteItems(cartItemId);
+        flushCart();
 
         return CartDto.CartResponse.of(cart);
     }
 
     @Override
-    public void clearCart(Long userId) {
-        User user = userRepository.findById(userId)
-                .orElseThrow(() -> new UserException(UserErrorMessages.NOT_FOUND_USER, HttpStatus.NOT_FOUND));
+    public CartDto.CartResponse deleteItemsFromCart(Long userId, List<Long> cartItemIds) {
+        Set<Long> distinctIds = new LinkedHashSet<>(cartItemIds);
 
-        Cart cart = cartRepository.findById(user.getId())
-                .orElse(null);
+        if (hotCartStore.isEnabled()) {
+            List<CartMutation> mutations = distinctIds.stream()
+                    .map(CartMutation::remove)
+                    .toList();
 
-        if (cart == null || cart.getCartItems().isEmpty()) {
+            return toResponse(hotCartStore.applyAll(userId, mutations));
+        }
+
+        Long cartId = cartRepository.findIdByUserId(userId)
+                .orElseThrow(() -> new CartException(CartItemErrorMessages.NO_ITEM_FOR_DELETE, HttpStatus.NOT_FOUND));
+
+        // 아이템을 읽지 않고 DELETE 한 번으로 지운다. 이 장바구니에 없는 id 가 섞여 있으면 롤백한다
+        if (cartRepository.removeItems(cartId, distinctIds) != distinctIds.size()) {
+            throw new CartException(CartItemErrorMessages.NO_ITEM_FOR_DELETE, HttpStatus.NOT_FOUND);
+        }
+
+        return cartRepository.findWithItemsByUserId(userId)
+                .filter(cart -> !cart.getCartItems().isEmpty())
+                .map(CartDto.CartResponse::of)
+                .orElseGet(CartDto.CartResponse::empty);
+    }
+
+    @Override
+    public void clearCart(Long userId) {
+        if (hotCartStore.isEnabled()) {
+            hotCartStore.clear(userId);
             return;
         }
 
-        cart.getCartItems().forEach(CartItem::removeFromCart);// 각각 아이템에서도 장바구니 연관관계 지우기
-        cart.getCartItems().clear(); // 장바구니에서도 아이템 리스트 다 지우고 -> 연관관계 확실히 양쪽 다 끊어주기
+        // 장바구니를 읽지 않고 DELETE 한 번으로 비운다
+        cartRepository.findIdByUserId(userId)
+                .ifPresent(cartRepository::clearItems);
+    }
+
+    @Override
+    public CartDto.CartResponse applyBatch(Long userId, CartDto.BatchRequest request) {
+        List<CartDto.BatchOperation> operations = request.getOperations();
+        operations.forEach(this::validate);
+
+        // 담을 상품은 건마다 읽지 않고 한 번에 읽는다
+        Map<Long, Product> products = findProducts(operations);
+
+        if (hotCartStore.isEnabled()) {
+            List<CartMutation> mutations = operations.stream()
+                    .map(operation -> toMutation(operation, products))
+                    .toList();
+
+            return toResponse(hotCartStore.applyAll(userId, mutations));
+        }
+
+        Cart cart = cartRepository.findWithItemsByUserId(userId)
+                .orElseGet(() -> cartRepository.save(Cart.builder()
+                        .user(userRepository.getReferenceById(userId))
+                        .build()));
+
+        // 예외가 나면 트랜잭션이 롤백되므로 앞에서 반영한 건도 함께 취소된다
+        Set<Long> removedProductIds = new HashSet<>();
+        for (CartDto.BatchOperation operation : operations) {
+            switch (operation.getType()) {
+                case ADD -> {
+                    // 삭제한 상품을 다시 담으면 DELETE 보다 INSERT 가 먼저 나가서 (cart_id, product_id) 유니크 제약에 걸리므로 먼저 반영한다
+                    if (removedProductIds.remove(operation.getProductId())) {
+                        flushCart();
+                    }
+                    cart.addItems(products.get(operation.getProductId()), operation.getQuantity());
+                }
+                case UPDATE -> cart.updateQuantity(operation.getCartItemId(), operation.getQuantity());
+                case REMOVE -> {
+                    CartItem removed = cart.deleteItems(operation.getCartItemId());
+                    removedProductIds.add(removed.getProductId());
+                }
+            }
+        }
+
+        // 새로 담은 아이템의 id 를 응답에 담기 위해 반영한다
+        flushCart();
+
+        return CartDto.CartResponse.of(cart);
+    }
+
+    /**
+     * 합계를 메모리에서 계산한 장바구니를 반영한다. 읽은 뒤에 다른 요청이 장바구니를 바꿨으면 버전이 달라서 반영되지 않으므로 409 로 알린다.
+     * 반영에 성공하면 장바구니 행 락을 잡은 상태라서 커밋할 때 다시 충돌하지 않는다.
+     */
+    private void flushCart() {
+        try {
+            cartRepository.flush();
+        } catch (ObjectOptimisticLockingFailureException e) {
+            throw new CartException(CartErrorMessages.CONCURRENT_MODIFICATION, HttpStatus.CONFLICT);
+        }
+    }
+
+    private void validate(CartDto.BatchOperation operation) {
+        boolean valid = switch (operation.getType()) {
+            case ADD -> operation.getProductId() != null && operation.getQuantity() >= 1;
+            case UPDATE -> operation.getCartItemId() != null && operation.getQuantity() >= 0;
+            case REMOVE -> operation.getCartItemId() != null;
+        };
+
+        if (!valid) {
+            throw new CartException(CartErrorMessages.INVALID_OPERATION, HttpStatus.BAD_REQUEST);
+        }
+    }
+
+    private Map<Long, Product> findProducts(List<CartDto.BatchOperation> operations) {
+        Set<Long> productIds = operations.stream()
+                .filter(operation -> operation.getType() == CartDto.BatchOperation.Type.ADD)
+                .map(CartDto.BatchOperation::getProductId)
+                .collect(Collectors.toSet());
+        if (productIds.isEmpty()) {
+            return Map.of();
+        }
+
+        Map<Long, Product> products = productRepository.findAllById(productIds).stream()
+                .collect(Collectors.toMap(Product::getId, Function.identity()));
+        if (products.size() != productIds.size()) {
+            throw new ProductException(ProductErrorMessages.NOT_FOUND_PRODUCT, HttpStatus.NOT_FOUND);
+        }
+
+        return products;
+    }
+
+    private CartMutation toMutation(CartDto.BatchOperation operation, Map<Long, Product> products) {
+        return switch (operation.getType()) {
+            case ADD -> CartMutation.add(operation.getProductId(), operation.getQuantity(), ProductSnapshot.of(products.get(operation.getProductId())));
+            case UPDATE -> CartMutation.update(operation.getCartItemId(), operation.getQuantity());
+            case REMOVE -> CartMutation.remove(operation.getCartItemId());
+        };
+    }
+
+    /**
+     * 인메모리 장바구니는 상품 정보와 합계를 들고 있으므로 상품을 읽지 않고 응답을 만든다.
+     */
+    private CartDto.CartResponse toResponse(CartView cartView) {
+        if (cartView.items().isEmpty()) {
+            return CartDto.CartResponse.empty();
+        }
+
+        List<CartItemDto.CartItemResponse> items = cartView.items().stream()
+                .map(item -> CartItemDto.CartItemResponse.of(item.cartItemId(), item.productId(), item.product(), item.quantity()))
+                .toList();
+
+        return CartDto.CartResponse.of(cartView.cartId(), items, cartView.itemCount(), cartView.totalPrice());
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,9 @@
+package com.project.ecommerce.domain.cart.store;
+
+import java.util.List;
+
+/**
+ * 한 사용자의 장바구니에서 DB 에 반영할 줄 목록. cartId 가 null 이면 사용자 id 로 장바구니를 찾거나 만든다.
+ */
+public record CartChanges(Long userId, Long cartId, List<CartLine> lines) {
+}
@@ -0,0 +1,43 @@
+package com.project.ecommerce.domain.cart.store;
+
+import com.project.ecommerce.common.journal.SegmentedJournal;
+
+import java.nio.file.Path;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * 아직 DB 에 반영하지 않은 장바구니 변경을 파일에 남겨두는 저널
+ * "사용자id 장바구니아이템id 상품id 수량" 한 줄씩 덧붙인다. 수량은 변경량이 아니라 바뀐 뒤의 값이라서 여러 번 반영해도 결과가 같다.
+ */
+public class CartJournal extends SegmentedJournal {
+
+    public CartJournal(Path directory) {
+        super(directory);
+    }
+
+    public void append(long userId, CartLine line) {
+        appendLine(userId + " " + line.cartItemId() + " " + line.productId() + " " + line.quantity());
+    }
+
+    /**
+     * 세그먼트를 읽어서 사용자별 -> 장바구니 아이템별 마지막 상태만 남긴다. 앞 세그먼트부터 같은 맵에 읽어 넣으면 된다.
+     */
+    public void readInto(long sequence, Map<Long, Map<Long, CartLine>> linesByUserId) {
+        for (String line : readLines(sequence)) {
+            String[] fields = line.split(" ");
+            CartLine cartLine = new CartLine(Long.parseLong(fields[1]), Long.parseLong(fields[2]), Integer.parseInt(fields[3]));
+
+            linesByUserId.computeIfAbsent(Long.parseLong(fields[0]), userId -> new LinkedHashMap<>())
+                    .put(cartLine.cartItemId(), cartLine);
+        }
+    }
+
+    public Map<Long, Map<Long, CartLine>> read(long sequence) {
+        Map<Long, Map<Long, CartLine>> linesByUserId = new HashMap<>();
+        readInto(sequence, linesByUserId);
+
+        return linesByUserId;
+    }
+}
@@ -0,0 +1,14 @@
+package com.project.ecommerce.domain.cart.store;
+
+/**
+ * 인메모리 장바구니의 한 줄 (저널에 남기는 단위이기도 하다)
+ * 삭제된 줄은 수량을 REMOVED 로 남겨서 DB 반영 때 DELETE 로 바꾼다.
+ */
+public record CartLine(long cartItemId, long productId, int quantity) {
+
+    public static final int REMOVED = -1;
+
+    public boolean isRemoved() {
+        return quantity == REMOVED;
+    }
+}
@@ -0,0 +1,26 @@
+package com.project.ecommerce.domain.cart.store;
+
+import com.project.ecommerce.domain.cart.entity.ProductSnapshot;
+
+/**
+ * 여러 건을 한 번에 바꿀 때(HotCartStore.applyAll) 넘기는 장바구니 변경 한 건
+ * ADD 는 productId 와 product, UPDATE / REMOVE 는 cartItemId 를 쓴다.
+ */
+public record CartMutation(Type type, Long productId, Long cartItemId, int quantity, ProductSnapshot product) {
+
+    public enum Type {
+        ADD, UPDATE, REMOVE
+    }
+
+    public static CartMutation add(Long productId, int quantity, ProductSnapshot product) {
+        return new CartMutation(Type.ADD, productId, null, quantity, product);
+    }
+
+    public static CartMutation update(Long cartItemId, int quantity) {
+        return new CartMutation(Type.UPDATE, null, cartItemId, quantity, null);
+    }
+
+    public static CartMutation remove(Long cartItemId) {
+        return new CartMutation(Type.REMOVE, null, cartItemId, 0, null);
+    }
+}
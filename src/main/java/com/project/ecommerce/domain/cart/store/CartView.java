@@ -0,0 +1,15 @@
+package com.project.ecommerce.domain.cart.store;
+
+import com.project.ecommerce.domain.cart.entity.ProductSnapshot;
+
+import java.math.BigDecimal;
+import java.util.List;
+
+/**
+ * 인메모리 장바구니를 읽은 결과. cartId 는 아직 DB 에 장바구니가 없으면 null 이다.
+ */
+public record CartView(Long cartId, List<Item> items, int itemCount, BigDecimal totalPrice) {
+
+    public record Item(long cartItemId, long productId, int quantity, ProductSnapshot product) {
+    }
+}
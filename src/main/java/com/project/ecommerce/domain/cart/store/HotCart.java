@@ -0,0 +1,315 @@
+package com.project.ecommerce.domain.cart.store;
+
+import com.project.ecommerce.common.exception.CartException;
+import com.project.ecommerce.common.exception.CartItemErrorMessages;
+import com.project.ecommerce.domain.cart.entity.Cart;
+import com.project.ecommerce.domain.cart.entity.CartItem;
+import com.project.ecommerce.domain.cart.entity.ProductSnapshot;
+import org.springframework.http.HttpStatus;
+
+import java.math.BigDecimal;
+import java.util.*;
+import java.util.function.LongSupplier;
+
+/**
+ * 메모리에 올려둔 한 사용자의 장바구니
+ * 스레드 안전하지 않으므로 HotCartStore 가 이 객체의 락을 잡고 호출한다.
+ * 삭제한 줄은 DB 에 반영될 때까지 지우지 않고 남겨둔다. 그 사이 같은 상품을 다시 담으면 같은 아이템 id 를 다시 쓴다. (cart_id, product_id 유니크 제약)
+ */
+class HotCart {
+
+    private final Long userId;
+    private Long cartId;
+
+    private final Map<Long, Line> linesByProductId = new LinkedHashMap<>();
+    private final Map<Long, Line> linesById = new HashMap<>();
+
+    // DB 에 반영하지 않은 줄의 아이템 id
+    private final Set<Long> dirtyItemIds = new LinkedHashSet<>();
+    private long version;
+
+    // 삭제되지 않은 줄의 수와 금액 합계 (줄이 바뀔 때마다 바뀐 만큼만 갱신한다)
+    private int itemCount;
+    private BigDecimal totalPrice = BigDecimal.ZERO;
+
+    // 메모리에서 밀려난 객체 (이 객체에 쓰려던 요청은 다시 읽어온 객체에 쓴다)
+    private boolean evicted;
+
+    HotCart(Long userId, Long cartId) {
+        this.userId = userId;
+        this.cartId = cartId;
+    }
+
+    static HotCart of(Cart cart) {
+        HotCart hotCart = new HotCart(cart.getUser().getId(), cart.getId());
+        for (CartItem cartItem : cart.getCartItems()) {
+            Line line = new Line(cartItem.getId(), cartItem.getProductId(), cartItem.getQuantity(), cartItem.getProductSnapshot());
+            hotCart.put(line);
+            hotCart.account(line);
+        }
+
+        return hotCart;
+    }
+
+    CartLine add(long productId, int quantity, ProductSnapshot product, LongSupplier nextItemId) {
+        Line line = linesByProductId.get(productId);
+        if (line == null) {
+            line = new Line(nextItemId.getAsLong(), productId, quantity, product);
+            put(line);
+            account(line);
+            return markDirty(line);
+        }
+
+        unaccount(line);
+        line.product = product;
+        line.quantity = line.isRemoved() ? quantity : line.quantity + quantity;
+        account(line);
+
+        return markDirty(line);
+    }
+
+    CartLine update(long cartItemId, int quantity) {
+        Line line = liveLine(cartItemId, CartItemErrorMessages.NO_ITEM_FOR_UPDATE);
+        unaccount(line);
+        line.quantity = quantity;
+        account(line);
+
+        return markDirty(line);
+    }
+
+    CartLine remove(long cartItemId) {
+        Line line = liveLine(cartItemId, CartItemErrorMessages.NO_ITEM_FOR_DELETE);
+        unaccount(line);
+        line.quantity = CartLine.REMOVED;
+
+        return markDirty(line);
+    }
+
+    List<CartLine> clear() {
+        List<CartLine> removed = new ArrayList<>();
+        for (Line line : linesByProductId.values()) {
+            if (!line.isRemoved()) {
+                unaccount(line);
+                line.quantity = CartLine.REMOVED;
+                removed.add(markDirty(line));
+            }
+        }
+
+        return removed;
+    }
+
+    /**
+     * 주문된 줄을 지운다. 주문을 읽은 뒤에 수량을 바꾼 줄도 DB 에서는 이미 지워졌으므로 같이 지운다.
+     * 메모리에 없는 줄도 저널에 남길 수 있도록 삭제된 줄로 돌려준다. (DB 에는 이미 없으므로 반영 대상으로 만들지 않는다)
+     */
+    List<CartLine> discard(Map<Long, Long> orderedProductIds) {
+        List<CartLine> removed = new ArrayList<>();
+        orderedProductIds.forEach((cartItemId, productId) -> {
+            Line line = linesById.get(cartItemId);
+            if (line == null || line.isRemoved()) {
+                removed.add(new CartLine(cartItemId, productId, CartLine.REMOVED));
+                return;
+            }
+
+            unaccount(line);
+            line.quantity = CartLine.REMOVED;
+            removed.add(markDirty(line));
+        });
+
+        return removed;
+    }
+
+    /**
+     * 여러 건을 순서대로 반영한다. 하나라도 실패할 변경이 있으면 아무 것도 바꾸지 않도록 먼저 전부 확인한다.
+     */
+    List<CartLine> applyAll(List<CartMutation> mutations, LongSupplier nextItemId) {
+        check(mutations);
+
+        List<CartLine> lines = new ArrayList<>();
+        for (CartMutation mutation : mutations) {
+            lines.add(switch (mutation.type()) {
+                case ADD -> add(mutation.productId(), mutation.quantity(), mutation.product(), nextItemId);
+                case UPDATE -> update(mutation.cartItemId(), mutation.quantity());
+                case REMOVE -> remove(mutation.cartItemId());
+            });
+        }
+
+        return lines;
+    }
+
+    /**
+     * 상품 정보가 바뀌면 담긴 줄의 상품 정보와 합계를 바꾼다. DB 는 따로 갱신하므로 반영 대상으로 만들지 않는다.
+     */
+    void applyProductChange(long productId, ProductSnapshot product) {
+        Line line = linesByProductId.get(productId);
+        if (line == null) {
+            return;
+        }
+
+        unaccount(line);
+        line.product = product;
+        account(line);
+    }
+
+    CartView view() {
+        List<CartView.Item> items = new ArrayList<>();
+        for (Line line : linesByProductId.values()) {
+            if (!line.isRemoved()) {
+                items.add(new CartView.Item(line.cartItemId, line.productId, line.quantity, line.product));
+            }
+        }
+
+        return new CartView(cartId, items, itemCount, totalPrice);
+    }
+
+    /**
+     * DB 에 반영할 줄을 모은다. 반영하는 동안에도 장바구니는 계속 바뀔 수 있으므로 줄마다 지금 버전을 같이 기억해둔다.
+     */
+    Snapshot snapshot() {
+        List<CartLine> lines = new ArrayList<>();
+        Map<Long, Long> versions = new HashMap<>();
+        for (Long cartItemId : dirtyItemIds) {
+            Line line = linesById.get(cartItemId);
+            lines.add(line.toCartLine());
+            versions.put(cartItemId, line.version);
+        }
+
+        return new Snapshot(this, new CartChanges(userId, cartId, lines), versions);
+    }
+
+    /**
+     * 반영이 끝난 줄 중에서 그 뒤로 바뀌지 않은 줄만 깨끗한 상태로 돌린다.
+     */
+    void markFlushed(Snapshot snapshot, Long cartId) {
+        this.cartId = cartId;
+
+        snapshot.versions().forEach((cartItemId, flushedVersion) -> {
+            Line line = linesById.get(cartItemId);
+            if (line.version != flushedVersion) {
+                return;
+            }
+
+            dirtyItemIds.remove(cartItemId);
+            if (line.isRemoved()) {
+                linesById.remove(cartItemId);
+                linesByProductId.remove(line.productId);
+            }
+        });
+    }
+
+    boolean isDirty() {
+        return !dirtyItemIds.isEmpty();
+    }
+
+    Long getUserId() {
+        return userId;
+    }
+
+    boolean isEvicted() {
+        return evicted;
+    }
+
+    void evict() {
+        evicted = true;
+    }
+
+    void revive() {
+        evicted = false;
+    }
+
+    private Line liveLine(long cartItemId, String errorMessage) {
+        Line line = linesById.get(cartItemId);
+        if (line == null || line.isRemoved()) {
+            throw new CartException(errorMessage, HttpStatus.NOT_FOUND);
+        }
+
+        return line;
+    }
+
+    /**
+     * 줄을 바꾸지 않고 변경을 순서대로 따라가면서 수정/삭제할 줄이 그 시점에 남아 있는지 확인한다.
+     * 삭제된 상품을 다시 담으면 같은 아이템 id 가 살아나므로 ADD 도 따라간다.
+     */
+    private void check(List<CartMutation> mutations) {
+        Set<Long> liveItemIds = new HashSet<>();
+        for (Line line : linesById.values()) {
+            if (!line.isRemoved()) {
+                liveItemIds.add(line.cartItemId);
+            }
+        }
+
+        for (CartMutation mutation : mutations) {
+            switch (mutation.type()) {
+                case ADD -> {
+                    Line line = linesByProductId.get(mutation.productId());
+                    if (line != null) {
+                        liveItemIds.add(line.cartItemId);
+                    }
+                }
+                case UPDATE -> {
+                    if (!liveItemIds.contains(mutation.cartItemId())) {
+                        throw new CartException(CartItemErrorMessages.NO_ITEM_FOR_UPDATE, HttpStatus.NOT_FOUND);
+                    }
+                }
+                case REMOVE -> {
+                    if (!liveItemIds.remove(mutation.cartItemId())) {
+                        throw new CartException(CartItemErrorMessages.NO_ITEM_FOR_DELETE, HttpStatus.NOT_FOUND);
+                    }
+                }
+            }
+        }
+    }
+
+    private void put(Line line) {
+        linesByProductId.put(line.productId, line);
+        linesById.put(line.cartItemId, line);
+    }
+
+    private void account(Line line) {
+        if (!line.isRemoved()) {
+            itemCount++;
+            totalPrice = totalPrice.add(line.product.priceOf(line.quantity));
+        }
+    }
+
+    private void unaccount(Line line) {
+        if (!line.isRemoved()) {
+            itemCount--;
+            totalPrice = totalPrice.subtract(line.product.priceOf(line.quantity));
+        }
+    }
+
+    private CartLine markDirty(Line line) {
+        line.version = ++version;
+        dirtyItemIds.add(line.cartItemId);
+
+        return line.toCartLine();
+    }
+
+    record Snapshot(HotCart cart, CartChanges changes, Map<Long, Long> versions) {
+    }
+
+    private static class Line {
+
+        private final long cartItemId;
+        private final long productId;
+        private int quantity;
+        private ProductSnapshot product;
+        private long version;
+
+        Line(long cartItemId, long productId, int quantity, ProductSnapshot product) {
+            this.cartItemId = cartItemId;
+            this.productId = productId;
+            this.quantity = quantity;
+            this.product = product;
+        }
+
+        boolean isRemoved() {
+            return quantity == CartLine.REMOVED;
+        }
+
+        CartLine toCartLine() {
+            return new CartLine(cartItemId, productId, quantity);
+        }
+    }
+}
@@ -0,0 +1,353 @@
+package com.project.ecommerce.domain.cart.store;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.RemovalCause;
+import com.project.ecommerce.domain.cart.entity.Cart;
+import com.project.ecommerce.domain.cart.entity.ProductSnapshot;
+import com.project.ecommerce.domain.cart.repository.CartRepository;
+import com.project.ecommerce.domain.user.repository.UserRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.SmartInitializingSingleton;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Function;
+
+/**
+ * 장바구니를 DB 대신 메모리에 두고 쓰는 저장소 (cart.hot.enabled=true 일 때만 사용)
+ * 장바구니 변경은 대부분 주문으로 이어지지 않는 잦은 수정이라서, 요청마다 DB 에 쓰지 않고 메모리에서 바꾼 뒤
+ * 주기적으로 바뀐 줄만 모아서 배치로 반영한다. 같은 줄을 여러 번 바꾸면 마지막 상태만 한 번 쓴다.
+ *
+ * 내구성
+ * - 변경은 응답 전에 저널 파일에 덧붙인다. 프로세스가 죽어도 OS 페이지 캐시에 남으므로 재시작할 때 저널로 복구한다.
+ * - 저널은 반영 주기마다 fsync 하므로, 서버(OS) 자체가 죽으면 마지막 반영 주기(cart.hot.flush-interval) 동안의 변경은 잃을 수 있다.
+ * - 장바구니가 프로세스 메모리에 있으므로 같은 사용자의 요청은 한 인스턴스로만 보내야 한다.
+ * 오래 안 쓴 장바구니는 메모리에서 내보내되, DB 에 반영하지 않은 변경이 있으면 반영될 때까지 붙잡아 둔다.
+ */
+@Slf4j
+@Component
+public class HotCartStore implements SmartInitializingSingleton {
+
+    private static final String NEXT_ITEM_ID_SQL = "select next value for cart_items_seq";
+
+    // CartItem 의 allocationSize 와 같아야 한다 (pooled-lo: 시퀀스에서 받은 값부터 50개를 쓴다)
+    private static final int ITEM_ID_ALLOCATION_SIZE = 50;
+
+    // 새 줄이면 상품 정보를 products 에서 복사해서 넣는다
+    private static final String UPSERT_LINE_SQL = "merge into cart_items ci " +
+            "using (select cast(? as bigint) as cart_item_id, cast(? as bigint) as cart_id, cast(? as integer) as quantity, " +
+            "p.product_id, p.name, p.price, p.main_image, p.status from products p where p.product_id = ?) src " +
+            "on ci.cart_item_id = src.cart_item_id " +
+            "when matched then update set quantity = src.quantity, modified_at = current_timestamp " +
+            "when not matched then insert (cart_item_id, cart_id, product_id, quantity, product_name, unit_price, main_image, product_status, created_at, modified_at) " +
+            "values (src.cart_item_id, src.cart_id, src.product_id, src.quantity, src.name, src.price, src.main_image, src.status, current_timestamp, current_timestamp)";
+
+    private static final String DELETE_LINE_SQL = "delete from cart_items where cart_item_id = ?";
+
+    // 메모리에서는 바뀐 만큼만 합계를 갱신하지만, DB 에는 반영한 장바구니의 합계를 다시 계산해서 쓴다 (반영 주기마다 한 번)
+    private static final String RECALCULATE_TOTALS_SQL = "update carts set " +
+            "item_count = (select count(*) from cart_items ci where ci.cart_id = carts.cart_id), " +
+            "total_price = (select coalesce(sum(ci.unit_price * ci.quantity), 0) from cart_items ci where ci.cart_id = carts.cart_id), " +
+            "version = version + 1 " +
+            "where cart_id = ?";
+
+    private final boolean enabled;
+    private final CartJournal journal;
+    private final CartRepository cartRepository;
+    private final UserRepository userRepository;
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+
+    // 사용자 id -> 장바구니 (오래 안 쓰면 내보낸다)
+    private final Cache<Long, HotCart> carts;
+
+    // DB 에 반영하지 않은 변경이 있는 장바구니 (메모리에서 내보내도 반영될 때까지 여기 남는다)
+    private final Map<Long, HotCart> dirtyCarts = new ConcurrentHashMap<>();
+
+    // 장바구니 락을 잡은 채로 id 를 받으므로 flush 와 다른 락을 쓴다
+    private final Object itemIdLock = new Object();
+    private long nextItemId = 1;
+    private long lastItemId = 0;
+
+    public HotCartStore(@Value("${cart.hot.enabled:false}") boolean enabled,
+                        @Value("${cart.hot.maximum-size:100000}") long maximumSize,
+                        @Value("${cart.hot.idle-timeout:30m}") Duration idleTimeout,
+                        @Value("${cart.hot.journal-dir:./data/cart-journal}") Path journalDir,
+                        CartRepository cartRepository,
+                        UserRepository userRepository,
+                        JdbcTemplate jdbcTemplate,
+                        PlatformTransactionManager transactionManager) {
+        this.enabled = enabled;
+        this.journal = new CartJournal(journalDir);
+        this.cartRepository = cartRepository;
+        this.userRepository = userRepository;
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.carts = Caffeine.newBuilder()
+                .maximumSize(maximumSize)
+                .expireAfterAccess(idleTimeout)
+                .evictionListener((Long userId, HotCart cart, RemovalCause cause) -> {
+                    // 쓰고 있던 요청이 끝난 뒤에 표시하므로, 그 요청의 변경은 dirtyCarts 에 남는다
+                    synchronized (cart) {
+                        cart.evict();
+                    }
+                })
+                .build();
+    }
+
+    /**
+     * 웹 서버가 요청을 받기 전에, 지난번에 반영하지 못하고 남은 저널을 DB 에 반영한다.
+     */
+    @Override
+    public void afterSingletonsInstantiated() {
+        if (!enabled) {
+            return;
+        }
+
+        journal.open();
+
+        List<Long> segments = journal.sealedSegments();
+        if (segments.isEmpty()) {
+            return;
+        }
+
+        Map<Long, Map<Long, CartLine>> linesByUserId = new HashMap<>();
+        segments.forEach(sequence -> journal.readInto(sequence, linesByUserId));
+
+        List<CartChanges> changes = new ArrayList<>();
+        linesByUserId.forEach((userId, lines) -> changes.add(new CartChanges(userId, null, List.copyOf(lines.values()))));
+        transactionTemplate.executeWithoutResult(status -> apply(changes));
+        segments.forEach(journal::delete);
+
+        log.info("장바구니 저널 복구 완료: 장바구니 {}개", changes.size());
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    public CartView getCart(Long userId) {
+        HotCart cart = carts.get(userId, this::load);
+        synchronized (cart) {
+            return cart.view();
+        }
+    }
+
+    public CartView addItem(Long userId, Long productId, int quantity, ProductSnapshot product) {
+        return write(userId, cart -> List.of(cart.add(productId, quantity, product, this::nextItemId)));
+    }
+
+    public CartView updateQuantity(Long userId, Long cartItemId, int quantity) {
+        return write(userId, cart -> List.of(cart.update(cartItemId, quantity)));
+    }
+
+    public CartView removeItem(Long userId, Long cartItemId) {
+        return write(userId, cart -> List.of(cart.remove(cartItemId)));
+    }
+
+    public CartView applyAll(Long userId, List<CartMutation> mutations) {
+        return write(userId, cart -> cart.applyAll(mutations, this::nextItemId));
+    }
+
+    public void clear(Long userId) {
+        write(userId, HotCart::clear);
+    }
+
+    /**
+     * 상품 정보(가격 등)가 바뀌면 메모리에 있는 장바구니 중 그 상품을 담은 장바구니를 갱신한다.
+     * 가격 변경은 장바구니 변경보다 훨씬 드물어서 상품별 색인을 따로 두지 않고 전부 훑는다.
+     */
+    public void applyProductChange(Long productId, ProductSnapshot product) {
+        if (!enabled) {
+            return;
+        }
+
+        Set<HotCart> targets = Collections.newSetFromMap(new IdentityHashMap<>());
+        targets.addAll(carts.asMap().values());
+        targets.addAll(dirtyCarts.values());
+
+        for (HotCart cart : targets) {
+            synchronized (cart) {
+                cart.applyProductChange(productId, product);
+            }
+        }
+    }
+
+    /**
+     * 지금까지 바뀐 장바구니를 DB 에 반영하고, 반영이 끝난 저널 세그먼트를 지운다.
+     */
+    @Scheduled(fixedDelayString = "${cart.hot.flush-interval:1s}")
+    public synchronized void flush() {
+        if (!enabled) {
+            return;
+        }
+
+        // roll 한 뒤에 장바구니를 읽어야, 닫힌 세그먼트에 있는 변경이 모두 이번 반영에 들어간다
+        journal.roll();
+        List<Long> segments = journal.sealedSegments();
+
+        flushCarts(List.copyOf(dirtyCarts.values()));
+        segments.forEach(journal::delete);
+    }
+
+    /**
+     * 한 사용자의 장바구니만 DB 에 반영한다. 주문처럼 DB 의 장바구니를 읽는 작업 직전에 호출한다.
+     * 다른 사용자의 변경이나 저널 roll/fsync 를 기다리지 않도록 세그먼트는 지우지 않고 주기적인 flush 에 맡긴다.
+     * 그래서 재시작하면 이 사용자의 줄이 든 세그먼트를 다시 반영할 수 있는데, 주문된 줄은 discard 가 삭제로 남기므로 되살아나지 않는다.
+     */
+    public void flush(Long userId) {
+        if (!enabled) {
+            return;
+        }
+
+        HotCart cart = dirtyCarts.get(userId);
+        if (cart != null) {
+            flushCarts(List.of(cart));
+        }
+    }
+
+    /**
+     * 주문으로 DB 에서 지운 줄을 메모리의 장바구니에서도 지운다. 주문하는 사이 새로 담은 줄은 남긴다.
+     * 장바구니가 메모리에 없어도 지운 줄을 저널에 삭제로 남겨서, 앞 세그먼트에 남아 있던 줄이 재시작할 때 다시 들어가지 않게 한다.
+     * @param orderedProductIds 주문된 장바구니 아이템 id -> 상품 id
+     */
+    public void discard(Long userId, Map<Long, Long> orderedProductIds) {
+        if (!enabled || orderedProductIds.isEmpty()) {
+            return;
+        }
+
+        if (carts.getIfPresent(userId) != null || dirtyCarts.containsKey(userId)) {
+            write(userId, cart -> cart.discard(orderedProductIds));
+            return;
+        }
+
+        // 다음 요청은 주문된 줄이 지워진 DB 장바구니를 읽으므로 메모리에는 올리지 않는다
+        orderedProductIds.forEach((cartItemId, productId) ->
+                journal.append(userId, new CartLine(cartItemId, productId, CartLine.REMOVED)));
+    }
+
+    private CartView write(Long userId, Function<HotCart, List<CartLine>> operation) {
+        while (true) {
+            HotCart cart = carts.get(userId, this::load);
+            synchronized (cart) {
+                if (cart.isEvicted()) {
+                    continue;
+                }
+
+                // 저널에 쓰기 전에 등록해야 flush 가 roll 한 세그먼트의 변경을 빠뜨리지 않는다
+                dirtyCarts.put(userId, cart);
+                for (CartLine line : operation.apply(cart)) {
+                    journal.append(userId, line);
+                }
+
+                return cart.view();
+            }
+        }
+    }
+
+    private HotCart load(Long userId) {
+        // 반영되기 전에 메모리에서 밀려난 장바구니면 그대로 다시 쓴다
+        HotCart dirty = dirtyCarts.get(userId);
+        if (dirty != null) {
+            synchronized (dirty) {
+                dirty.revive();
+            }
+            return dirty;
+        }
+
+        return cartRepository.findWithItemsByUserId(userId)
+                .map(HotCart::of)
+                .orElseGet(() -> new HotCart(userId, null));
+    }
+
+    private void flushCarts(List<HotCart> targets) {
+        List<HotCart.Snapshot> snapshots = new ArrayList<>();
+        for (HotCart cart : targets) {
+            synchronized (cart) {
+                snapshots.add(cart.snapshot());
+            }
+        }
+
+        List<CartChanges> changes = snapshots.stream()
+                .map(HotCart.Snapshot::changes)
+                .filter(change -> !change.lines().isEmpty())
+                .toList();
+        Map<Long, Long> cartIds = changes.isEmpty()
+                ? Map.of()
+                : transactionTemplate.execute(status -> apply(changes));
+
+        for (HotCart.Snapshot snapshot : snapshots) {
+            HotCart cart = snapshot.cart();
+            synchronized (cart) {
+                cart.markFlushed(snapshot, cartIds.getOrDefault(cart.getUserId(), snapshot.changes().cartId()));
+                if (!cart.isDirty()) {
+                    dirtyCarts.remove(cart.getUserId(), cart);
+                }
+            }
+        }
+    }
+
+    /**
+     * 바뀐 줄을 DELETE / MERGE 배치로 반영한다. 수량이 바뀐 뒤의 값이라서 같은 내용을 다시 반영해도(저널 복구) 결과가 같다.
+     * @return 사용자 id -> 장바구니 id
+     */
+    private Map<Long, Long> apply(List<CartChanges> changes) {
+        Map<Long, Long> cartIds = new HashMap<>();
+        List<Object[]> upserts = new ArrayList<>();
+        List<Object[]> deletes = new ArrayList<>();
+
+        for (CartChanges change : changes) {
+            Long cartId = change.cartId() != null ? change.cartId() : findOrCreateCartId(change.userId());
+            cartIds.put(change.userId(), cartId);
+
+            for (CartLine line : change.lines()) {
+                if (line.isRemoved()) {
+                    deletes.add(new Object[]{line.cartItemId()});
+                } else {
+                    upserts.add(new Object[]{line.cartItemId(), cartId, line.quantity(), line.productId()});
+                }
+            }
+        }
+
+        // 새로 만든 장바구니 INSERT 를 먼저 내보내야 아이템이 참조할 수 있다
+        cartRepository.flush();
+        jdbcTemplate.batchUpdate(DELETE_LINE_SQL, deletes);
+        jdbcTemplate.batchUpdate(UPSERT_LINE_SQL, upserts);
+        jdbcTemplate.batchUpdate(RECALCULATE_TOTALS_SQL, cartIds.values().stream()
+                .map(cartId -> new Object[]{cartId})
+                .toList());
+
+        return cartIds;
+    }
+
+    private Long findOrCreateCartId(Long userId) {
+        return cartRepository.findIdByUserId(userId)
+                .orElseGet(() -> cartRepository.save(Cart.builder()
+                                .user(userRepository.getReferenceById(userId))
+                                .build())
+                        .getId());
+    }
+
+    /**
+     * 새 줄의 아이템 id 는 JPA 와 같은 시퀀스에서 50개씩 받아서 나눠준다. (요청마다 시퀀스를 읽지 않도록)
+     */
+    private long nextItemId() {
+        synchronized (itemIdLock) {
+            if (nextItemId > lastItemId) {
+                nextItemId = jdbcTemplate.queryForObject(NEXT_ITEM_ID_SQL, Long.class);
+                lastItemId = nextItemId + ITEM_ID_ALLOCATION_SIZE - 1;
+            }
+
+            return nextItemId++;
+        }
+    }
+}
@@ -0,0 +1,38 @@
+package com.project.ecommerce.domain.order.controller;
+
+import com.project.ecommerce.common.utils.UserPrincipal;
+import com.project.ecommerce.domain.order.dto.OrderDto;
+import com.project.ecommerce.domain.order.service.OrderService;
+import jakarta.validation.Valid;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.core.annotation.AuthenticationPrincipal;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.Map;
+
+import static com.project.ecommerce.common.utils.ResponseUtil.createSuccessResponse;
+
+@RequiredArgsConstructor
+@RequestMapping("/api/v1/orders")
+@RestController
+public class OrderController {
+
+    private final OrderService orderService;
+
+    /**
+     * 장바구니 주문하기
+     * 네트워크 오류 등으로 재시도할 때는 같은 Idempotency-Key 헤더를 보내면 주문이 중복으로 만들어지지 않는다.
+     */
+    @PostMapping
+    public ResponseEntity<Map<String, Object>> placeOrder(
+            @AuthenticationPrincipal UserPrincipal principal,
+            @RequestHeader(value = "Idempotency-Key", required = false) String idempotencyKey,
+            @Valid @RequestBody OrderDto.PlaceOrderRequest request
+    ) {
+        Long userId = principal.getId();
+        OrderDto.OrderResponse response = orderService.placeOrder(userId, idempotencyKey, request);
+
+        return ResponseEntity.ok(createSuccessResponse(response));
+    }
+}
@@ -0,0 +1,70 @@
+package com.project.ecommerce.domain.order.dto;
+
+import com.project.ecommerce.common.exception.OrderErrorMessages;
+import com.project.ecommerce.domain.order.entity.Order;
+import com.project.ecommerce.domain.order.entity.OrderItem;
+import com.project.ecommerce.domain.order.entity.PaymentMethod;
+import jakarta.validation.constraints.NotNull;
+import lombok.Builder;
+import lombok.Getter;
+
+import java.math.BigDecimal;
+import java.util.List;
+
+public class OrderDto {
+
+    @Getter
+    @Builder
+    public static class PlaceOrderRequest {
+
+        @NotNull(message = OrderErrorMessages.REQUIRED_ADDRESS_ID)
+        private Long addressId;
+
+        private String deliveryMessage;
+
+        @NotNull(message = OrderErrorMessages.REQUIRED_PAYMENT_METHOD)
+        private PaymentMethod paymentMethod;
+    }
+
+    @Getter
+    @Builder
+    public static class OrderResponse {
+        private Long orderId;
+        private String orderNumber;
+        private String status;
+        private BigDecimal totalAmount;
+        private String paymentStatus;
+        private List<OrderItemResponse> items;
+
+        public static OrderResponse of(Order order) {
+            return OrderResponse.builder()
+                    .orderId(order.getId())
+                    .orderNumber(order.getOrderNumber())
+                    .status(order.getStatus().name())
+                    .totalAmount(order.getTotalAmount())
+                    .paymentStatus(order.getPayment() != null ? order.getPayment().getStatus().name() : null)
+                    .items(order.getOrderItems().stream()
+                            .map(OrderItemResponse::of)
+                            .toList())
+                    .build();
+        }
+    }
+
+    @Getter
+    @Builder
+    public static class OrderItemResponse {
+        private Long productId;
+        private BigDecimal price;
+        private int quantity;
+        private BigDecimal totalPrice;
+
+        public static OrderItemResponse of(OrderItem orderItem) {
+            return OrderItemResponse.builder()
+                    .productId(orderItem.getProduct().getId())
+                    .price(orderItem.getPrice())
+                    .quantity(orderItem.getQuantity())
+                    .totalPrice(orderItem.getTotalPrice())
+                    .build();
+        }
+    }
+}
@@ -5,6 +5,7 @@ import com.project.ecommerce.domain.user.entity.Address;
 import com.project.ecommerce.domain.user.entity.User;
 import jakarta.persistence.*;
 import lombok.AccessLevel;
+import lombok.Builder;
 import lombok.Getter;
 import lombok.NoArgsConstructor;
 
@@ -15,16 +16,20 @@ import java.util.List;
 @Getter
 @NoArgsConstructor(access = AccessLevel.PROTECTED)
 @Entity
-@Table(name = "orders")
+@Table(name = "orders", uniqueConstraints = {
+        // 같은 요청을 재시도해도 주문이 한 번만 만들어지도록 사용자별 멱등키를 유일하게 둔다
+        @UniqueConstraint(name = "uk_orders_user_idempotency_key", columnNames = {"user_id", "idempotency_key"})
+})
 public class Order extends BaseEntity {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "order_seq_generator")
+    @SequenceGenerator(name = "order_seq_generator", sequenceName = "orders_seq", allocationSize = 50)
     @Column(name = "order_id")
     private Long id;
 
-    @Column(nullable = false, unique = true)
-    private String orderNumber;
+    @Column(nullable = false, unique = true, length = 13)
+    private String orderNumber; // OrderNumberGenerator 가 만든 13자리 base32 (생성 순서대로 정렬됨)
 
     @Column(nullable = false)
     private BigDecimal totalAmount;
@@ -32,6 +37,9 @@ public class Order extends BaseEntity {
     @Column(nullable = false)
     private String deliveryMessage;
 
+    @Column(name = "idempotency_key")
+    private String idempotencyKey;
+
     @Enumerated(EnumType.STRING)
     @Column(nullable = false)
     private OrderStatus status;
@@ -49,4 +57,25 @@ public class Order extends BaseEntity {
 
     @OneToMany(mappedBy = "order", cascade = CascadeType.ALL, orphanRemoval = true)
     private List<OrderItem> orderItems = new ArrayList<>();
+
+    @Builder
+    public Order(String orderNumber, String deliveryMessage, String idempotencyKey, User user, Address deliveryAddress) {
+        this.orderNumber = orderNumber;
+        this.deliveryMessage = deliveryMessage == null ? "" : deliveryMessage;
+        this.idempotencyKey = idempotencyKey;
+        this.user = user;
+        this.deliveryAddress = deliveryAddress;
+        this.status = OrderStatus.PENDING_PAYMENT;
+        this.totalAmount = BigDecimal.ZERO;
+    }
+
+    //==연관관계 편의 메서드==//
+    public void addOrderItem(OrderItem orderItem) {
+        this.orderItems.add(orderItem);
+        this.totalAmount = this.totalAmount.add(orderItem.getTotalPrice());
+    }
+
+    public void attachPayment(Payment payment) {
+        this.payment = payment;
+    }
 }
\ No newline at end of file
@@ -4,6 +4,7 @@ import com.project.ecommerce.domain.common.BaseEntity;
 import com.project.ecommerce.domain.product.entity.Product;
 import jakarta.persistence.*;
 import lombok.AccessLevel;
+import lombok.Builder;
 import lombok.Getter;
 import lombok.NoArgsConstructor;
 
@@ -16,7 +17,8 @@ import java.math.BigDecimal;
 public class OrderItem extends BaseEntity {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "order_item_seq_generator")
+    @SequenceGenerator(name = "order_item_seq_generator", sequenceName = "order_items_seq", allocationSize = 50)
     @Column(name = "order_item_id")
     private Long id;
 
@@ -36,4 +38,16 @@ public class OrderItem extends BaseEntity {
     @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "product_id")
     private Product product;
+
+    /**
+     * 주문 시점의 상품 가격을 그대로 기록해서, 이후 상품 가격이 바뀌어도 주문 금액은 바뀌지 않는다.
+     */
+    @Builder
+    public OrderItem(Order order, Product product, BigDecimal price, int quantity) {
+        this.order = order;
+        this.product = product;
+        this.price = price;
+        this.quantity = quantity;
+        this.totalPrice = price.multiply(BigDecimal.valueOf(quantity));
+    }
 }
\ No newline at end of file
@@ -16,7 +16,8 @@ import java.math.BigDecimal;
 public class Payment extends BaseEntity {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "payment_seq_generator")
+    @SequenceGenerator(name = "payment_seq_generator", sequenceName = "payments_seq", allocationSize = 50)
     @Column(name = "payment_id")
     private Long id;
 
@@ -0,0 +1,79 @@
+package com.project.ecommerce.domain.order.number;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Instant;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.LongSupplier;
+
+/**
+ * 주문번호 생성기 (Snowflake 방식)
+ * 64비트 = 부호 1비트 + 시간 41비트(ms) + 노드 10비트 + 순번 12비트. DB 나 다른 서버와 통신하지 않고 서버마다 겹치지 않는 번호를 만든다.
+ * 시간이 앞자리라 번호가 계속 커지므로 orderNumber 유니크 인덱스에 항상 끝에만 추가되고, 고정 길이 base32 문자열도 사전순 = 생성순이다.
+ */
+@Component
+public class OrderNumberGenerator {
+
+    private static final long EPOCH = Instant.parse("2025-01-01T00:00:00Z").toEpochMilli();
+    private static final int NODE_BITS = 10;
+    private static final int SEQUENCE_BITS = 12;
+    private static final long MAX_NODE_ID = (1L << NODE_BITS) - 1;
+    private static final long SEQUENCE_MASK = (1L << SEQUENCE_BITS) - 1;
+
+    // Crockford base32: 헷갈리는 I, L, O, U 를 뺀 32글자. 64비트를 13글자로 표현한다
+    private static final char[] ALPHABET = "0123456789ABCDEFGHJKMNPQRSTVWXYZ".toCharArray();
+    private static final int ENCODED_LENGTH = 13;
+
+    private final long nodeId;
+    private final LongSupplier clock;
+
+    // (마지막으로 쓴 시간 << 12) | 순번
+    private final AtomicLong state = new AtomicLong();
+
+    @Autowired
+    public OrderNumberGenerator(@Value("${order.number.node-id:0}") long nodeId) {
+        this(nodeId, System::currentTimeMillis);
+    }
+
+    OrderNumberGenerator(long nodeId, LongSupplier clock) {
+        if (nodeId < 0 || nodeId > MAX_NODE_ID) {
+            throw new IllegalArgumentException("order.number.node-id 는 0 ~ " + MAX_NODE_ID + " 사이여야 합니다: " + nodeId);
+        }
+        this.nodeId = nodeId;
+        this.clock = clock;
+    }
+
+    /**
+     * 락 없이 CAS 로 다음 번호를 만든다.
+     * 같은 ms 안에서 순번 4096개를 다 쓰면 순번의 올림이 시간 자리로 넘어가서 다음 ms 를 미리 당겨 쓰고,
+     * 서버 시계가 뒤로 가도 마지막으로 쓴 시간보다 작아지지 않으므로 번호는 항상 증가한다.
+     */
+    public long nextId() {
+        while (true) {
+            long current = state.get();
+            long now = clock.getAsLong() - EPOCH;
+            long next = now > (current >>> SEQUENCE_BITS) ? now << SEQUENCE_BITS : current + 1;
+
+            if (state.compareAndSet(current, next)) {
+                long timestamp = next >>> SEQUENCE_BITS;
+                return (timestamp << (NODE_BITS + SEQUENCE_BITS)) | (nodeId << SEQUENCE_BITS) | (next & SEQUENCE_MASK);
+            }
+        }
+    }
+
+    public String nextOrderNumber() {
+        return encode(nextId());
+    }
+
+    static String encode(long id) {
+        char[] chars = new char[ENCODED_LENGTH];
+        for (int i = ENCODED_LENGTH - 1; i >= 0; i--) {
+            chars[i] = ALPHABET[(int) (id & 31)];
+            id >>>= 5;
+        }
+
+        return new String(chars);
+    }
+}
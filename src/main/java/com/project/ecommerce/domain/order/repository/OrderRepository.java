@@ -0,0 +1,11 @@
+package com.project.ecommerce.domain.order.repository;
+
+import com.project.ecommerce.domain.order.entity.Order;
+import org.springframework.data.jpa.repository.JpaRepository;
+
+import java.util.Optional;
+
+public interface OrderRepository extends JpaRepository<Order, Long> {
+
+    Optional<Order> findByUserIdAndIdempotencyKey(Long userId, String idempotencyKey);
+}
@@ -0,0 +1,8 @@
+package com.project.ecommerce.domain.order.service;
+
+import com.project.ecommerce.domain.order.dto.OrderDto;
+
+public interface OrderService {
+
+    OrderDto.OrderResponse placeOrder(Long userId, String idempotencyKey, OrderDto.PlaceOrderRequest request);
+}
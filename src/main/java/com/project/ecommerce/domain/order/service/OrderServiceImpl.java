@@ -0,0 +1,138 @@
+package com.project.ecommerce.domain.order.service;
+
+import com.project.ecommerce.common.exception.OrderErrorMessages;
+import com.project.ecommerce.common.exception.OrderException;
+import com.project.ecommerce.domain.cart.entity.Cart;
+import com.project.ecommerce.domain.cart.entity.CartItem;
+import com.project.ecommerce.domain.cart.repository.CartRepository;
+import com.project.ecommerce.domain.cart.store.HotCartStore;
+import com.project.ecommerce.domain.order.dto.OrderDto;
+import com.project.ecommerce.domain.order.entity.Order;
+import com.project.ecommerce.domain.order.entity.OrderItem;
+import com.project.ecommerce.domain.order.entity.Payment;
+import com.project.ecommerce.domain.order.entity.PaymentStatus;
+import com.project.ecommerce.domain.order.number.OrderNumberGenerator;
+import com.project.ecommerce.domain.order.repository.OrderRepository;
+import com.project.ecommerce.domain.product.entity.Product;
+import com.project.ecommerce.domain.product.entity.ProductStatus;
+import com.project.ecommerce.domain.product.service.StockReservationService;
+import com.project.ecommerce.domain.user.entity.Address;
+import com.project.ecommerce.domain.user.repository.AddressRepository;
+import com.project.ecommerce.domain.user.repository.UserRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Optional;
+
+@RequiredArgsConstructor
+@Service
+public class OrderServiceImpl implements OrderService {
+
+    private final OrderRepository orderRepository;
+    private final CartRepository cartRepository;
+    private final AddressRepository addressRepository;
+    private final UserRepository userRepository;
+    private final StockReservationService stockReservationService;
+    private final OrderNumberGenerator orderNumberGenerator;
+    private final TransactionTemplate transactionTemplate;
+    private final HotCartStore hotCartStore;
+
+    /**
+     * 장바구니를 주문으로 바꾼다. 같은 멱등키로 다시 요청하면 새로 만들지 않고 처음 만든 주문을 돌려준다.
+     * 같은 키로 동시에 들어온 요청은 유니크 제약에서 하나만 성공하고, 나머지는 롤백된 뒤 먼저 커밋된 주문을 돌려받는다.
+     */
+    @Override
+    public OrderDto.OrderResponse placeOrder(Long userId, String idempotencyKey, OrderDto.PlaceOrderRequest request) {
+        // 이 사용자의 메모리에만 있는 장바구니 변경을 먼저 DB 에 반영하고, 주문 후에는 주문된 줄을 메모리에서도 지운다
+        hotCartStore.flush(userId);
+        try {
+            Checkout checkout = transactionTemplate.execute(status -> checkout(userId, idempotencyKey, request));
+            hotCartStore.discard(userId, checkout.orderedProductIds());
+            return checkout.response();
+        } catch (DataIntegrityViolationException e) {
+            if (idempotencyKey == null) {
+                throw e;
+            }
+
+            return transactionTemplate.execute(status -> orderRepository.findByUserIdAndIdempotencyKey(userId, idempotencyKey)
+                    .map(OrderDto.OrderResponse::of)
+                    .orElseThrow(() -> e));
+        }
+    }
+
+    /**
+     * 상품 행 락을 짧게 잡기 위해 재고 차감은 가장 마지막에 한다.
+     * 그 전까지의 주문/아이템/결제 INSERT 와 장바구니 비우기는 모두 배치나 단건 쿼리로 끝나서 상품 수와 상관없이 왕복 횟수가 일정하다.
+     */
+    private Checkout checkout(Long userId, String idempotencyKey, OrderDto.PlaceOrderRequest request) {
+        // 재시도 요청이면 이미 만든 주문을 그대로 돌려준다
+        if (idempotencyKey != null) {
+            Optional<Order> existingOrder = orderRepository.findByUserIdAndIdempotencyKey(userId, idempotencyKey);
+            if (existingOrder.isPresent()) {
+                return new Checkout(OrderDto.OrderResponse.of(existingOrder.get()), Map.of());
+            }
+        }
+
+        // 장바구니, 아이템, 상품을 한 번에 읽는다
+        Cart cart = cartRepository.findWithItemsAndProductsByUserId(userId)
+                .filter(found -> !found.getCartItems().isEmpty())
+                .orElseThrow(() -> new OrderException(OrderErrorMessages.EMPTY_CART, HttpStatus.BAD_REQUEST));
+
+        Address address = addressRepository.findByIdAndUserId(request.getAddressId(), userId)
+                .orElseThrow(() -> new OrderException(OrderErrorMessages.NOT_FOUND_ADDRESS, HttpStatus.NOT_FOUND));
+
+        Order order = Order.builder()
+                .orderNumber(orderNumberGenerator.nextOrderNumber())
+                .deliveryMessage(request.getDeliveryMessage())
+                .idempotencyKey(idempotencyKey)
+                .user(userRepository.getReferenceById(userId))
+                .deliveryAddress(address)
+                .build();
+
+        // 주문 시점의 가격을 주문 아이템에 기록한다
+        Map<Long, Integer> quantities = new LinkedHashMap<>();
+        Map<Long, Long> orderedProductIds = new LinkedHashMap<>();
+        for (CartItem cartItem : cart.getCartItems()) {
+            Product product = cartItem.getProduct();
+            if (product.getStatus() != ProductStatus.ACTIVE) {
+                throw new OrderException(OrderErrorMessages.NOT_ORDERABLE_PRODUCT, HttpStatus.BAD_REQUEST);
+            }
+
+            order.addOrderItem(OrderItem.builder()
+                    .order(order)
+                    .product(product)
+                    .price(product.getPrice())
+                    .quantity(cartItem.getQuantity())
+                    .build());
+            quantities.merge(product.getId(), cartItem.getQuantity(), Integer::sum);
+            orderedProductIds.put(cartItem.getId(), product.getId());
+        }
+
+        order.attachPayment(Payment.builder()
+                .amount(order.getTotalAmount())
+                .status(PaymentStatus.PENDING)
+                .method(request.getPaymentMethod())
+                .order(order)
+                .build());
+
+        // 멱등키 유니크 제약을 상품 락을 잡기 전에 확인한다
+        Order savedOrder = orderRepository.saveAndFlush(order);
+
+        cartRepository.clearItems(cart.getId());
+
+        stockReservationService.reserveAll(savedOrder.getId(), quantities);
+
+        return new Checkout(OrderDto.OrderResponse.of(savedOrder), orderedProductIds);
+    }
+
+    /**
+     * 주문 결과와 주문으로 장바구니에서 지운 아이템 (아이템 id -> 상품 id)
+     */
+    private record Checkout(OrderDto.OrderResponse response, Map<Long, Long> orderedProductIds) {
+    }
+}
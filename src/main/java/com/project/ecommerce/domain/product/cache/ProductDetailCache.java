@@ -0,0 +1,169 @@
+package com.project.ecommerce.domain.product.cache;
+
+import com.github.benmanes.caffeine.cache.AsyncCache;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.stats.CacheStats;
+import com.project.ecommerce.common.exception.ProductErrorMessages;
+import com.project.ecommerce.common.exception.ProductException;
+import com.project.ecommerce.common.utils.SingleFlight;
+import com.project.ecommerce.domain.product.dto.ProductDto;
+import com.project.ecommerce.domain.product.event.CategoryChangedEvent;
+import com.project.ecommerce.domain.product.event.ProductChangedEvent;
+import com.project.ecommerce.domain.product.repository.ProductRepository;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.Duration;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.function.Function;
+
+/**
+ * 상품 상세 응답(ProductResponse) 캐시
+ * 최대 개수와 TTL 을 넘으면 자동으로 밀려나고, 상품/카테고리가 바뀌면 커밋 후에 해당 상품만 정확히 지운다.
+ * 캐시에는 읽는 중인 응답도 CompletableFuture 로 들어가서, 같은 상품을 동시에 읽으려는 요청은 처음 요청의 결과를 같이 기다린다. (DB 는 한 번만 읽음)
+ * 기다리는 요청은 loadTimeout 까지만 기다리고, 처음 요청이 실패하면 같은 예외를 받는다. 실패한 결과는 캐시에 남지 않는다.
+ * 적중/실패/축출 횟수는 /actuator/metrics/cache.gets, cache.evictions 에서 확인할 수 있다.
+ */
+@Component
+public class ProductDetailCache {
+
+    public static final String CACHE_NAME = "productDetail";
+
+    private final AsyncCache<Long, ProductDto.ProductResponse> asyncCache;
+    private final Cache<Long, ProductDto.ProductResponse> cache;
+    private final Duration loadTimeout;
+    private final ProductRepository productRepository;
+
+    public ProductDetailCache(@Value("${product.cache.maximum-size:10000}") long maximumSize,
+                              @Value("${product.cache.expire-after-write:10m}") Duration expireAfterWrite,
+                              @Value("${product.cache.load-timeout:3s}") Duration loadTimeout,
+                              ProductRepository productRepository,
+                              MeterRegistry meterRegistry) {
+        this.asyncCache = Caffeine.newBuilder()
+                .maximumSize(maximumSize)
+                .expireAfterWrite(expireAfterWrite)
+                .recordStats()
+                .buildAsync();
+        this.cache = asyncCache.synchronous();
+        this.loadTimeout = loadTimeout;
+        this.productRepository = productRepository;
+
+        CaffeineCacheMetrics.monitor(meterRegistry, cache, CACHE_NAME);
+    }
+
+    /**
+     * 캐시에 있으면 바로 돌려주고, 없으면 loader 로 만들어서 캐시에 넣는다.
+     * 다른 요청이 같은 상품을 읽는 중이면 loader 를 부르지 않고 그 결과를 기다린다.
+     * loader 에서 던진 예외는 기다리던 요청까지 그대로 전파되고 캐시에는 아무것도 남지 않는다.
+     */
+    public ProductDto.ProductResponse get(Long productId, Function<Long, ProductDto.ProductResponse> loader) {
+        CompletableFuture<ProductDto.ProductResponse> created = new CompletableFuture<>();
+        CompletableFuture<ProductDto.ProductResponse> future = asyncCache.get(productId, (id, executor) -> created);
+        if (future != created) {
+            return SingleFlight.await(future, loadTimeout,
+                    () -> new ProductException(ProductErrorMessages.LOAD_TIMEOUT, HttpStatus.SERVICE_UNAVAILABLE));
+        }
+
+        // 읽는 도중에 상품이 바뀌어 캐시에서 지워지면, 이 결과는 캐시에 남지 않고 기다리던 요청에만 전달된다
+        return SingleFlight.lead(created, () -> loader.apply(productId));
+    }
+
+    /**
+     * 여러 상품을 한 번에 꺼낸다. 캐시에 있거나 다른 요청이 읽는 중인 상품은 그대로 쓰고, 나머지만 loader 로 한 번에 읽어서 넣는다.
+     * 상품마다 따로 기다리므로, 없는 상품(loader 결과에 없거나 같이 기다린 단건 조회가 NOT_FOUND 로 끝난 상품)은 돌려주는 Map 에서만 빠진다.
+     * 그 밖의 실패(DB 장애, 기다리는 시간 초과)는 그대로 던진다.
+     */
+    public Map<Long, ProductDto.ProductResponse> getAll(Collection<Long> productIds,
+                                                        Function<Set<Long>, Map<Long, ProductDto.ProductResponse>> loader) {
+        Map<Long, CompletableFuture<ProductDto.ProductResponse>> futures = new LinkedHashMap<>();
+        Map<Long, CompletableFuture<ProductDto.ProductResponse>> created = new HashMap<>();
+        for (Long productId : productIds) {
+            CompletableFuture<ProductDto.ProductResponse> promise = new CompletableFuture<>();
+            CompletableFuture<ProductDto.ProductResponse> future = asyncCache.get(productId, (id, executor) -> promise);
+            if (future == promise) {
+                created.put(productId, promise);
+            }
+            futures.put(productId, future);
+        }
+
+        if (!created.isEmpty()) {
+            loadAll(created, loader);
+        }
+
+        Map<Long, ProductDto.ProductResponse> found = new LinkedHashMap<>();
+        futures.forEach((productId, future) -> {
+            try {
+                found.put(productId, SingleFlight.await(future, loadTimeout,
+                        () -> new ProductException(ProductErrorMessages.LOAD_TIMEOUT, HttpStatus.SERVICE_UNAVAILABLE)));
+            } catch (ProductException e) {
+                if (!ProductErrorMessages.NOT_FOUND_PRODUCT.equals(e.getMessage())) {
+                    throw e;
+                }
+            }
+        });
+
+        return found;
+    }
+
+    /**
+     * 이 요청이 맡은 상품을 한 번에 읽어서 기다리던 요청들에게 넘긴다.
+     * 결과에 없는 상품은 단건 조회와 같은 NOT_FOUND 로 끝내서, 같이 기다리던 단건 조회도 같은 예외를 받고 캐시에는 남지 않는다.
+     */
+    private void loadAll(Map<Long, CompletableFuture<ProductDto.ProductResponse>> promises,
+                         Function<Set<Long>, Map<Long, ProductDto.ProductResponse>> loader) {
+        Map<Long, ProductDto.ProductResponse> loaded;
+        try {
+            loaded = loader.apply(Set.copyOf(promises.keySet()));
+        } catch (RuntimeException | Error e) {
+            promises.values().forEach(promise -> promise.completeExceptionally(e));
+            throw e;
+        }
+
+        promises.forEach((productId, promise) -> {
+            ProductDto.ProductResponse response = loaded.get(productId);
+            if (response != null) {
+                promise.complete(response);
+            } else {
+                promise.completeExceptionally(new ProductException(ProductErrorMessages.NOT_FOUND_PRODUCT, HttpStatus.NOT_FOUND));
+            }
+        });
+    }
+
+    public void evict(Long productId) {
+        cache.invalidate(productId);
+    }
+
+    public CacheStats stats() {
+        return cache.stats();
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onProductChanged(ProductChangedEvent event) {
+        evict(event.getProduct().getId());
+    }
+
+    /**
+     * 카테고리 이름/설명/상위 카테고리가 바뀌면 그 카테고리에 속한 상품 응답만 지운다.
+     * 삭제는 매핑이 이미 사라져서 대상 상품을 알 수 없으므로 전체를 비운다. (자주 일어나지 않음)
+     */
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onCategoryChanged(CategoryChangedEvent event) {
+        switch (event.getChangeType()) {
+            case UPDATED -> cache.invalidateAll(productRepository.findIdsByCategoryId(event.getCategoryId()));
+            case DELETED -> cache.invalidateAll();
+            default -> {
+            }
+        }
+    }
+}
@@ -0,0 +1,145 @@
+package com.project.ecommerce.domain.product.cache;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.stats.CacheStats;
+import com.project.ecommerce.domain.product.search.ProductSearchIndex;
+import com.project.ecommerce.domain.product.search.ProductTokenizer;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.stereotype.Component;
+import org.springframework.util.unit.DataSize;
+
+import java.time.Duration;
+import java.util.HashSet;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Supplier;
+
+/**
+ * 상품 검색 결과(해당 페이지의 상품 id 목록) 캐시
+ * 키는 정규화한 검색어 + 페이지 번호/크기라서 대소문자나 공백만 다른 검색어는 같은 결과를 쓴다.
+ * Caffeine 의 W-TinyLFU 가 새 키를 넣을 때 자주 쓰인 키와 빈도를 비교해서 들일지 정하므로, 한 번 쓰고 마는 검색어가 인기 검색어를 밀어내지 않는다.
+ * 상품 id 만 들고 있어서 가격/재고 변경은 캐시와 상관없다. 검색 색인에서 상품이 바뀌면 그 상품의 예전/새 토큰에
+ * 검색어의 2-gram 이 모두 들어 있는 항목만 버린다. (그 밖의 검색어는 바뀐 상품이 후보에 들 수 없어서 결과가 그대로다)
+ * 적중률은 /actuator/metrics/cache.gets, 대략의 메모리 사용량은 product.search.cache.weight 에서 확인할 수 있다.
+ */
+@Component
+public class ProductSearchCache implements ProductSearchIndex.ChangeListener {
+
+    public static final String CACHE_NAME = "productSearch";
+
+    // 항목 하나의 대략적인 크기 (객체 헤더/참조 포함 어림값)
+    private static final int ENTRY_OVERHEAD_BYTES = 128;
+    private static final int BYTES_PER_PRODUCT_ID = 24;
+    private static final int BYTES_PER_GRAM = 48;
+
+    private final Cache<SearchKey, CachedPage> cache;
+    private final ProductSearchIndex productSearchIndex;
+
+    public ProductSearchCache(@Value("${product.search-cache.maximum-weight:32MB}") DataSize maximumWeight,
+                              @Value("${product.search-cache.expire-after-write:5m}") Duration expireAfterWrite,
+                              ProductSearchIndex productSearchIndex,
+                              MeterRegistry meterRegistry) {
+        this.cache = Caffeine.newBuilder()
+                .maximumWeight(maximumWeight.toBytes())
+                .weigher(ProductSearchCache::weigh)
+                .expireAfterWrite(expireAfterWrite)
+                .recordStats()
+                .build();
+        this.productSearchIndex = productSearchIndex;
+        productSearchIndex.addChangeListener(this);
+
+        CaffeineCacheMetrics.monitor(meterRegistry, cache, CACHE_NAME);
+        Gauge.builder("product.search.cache.weight", this, ProductSearchCache::weightedSize)
+                .description("검색 결과 캐시의 대략적인 메모리 사용량")
+                .baseUnit("bytes")
+                .register(meterRegistry);
+    }
+
+    /**
+     * 캐시에 결과가 있으면 바로 돌려주고, 없으면 loader 로 검색해서 넣는다.
+     * 검색하는 동안 색인이 바뀌었으면 그 변경의 무효화가 방금 넣은 결과를 못 봤을 수 있으므로 넣은 결과를 다시 뺀다.
+     */
+    public Page<Long> get(String keyword, Pageable pageable, Supplier<Page<Long>> loader) {
+        SearchKey key = SearchKey.of(keyword, pageable);
+        long generation = productSearchIndex.generation();
+        AtomicReference<CachedPage> loaded = new AtomicReference<>();
+
+        CachedPage cached = cache.get(key, k -> {
+            CachedPage page = new CachedPage(queryGrams(k.keyword()), loader.get());
+            loaded.set(page);
+            return page;
+        });
+
+        if (loaded.get() != null && productSearchIndex.generation() != generation) {
+            cache.asMap().remove(key, loaded.get());
+        }
+
+        return cached.productIds();
+    }
+
+    /**
+     * 바뀐 상품의 토큰에 검색어의 gram 이 모두 들어 있는 항목만 버린다.
+     * 색인 변경은 검색보다 훨씬 드물어서 gram -> 항목 색인을 따로 두지 않고 항목을 한 번 훑는다.
+     */
+    @Override
+    public void onChanged(Set<String> tokens) {
+        cache.asMap().values().removeIf(cached -> cached.affectedBy(tokens));
+    }
+
+    @Override
+    public void onRebuilt() {
+        cache.invalidateAll();
+    }
+
+    public CacheStats stats() {
+        return cache.stats();
+    }
+
+    public long weightedSize() {
+        return cache.policy().eviction()
+                .map(eviction -> eviction.weightedSize().orElse(0L))
+                .orElse(0L);
+    }
+
+    private static int weigh(SearchKey key, CachedPage value) {
+        return ENTRY_OVERHEAD_BYTES + key.keyword().length() * 2 + value.grams().size() * BYTES_PER_GRAM
+                + value.productIds().getNumberOfElements() * BYTES_PER_PRODUCT_ID;
+    }
+
+    /**
+     * 색인이 후보를 고를 때 쓰는 gram 과 같다. 두 글자 이상인 단어가 없으면 모든 상품이 후보라서 빈 집합이 된다.
+     */
+    private static Set<String> queryGrams(String keyword) {
+        Set<String> grams = new HashSet<>();
+        for (String word : ProductTokenizer.words(keyword)) {
+            if (word.length() >= 2) {
+                grams.addAll(ProductTokenizer.grams(word));
+            }
+        }
+
+        return grams;
+    }
+
+    private record SearchKey(String keyword, long offset, int pageSize) {
+
+        static SearchKey of(String keyword, Pageable pageable) {
+            return new SearchKey(String.join(" ", ProductTokenizer.words(keyword)), pageable.getOffset(), pageable.getPageSize());
+        }
+    }
+
+    private record CachedPage(Set<String> grams, Page<Long> productIds) {
+
+        /**
+         * gram 이 없는 검색어(한 글자 단어만 있는 검색어)는 어떤 상품이 바뀌어도 결과가 바뀔 수 있다.
+         */
+        boolean affectedBy(Set<String> tokens) {
+            return grams.isEmpty() || tokens.containsAll(grams);
+        }
+    }
+}
@@ -0,0 +1,215 @@
+package com.project.ecommerce.domain.product.category;
+
+import com.project.ecommerce.common.utils.AfterCommit;
+import com.project.ecommerce.domain.product.dto.ProductSortType;
+import com.project.ecommerce.domain.product.entity.Product;
+import com.project.ecommerce.domain.product.entity.ProductStatus;
+import com.project.ecommerce.domain.product.event.CategoryChangedEvent;
+import com.project.ecommerce.domain.product.event.ProductChangedEvent;
+import com.project.ecommerce.domain.product.repository.ProductRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.Pageable;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.math.BigDecimal;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * 카테고리 -> 상품 id 인메모리 색인
+ * 카테고리마다 직접 연결된 상품 id 를 정렬된 long 집합으로 들고 있고, 하위 카테고리까지 포함한 목록은 조회할 때 합친다.
+ * 판매중(ACTIVE) 상품의 가격을 따로 들고 있어서, 판매중 여부 걸러내기와 가격 정렬도 DB 없이 끝난다.
+ * 조회한 카테고리 묶음마다 정렬해 둔 목록(Listing)을 캐시해서, 요청마다 전체를 정렬하지 않고 페이지만 잘라낸다.
+ * 색인이 바뀌면 세대(generation)를 올려서 그 전에 만든 목록은 다음 조회 때 다시 만든다.
+ */
+@Slf4j
+@RequiredArgsConstructor
+@Component
+public class CategoryProductIndex {
+
+    private static final Comparator<Candidate> PRICE_ASC = Comparator.comparing(Candidate::price)
+            .thenComparingLong(Candidate::productId);
+
+    private final ProductRepository productRepository;
+
+    // 카테고리 id -> 그 카테고리에 직접 연결된 상품 id
+    private final Map<Long, SortedLongSet> productIdsByCategory = new ConcurrentHashMap<>();
+
+    // 판매중 상품 id -> 가격
+    private final Map<Long, BigDecimal> activePrices = new ConcurrentHashMap<>();
+
+    // 카테고리 묶음 -> 정렬해 둔 판매중 상품 목록 (요청하는 카테고리 묶음은 카테고리마다 하위 트리 하나라서 카테고리 수를 넘지 않는다)
+    private final Map<ListingKey, Listing> listings = new ConcurrentHashMap<>();
+    private final AtomicLong generation = new AtomicLong();
+
+    @EventListener(ApplicationReadyEvent.class)
+    public synchronized void rebuild() {
+        productIdsByCategory.clear();
+        activePrices.clear();
+
+        List<ProductCategoryRow> rows = productRepository.findAllCategoryRows();
+        for (ProductCategoryRow row : rows) {
+            index(row.productId(), row.status(), row.price());
+            if (row.categoryId() != null) {
+                addToCategory(row.categoryId(), row.productId());
+            }
+        }
+
+        invalidateListings();
+        log.info("카테고리 상품 색인 재구성 완료: 카테고리 {}개, 판매중 상품 {}건", productIdsByCategory.size(), activePrices.size());
+    }
+
+    /**
+     * 상품이 바뀌면 커밋 직전에 판매중 여부와 가격을 읽어두고, 커밋된 뒤에 색인을 갱신한다.
+     * 상품의 카테고리는 등록할 때만 정해지므로 등록 이벤트에서만 카테고리 연결을 읽는다.
+     */
+    @TransactionalEventListener(phase = TransactionPhase.BEFORE_COMMIT, fallbackExecution = true)
+    public void onProductChanged(ProductChangedEvent event) {
+        Product product = event.getProduct();
+        Long productId = product.getId();
+        ProductStatus status = product.getStatus();
+        BigDecimal price = product.getPrice();
+        List<Long> categoryIds = event.getChangeType() == ProductChangedEvent.ChangeType.REGISTERED
+                ? product.getProductCategories().stream().map(productCategory -> productCategory.getCategory().getId()).toList()
+                : List.of();
+
+        AfterCommit.run(() -> {
+            for (Long categoryId : categoryIds) {
+                addToCategory(categoryId, productId);
+            }
+            index(productId, status, price);
+        });
+    }
+
+    /**
+     * 카테고리가 지워지면 상품 연결도 같이 지워지므로 색인에서도 뺀다.
+     */
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onCategoryChanged(CategoryChangedEvent event) {
+        if (event.getChangeType() == CategoryChangedEvent.ChangeType.DELETED && productIdsByCategory.remove(event.getCategoryId()) != null) {
+            invalidateListings();
+        }
+    }
+
+    public synchronized void addToCategory(Long categoryId, Long productId) {
+        productIdsByCategory.merge(categoryId, SortedLongSet.of(productId), (current, added) -> current.with(productId));
+        invalidateListings();
+    }
+
+    /**
+     * 판매중 여부나 가격이 바뀐 경우에만 목록을 다시 만들게 한다. (재고 수량만 바뀐 이벤트로는 목록이 그대로다)
+     */
+    public void index(Long productId, ProductStatus status, BigDecimal price) {
+        BigDecimal previous = status == ProductStatus.ACTIVE
+                ? activePrices.put(productId, price)
+                : activePrices.remove(productId);
+
+        boolean changed = status == ProductStatus.ACTIVE
+                ? previous == null || previous.compareTo(price) != 0
+                : previous != null;
+        if (changed) {
+            invalidateListings();
+        }
+    }
+
+    /**
+     * 여러 카테고리(보통 한 카테고리와 그 하위 카테고리들)에 속한 판매중 상품을 정렬해서 요청한 페이지의 id 만 돌려준다.
+     * 여러 카테고리에 함께 연결된 상품은 한 번만 센다.
+     */
+    public Page<Long> findActiveProductIds(long[] categoryIds, ProductSortType sortType, Pageable pageable) {
+        Listing listing = listingOf(categoryIds);
+        int total = listing.size();
+
+        int from = (int) Math.min(pageable.getOffset(), total);
+        int to = Math.min(from + pageable.getPageSize(), total);
+        List<Long> productIds = new ArrayList<>(to - from);
+        for (int i = from; i < to; i++) {
+            productIds.add(switch (sortType) {
+                case LATEST -> listing.idsAsc()[total - 1 - i];
+                case PRICE_ASC -> listing.byPriceAsc()[i];
+                case PRICE_DESC -> listing.byPriceAsc()[total - 1 - i];
+            });
+        }
+
+        return new PageImpl<>(productIds, pageable, total);
+    }
+
+    /**
+     * 캐시된 목록이 지금 세대에 만든 것이면 그대로 쓰고, 아니면 다시 만든다.
+     * 만드는 도중에 색인이 바뀌면 시작할 때의 세대로 저장되므로 다음 조회에서 다시 만든다.
+     */
+    private Listing listingOf(long[] categoryIds) {
+        ListingKey key = new ListingKey(categoryIds);
+        long current = generation.get();
+        Listing listing = listings.get(key);
+        if (listing != null && listing.generation() == current) {
+            return listing;
+        }
+
+        listing = buildListing(categoryIds, current);
+        listings.put(key, listing);
+
+        return listing;
+    }
+
+    private Listing buildListing(long[] categoryIds, long generation) {
+        List<Candidate> candidates = new ArrayList<>();
+        Arrays.stream(categoryIds)
+                .mapToObj(productIdsByCategory::get)
+                .filter(Objects::nonNull)
+                .flatMapToLong(SortedLongSet::stream)
+                .distinct()
+                .forEach(productId -> {
+                    BigDecimal price = activePrices.get(productId);
+                    if (price != null) {
+                        candidates.add(new Candidate(productId, price));
+                    }
+                });
+
+        long[] idsAsc = candidates.stream().mapToLong(Candidate::productId).sorted().toArray();
+        candidates.sort(PRICE_ASC);
+        long[] byPriceAsc = candidates.stream().mapToLong(Candidate::productId).toArray();
+
+        return new Listing(generation, idsAsc, byPriceAsc);
+    }
+
+    // 색인을 바꾼 뒤에 불러야 한다 (바꾸기 전에 올리면 바뀌기 전 내용으로 만든 목록이 새 세대로 저장될 수 있다)
+    private void invalidateListings() {
+        generation.incrementAndGet();
+        listings.clear();
+    }
+
+    private record Candidate(long productId, BigDecimal price) {
+    }
+
+    /**
+     * 최신순(id 역순)은 idsAsc 를, 가격 내림차순은 byPriceAsc 를 뒤에서부터 읽는다. (가격 내림차순은 가격 오름차순을 그대로 뒤집은 순서다)
+     */
+    private record Listing(long generation, long[] idsAsc, long[] byPriceAsc) {
+
+        int size() {
+            return idsAsc.length;
+        }
+    }
+
+    private record ListingKey(long[] categoryIds) {
+
+        @Override
+        public boolean equals(Object o) {
+            return o instanceof ListingKey other && Arrays.equals(categoryIds, other.categoryIds);
+        }
+
+        @Override
+        public int hashCode() {
+            return Arrays.hashCode(categoryIds);
+        }
+    }
+}
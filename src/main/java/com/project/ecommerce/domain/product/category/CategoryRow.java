@@ -0,0 +1,8 @@
+package com.project.ecommerce.domain.product.category;
+
+/**
+ * 카테고리 트리를 만들 때 읽어오는 카테고리 한 줄 (엔티티를 올리지 않고 필요한 컬럼만 읽는다)
+ * parentId 가 null 이면 최상위 카테고리다.
+ */
+public record CategoryRow(Long id, String name, String description, Long parentId) {
+}
@@ -0,0 +1,203 @@
+package com.project.ecommerce.domain.product.category;
+
+import com.project.ecommerce.domain.product.dto.CategoryDto;
+
+import java.util.*;
+
+/**
+ * 전체 카테고리를 메모리에 올려둔 트리 스냅샷 (한 번 만들면 바뀌지 않고, 카테고리가 바뀌면 통째로 새로 만든다)
+ * 카테고리를 전위 순회 순서로 배열에 담아서, 한 카테고리의 하위 카테고리는 모두 [자기 위치, subtreeEnd) 구간에 모여 있다.
+ * 그래서 부모 찾기, 상위 경로, 하위 카테고리 목록, 하위 카테고리 여부 확인을 지연 로딩 없이 바로 구한다.
+ */
+public final class CategoryTree {
+
+    public static final CategoryTree EMPTY = of(List.of());
+
+    private static final int NO_PARENT = -1;
+
+    // 카테고리 id -> 전위 순회 위치
+    private final Map<Long, Integer> positions;
+
+    // 아래 배열은 모두 전위 순회 위치로 찾는다
+    private final long[] ids;
+    private final String[] names;
+    private final int[] parents;
+    private final int[] subtreeEnds;
+    private final long[][] paths;
+
+    // 트리 조회 API 응답 (스냅샷마다 한 번만 만든다)
+    private final List<CategoryDto.CategoryTreeResponse> roots;
+
+    private CategoryTree(int size) {
+        this.positions = new HashMap<>(size * 2);
+        this.ids = new long[size];
+        this.names = new String[size];
+        this.parents = new int[size];
+        this.subtreeEnds = new int[size];
+        this.paths = new long[size][];
+        this.roots = new ArrayList<>();
+    }
+
+    /**
+     * 부모가 없거나 목록에 없는 카테고리를 최상위로 두고 트리를 만든다.
+     * 부모를 따라가다 자기 자신으로 돌아오는(순환) 카테고리는 최상위에서 닿을 수 없으므로 트리에 들어가지 않는다.
+     */
+    public static CategoryTree of(List<CategoryRow> rows) {
+        Set<Long> ids = new HashSet<>();
+        rows.forEach(row -> ids.add(row.id()));
+
+        List<CategoryRow> roots = new ArrayList<>();
+        Map<Long, List<CategoryRow>> childrenByParentId = new HashMap<>();
+        for (CategoryRow row : rows) {
+            if (row.parentId() == null || !ids.contains(row.parentId())) {
+                roots.add(row);
+            } else {
+                childrenByParentId.computeIfAbsent(row.parentId(), key -> new ArrayList<>()).add(row);
+            }
+        }
+
+        Comparator<CategoryRow> byId = Comparator.comparing(CategoryRow::id);
+        roots.sort(byId);
+        childrenByParentId.values().forEach(children -> children.sort(byId));
+
+        int reachable = countReachable(roots, childrenByParentId);
+        CategoryTree tree = new CategoryTree(reachable);
+        int[] next = {0};
+        for (CategoryRow root : roots) {
+            tree.roots.add(tree.visit(root, NO_PARENT, new long[0], childrenByParentId, next));
+        }
+
+        return tree;
+    }
+
+    public int size() {
+        return ids.length;
+    }
+
+    public boolean contains(Long categoryId) {
+        return positions.containsKey(categoryId);
+    }
+
+    public List<CategoryDto.CategoryTreeResponse> getRoots() {
+        return Collections.unmodifiableList(roots);
+    }
+
+    /**
+     * @return 상위 카테고리 id, 최상위거나 없는 카테고리면 null
+     */
+    public Long parentOf(Long categoryId) {
+        Integer position = positions.get(categoryId);
+        if (position == null || parents[position] == NO_PARENT) {
+            return null;
+        }
+
+        return ids[parents[position]];
+    }
+
+    public String nameOf(Long categoryId) {
+        Integer position = positions.get(categoryId);
+        return position == null ? null : names[position];
+    }
+
+    /**
+     * 바로 아래 하위 카테고리 id (categoryId 가 null 이면 최상위 카테고리들)
+     * 전위 순회 순서라서 첫 자식은 바로 다음 위치에 있고, 다음 형제는 앞 형제의 subtreeEnd 에 있다.
+     */
+    public List<Long> childIdsOf(Long categoryId) {
+        int from;
+        int end;
+        if (categoryId == null) {
+            from = 0;
+            end = ids.length;
+        } else {
+            Integer position = positions.get(categoryId);
+            if (position == null) {
+                return List.of();
+            }
+            from = position + 1;
+            end = subtreeEnds[position];
+        }
+
+        List<Long> children = new ArrayList<>();
+        for (int child = from; child < end; child = subtreeEnds[child]) {
+            children.add(ids[child]);
+        }
+
+        return children;
+    }
+
+    /**
+     * 최상위 카테고리부터 자기 자신까지의 경로 (없는 카테고리면 빈 목록)
+     */
+    public List<CategoryDto.CategoryPathResponse> pathOf(Long categoryId) {
+        Integer position = positions.get(categoryId);
+        if (position == null) {
+            return List.of();
+        }
+
+        List<CategoryDto.CategoryPathResponse> path = new ArrayList<>(paths[position].length);
+        for (long ancestorId : paths[position]) {
+            path.add(CategoryDto.CategoryPathResponse.of(ancestorId, names[positions.get(ancestorId)]));
+        }
+
+        return path;
+    }
+
+    /**
+     * 자기 자신과 모든 하위 카테고리 id (전위 순회 순서, 없는 카테고리면 빈 배열)
+     */
+    public long[] subtreeIdsOf(Long categoryId) {
+        Integer position = positions.get(categoryId);
+        if (position == null) {
+            return new long[0];
+        }
+
+        return Arrays.copyOfRange(ids, position, subtreeEnds[position]);
+    }
+
+    /**
+     * descendantId 가 ancestorId 자신이거나 그 하위 카테고리인지 구간 비교로 확인한다.
+     */
+    public boolean isInSubtree(Long ancestorId, Long descendantId) {
+        Integer ancestor = positions.get(ancestorId);
+        Integer descendant = positions.get(descendantId);
+        if (ancestor == null || descendant == null) {
+            return false;
+        }
+
+        return ancestor <= descendant && descendant < subtreeEnds[ancestor];
+    }
+
+    private CategoryDto.CategoryTreeResponse visit(CategoryRow row, int parent, long[] parentPath,
+                                                   Map<Long, List<CategoryRow>> childrenByParentId, int[] next) {
+        int position = next[0]++;
+        long[] path = Arrays.copyOf(parentPath, parentPath.length + 1);
+        path[parentPath.length] = row.id();
+
+        positions.put(row.id(), position);
+        ids[position] = row.id();
+        names[position] = row.name();
+        parents[position] = parent;
+        paths[position] = path;
+
+        List<CategoryDto.CategoryTreeResponse> children = new ArrayList<>();
+        for (CategoryRow child : childrenByParentId.getOrDefault(row.id(), List.of())) {
+            children.add(visit(child, position, path, childrenByParentId, next));
+        }
+        subtreeEnds[position] = next[0];
+
+        return CategoryDto.CategoryTreeResponse.of(row, path.length - 1, children);
+    }
+
+    private static int countReachable(List<CategoryRow> roots, Map<Long, List<CategoryRow>> childrenByParentId) {
+        int count = 0;
+        Deque<CategoryRow> stack = new ArrayDeque<>(roots);
+        while (!stack.isEmpty()) {
+            CategoryRow row = stack.pop();
+            count++;
+            stack.addAll(childrenByParentId.getOrDefault(row.id(), List.of()));
+        }
+
+        return count;
+    }
+}
@@ -0,0 +1,47 @@
+package com.project.ecommerce.domain.product.category;
+
+import com.project.ecommerce.domain.product.event.CategoryChangedEvent;
+import com.project.ecommerce.domain.product.repository.CategoryRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.List;
+
+/**
+ * 지금 쓰는 카테고리 트리 스냅샷을 들고 있다.
+ * 카테고리가 등록/수정/삭제되면 커밋 후에 DB 에서 새 트리를 만들어 한 번에 바꿔 끼운다. 읽는 쪽은 락 없이 그 시점의 스냅샷을 쓴다.
+ */
+@Slf4j
+@RequiredArgsConstructor
+@Component
+public class CategoryTreeStore {
+
+    private final CategoryRepository categoryRepository;
+
+    private volatile CategoryTree tree = CategoryTree.EMPTY;
+
+    public CategoryTree get() {
+        return tree;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public synchronized void rebuild() {
+        List<CategoryRow> rows = categoryRepository.findAllRows();
+        CategoryTree rebuilt = CategoryTree.of(rows);
+        if (rebuilt.size() < rows.size()) {
+            log.warn("상위 카테고리가 순환하는 카테고리 {}개는 트리에서 제외됨", rows.size() - rebuilt.size());
+        }
+
+        this.tree = rebuilt;
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onCategoryChanged(CategoryChangedEvent event) {
+        rebuild();
+    }
+}
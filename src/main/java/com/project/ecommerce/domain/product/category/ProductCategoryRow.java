@@ -0,0 +1,12 @@
+package com.project.ecommerce.domain.product.category;
+
+import com.project.ecommerce.domain.product.entity.ProductStatus;
+
+import java.math.BigDecimal;
+
+/**
+ * 상품 색인(카테고리별, 필터용)을 만들 때 읽어오는 (상품, 카테고리) 한 줄
+ * 카테고리가 없는 상품은 categoryId 가 null 인 한 줄로 온다.
+ */
+public record ProductCategoryRow(Long productId, Long sellerId, BigDecimal price, ProductStatus status, Long categoryId) {
+}
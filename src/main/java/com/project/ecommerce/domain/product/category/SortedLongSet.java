@@ -0,0 +1,71 @@
+package com.project.ecommerce.domain.product.category;
+
+import java.util.Arrays;
+import java.util.stream.LongStream;
+
+/**
+ * 정렬된 long 배열로 만든 읽기 전용 집합 (Long 박싱 없이 id 를 들고 있는다)
+ * 추가/삭제하면 새 객체를 돌려주므로 읽는 쪽은 락 없이 그대로 써도 된다.
+ */
+public final class SortedLongSet {
+
+    public static final SortedLongSet EMPTY = new SortedLongSet(new long[0]);
+
+    private final long[] values;
+
+    private SortedLongSet(long[] values) {
+        this.values = values;
+    }
+
+    public static SortedLongSet of(long... values) {
+        long[] sorted = Arrays.stream(values).sorted().distinct().toArray();
+        return sorted.length == 0 ? EMPTY : new SortedLongSet(sorted);
+    }
+
+    public SortedLongSet with(long value) {
+        int index = Arrays.binarySearch(values, value);
+        if (index >= 0) {
+            return this;
+        }
+
+        int insertAt = -index - 1;
+        long[] added = new long[values.length + 1];
+        System.arraycopy(values, 0, added, 0, insertAt);
+        added[insertAt] = value;
+        System.arraycopy(values, insertAt, added, insertAt + 1, values.length - insertAt);
+
+        return new SortedLongSet(added);
+    }
+
+    public SortedLongSet without(long value) {
+        int index = Arrays.binarySearch(values, value);
+        if (index < 0) {
+            return this;
+        }
+        if (values.length == 1) {
+            return EMPTY;
+        }
+
+        long[] removed = new long[values.length - 1];
+        System.arraycopy(values, 0, removed, 0, index);
+        System.arraycopy(values, index + 1, removed, index, values.length - index - 1);
+
+        return new SortedLongSet(removed);
+    }
+
+    public boolean contains(long value) {
+        return Arrays.binarySearch(values, value) >= 0;
+    }
+
+    public boolean isEmpty() {
+        return values.length == 0;
+    }
+
+    public int size() {
+        return values.length;
+    }
+
+    public LongStream stream() {
+        return Arrays.stream(values);
+    }
+}
@@ -1,8 +1,8 @@
 package com.project.ecommerce.domain.product.controller;
 
+import com.project.ecommerce.common.utils.UserPrincipal;
 import com.project.ecommerce.domain.product.dto.CategoryDto;
 import com.project.ecommerce.domain.product.service.CategoryService;
-import com.project.ecommerce.domain.user.entity.User;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
 import org.springframework.data.domain.Page;
@@ -11,9 +11,9 @@ import org.springframework.data.domain.Sort;
 import org.springframework.data.web.PageableDefault;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.core.annotation.AuthenticationPrincipal;
-import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.web.bind.annotation.*;
 
+import java.util.List;
 import java.util.Map;
 
 import static com.project.ecommerce.common.utils.ResponseUtil.createSuccessResponse;
@@ -34,6 +34,20 @@ public class CategoryController {
         return ResponseEntity.ok(createSuccessResponse(response));
     }
 
+    @GetMapping("/tree")
+    public ResponseEntity<Map<String, Object>> getCategoryTree() {
+        List<CategoryDto.CategoryTreeResponse> response = categoryService.getCategoryTree();
+
+        return ResponseEntity.ok(createSuccessResponse(response));
+    }
+
+    @GetMapping("/{categoryId}/path")
+    public ResponseEntity<Map<String, Object>> getCategoryPath(@PathVariable Long categoryId) {
+        List<CategoryDto.CategoryPathResponse> response = categoryService.getCategoryPath(categoryId);
+
+        return ResponseEntity.ok(createSuccessResponse(response));
+    }
+
     @GetMapping("/{categoryId}")
     public ResponseEntity<Map<String, Object>> getCategory(@PathVariable Long categoryId) {
         CategoryDto.CategoryResponse response = categoryService.getCategory(categoryId);
@@ -43,10 +57,10 @@ public class CategoryController {
 
     @PostMapping
     public ResponseEntity<Map<String, Object>> registerCategory(
-            @AuthenticationPrincipal UserDetails userDetails,
+            @AuthenticationPrincipal UserPrincipal principal,
             @Valid @RequestBody CategoryDto.CategoryRegisterRequest request
     ) {
-        Long sellerId = ((User) userDetails).getId();
+        Long sellerId = principal.getId();
         CategoryDto.CategoryResponse response = categoryService.registerCategory(request, sellerId);
 
         return ResponseEntity.ok(createSuccessResponse(response));
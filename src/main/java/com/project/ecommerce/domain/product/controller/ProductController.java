@@ -1,8 +1,11 @@
 package com.project.ecommerce.domain.product.controller;
 
+import com.project.ecommerce.common.utils.UserPrincipal;
 import com.project.ecommerce.domain.product.dto.ProductDto;
+import com.project.ecommerce.domain.product.dto.ProductSortType;
+import com.project.ecommerce.domain.product.entity.ProductStatus;
+import com.project.ecommerce.domain.product.facet.PriceBand;
 import com.project.ecommerce.domain.product.service.ProductService;
-import com.project.ecommerce.domain.user.entity.User;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
 import org.springframework.data.domain.Page;
@@ -11,9 +14,9 @@ import org.springframework.data.domain.Sort;
 import org.springframework.data.web.PageableDefault;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.core.annotation.AuthenticationPrincipal;
-import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.web.bind.annotation.*;
 
+import java.util.List;
 import java.util.Map;
 
 import static com.project.ecommerce.common.utils.ResponseUtil.createSuccessResponse;
@@ -34,6 +37,68 @@ public class ProductController {
         return ResponseEntity.ok(createSuccessResponse(response));
     }
 
+    /**
+     * 여러 상품 상세 한 번에 조회 (?ids=3,1,2 처럼 최대 100개, 요청한 순서대로, 없는 상품은 missingIds 로)
+     * categoryId 와 같이 오면 두 조회 모두에 맞아서 어느 쪽인지 정할 수 없으므로 서로 제외한다.
+     */
+    @GetMapping(params = {"ids", "!categoryId"})
+    public ResponseEntity<Map<String, Object>> getProducts(@RequestParam List<Long> ids) {
+        ProductDto.ProductBulkResponse response = productService.getProducts(ids);
+
+        return ResponseEntity.ok(createSuccessResponse(response));
+    }
+
+    /**
+     * 카테고리별 상품 목록 (하위 카테고리 상품 포함, 판매중 상품만)
+     */
+    @GetMapping(params = {"categoryId", "!ids"})
+    public ResponseEntity<Map<String, Object>> getProductListByCategory(
+            @RequestParam Long categoryId,
+            @RequestParam(defaultValue = "0") int page,
+            @RequestParam(defaultValue = "20") int size,
+            @RequestParam(defaultValue = "LATEST") ProductSortType sort
+    ) {
+        Page<ProductDto.ProductSimpleResponse> response = productService.getProductListByCategory(categoryId, sort, page, size);
+
+        return ResponseEntity.ok(createSuccessResponse(response));
+    }
+
+    /**
+     * 상태/카테고리(하위 포함)/판매자/가격 구간 필터 검색과 항목별 개수
+     * 판매중이 아닌 상품은 판매자가 자기 sellerId 로 조회할 때만 볼 수 있다.
+     */
+    @GetMapping("/facets")
+    public ResponseEntity<Map<String, Object>> searchByFacets(
+            @AuthenticationPrincipal UserPrincipal principal,
+            @RequestParam(defaultValue = "ACTIVE") ProductStatus status,
+            @RequestParam(required = false) Long categoryId,
+            @RequestParam(required = false) Long sellerId,
+            @RequestParam(required = false) PriceBand priceBand,
+            @RequestParam(defaultValue = "0") int page,
+            @RequestParam(defaultValue = "20") int size
+    ) {
+        Long loginSellerId = principal != null && principal.isSeller() ? principal.getId() : null;
+        ProductDto.ProductFacetResponse response = productService.searchByFacets(status, categoryId, sellerId, priceBand, page, size, loginSellerId);
+
+        return ResponseEntity.ok(createSuccessResponse(response));
+    }
+
+    /**
+     * 커서 기반 상품 목록 (무한 스크롤용)
+     * 응답의 nextCursor 를 다음 요청의 cursor 로 그대로 넘기면 된다. 전체 개수가 필요할 때만 withCount=true
+     */
+    @GetMapping("/scroll")
+    public ResponseEntity<Map<String, Object>> getProductListByCursor(
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "20") int size,
+            @RequestParam(defaultValue = "LATEST") ProductSortType sort,
+            @RequestParam(defaultValue = "false") boolean withCount
+    ) {
+        ProductDto.ProductCursorResponse response = productService.getProductListByCursor(cursor, size, sort, withCount);
+
+        return ResponseEntity.ok(createSuccessResponse(response));
+    }
+
     @GetMapping("/{productId}")
     public ResponseEntity<Map<String, Object>> getProduct(@PathVariable Long productId) {
         ProductDto.ProductResponse response = productService.getProduct(productId);
@@ -51,12 +116,37 @@ public class ProductController {
         return ResponseEntity.ok(createSuccessResponse(response));
     }
 
+    /**
+     * 상품명 자동완성 (입력한 앞부분으로 시작하는 단어가 있는 판매중 상품, 인기순)
+     */
+    @GetMapping("/suggest")
+    public ResponseEntity<Map<String, Object>> suggestProducts(
+            @RequestParam String q,
+            @RequestParam(defaultValue = "10") int size
+    ) {
+        List<ProductDto.ProductSuggestResponse> response = productService.suggest(q, size);
+
+        return ResponseEntity.ok(createSuccessResponse(response));
+    }
+
+    @GetMapping("/search/scroll")
+    public ResponseEntity<Map<String, Object>> searchProductsByCursor(
+            @RequestParam String keyword,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "20") int size,
+            @RequestParam(defaultValue = "false") boolean withCount
+    ) {
+        ProductDto.ProductCursorResponse response = productService.searchProductByCursor(keyword, cursor, size, withCount);
+
+        return ResponseEntity.ok(createSuccessResponse(response));
+    }
+
     @PostMapping
     public ResponseEntity<Map<String, Object>> registerProduct(
-            @AuthenticationPrincipal UserDetails userDetails,
+            @AuthenticationPrincipal UserPrincipal principal,
             @Valid @RequestBody ProductDto.ProductRegisterRequest request
     ) {
-        Long sellerId = ((User) userDetails).getId();
+        Long sellerId = principal.getId();
         ProductDto.ProductResponse response = productService.registerProduct(request, sellerId);
 
         return ResponseEntity.ok(createSuccessResponse(response));
@@ -64,11 +154,11 @@ public class ProductController {
 
     @PatchMapping("/{productId}")
     public ResponseEntity<Map<String, Object>> updateProduct(
-            @AuthenticationPrincipal UserDetails userDetails,
+            @AuthenticationPrincipal UserPrincipal principal,
             @PathVariable Long productId,
             @Valid @RequestBody ProductDto.ProductUpdateRequest request
     ) {
-        Long sellerId = ((User) userDetails).getId();
+        Long sellerId = principal.getId();
         ProductDto.ProductResponse response = productService.updateProduct(productId, request, sellerId);
 
         return ResponseEntity.ok(createSuccessResponse(response));
@@ -76,11 +166,11 @@ public class ProductController {
 
     @PatchMapping("/{productId}/stock")
     public ResponseEntity<Map<String, Object>> updateStock(
-            @AuthenticationPrincipal UserDetails userDetails,
+            @AuthenticationPrincipal UserPrincipal principal,
             @PathVariable Long productId,
             @Valid @RequestBody ProductDto.StockUpdateRequest request
     ) {
-        Long sellerId = ((User) userDetails).getId();
+        Long sellerId = principal.getId();
         ProductDto.ProductResponse response = productService.updateStock(request, productId, sellerId);
 
         return ResponseEntity.ok(createSuccessResponse(response));
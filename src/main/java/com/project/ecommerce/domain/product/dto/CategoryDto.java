@@ -1,10 +1,13 @@
 package com.project.ecommerce.domain.product.dto;
 
+import com.project.ecommerce.domain.product.category.CategoryRow;
 import com.project.ecommerce.domain.product.entity.Category;
 import jakarta.validation.constraints.NotBlank;
 import lombok.Builder;
 import lombok.Getter;
 
+import java.util.List;
+
 public class CategoryDto {
 
     @Getter
@@ -25,6 +28,46 @@ public class CategoryDto {
         }
     }
 
+    /**
+     * 카테고리 트리의 한 노드 (하위 카테고리를 children 으로 가진다)
+     */
+    @Getter
+    @Builder
+    public static class CategoryTreeResponse {
+        private Long categoryId;
+        private String name;
+        private String description;
+        private int depth;
+        private List<CategoryTreeResponse> children;
+
+        public static CategoryTreeResponse of(CategoryRow row, int depth, List<CategoryTreeResponse> children) {
+            return CategoryTreeResponse.builder()
+                    .categoryId(row.id())
+                    .name(row.name())
+                    .description(row.description())
+                    .depth(depth)
+                    .children(List.copyOf(children))
+                    .build();
+        }
+    }
+
+    /**
+     * 최상위부터 현재 카테고리까지의 경로 중 한 칸 (브레드크럼)
+     */
+    @Getter
+    @Builder
+    public static class CategoryPathResponse {
+        private Long categoryId;
+        private String name;
+
+        public static CategoryPathResponse of(Long categoryId, String name) {
+            return CategoryPathResponse.builder()
+                    .categoryId(categoryId)
+                    .name(name)
+                    .build();
+        }
+    }
+
     @Getter
     @Builder
     public static class CategoryRegisterRequest {
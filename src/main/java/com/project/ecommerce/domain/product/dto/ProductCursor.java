@@ -0,0 +1,74 @@
+package com.project.ecommerce.domain.product.dto;
+
+import com.project.ecommerce.common.exception.ProductErrorMessages;
+import com.project.ecommerce.common.exception.ProductException;
+import lombok.AccessLevel;
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpStatus;
+
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+
+/**
+ * 커서 기반 페이지네이션에서 "마지막으로 본 상품"의 위치
+ * (정렬 기준, 정렬 값, 상품 id) 를 Base64 로 감싸서 클라이언트에는 불투명한 문자열로만 내려준다.
+ */
+@Getter
+@RequiredArgsConstructor(access = AccessLevel.PRIVATE)
+public class ProductCursor {
+
+    private static final String DELIMITER = "|";
+
+    private final String sortKey;
+    private final String sortValue; // 최신순처럼 id 만으로 정렬할 때는 빈 문자열
+    private final Long productId;
+
+    public static ProductCursor of(String sortKey, Object sortValue, Long productId) {
+        return new ProductCursor(sortKey, sortValue == null ? "" : sortValue.toString(), productId);
+    }
+
+    public String encode() {
+        String raw = sortKey + DELIMITER + sortValue + DELIMITER + productId;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    /**
+     * 다른 정렬 기준으로 만들어진 커서나 변조된 커서는 받지 않는다.
+     */
+    public static ProductCursor decode(String cursor, String expectedSortKey) {
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+            String[] parts = raw.split("\\|", -1);
+
+            if (parts.length != 3 || !parts[0].equals(expectedSortKey)) {
+                throw invalidCursor();
+            }
+
+            return new ProductCursor(parts[0], parts[1], Long.parseLong(parts[2]));
+        } catch (IllegalArgumentException e) {
+            throw invalidCursor();
+        }
+    }
+
+    public BigDecimal decimalValue() {
+        try {
+            return new BigDecimal(sortValue);
+        } catch (NumberFormatException e) {
+            throw invalidCursor();
+        }
+    }
+
+    public int intValue() {
+        try {
+            return Integer.parseInt(sortValue);
+        } catch (NumberFormatException e) {
+            throw invalidCursor();
+        }
+    }
+
+    private static ProductException invalidCursor() {
+        return new ProductException(ProductErrorMessages.INVALID_CURSOR, HttpStatus.BAD_REQUEST);
+    }
+}
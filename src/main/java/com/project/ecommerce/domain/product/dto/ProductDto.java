@@ -3,15 +3,18 @@ package com.project.ecommerce.domain.product.dto;
 import com.project.ecommerce.common.exception.ProductErrorMessages;
 import com.project.ecommerce.domain.product.entity.Product;
 import com.project.ecommerce.domain.product.entity.ProductCategory;
+import com.project.ecommerce.domain.product.search.ProductSuggestIndex;
 import jakarta.validation.constraints.Min;
 import jakarta.validation.constraints.NotBlank;
 import jakarta.validation.constraints.NotEmpty;
 import jakarta.validation.constraints.NotNull;
 import lombok.Builder;
 import lombok.Getter;
+import org.springframework.data.domain.Page;
 
 import java.math.BigDecimal;
 import java.util.List;
+import java.util.Map;
 
 public class ProductDto {
 
@@ -25,22 +28,65 @@ public class ProductDto {
         private String status;
 
         public static ProductSimpleResponse of(Product product) {
-            String mainImage = product.getImageUrls() != null && !product.getImageUrls().isEmpty()
-                    ? product.getImageUrls().get(0)
-                    : null;
-
             return ProductSimpleResponse.builder()
                     .productId(product.getId())
                     .name(product.getName())
                     .price(product.getPrice())
-                    .mainImage(mainImage)
+                    .mainImage(product.getMainImage()) // imageUrls 를 건드리지 않으므로 추가 쿼리 없음
                     .status(product.getStatus().name())
                     .build();
         }
     }
 
+    /**
+     * 필터 검색 결과와 항목별 개수 (항목별 개수는 그 항목 조건만 빼고 센 값)
+     */
     @Getter
     @Builder
+    public static class ProductFacetResponse {
+        private Page<ProductSimpleResponse> products;
+        private Map<String, Integer> statusCounts;
+        private Map<String, Integer> priceBandCounts;
+        private List<FacetCountResponse> categoryCounts;
+        private List<FacetCountResponse> sellerCounts;
+    }
+
+    @Getter
+    @Builder
+    public static class FacetCountResponse {
+        private Long id;
+        private String name; // 판매자는 null
+        private int count;
+    }
+
+    /**
+     * 자동완성 후보 (인기순)
+     */
+    @Getter
+    @Builder
+    public static class ProductSuggestResponse {
+        private Long productId;
+        private String name;
+
+        public static ProductSuggestResponse of(ProductSuggestIndex.Suggestion suggestion) {
+            return ProductSuggestResponse.builder()
+                    .productId(suggestion.productId())
+                    .name(suggestion.name())
+                    .build();
+        }
+    }
+
+    @Getter
+    @Builder
+    public static class ProductCursorResponse {
+        private List<ProductSimpleResponse> content;
+        private String nextCursor; // 다음 페이지가 없으면 null
+        private boolean hasNext;
+        private Long totalCount; // withCount=true 로 요청했을 때만 채워짐
+    }
+
+    @Getter
+    @Builder(toBuilder = true)
     public static class ProductResponse {
         private Long productId;
         private String name;
@@ -70,13 +116,23 @@ public class ProductDto {
                     .price(product.getPrice())
                     .stock(product.getStock())
                     .sellerId(product.getSellerId())
-                    .imageUrls(product.getImageUrls())
+                    .imageUrls(List.copyOf(product.getImageUrls())) // 캐시에 담기므로 엔티티 컬렉션과 분리
                     .status(product.getStatus().name())
                     .categories(categoryResponse)
                     .build();
         }
     }
 
+    /**
+     * 여러 상품 상세 조회 결과 (요청한 순서대로, 없는 상품 id 는 missingIds 로)
+     */
+    @Getter
+    @Builder
+    public static class ProductBulkResponse {
+        private List<ProductResponse> products;
+        private List<Long> missingIds;
+    }
+
     @Getter
     @Builder
     public static class ProductRegisterRequest {
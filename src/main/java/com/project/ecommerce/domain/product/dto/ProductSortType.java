@@ -0,0 +1,19 @@
+package com.project.ecommerce.domain.product.dto;
+
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+import org.springframework.data.domain.Sort;
+
+/**
+ * 커서 기반 상품 목록의 정렬 기준
+ * 정렬 값이 같은 상품이 있을 수 있으므로 항상 상품 id 를 마지막 정렬 기준으로 둔다.
+ */
+@Getter
+@RequiredArgsConstructor
+public enum ProductSortType {
+    LATEST(Sort.by(Sort.Direction.DESC, "id")),
+    PRICE_ASC(Sort.by(Sort.Direction.ASC, "price").and(Sort.by(Sort.Direction.ASC, "id"))),
+    PRICE_DESC(Sort.by(Sort.Direction.DESC, "price").and(Sort.by(Sort.Direction.DESC, "id")));
+
+    private final Sort sort;
+}
@@ -7,6 +7,7 @@ import lombok.AccessLevel;
 import lombok.Builder;
 import lombok.Getter;
 import lombok.NoArgsConstructor;
+import org.hibernate.annotations.DynamicUpdate;
 
 import java.math.BigDecimal;
 import java.util.ArrayList;
@@ -14,12 +15,18 @@ import java.util.List;
 
 @Getter
 @NoArgsConstructor(access = AccessLevel.PROTECTED)
+@DynamicUpdate // 바뀐 컬럼만 UPDATE 해서, 상품 정보 수정이 벌크로 반영된 재고를 예전 값으로 덮어쓰지 않게 한다
 @Entity
-@Table(name = "products")
+@Table(name = "products", indexes = {
+        // 커서 기반 페이지네이션(status + 정렬 키 + id) 용 인덱스
+        @Index(name = "idx_products_status_id", columnList = "status, product_id"),
+        @Index(name = "idx_products_status_price_id", columnList = "status, price, product_id")
+})
 public class Product extends BaseEntity {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "product_seq_generator")
+    @SequenceGenerator(name = "product_seq_generator", sequenceName = "products_seq", allocationSize = 50)
     @Column(name = "product_id")
     private Long id;
 
@@ -41,6 +48,9 @@ public class Product extends BaseEntity {
     @Column(name = "image_url")
     private List<String> imageUrls = new ArrayList<>();
 
+    // 목록 화면용 대표 이미지 (imageUrls 의 첫 번째), 목록 조회 때 product_images 를 상품마다 조회하지 않도록 비정규화
+    private String mainImage;
+
     @Enumerated(EnumType.STRING)
     @Column(nullable = false)
     private ProductStatus status;
@@ -48,6 +58,10 @@ public class Product extends BaseEntity {
     @OneToMany(mappedBy = "product", cascade = CascadeType.ALL, orphanRemoval = true)
     private List<ProductCategory> productCategories = new ArrayList<>();
 
+    // 재고 차감 벌크 쿼리와 엔티티 수정이 서로의 변경을 덮어쓰지 않도록 낙관적 락 버전을 둔다
+    @Version
+    private Long version;
+
     @Builder
     public Product(String name, String description, BigDecimal price, int stock, Long sellerId, List<String> imageUrls, ProductStatus status) {
         this.name = name;
@@ -55,8 +69,8 @@ public class Product extends BaseEntity {
         this.price = price;
         this.stock = stock;
         this.sellerId = sellerId;
-        this.imageUrls = imageUrls != null ? imageUrls : new ArrayList<>();
         this.status = status;
+        updateImageUrls(imageUrls);
     }
 
     public void setProductCategoriesForTest(List<ProductCategory> productCategories) {
@@ -84,12 +98,25 @@ public class Product extends BaseEntity {
         this.price = price;
     }
 
+    public void updateImageUrls(List<String> imageUrls) {
+        this.imageUrls = imageUrls != null ? imageUrls : new ArrayList<>();
+        this.mainImage = this.imageUrls.isEmpty() ? null : this.imageUrls.get(0);
+    }
+
     public void delete() {
         this.status = ProductStatus.INACTIVE;
     }
 
     public Product updateStock(int stock) {
         this.stock = stock;
+
+        // 재고가 바닥나면 품절로, 다시 채워지면 판매중으로 상태를 맞춘다
+        if (stock == 0 && this.status == ProductStatus.ACTIVE) {
+            this.status = ProductStatus.OUT_OR_STOCK;
+        } else if (stock > 0 && this.status == ProductStatus.OUT_OR_STOCK) {
+            this.status = ProductStatus.ACTIVE;
+        }
+
         return this;
     }
 }
\ No newline at end of file
@@ -11,7 +11,8 @@ import lombok.*;
 public class ProductCategory extends BaseEntity {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "product_category_seq_generator")
+    @SequenceGenerator(name = "product_category_seq_generator", sequenceName = "product_category_seq", allocationSize = 50)
     @Column(name = "product_category_id")
     private Long id;
 
@@ -0,0 +1,35 @@
+package com.project.ecommerce.domain.product.entity;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import jakarta.persistence.Table;
+import lombok.AccessLevel;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+
+/**
+ * 재고 저널의 몇 번 세그먼트까지 DB 에 반영했는지 기록한다.
+ * 재고 변경량 반영과 같은 트랜잭션에서 갱신하기 때문에, 반영 직후 죽어서 세그먼트 파일이 남아 있어도 두 번 반영되지 않는다.
+ */
+@Getter
+@NoArgsConstructor(access = AccessLevel.PROTECTED)
+@Entity
+@Table(name = "stock_journal_checkpoints")
+public class StockJournalCheckpoint {
+
+    @Id
+    @Column(name = "journal_name")
+    private String journalName;
+
+    @Column(nullable = false)
+    private long lastAppliedSegment;
+
+    public StockJournalCheckpoint(String journalName) {
+        this.journalName = journalName;
+    }
+
+    public void advance(long segment) {
+        this.lastAppliedSegment = segment;
+    }
+}
@@ -0,0 +1,50 @@
+package com.project.ecommerce.domain.product.entity;
+
+import com.project.ecommerce.domain.common.BaseEntity;
+import jakarta.persistence.*;
+import lombok.AccessLevel;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+@Getter
+@NoArgsConstructor(access = AccessLevel.PROTECTED)
+@Entity
+@Table(name = "stock_reservations", indexes = {
+        // 만료된 예약을 주기적으로 찾아서 재고를 돌려놓기 위한 인덱스
+        @Index(name = "idx_stock_reservations_status_expires_at", columnList = "status, expiresAt")
+})
+public class StockReservation extends BaseEntity {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "stock_reservation_seq_generator")
+    @SequenceGenerator(name = "stock_reservation_seq_generator", sequenceName = "stock_reservations_seq", allocationSize = 50)
+    @Column(name = "stock_reservation_id")
+    private Long id;
+
+    private Long orderId; // 주문에서 잡은 재고일 때만 채워짐
+
+    @Column(nullable = false)
+    private Long productId;
+
+    @Column(nullable = false)
+    private int quantity;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false)
+    private StockReservationStatus status;
+
+    @Column(nullable = false)
+    private LocalDateTime expiresAt;
+
+    @Builder
+    public StockReservation(Long orderId, Long productId, int quantity, StockReservationStatus status, LocalDateTime expiresAt) {
+        this.orderId = orderId;
+        this.productId = productId;
+        this.quantity = quantity;
+        this.status = status;
+        this.expiresAt = expiresAt;
+    }
+}
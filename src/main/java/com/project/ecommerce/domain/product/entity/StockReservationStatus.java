@@ -0,0 +1,8 @@
+package com.project.ecommerce.domain.product.entity;
+
+public enum StockReservationStatus {
+    RESERVED,   // 재고 선점 (결제 대기)
+    CONFIRMED,  // 구매 확정 - 차감된 재고가 그대로 유지됨
+    RELEASED,   // 취소 - 재고 복구
+    EXPIRED     // 유효시간 초과 - 재고 복구
+}
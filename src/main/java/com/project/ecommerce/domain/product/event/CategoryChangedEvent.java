@@ -0,0 +1,20 @@
+package com.project.ecommerce.domain.product.event;
+
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+
+/**
+ * 카테고리가 등록/수정/삭제되었을 때 발행되는 이벤트
+ * 상품 응답에 카테고리 정보가 같이 들어가므로, 캐시처럼 상품 응답을 들고 있는 쪽에서 이 이벤트를 받아 갱신한다.
+ */
+@Getter
+@RequiredArgsConstructor
+public class CategoryChangedEvent {
+
+    private final Long categoryId;
+    private final ChangeType changeType;
+
+    public enum ChangeType {
+        REGISTERED, UPDATED, DELETED
+    }
+}
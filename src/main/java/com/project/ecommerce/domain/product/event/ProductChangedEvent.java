@@ -0,0 +1,21 @@
+package com.project.ecommerce.domain.product.event;
+
+import com.project.ecommerce.domain.product.entity.Product;
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+
+/**
+ * 상품이 등록/수정/삭제되었을 때 발행되는 이벤트
+ * 검색 색인처럼 상품 데이터를 메모리에 들고 있는 컴포넌트들이 이 이벤트를 받아 스스로를 갱신한다.
+ */
+@Getter
+@RequiredArgsConstructor
+public class ProductChangedEvent {
+
+    private final Product product;
+    private final ChangeType changeType;
+
+    public enum ChangeType {
+        REGISTERED, UPDATED, STOCK_CHANGED, DELETED
+    }
+}
@@ -0,0 +1,10 @@
+package com.project.ecommerce.domain.product.facet;
+
+import com.project.ecommerce.domain.product.entity.ProductStatus;
+
+/**
+ * 상품 필터 조건. null 인 조건은 거르지 않는다.
+ * categoryIds 는 선택한 카테고리와 그 하위 카테고리 id 로, 이 중 하나에라도 속하면 통과한다.
+ */
+public record FacetFilter(ProductStatus status, long[] categoryIds, Long sellerId, PriceBand priceBand) {
+}
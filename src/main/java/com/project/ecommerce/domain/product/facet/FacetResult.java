@@ -0,0 +1,17 @@
+package com.project.ecommerce.domain.product.facet;
+
+import com.project.ecommerce.domain.product.entity.ProductStatus;
+import org.springframework.data.domain.Page;
+
+import java.util.Map;
+
+/**
+ * 필터 결과 (요청한 페이지의 상품 id) 와 항목별 개수
+ * 항목별 개수는 그 항목의 조건만 빼고 나머지 조건을 모두 적용했을 때의 개수다. (다른 값을 골랐을 때 몇 건이 나오는지 보여주기 위해)
+ */
+public record FacetResult(Page<Long> productIds,
+                          Map<ProductStatus, Integer> statusCounts,
+                          Map<PriceBand, Integer> priceBandCounts,
+                          Map<Long, Integer> categoryCounts,
+                          Map<Long, Integer> sellerCounts) {
+}
@@ -0,0 +1,81 @@
+package com.project.ecommerce.domain.product.facet;
+
+import java.util.Arrays;
+import java.util.BitSet;
+
+/**
+ * 한 판매자/카테고리에 속한 상품 번호를 정렬된 int 배열로 들고 있는 목록
+ * 판매자와 카테고리는 값이 많고 값마다 상품이 드문드문 있어서, 값마다 BitSet 을 두면 (값 수 x 가장 큰 상품 번호 / 8) 바이트가 든다.
+ * 이 목록은 담긴 상품 하나당 4바이트만 쓴다. 상품 번호는 늘어나는 순서로 붙으므로 거의 항상 끝에 덧붙는다.
+ * ProductFacetIndex 의 락 안에서만 읽고 쓴다.
+ */
+final class OrdinalPostings {
+
+    private static final int INITIAL_CAPACITY = 4;
+
+    private int[] ordinals = new int[INITIAL_CAPACITY];
+    private int size;
+
+    void add(int ordinal) {
+        if (size > 0 && ordinals[size - 1] >= ordinal) {
+            insert(ordinal);
+            return;
+        }
+
+        ensureCapacity(size + 1);
+        ordinals[size++] = ordinal;
+    }
+
+    int size() {
+        return size;
+    }
+
+    /**
+     * 담긴 상품 번호의 비트를 target 에 켠다. (여러 카테고리를 합칠 때)
+     */
+    void orInto(BitSet target) {
+        for (int i = 0; i < size; i++) {
+            target.set(ordinals[i]);
+        }
+    }
+
+    BitSet toBitSet() {
+        BitSet bitmap = new BitSet(size == 0 ? 0 : ordinals[size - 1] + 1);
+        orInto(bitmap);
+
+        return bitmap;
+    }
+
+    /**
+     * base 에도 켜져 있는 상품 수. 목록 길이만큼만 보므로 base 전체를 복사해서 AND 하는 것보다 싸다.
+     */
+    int countIn(BitSet base) {
+        int count = 0;
+        for (int i = 0; i < size; i++) {
+            if (base.get(ordinals[i])) {
+                count++;
+            }
+        }
+
+        return count;
+    }
+
+    private void insert(int ordinal) {
+        int index = Arrays.binarySearch(ordinals, 0, size, ordinal);
+        if (index >= 0) {
+            return;
+        }
+
+        int insertAt = -index - 1;
+        ensureCapacity(size + 1);
+        System.arraycopy(ordinals, insertAt, ordinals, insertAt + 1, size - insertAt);
+        ordinals[insertAt] = ordinal;
+        size++;
+    }
+
+    private void ensureCapacity(int capacity) {
+        if (capacity > ordinals.length) {
+            ordinals = Arrays.copyOf(ordinals, Math.max(capacity, ordinals.length + (ordinals.length >> 1)));
+        }
+    }
+}
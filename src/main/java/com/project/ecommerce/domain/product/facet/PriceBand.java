@@ -0,0 +1,34 @@
+package com.project.ecommerce.domain.product.facet;
+
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+
+import java.math.BigDecimal;
+
+/**
+ * 가격 필터 구간 [min, max)
+ */
+@Getter
+@RequiredArgsConstructor
+public enum PriceBand {
+    UNDER_10K(0, 10_000),
+    FROM_10K_TO_50K(10_000, 50_000),
+    FROM_50K_TO_100K(50_000, 100_000),
+    FROM_100K_TO_500K(100_000, 500_000),
+    FROM_500K_TO_1M(500_000, 1_000_000),
+    OVER_1M(1_000_000, Long.MAX_VALUE);
+
+    private final long min;
+    private final long max;
+
+    public static PriceBand of(BigDecimal price) {
+        long won = price.longValue();
+        for (PriceBand band : values()) {
+            if (won < band.max) {
+                return band;
+            }
+        }
+
+        return OVER_1M;
+    }
+}
@@ -0,0 +1,352 @@
+package com.project.ecommerce.domain.product.facet;
+
+import com.project.ecommerce.common.utils.AfterCommit;
+import com.project.ecommerce.domain.product.category.ProductCategoryRow;
+import com.project.ecommerce.domain.product.entity.Product;
+import com.project.ecommerce.domain.product.entity.ProductStatus;
+import com.project.ecommerce.domain.product.event.CategoryChangedEvent;
+import com.project.ecommerce.domain.product.event.ProductChangedEvent;
+import com.project.ecommerce.domain.product.repository.ProductRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.Pageable;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.math.BigDecimal;
+import java.util.*;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * 상태/카테고리/판매자/가격 구간별 상품 비트맵 색인
+ * 상품마다 0 부터 차례로 번호(ordinal)를 붙인다. 값이 몇 개 안 되는 상태/가격 구간은 값마다 BitSet 을 두고,
+ * 값이 많아서 값마다 상품이 드문드문 있는 판매자/카테고리는 상품 번호 목록(OrdinalPostings)을 둔다.
+ * 여러 조건은 BitSet AND, 하위 카테고리는 OR 로 합치고 개수는 cardinality 로 세므로 상품 수 / 64 번의 long 연산으로 끝난다.
+ * 상품 번호는 색인에 들어온 순서(= 대부분 등록 순서)라서 큰 번호부터 읽으면 최신순이 된다.
+ */
+@Slf4j
+@RequiredArgsConstructor
+@Component
+public class ProductFacetIndex {
+
+    private static final int INITIAL_CAPACITY = 1024;
+    private static final int SELLER_FACET_LIMIT = 10;
+
+    private final ProductRepository productRepository;
+
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+
+    // 상품 id -> 상품 번호, 상품 번호 -> 상품 id / 판매자 번호 / 상태 / 가격 구간
+    private final Map<Long, Integer> ordinals = new HashMap<>();
+    private long[] productIds = new long[INITIAL_CAPACITY];
+    private int[] productSellers = new int[INITIAL_CAPACITY];
+    private ProductStatus[] statuses = new ProductStatus[INITIAL_CAPACITY];
+    private PriceBand[] priceBands = new PriceBand[INITIAL_CAPACITY];
+
+    // 판매자 id -> 판매자 번호, 판매자 번호 -> 판매자 id / 판매자의 상품 (판매자별 개수를 박싱 없이 int 배열로 세기 위해 번호를 붙인다)
+    private final Map<Long, Integer> sellerNumbers = new HashMap<>();
+    private final List<Long> sellerIds = new ArrayList<>();
+    private final List<OrdinalPostings> bySeller = new ArrayList<>();
+
+    // 색인된 모든 상품
+    private final BitSet indexed = new BitSet();
+
+    private final Map<ProductStatus, BitSet> byStatus = new EnumMap<>(ProductStatus.class);
+    private final Map<PriceBand, BitSet> byPriceBand = new EnumMap<>(PriceBand.class);
+    private final Map<Long, OrdinalPostings> byCategory = new HashMap<>();
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void rebuild() {
+        List<ProductCategoryRow> rows = productRepository.findAllCategoryRows();
+
+        lock.writeLock().lock();
+        try {
+            ordinals.clear();
+            indexed.clear();
+            byStatus.clear();
+            byPriceBand.clear();
+            sellerNumbers.clear();
+            sellerIds.clear();
+            bySeller.clear();
+            byCategory.clear();
+
+            for (ProductCategoryRow row : rows) {
+                int ordinal = put(row.productId(), row.sellerId(), row.status(), row.price());
+                if (row.categoryId() != null) {
+                    byCategory.computeIfAbsent(row.categoryId(), key -> new OrdinalPostings()).add(ordinal);
+                }
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+
+        log.info("상품 필터 색인 재구성 완료: 상품 {}건", ordinals.size());
+    }
+
+    /**
+     * 상품이 바뀌면 커밋 직전에 값을 읽어두고, 커밋된 뒤에 상태와 가격 구간 비트를 옮긴다. 카테고리는 등록할 때만 정해진다.
+     */
+    @TransactionalEventListener(phase = TransactionPhase.BEFORE_COMMIT, fallbackExecution = true)
+    public void onProductChanged(ProductChangedEvent event) {
+        Product product = event.getProduct();
+        Long productId = product.getId();
+        Long sellerId = product.getSellerId();
+        ProductStatus status = product.getStatus();
+        BigDecimal price = product.getPrice();
+        List<Long> categoryIds = event.getChangeType() == ProductChangedEvent.ChangeType.REGISTERED
+                ? product.getProductCategories().stream().map(productCategory -> productCategory.getCategory().getId()).toList()
+                : List.of();
+
+        AfterCommit.run(() -> index(productId, sellerId, status, price, categoryIds));
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onCategoryChanged(CategoryChangedEvent event) {
+        if (event.getChangeType() != CategoryChangedEvent.ChangeType.DELETED) {
+            return;
+        }
+
+        lock.writeLock().lock();
+        try {
+            byCategory.remove(event.getCategoryId());
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public void index(Long productId, Long sellerId, ProductStatus status, BigDecimal price, Collection<Long> categoryIds) {
+        lock.writeLock().lock();
+        try {
+            int ordinal = put(productId, sellerId, status, price);
+            for (Long categoryId : categoryIds) {
+                byCategory.computeIfAbsent(categoryId, key -> new OrdinalPostings()).add(ordinal);
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * 조건에 맞는 상품을 최신순으로 요청한 페이지만큼 돌려주고, 항목별 개수도 같이 센다.
+     * @param categoryGroups 개수를 셀 카테고리 id -> 그 카테고리와 하위 카테고리 id
+     */
+    public FacetResult search(FacetFilter filter, Map<Long, long[]> categoryGroups, Pageable pageable) {
+        lock.readLock().lock();
+        try {
+            BitSet status = filter.status() == null ? null : bitmap(byStatus.get(filter.status()));
+            BitSet category = filter.categoryIds() == null ? null : union(filter.categoryIds());
+            BitSet seller = filter.sellerId() == null ? null : sellerBitmap(filter.sellerId());
+            BitSet priceBand = filter.priceBand() == null ? null : bitmap(byPriceBand.get(filter.priceBand()));
+
+            BitSet matched = intersect(status, category, seller, priceBand);
+
+            return new FacetResult(
+                    page(matched, pageable),
+                    countStatuses(intersect(category, seller, priceBand)),
+                    countPriceBands(intersect(status, category, seller)),
+                    countCategories(intersect(status, seller, priceBand), categoryGroups),
+                    countSellers(intersect(status, category, priceBand))
+            );
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    public int size() {
+        lock.readLock().lock();
+        try {
+            return ordinals.size();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * 상품 번호를 찾거나 새로 붙이고, 예전 상태/가격 구간 비트를 끈 뒤 새 값의 비트를 켠다. (쓰기 락 안에서 호출)
+     */
+    private int put(Long productId, Long sellerId, ProductStatus status, BigDecimal price) {
+        Integer existing = ordinals.get(productId);
+        int ordinal;
+        if (existing == null) {
+            ordinal = ordinals.size();
+            ensureCapacity(ordinal + 1);
+            ordinals.put(productId, ordinal);
+            productIds[ordinal] = productId;
+            productSellers[ordinal] = sellerNumber(sellerId);
+            indexed.set(ordinal);
+            bySeller.get(productSellers[ordinal]).add(ordinal);
+        } else {
+            ordinal = existing;
+            byStatus.get(statuses[ordinal]).clear(ordinal);
+            byPriceBand.get(priceBands[ordinal]).clear(ordinal);
+        }
+
+        PriceBand priceBand = PriceBand.of(price);
+        statuses[ordinal] = status;
+        priceBands[ordinal] = priceBand;
+        byStatus.computeIfAbsent(status, key -> new BitSet()).set(ordinal);
+        byPriceBand.computeIfAbsent(priceBand, key -> new BitSet()).set(ordinal);
+
+        return ordinal;
+    }
+
+    private void ensureCapacity(int capacity) {
+        if (capacity <= productIds.length) {
+            return;
+        }
+
+        int grown = Math.max(capacity, productIds.length * 2);
+        productIds = Arrays.copyOf(productIds, grown);
+        productSellers = Arrays.copyOf(productSellers, grown);
+        statuses = Arrays.copyOf(statuses, grown);
+        priceBands = Arrays.copyOf(priceBands, grown);
+    }
+
+    private int sellerNumber(Long sellerId) {
+        return sellerNumbers.computeIfAbsent(sellerId, key -> {
+            sellerIds.add(key);
+            bySeller.add(new OrdinalPostings());
+            return sellerIds.size() - 1;
+        });
+    }
+
+    private BitSet bitmap(BitSet bitmap) {
+        return bitmap == null ? new BitSet() : bitmap;
+    }
+
+    private BitSet sellerBitmap(Long sellerId) {
+        Integer sellerNumber = sellerNumbers.get(sellerId);
+        return sellerNumber == null ? new BitSet() : bySeller.get(sellerNumber).toBitSet();
+    }
+
+    private BitSet union(long[] categoryIds) {
+        BitSet union = new BitSet();
+        for (long categoryId : categoryIds) {
+            OrdinalPostings postings = byCategory.get(categoryId);
+            if (postings != null) {
+                postings.orInto(union);
+            }
+        }
+
+        return union;
+    }
+
+    /**
+     * null 이 아닌 조건만 AND 한 새 BitSet (조건이 하나도 없으면 색인된 전체)
+     */
+    private BitSet intersect(BitSet... filters) {
+        BitSet result = (BitSet) indexed.clone();
+        for (BitSet filter : filters) {
+            if (filter != null) {
+                result.and(filter);
+            }
+        }
+
+        return result;
+    }
+
+    private PageImpl<Long> page(BitSet matched, Pageable pageable) {
+        List<Long> content = new ArrayList<>();
+        long skip = pageable.getOffset();
+        for (int ordinal = matched.length() - 1; ordinal >= 0 && content.size() < pageable.getPageSize(); ordinal = matched.previousSetBit(ordinal - 1)) {
+            if (skip > 0) {
+                skip--;
+                continue;
+            }
+            content.add(productIds[ordinal]);
+        }
+
+        return new PageImpl<>(content, pageable, matched.cardinality());
+    }
+
+    private Map<ProductStatus, Integer> countStatuses(BitSet base) {
+        Map<ProductStatus, Integer> counts = new EnumMap<>(ProductStatus.class);
+        byStatus.forEach((status, bitmap) -> counts.put(status, countIntersection(base, bitmap)));
+
+        return counts;
+    }
+
+    private Map<PriceBand, Integer> countPriceBands(BitSet base) {
+        Map<PriceBand, Integer> counts = new EnumMap<>(PriceBand.class);
+        byPriceBand.forEach((priceBand, bitmap) -> counts.put(priceBand, countIntersection(base, bitmap)));
+
+        return counts;
+    }
+
+    /**
+     * 하위 카테고리가 없으면 합치지 않고 그 카테고리의 상품 번호 목록만 훑어서 센다.
+     */
+    private Map<Long, Integer> countCategories(BitSet base, Map<Long, long[]> categoryGroups) {
+        Map<Long, Integer> counts = new LinkedHashMap<>();
+        categoryGroups.forEach((categoryId, subtreeIds) -> {
+            if (subtreeIds.length == 1) {
+                OrdinalPostings postings = byCategory.get(subtreeIds[0]);
+                counts.put(categoryId, postings == null ? 0 : postings.countIn(base));
+            } else {
+                counts.put(categoryId, countIntersection(base, union(subtreeIds)));
+            }
+        });
+
+        return counts;
+    }
+
+    /**
+     * 판매자는 수가 많으므로 판매자별 목록을 모두 확인하지 않고, 조건에 맞는 상품을 한 번 훑어서 판매자 번호별 int 배열에 센다.
+     * 그 다음 판매자 수만큼 한 번 훑으면서 많은 순(같으면 판매자 id 작은 순)으로 SELLER_FACET_LIMIT 개만 남긴다.
+     */
+    private Map<Long, Integer> countSellers(BitSet base) {
+        int[] counts = new int[sellerIds.size()];
+        for (int ordinal = base.nextSetBit(0); ordinal >= 0; ordinal = base.nextSetBit(ordinal + 1)) {
+            counts[productSellers[ordinal]]++;
+        }
+
+        // 앞에서부터 많은 순으로 정렬된 판매자 번호
+        int[] top = new int[SELLER_FACET_LIMIT];
+        int topSize = 0;
+        for (int sellerNumber = 0; sellerNumber < counts.length; sellerNumber++) {
+            if (counts[sellerNumber] == 0) {
+                continue;
+            }
+
+            int insertAt = topSize;
+            while (insertAt > 0 && ranksBefore(sellerNumber, top[insertAt - 1], counts)) {
+                insertAt--;
+            }
+            if (insertAt == SELLER_FACET_LIMIT) {
+                continue;
+            }
+
+            int moved = Math.min(topSize, SELLER_FACET_LIMIT - 1) - insertAt;
+            System.arraycopy(top, insertAt, top, insertAt + 1, moved);
+            top[insertAt] = sellerNumber;
+            topSize = Math.min(topSize + 1, SELLER_FACET_LIMIT);
+        }
+
+        Map<Long, Integer> result = new LinkedHashMap<>();
+        for (int i = 0; i < topSize; i++) {
+            result.put(sellerIds.get(top[i]), counts[top[i]]);
+        }
+
+        return result;
+    }
+
+    private boolean ranksBefore(int sellerNumber, int other, int[] counts) {
+        if (counts[sellerNumber] != counts[other]) {
+            return counts[sellerNumber] > counts[other];
+        }
+
+        return sellerIds.get(sellerNumber) < sellerIds.get(other);
+    }
+
+    private int countIntersection(BitSet base, BitSet bitmap) {
+        BitSet intersection = (BitSet) base.clone();
+        intersection.and(bitmap);
+
+        return intersection.cardinality();
+    }
+}
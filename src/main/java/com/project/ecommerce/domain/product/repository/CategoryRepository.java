@@ -1,7 +1,9 @@
 package com.project.ecommerce.domain.product.repository;
 
+import com.project.ecommerce.domain.product.category.CategoryRow;
 import com.project.ecommerce.domain.product.entity.Category;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
 
 import java.util.List;
 
@@ -9,4 +11,11 @@ public interface CategoryRepository extends JpaRepository<Category, Long> {
     boolean existsByName(String name);
 
     List<Category> findByParentCategory_Id(Long categoryId);
+
+    /**
+     * 카테고리 트리를 만들기 위해 전체 카테고리를 쿼리 한 번으로 읽는다. (상위 카테고리를 지연 로딩하지 않는다)
+     */
+    @Query("select new com.project.ecommerce.domain.product.category.CategoryRow(c.id, c.name, c.description, p.id) " +
+            "from Category c left join c.parentCategory p order by c.id")
+    List<CategoryRow> findAllRows();
 }
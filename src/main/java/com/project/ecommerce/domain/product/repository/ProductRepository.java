@@ -1,14 +1,143 @@
 package com.project.ecommerce.domain.product.repository;
 
+import com.project.ecommerce.domain.product.category.ProductCategoryRow;
 import com.project.ecommerce.domain.product.entity.Product;
 import com.project.ecommerce.domain.product.entity.ProductStatus;
+import com.project.ecommerce.domain.product.search.ProductSalesRow;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.math.BigDecimal;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
 
 public interface ProductRepository extends JpaRepository<Product, Long> {
 
     Page<Product> findByStatus(ProductStatus status, Pageable pageable);
 
-    Page<Product> findByNameContainingIgnoreCaseAndStatus(String keyword, ProductStatus status, Pageable pageable);
+    // 커서 기반 페이지네이션용: List 로 받으면 count 쿼리 없이 limit 만 걸린다
+    List<Product> findAllByStatus(ProductStatus status, Pageable pageable);
+
+    long countByStatus(ProductStatus status);
+
+    @Query("select p from Product p where p.status = :status and p.id < :lastId order by p.id desc")
+    List<Product> findNextByLatest(@Param("status") ProductStatus status,
+                                   @Param("lastId") Long lastId,
+                                   Pageable pageable);
+
+    @Query("select p from Product p where p.status = :status " +
+            "and (p.price > :lastPrice or (p.price = :lastPrice and p.id > :lastId)) " +
+            "order by p.price asc, p.id asc")
+    List<Product> findNextByPriceAsc(@Param("status") ProductStatus status,
+                                     @Param("lastPrice") BigDecimal lastPrice,
+                                     @Param("lastId") Long lastId,
+                                     Pageable pageable);
+
+    @Query("select p from Product p where p.status = :status " +
+            "and (p.price < :lastPrice or (p.price = :lastPrice and p.id < :lastId)) " +
+            "order by p.price desc, p.id desc")
+    List<Product> findNextByPriceDesc(@Param("status") ProductStatus status,
+                                      @Param("lastPrice") BigDecimal lastPrice,
+                                      @Param("lastId") Long lastId,
+                                      Pageable pageable);
+
+    @Query("select pc.product.id from ProductCategory pc where pc.category.id = :categoryId")
+    List<Long> findIdsByCategoryId(@Param("categoryId") Long categoryId);
+
+    /**
+     * 상품 색인을 만들기 위해 모든 상품의 (상품, 판매자, 가격, 상태, 카테고리) 를 쿼리 한 번으로 읽는다.
+     */
+    @Query("select new com.project.ecommerce.domain.product.category.ProductCategoryRow(p.id, p.sellerId, p.price, p.status, c.id) " +
+            "from Product p left join p.productCategories pc left join pc.category c")
+    List<ProductCategoryRow> findAllCategoryRows();
+
+    /**
+     * 자동완성 인기도로 쓰는 상품별 누적 주문 수량 (취소된 주문 제외)
+     */
+    @Query("select new com.project.ecommerce.domain.product.search.ProductSalesRow(oi.product.id, sum(oi.quantity)) " +
+            "from OrderItem oi where oi.order.status <> com.project.ecommerce.domain.order.entity.OrderStatus.CANCELLED " +
+            "group by oi.product.id")
+    List<ProductSalesRow> findAllSalesRows();
+
+    @Query("select distinct p from Product p " +
+            "left join fetch p.productCategories pc " +
+            "left join fetch pc.category c " +
+            "left join fetch c.parentCategory " +
+            "where p.id = :productId")
+    Optional<Product> findWithCategoriesById(@Param("productId") Long productId);
+
+    @Query("select p from Product p left join fetch p.imageUrls where p.id = :productId")
+    Optional<Product> findWithImageUrlsById(@Param("productId") Long productId);
+
+    @Query("select distinct p from Product p " +
+            "left join fetch p.productCategories pc " +
+            "left join fetch pc.category c " +
+            "left join fetch c.parentCategory " +
+            "where p.id in :productIds")
+    List<Product> findWithCategoriesByIdIn(@Param("productIds") Collection<Long> productIds);
+
+    @Query("select distinct p from Product p left join fetch p.imageUrls where p.id in :productIds")
+    List<Product> findWithImageUrlsByIdIn(@Param("productIds") Collection<Long> productIds);
+
+    /**
+     * 판매중인 상품에 재고가 quantity 이상 남아있을 때만 원자적으로 차감한다. 차감되지 않으면 0 을 돌려준다.
+     * 엔티티를 읽어서 고치는 방식과 달리 조회-수정 사이에 다른 요청이 끼어들어 재고가 음수가 되거나, 그 사이 판매중지된 상품이 팔리는 일이 없다.
+     */
+    @Modifying(flushAutomatically = true)
+    @Query("update Product p set p.stock = p.stock - :quantity, p.version = p.version + 1 " +
+            "where p.id = :productId and p.stock >= :quantity " +
+            "and p.status = com.project.ecommerce.domain.product.entity.ProductStatus.ACTIVE")
+    int decreaseStock(@Param("productId") Long productId, @Param("quantity") int quantity);
+
+    // 재고 차감이 실패했을 때 이유를 가리기 위해 영속성 컨텍스트가 아닌 DB 의 상태를 읽는다
+    @Query("select p.status from Product p where p.id = :productId")
+    Optional<ProductStatus> findStatusById(@Param("productId") Long productId);
+
+    @Modifying(flushAutomatically = true)
+    @Query("update Product p set p.stock = p.stock + :quantity, p.version = p.version + 1 where p.id = :productId")
+    int increaseStock(@Param("productId") Long productId, @Param("quantity") int quantity);
+
+    @Modifying(flushAutomatically = true)
+    @Query("update Product p set p.status = com.project.ecommerce.domain.product.entity.ProductStatus.OUT_OR_STOCK " +
+            "where p.id = :productId and p.stock = 0 " +
+            "and p.status = com.project.ecommerce.domain.product.entity.ProductStatus.ACTIVE")
+    int markSoldOutIfEmpty(@Param("productId") Long productId);
+
+    @Modifying(flushAutomatically = true)
+    @Query("update Product p set p.status = com.project.ecommerce.domain.product.entity.ProductStatus.ACTIVE " +
+            "where p.id = :productId and p.stock > 0 " +
+            "and p.status = com.project.ecommerce.domain.product.entity.ProductStatus.OUT_OR_STOCK")
+    int markActiveIfRestocked(@Param("productId") Long productId);
+
+    /**
+     * 상품 상세 응답에 필요한 연관 데이터(카테고리, 상위 카테고리, 이미지)를 쿼리 2번으로 한 번에 읽어온다.
+     * 컬렉션 두 개(bag)를 한 쿼리에서 fetch join 하면 MultipleBagFetchException 이 나기 때문에
+     * 카테고리 쪽과 이미지 쪽을 나눠서 조회하고, 같은 영속성 컨텍스트 안에서 같은 상품 엔티티에 채워지게 한다.
+     */
+    @Transactional(readOnly = true)
+    default Optional<Product> findDetailById(Long productId) {
+        Optional<Product> product = findWithCategoriesById(productId);
+        product.ifPresent(found -> findWithImageUrlsById(productId));
+
+        return product;
+    }
+
+    /**
+     * findDetailById 의 여러 상품 버전: 상품 수와 상관없이 쿼리 2번으로 상세 응답에 필요한 연관 데이터를 모두 읽는다. (없는 상품은 빠진다)
+     */
+    @Transactional(readOnly = true)
+    default List<Product> findDetailsByIdIn(Collection<Long> productIds) {
+        List<Product> products = findWithCategoriesByIdIn(productIds);
+        if (!products.isEmpty()) {
+            findWithImageUrlsByIdIn(productIds);
+        }
+
+        return products;
+    }
 }
@@ -0,0 +1,7 @@
+package com.project.ecommerce.domain.product.repository;
+
+import com.project.ecommerce.domain.product.entity.StockJournalCheckpoint;
+import org.springframework.data.jpa.repository.JpaRepository;
+
+public interface StockJournalCheckpointRepository extends JpaRepository<StockJournalCheckpoint, String> {
+}
@@ -0,0 +1,37 @@
+package com.project.ecommerce.domain.product.repository;
+
+import com.project.ecommerce.domain.product.entity.StockReservation;
+import com.project.ecommerce.domain.product.entity.StockReservationStatus;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+public interface StockReservationRepository extends JpaRepository<StockReservation, Long> {
+
+    /**
+     * 예약 상태를 from -> to 로 원자적으로 바꾼다. 확정/취소/만료 처리가 동시에 일어나도 한 번만 성공한다.
+     */
+    @Modifying(flushAutomatically = true)
+    @Query("update StockReservation r set r.status = :to where r.id = :reservationId and r.status = :from")
+    int changeStatus(@Param("reservationId") Long reservationId,
+                     @Param("from") StockReservationStatus from,
+                     @Param("to") StockReservationStatus to);
+
+    @Modifying(flushAutomatically = true)
+    @Query("update StockReservation r set r.status = :to " +
+            "where r.id = :reservationId and r.status = :from and r.expiresAt > :now")
+    int changeStatusIfNotExpired(@Param("reservationId") Long reservationId,
+                                 @Param("from") StockReservationStatus from,
+                                 @Param("to") StockReservationStatus to,
+                                 @Param("now") LocalDateTime now);
+
+    @Query("select r.id from StockReservation r where r.status = :status and r.expiresAt <= :now order by r.expiresAt")
+    List<Long> findExpiredIds(@Param("status") StockReservationStatus status,
+                              @Param("now") LocalDateTime now,
+                              Pageable pageable);
+}
@@ -0,0 +1,354 @@
+package com.project.ecommerce.domain.product.search;
+
+import com.project.ecommerce.common.utils.AfterCommit;
+import com.project.ecommerce.domain.product.entity.Product;
+import com.project.ecommerce.domain.product.entity.ProductStatus;
+import com.project.ecommerce.domain.product.event.ProductChangedEvent;
+import com.project.ecommerce.domain.product.repository.ProductRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * 오타가 있는 검색어를 위한 판매중(ACTIVE) 상품 단어 색인
+ * 상품명/설명의 단어를 자모로 풀어서 BK-tree 에 넣어두고, 검색어 단어와 편집 거리가 가까운 단어를 가진 상품을 찾는다.
+ * BK-tree 는 삼각 부등식으로 거리 범위 밖의 가지를 건너뛰므로 단어 전체와 거리를 재지 않는다.
+ */
+@Slf4j
+@RequiredArgsConstructor
+@Component
+public class ProductFuzzyIndex {
+
+    private static final int REBUILD_BATCH_SIZE = 1000;
+    private static final int NAME_MATCH_SCORE = 10;
+    private static final int DESCRIPTION_MATCH_SCORE = 2;
+    private static final int DISTANCE_PENALTY = 1;
+
+    // 트리에 남아있는 지워진 단어가 이 수와 살아있는 단어 수를 모두 넘으면 트리를 다시 만든다
+    private static final int COMPACT_THRESHOLD = 1000;
+
+    // 점수 높은 순, 같으면 최신 상품(id 큰) 순
+    private static final Comparator<Map.Entry<Long, Integer>> RANKING = Map.Entry.<Long, Integer>comparingByValue().reversed()
+            .thenComparing(Map.Entry.comparingByKey(Comparator.reverseOrder()));
+
+    private final ProductRepository productRepository;
+
+    // 단어 -> 그 단어를 가진 상품 id
+    private final Map<String, Set<Long>> postings = new ConcurrentHashMap<>();
+
+    // 상품 id -> 상품명/설명 단어
+    private final Map<Long, IndexedWords> documents = new ConcurrentHashMap<>();
+
+    // 단어를 빼도 BK-tree 에서는 지우지 않으므로(지우기를 지원하지 않는 구조) 트리에 든 단어 수를 따로 센다
+    private volatile BkNode root;
+    private int treeSize;
+
+    @EventListener(ApplicationReadyEvent.class)
+    public synchronized void rebuild() {
+        postings.clear();
+        documents.clear();
+        root = null;
+        treeSize = 0;
+
+        int page = 0;
+        Page<Product> products;
+        do {
+            products = productRepository.findByStatus(ProductStatus.ACTIVE, PageRequest.of(page++, REBUILD_BATCH_SIZE, Sort.by("id")));
+            products.forEach(product -> index(product.getId(), product.getName(), product.getDescription()));
+        } while (products.hasNext());
+
+        log.info("상품 오타 검색 색인 재구성 완료: 상품 {}건, 단어 {}개", documents.size(), postings.size());
+    }
+
+    /**
+     * 상품이 바뀌면 커밋 직전에 색인할 값을 읽어두고, 커밋된 뒤에 색인을 갱신한다. 판매중이 아닌 상품은 색인에서 뺀다.
+     */
+    @TransactionalEventListener(phase = TransactionPhase.BEFORE_COMMIT, fallbackExecution = true)
+    public void onProductChanged(ProductChangedEvent event) {
+        Product product = event.getProduct();
+        Long productId = product.getId();
+
+        if (product.getStatus() == ProductStatus.ACTIVE) {
+            String name = product.getName();
+            String description = product.getDescription();
+            AfterCommit.run(() -> index(productId, name, description));
+        } else {
+            AfterCommit.run(() -> remove(productId));
+        }
+    }
+
+    public synchronized void index(Long productId, String name, String description) {
+        IndexedWords words = new IndexedWords(
+                new HashSet<>(ProductTokenizer.words(name)),
+                new HashSet<>(ProductTokenizer.words(description))
+        );
+        // 재고 변경처럼 상품명/설명이 그대로인 변경은 건너뛴다
+        if (words.equals(documents.get(productId))) {
+            return;
+        }
+
+        remove(productId);
+        documents.put(productId, words);
+
+        for (String word : words.all()) {
+            postings.computeIfAbsent(word, key -> {
+                addToTree(key);
+                return ConcurrentHashMap.newKeySet();
+            }).add(productId);
+        }
+    }
+
+    public synchronized void remove(Long productId) {
+        IndexedWords words = documents.remove(productId);
+        if (words == null) {
+            return;
+        }
+
+        for (String word : words.all()) {
+            postings.computeIfPresent(word, (key, productIds) -> {
+                productIds.remove(productId);
+                return productIds.isEmpty() ? null : productIds;
+            });
+        }
+
+        int deadWords = treeSize - postings.size();
+        if (deadWords > COMPACT_THRESHOLD && deadWords > postings.size()) {
+            compact();
+        }
+    }
+
+    /**
+     * 검색어의 모든 단어에 대해 편집 거리가 가까운 단어를 가진 상품을 점수 순(같으면 최신 상품 순)으로 돌려준다.
+     * 단어마다 상품명에 있으면 설명에 있는 것보다 높은 점수를 주고, 거리만큼 점수를 깎는다.
+     */
+    public Page<Long> search(String keyword, Pageable pageable) {
+        List<String> words = ProductTokenizer.words(keyword);
+        if (words.isEmpty()) {
+            return Page.empty(pageable);
+        }
+
+        Map<Long, Integer> scores = null;
+        for (String word : words) {
+            Map<Long, Integer> wordScores = scoreWord(word);
+            if (scores == null) {
+                scores = wordScores;
+            } else {
+                scores.keySet().retainAll(wordScores.keySet());
+                scores.replaceAll((productId, score) -> score + wordScores.get(productId));
+            }
+
+            if (scores.isEmpty()) {
+                return Page.empty(pageable);
+            }
+        }
+
+        List<Map.Entry<Long, Integer>> ranked = new ArrayList<>(scores.entrySet());
+        ranked.sort(RANKING);
+
+        int from = (int) Math.min(pageable.getOffset(), ranked.size());
+        int to = Math.min(from + pageable.getPageSize(), ranked.size());
+        List<Long> productIds = ranked.subList(from, to).stream()
+                .map(Map.Entry::getKey)
+                .toList();
+
+        return new PageImpl<>(productIds, pageable, ranked.size());
+    }
+
+    /**
+     * 검색어 단어 하나와 가까운 단어들을 찾아서, 상품마다 가장 높은 점수 하나만 남긴다.
+     */
+    private Map<Long, Integer> scoreWord(String word) {
+        Map<Long, Integer> scores = new HashMap<>();
+        for (Map.Entry<String, Integer> match : findSimilarWords(word).entrySet()) {
+            Set<Long> productIds = postings.get(match.getKey());
+            if (productIds == null) {
+                continue;
+            }
+
+            for (Long productId : productIds) {
+                IndexedWords document = documents.get(productId);
+                if (document == null) {
+                    continue;
+                }
+
+                int score = (document.name().contains(match.getKey()) ? NAME_MATCH_SCORE : DESCRIPTION_MATCH_SCORE)
+                        - match.getValue() * DISTANCE_PENALTY;
+                scores.merge(productId, score, Math::max);
+            }
+        }
+
+        return scores;
+    }
+
+    /**
+     * @return 허용 거리 안의 단어 -> 자모 단위 편집 거리
+     */
+    private Map<String, Integer> findSimilarWords(String word) {
+        char[] jamo = ProductTokenizer.decompose(word).toCharArray();
+        int maxDistance = maxDistance(jamo.length);
+        // 거리 계산에 쓰는 두 줄을 검색어 길이로 한 번만 만들어 노드마다 다시 쓴다
+        int[] previous = new int[jamo.length + 1];
+        int[] current = new int[jamo.length + 1];
+
+        Map<String, Integer> matches = new HashMap<>();
+        Deque<BkNode> stack = new ArrayDeque<>();
+        if (root != null) {
+            stack.push(root);
+        }
+        while (!stack.isEmpty()) {
+            BkNode node = stack.pop();
+            int distance = distance(node.jamo, jamo, previous, current);
+            if (distance <= maxDistance) {
+                matches.put(node.word, distance);
+            }
+
+            // 삼각 부등식: 찾는 단어는 이 노드와의 거리가 [distance - max, distance + max] 인 가지에만 있을 수 있다
+            BkNode[] children = node.children;
+            for (int edge = Math.max(1, distance - maxDistance); edge <= distance + maxDistance && edge < children.length; edge++) {
+                if (children[edge] != null) {
+                    stack.push(children[edge]);
+                }
+            }
+        }
+
+        return matches;
+    }
+
+    /**
+     * 짧은 단어는 한 글자만 틀려도 전혀 다른 단어가 되므로, 자모 수에 따라 허용 거리를 늘린다.
+     */
+    private static int maxDistance(int jamoLength) {
+        if (jamoLength < 3) {
+            return 0;
+        }
+        return jamoLength < 8 ? 1 : 2;
+    }
+
+    private void addToTree(String word) {
+        BkNode added = new BkNode(word, ProductTokenizer.decompose(word));
+        if (root == null) {
+            root = added;
+            treeSize++;
+        } else if (insert(root, added)) {
+            treeSize++;
+        }
+    }
+
+    /**
+     * 지워진 단어가 많이 쌓이면 살아있는 단어만으로 트리를 새로 만들어 한 번에 바꿔 끼운다.
+     */
+    private void compact() {
+        BkNode rebuilt = null;
+        int size = 0;
+        for (String word : postings.keySet()) {
+            BkNode added = new BkNode(word, ProductTokenizer.decompose(word));
+            if (rebuilt == null) {
+                rebuilt = added;
+                size++;
+            } else if (insert(rebuilt, added)) {
+                size++;
+            }
+        }
+
+        root = rebuilt;
+        treeSize = size;
+
+        log.info("상품 오타 검색 트리 정리: 단어 {}개", size);
+    }
+
+    /**
+     * 루트부터 거리가 같은 가지를 따라 내려가서 빈 자리에 붙인다.
+     * @return 새로 붙였으면 true, 같은 단어가 이미 있으면(지워졌다가 다시 들어온 단어) false
+     */
+    private static boolean insert(BkNode root, BkNode added) {
+        int[] previous = new int[added.jamo.length + 1];
+        int[] current = new int[added.jamo.length + 1];
+
+        BkNode node = root;
+        while (true) {
+            int distance = distance(node.jamo, added.jamo, previous, current);
+            if (distance == 0) {
+                return false;
+            }
+
+            BkNode child = node.child(distance);
+            if (child == null) {
+                node.addChild(distance, added);
+                return true;
+            }
+            node = child;
+        }
+    }
+
+    /**
+     * 레벤슈타인 거리 (두 줄만 쓰는 동적 계획법, 줄 배열은 target 길이 + 1 이상)
+     */
+    private static int distance(char[] source, char[] target, int[] previous, int[] current) {
+        for (int j = 0; j <= target.length; j++) {
+            previous[j] = j;
+        }
+
+        for (int i = 1; i <= source.length; i++) {
+            current[0] = i;
+            char sourceChar = source[i - 1];
+            for (int j = 1; j <= target.length; j++) {
+                int substitution = previous[j - 1] + (sourceChar == target[j - 1] ? 0 : 1);
+                current[j] = Math.min(substitution, Math.min(previous[j], current[j - 1]) + 1);
+            }
+
+            int[] swap = previous;
+            previous = current;
+            current = swap;
+        }
+
+        return previous[target.length];
+    }
+
+    private record IndexedWords(Set<String> name, Set<String> description) {
+
+        Set<String> all() {
+            Set<String> words = new HashSet<>(name);
+            words.addAll(description);
+            return words;
+        }
+    }
+
+    private static final class BkNode {
+
+        private static final BkNode[] NO_CHILDREN = new BkNode[0];
+
+        private final String word;
+        private final char[] jamo;
+
+        // 이 노드와의 거리를 인덱스로 하는 자식 노드 (통째로 바꿔 끼워서 조회는 락 없이 읽는다)
+        private volatile BkNode[] children = NO_CHILDREN;
+
+        private BkNode(String word, String jamo) {
+            this.word = word;
+            this.jamo = jamo.toCharArray();
+        }
+
+        private BkNode child(int distance) {
+            BkNode[] children = this.children;
+            return distance < children.length ? children[distance] : null;
+        }
+
+        private void addChild(int distance, BkNode child) {
+            BkNode[] grown = Arrays.copyOf(children, Math.max(children.length, distance + 1));
+            grown[distance] = child;
+            this.children = grown;
+        }
+    }
+}
@@ -0,0 +1,7 @@
+package com.project.ecommerce.domain.product.search;
+
+/**
+ * 자동완성 인기도로 쓰는 상품별 누적 주문 수량 (취소된 주문 제외)
+ */
+public record ProductSalesRow(Long productId, Long quantity) {
+}
@@ -0,0 +1,312 @@
+package com.project.ecommerce.domain.product.search;
+
+import com.project.ecommerce.common.utils.AfterCommit;
+import com.project.ecommerce.domain.product.entity.Product;
+import com.project.ecommerce.domain.product.entity.ProductStatus;
+import com.project.ecommerce.domain.product.event.ProductChangedEvent;
+import com.project.ecommerce.domain.product.repository.ProductRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+/**
+ * 판매중(ACTIVE) 상품의 이름/설명에 대한 인메모리 역색인
+ * 검색할 때마다 products 테이블을 LIKE 로 풀스캔하지 않고, 메모리에서 관련도 순으로 상품 id 를 구한다.
+ */
+@Slf4j
+@RequiredArgsConstructor
+@Component
+public class ProductSearchIndex {
+
+    private static final int REBUILD_BATCH_SIZE = 1000;
+    private static final int NAME_MATCH_SCORE = 10;
+    private static final int NAME_PREFIX_SCORE = 5;
+    private static final int DESCRIPTION_MATCH_SCORE = 2;
+
+    // 관련도 높은 순, 같으면 최신 상품(id 큰) 순
+    private static final Comparator<SearchHit> RANKING = Comparator.comparingInt(SearchHit::score).reversed()
+            .thenComparing(SearchHit::productId, Comparator.reverseOrder());
+
+    private final ProductRepository productRepository;
+
+    // 토큰 -> 해당 토큰을 가진 상품 id 목록
+    private final Map<String, Set<Long>> postings = new ConcurrentHashMap<>();
+
+    // 상품 id -> 색인된 상품 정보
+    private final Map<Long, IndexedProduct> documents = new ConcurrentHashMap<>();
+
+    // 색인 내용(검색 결과)이 바뀔 때마다 1 씩 오른다. 검색 결과 캐시가 검색하는 동안 색인이 바뀌었는지 확인할 때 쓴다
+    private volatile long generation;
+
+    // 색인이 바뀌면 바뀐 토큰을 알려줄 곳 (검색 결과 캐시)
+    private final List<ChangeListener> listeners = new CopyOnWriteArrayList<>();
+
+    /**
+     * 애플리케이션 시작 시 DB 에 있는 판매중 상품으로 색인을 다시 만든다.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public synchronized void rebuild() {
+        postings.clear();
+        documents.clear();
+        generation++;
+
+        int page = 0;
+        Page<Product> products;
+        do {
+            products = productRepository.findByStatus(ProductStatus.ACTIVE, PageRequest.of(page++, REBUILD_BATCH_SIZE, Sort.by("id")));
+            products.forEach(product -> put(product.getId(), product.getName(), product.getDescription()));
+        } while (products.hasNext());
+        listeners.forEach(ChangeListener::onRebuilt);
+
+        log.info("상품 검색 색인 재구성 완료: {}건", documents.size());
+    }
+
+    /**
+     * 상품이 바뀌면 커밋 직전에 색인할 값을 읽어두고, 커밋된 뒤에 색인을 갱신한다. 판매중이 아닌 상품은 색인에서 뺀다.
+     */
+    @TransactionalEventListener(phase = TransactionPhase.BEFORE_COMMIT, fallbackExecution = true)
+    public void onProductChanged(ProductChangedEvent event) {
+        Product product = event.getProduct();
+        Long productId = product.getId();
+
+        if (product.getStatus() == ProductStatus.ACTIVE) {
+            String name = product.getName();
+            String description = product.getDescription();
+            AfterCommit.run(() -> index(productId, name, description));
+        } else {
+            AfterCommit.run(() -> remove(productId));
+        }
+    }
+
+    public void index(Product product) {
+        index(product.getId(), product.getName(), product.getDescription());
+    }
+
+    public synchronized void index(Long productId, String name, String description) {
+        Set<String> changedTokens = put(productId, name, description);
+        if (!changedTokens.isEmpty()) {
+            notifyChanged(changedTokens);
+        }
+    }
+
+    public synchronized void remove(Long productId) {
+        Set<String> changedTokens = unindex(productId);
+        if (!changedTokens.isEmpty()) {
+            notifyChanged(changedTokens);
+        }
+    }
+
+    public void addChangeListener(ChangeListener listener) {
+        listeners.add(listener);
+    }
+
+    /**
+     * 키워드의 모든 단어를 포함하는 상품을 관련도 순(같으면 최신 상품 순)으로 정렬해 요청한 페이지의 상품 id 만 돌려준다.
+     */
+    public Page<Long> search(String keyword, Pageable pageable) {
+        List<SearchHit> ranked = rank(keyword);
+
+        int from = (int) Math.min(pageable.getOffset(), ranked.size());
+        int to = Math.min(from + pageable.getPageSize(), ranked.size());
+        List<Long> productIds = ranked.subList(from, to).stream()
+                .map(SearchHit::productId)
+                .toList();
+
+        return new PageImpl<>(productIds, pageable, ranked.size());
+    }
+
+    /**
+     * 커서 기반 검색: 마지막으로 본 결과(after) 다음 순서부터 limit 개를 돌려준다. after 가 null 이면 처음부터.
+     */
+    public List<SearchHit> searchAfter(String keyword, SearchHit after, int limit) {
+        return rank(keyword).stream()
+                .filter(hit -> after == null || RANKING.compare(hit, after) > 0)
+                .limit(limit)
+                .toList();
+    }
+
+    public int count(String keyword) {
+        return rank(keyword).size();
+    }
+
+    public int size() {
+        return documents.size();
+    }
+
+    public long generation() {
+        return generation;
+    }
+
+    /**
+     * 상품을 색인에 넣고 예전 토큰과 새 토큰을 합쳐서 돌려준다. 결과가 바뀔 수 있는 검색어는 이 토큰에 gram 이 모두 들어 있는 검색어뿐이다.
+     */
+    private Set<String> put(Long productId, String name, String description) {
+        IndexedProduct document = new IndexedProduct(
+                productId,
+                ProductTokenizer.normalize(name),
+                ProductTokenizer.normalize(description)
+        );
+        // 재고 변경처럼 상품명/설명이 그대로인 변경은 검색 결과를 바꾸지 않으므로 건너뛴다
+        if (document.equals(documents.get(document.productId()))) {
+            return new HashSet<>();
+        }
+
+        Set<String> changedTokens = unindex(productId);
+        documents.put(document.productId(), document);
+        generation++;
+
+        Set<String> tokens = document.tokens();
+        for (String token : tokens) {
+            postings.computeIfAbsent(token, key -> ConcurrentHashMap.newKeySet()).add(document.productId());
+        }
+        changedTokens.addAll(tokens);
+
+        return changedTokens;
+    }
+
+    /**
+     * 색인에서 상품을 빼고, 빠진 상품이 가지고 있던 토큰을 돌려준다. (없던 상품이면 빈 집합)
+     */
+    private Set<String> unindex(Long productId) {
+        IndexedProduct document = documents.remove(productId);
+        if (document == null) {
+            return new HashSet<>();
+        }
+        generation++;
+
+        Set<String> tokens = document.tokens();
+        for (String token : tokens) {
+            postings.computeIfPresent(token, (key, productIds) -> {
+                productIds.remove(productId);
+                return productIds.isEmpty() ? null : productIds;
+            });
+        }
+
+        return tokens;
+    }
+
+    private void notifyChanged(Set<String> changedTokens) {
+        Set<String> tokens = Collections.unmodifiableSet(changedTokens);
+        listeners.forEach(listener -> listener.onChanged(tokens));
+    }
+
+    private List<SearchHit> rank(String keyword) {
+        List<String> words = ProductTokenizer.words(keyword);
+        if (words.isEmpty()) {
+            return List.of();
+        }
+
+        List<SearchHit> ranked = new ArrayList<>();
+        for (Long productId : candidates(words)) {
+            IndexedProduct document = documents.get(productId);
+            if (document == null) {
+                continue;
+            }
+
+            int score = document.score(words);
+            if (score > 0) {
+                ranked.add(new SearchHit(productId, score));
+            }
+        }
+
+        ranked.sort(RANKING);
+
+        return ranked;
+    }
+
+    /**
+     * 검색어의 2-gram 을 모두 가진 상품만 후보로 뽑는다. 짧은 posting 부터 교집합을 구해서 비교 횟수를 줄인다.
+     */
+    private Collection<Long> candidates(List<String> words) {
+        List<Set<Long>> postingLists = new ArrayList<>();
+        for (String word : words) {
+            // 한 글자 검색어는 2-gram 이 없으므로 후보를 좁히지 않고 점수 계산에서 걸러낸다
+            if (word.length() < 2) {
+                continue;
+            }
+
+            for (String gram : ProductTokenizer.grams(word)) {
+                Set<Long> productIds = postings.get(gram);
+                if (productIds == null) {
+                    return List.of();
+                }
+                postingLists.add(productIds);
+            }
+        }
+
+        if (postingLists.isEmpty()) {
+            return documents.keySet();
+        }
+
+        postingLists.sort(Comparator.comparingInt(Set::size));
+        Set<Long> result = new HashSet<>(postingLists.get(0));
+        for (int i = 1; i < postingLists.size() && !result.isEmpty(); i++) {
+            result.retainAll(postingLists.get(i));
+        }
+
+        return result;
+    }
+
+    private record IndexedProduct(Long productId, String name, String description) {
+
+        Set<String> tokens() {
+            Set<String> tokens = ProductTokenizer.tokenize(name);
+            tokens.addAll(ProductTokenizer.tokenize(description));
+            return tokens;
+        }
+
+        /**
+         * 2-gram 이 모두 있어도 실제로 이어져 있지 않을 수 있으므로 원문에 포함되는지 한 번 더 확인한다.
+         * 상품명에 있으면 설명에 있는 것보다 높은 점수를 주고, 단어가 검색어로 시작하면 가산점을 준다.
+         */
+        int score(List<String> words) {
+            int score = 0;
+            for (String word : words) {
+                if (name.contains(word)) {
+                    score += NAME_MATCH_SCORE;
+                    if (name.startsWith(word) || name.contains(" " + word)) {
+                        score += NAME_PREFIX_SCORE;
+                    }
+                } else if (description.contains(word)) {
+                    score += DESCRIPTION_MATCH_SCORE;
+                } else {
+                    return 0;
+                }
+            }
+
+            return score;
+        }
+    }
+
+    public record SearchHit(Long productId, int score) {
+    }
+
+    /**
+     * 색인이 바뀌었을 때 알림을 받는 쪽. 색인 락 안에서 불리므로 오래 걸리는 일을 하면 안 된다.
+     */
+    public interface ChangeListener {
+
+        /**
+         * 상품 하나가 추가/수정/삭제되었다. tokens 는 그 상품의 예전 토큰과 새 토큰을 합친 것이다.
+         */
+        void onChanged(Set<String> tokens);
+
+        /**
+         * 색인을 처음부터 다시 만들었다.
+         */
+        void onRebuilt();
+    }
+}
@@ -0,0 +1,397 @@
+package com.project.ecommerce.domain.product.search;
+
+import com.project.ecommerce.common.utils.AfterCommit;
+import com.project.ecommerce.domain.product.entity.Product;
+import com.project.ecommerce.domain.product.entity.ProductStatus;
+import com.project.ecommerce.domain.product.event.ProductChangedEvent;
+import com.project.ecommerce.domain.product.repository.ProductRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * 판매중(ACTIVE) 상품명 자동완성용 prefix 트리
+ * 정규화한 상품명을 단어가 시작하는 위치마다 넣어서("맥북 프로" -> "맥북 프로", "프로") 가운데 단어부터 입력해도 찾는다.
+ * 노드마다 그 아래 상품 중 인기(누적 주문 수량) 상위 MAX_SUGGESTIONS 개를 미리 들고 있어서,
+ * 조회는 입력한 글자 수만큼 내려가서 목록을 읽기만 한다.
+ * 조회는 락 없이 하고, 쓰기는 한 번에 하나씩 하면서 바뀐 경로의 상위 목록만 고친다.
+ */
+@Slf4j
+@RequiredArgsConstructor
+@Component
+public class ProductSuggestIndex {
+
+    public static final int MAX_SUGGESTIONS = 10;
+
+    private static final int REBUILD_BATCH_SIZE = 1000;
+    private static final Suggestion[] NO_SUGGESTIONS = new Suggestion[0];
+    private static final char ROOT_LABEL = 0;
+
+    // 인기 높은 순, 같으면 최신 상품(id 큰) 순
+    private static final Comparator<Suggestion> RANKING = Comparator.comparingLong(Suggestion::popularity).reversed()
+            .thenComparing(Suggestion::productId, Comparator.reverseOrder());
+
+    private final ProductRepository productRepository;
+
+    private volatile Node root = new Node(ROOT_LABEL);
+
+    // 상품 id -> 색인된 항목 (이름이 바뀌거나 빠질 때 예전 경로를 찾는 데 쓴다)
+    private final Map<Long, Suggestion> suggestions = new ConcurrentHashMap<>();
+
+    // 상품 id -> 누적 주문 수량 (판매중이 아닌 상품도 들고 있다가 다시 판매중이 되면 그대로 쓴다)
+    private final Map<Long, Long> popularity = new ConcurrentHashMap<>();
+
+    /**
+     * 애플리케이션 시작 시 주문 수량과 판매중 상품명으로 트리를 새로 만들어 한 번에 바꿔 끼운다.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public synchronized void rebuild() {
+        popularity.clear();
+        productRepository.findAllSalesRows().forEach(row -> popularity.put(row.productId(), row.quantity()));
+
+        Node rebuilt = new Node(ROOT_LABEL);
+        suggestions.clear();
+
+        int page = 0;
+        Page<Product> products;
+        do {
+            products = productRepository.findByStatus(ProductStatus.ACTIVE, PageRequest.of(page++, REBUILD_BATCH_SIZE, Sort.by("id")));
+            products.forEach(product -> insert(rebuilt, suggestionOf(product.getId(), product.getName())));
+        } while (products.hasNext());
+
+        this.root = rebuilt;
+
+        log.info("상품 자동완성 색인 재구성 완료: {}건", suggestions.size());
+    }
+
+    /**
+     * 상품이 바뀌면 커밋 직전에 이름을 읽어두고, 커밋된 뒤에 자동완성을 갱신한다. 판매중이 아닌 상품은 뺀다.
+     */
+    @TransactionalEventListener(phase = TransactionPhase.BEFORE_COMMIT, fallbackExecution = true)
+    public void onProductChanged(ProductChangedEvent event) {
+        Product product = event.getProduct();
+        Long productId = product.getId();
+
+        if (product.getStatus() == ProductStatus.ACTIVE) {
+            String name = product.getName();
+            AfterCommit.run(() -> index(productId, name));
+        } else {
+            AfterCommit.run(() -> remove(productId));
+        }
+    }
+
+    /**
+     * 주문 수량은 상품 이벤트로 알 수 없으므로 주기적으로 다시 읽어서, 수량이 바뀐 상품만 다시 넣는다.
+     */
+    @Scheduled(fixedDelayString = "${product.suggest.popularity-refresh-interval:10m}", initialDelayString = "${product.suggest.popularity-refresh-interval:10m}")
+    public void refreshPopularity() {
+        updatePopularity(productRepository.findAllSalesRows());
+    }
+
+    public synchronized void updatePopularity(List<ProductSalesRow> rows) {
+        int updated = 0;
+        for (ProductSalesRow row : rows) {
+            Long previous = popularity.put(row.productId(), row.quantity());
+            Suggestion current = suggestions.get(row.productId());
+            if (current != null && !row.quantity().equals(previous)) {
+                delete(root, current);
+                insert(root, suggestionOf(current.productId(), current.name()));
+                updated++;
+            }
+        }
+
+        if (updated > 0) {
+            log.info("상품 자동완성 인기도 갱신: {}건", updated);
+        }
+    }
+
+    public synchronized void index(Long productId, String name) {
+        Suggestion current = suggestions.get(productId);
+        // 재고 변경처럼 이름이 그대로인 변경은 트리를 건드리지 않는다
+        if (current != null && current.name().equals(name)) {
+            return;
+        }
+
+        if (current != null) {
+            delete(root, current);
+        }
+        insert(root, suggestionOf(productId, name));
+    }
+
+    public synchronized void remove(Long productId) {
+        Suggestion current = suggestions.get(productId);
+        if (current != null) {
+            delete(root, current);
+        }
+    }
+
+    /**
+     * 입력한 앞부분으로 시작하는 단어를 가진 상품을 인기순으로 최대 limit 개 돌려준다.
+     */
+    public List<Suggestion> suggest(String prefix, int limit) {
+        String key = keyOf(prefix);
+        if (key.isEmpty() || limit <= 0) {
+            return List.of();
+        }
+
+        Node node = root;
+        for (int i = 0; i < key.length() && node != null; i++) {
+            node = node.child(key.charAt(i));
+        }
+        if (node == null) {
+            return List.of();
+        }
+
+        Suggestion[] top = node.top;
+        return List.of(Arrays.copyOf(top, Math.min(top.length, limit)));
+    }
+
+    public int size() {
+        return suggestions.size();
+    }
+
+    private Suggestion suggestionOf(Long productId, String name) {
+        return new Suggestion(productId, name, popularity.getOrDefault(productId, 0L));
+    }
+
+    /**
+     * 상품을 넣을 때는 경로의 노드마다 상위 목록에 끼워 넣기만 하면 된다. (노드당 MAX_SUGGESTIONS 번 비교)
+     */
+    private void insert(Node root, Suggestion suggestion) {
+        suggestions.put(suggestion.productId(), suggestion);
+
+        for (String key : keysOf(suggestion.name())) {
+            Node node = root;
+            node.top = offer(node.top, suggestion);
+            for (int i = 0; i < key.length(); i++) {
+                node = node.childOrCreate(key.charAt(i));
+                node.top = offer(node.top, suggestion);
+            }
+
+            node.addTerminal(suggestion);
+        }
+    }
+
+    /**
+     * 상품을 뺄 때는 모든 키에서 먼저 빼고, 키마다 경로를 아래에서부터 올라가며 그 상품이 들어있는 상위 목록만 다시 만든다.
+     * 한 노드의 상위 목록은 그 노드에서 끝나는 상품과 자식 노드들의 상위 목록만 합치면 되므로 하위 트리 전체를 볼 필요가 없고,
+     * 상위 목록에 그 상품이 없는 노드를 만나면 그 위도 바뀌지 않으므로 거기서 멈춘다.
+     */
+    private void delete(Node root, Suggestion suggestion) {
+        suggestions.remove(suggestion.productId());
+
+        Map<String, List<Node>> paths = new LinkedHashMap<>();
+        for (String key : keysOf(suggestion.name())) {
+            List<Node> path = pathOf(root, key);
+            if (path != null) {
+                path.get(path.size() - 1).removeTerminal(suggestion);
+                paths.put(key, path);
+            }
+        }
+
+        paths.forEach((key, path) -> {
+            for (int depth = path.size() - 1; depth >= 0; depth--) {
+                Node node = path.get(depth);
+                if (!contains(node.top, suggestion.productId())) {
+                    break;
+                }
+
+                node.top = recompute(node);
+                // 비어 버린 노드는 부모에서 떼어낸다
+                if (depth > 0 && node.isEmpty()) {
+                    path.get(depth - 1).removeChild(key.charAt(depth - 1));
+                }
+            }
+        });
+    }
+
+    private List<Node> pathOf(Node root, String key) {
+        List<Node> path = new ArrayList<>(key.length() + 1);
+        Node node = root;
+        path.add(node);
+        for (int i = 0; i < key.length(); i++) {
+            node = node.child(key.charAt(i));
+            if (node == null) {
+                return null;
+            }
+            path.add(node);
+        }
+
+        return path;
+    }
+
+    /**
+     * 순위 안에 들면 제자리에 끼워 넣은 새 배열을 돌려준다. 같은 상품이 여러 단어 위치로 같은 노드 아래에 들어와도 한 번만 담는다.
+     */
+    private static Suggestion[] offer(Suggestion[] top, Suggestion suggestion) {
+        if (contains(top, suggestion.productId())) {
+            return top;
+        }
+
+        int position = 0;
+        while (position < top.length && RANKING.compare(top[position], suggestion) < 0) {
+            position++;
+        }
+        if (position >= MAX_SUGGESTIONS) {
+            return top;
+        }
+
+        Suggestion[] offered = new Suggestion[Math.min(top.length + 1, MAX_SUGGESTIONS)];
+        System.arraycopy(top, 0, offered, 0, position);
+        offered[position] = suggestion;
+        System.arraycopy(top, position, offered, position + 1, offered.length - position - 1);
+
+        return offered;
+    }
+
+    private static Suggestion[] recompute(Node node) {
+        Suggestion[] top = NO_SUGGESTIONS;
+        for (Suggestion terminal : node.terminals) {
+            top = offer(top, terminal);
+        }
+        for (Node child : node.children) {
+            for (Suggestion suggestion : child.top) {
+                top = offer(top, suggestion);
+            }
+        }
+
+        return top;
+    }
+
+    private static boolean contains(Suggestion[] top, Long productId) {
+        for (Suggestion suggestion : top) {
+            if (suggestion.productId().equals(productId)) {
+                return true;
+            }
+        }
+
+        return false;
+    }
+
+    /**
+     * 상품명에서 단어가 시작하는 위치마다 그 뒤 전체를 키로 만든다.
+     */
+    private static Set<String> keysOf(String name) {
+        String key = keyOf(name);
+
+        Set<String> keys = new LinkedHashSet<>();
+        for (int i = 0; i < key.length(); i++) {
+            if (Character.isLetterOrDigit(key.charAt(i)) && (i == 0 || !Character.isLetterOrDigit(key.charAt(i - 1)))) {
+                keys.add(key.substring(i));
+            }
+        }
+
+        return keys;
+    }
+
+    /**
+     * 검색 정규화에 더해 연속된 공백을 하나로 줄여서, 입력한 띄어쓰기 수가 달라도 같은 노드로 간다.
+     */
+    private static String keyOf(String text) {
+        return ProductTokenizer.normalize(text).replaceAll("\\s+", " ");
+    }
+
+    /**
+     * 상품명 글자가 다양해서 노드 수가 상품 수의 수십 배가 되므로 Map 대신 글자 순으로 정렬한 배열로 자식을 들고 있다.
+     */
+    private static final class Node {
+
+        private static final Node[] NO_CHILDREN = new Node[0];
+
+        private final char label;
+
+        // 글자 순으로 정렬한 자식 노드 (통째로 바꿔 끼워서 조회는 락 없이 읽는다)
+        private volatile Node[] children = NO_CHILDREN;
+
+        // 이 노드에서 키가 끝나는 상품 (쓰기 중에만 읽는다)
+        private Suggestion[] terminals = NO_SUGGESTIONS;
+
+        // 이 노드 아래 상품 중 인기 상위 목록 (통째로 바꿔 끼워서 조회는 락 없이 읽는다)
+        private volatile Suggestion[] top = NO_SUGGESTIONS;
+
+        private Node(char label) {
+            this.label = label;
+        }
+
+        private Node child(char label) {
+            Node[] children = this.children;
+            int position = search(children, label);
+            return position >= 0 ? children[position] : null;
+        }
+
+        private Node childOrCreate(char label) {
+            int position = search(children, label);
+            if (position >= 0) {
+                return children[position];
+            }
+
+            int insertion = -position - 1;
+            Node child = new Node(label);
+            Node[] grown = new Node[children.length + 1];
+            System.arraycopy(children, 0, grown, 0, insertion);
+            grown[insertion] = child;
+            System.arraycopy(children, insertion, grown, insertion + 1, children.length - insertion);
+            this.children = grown;
+
+            return child;
+        }
+
+        private void removeChild(char label) {
+            int position = search(children, label);
+            if (position < 0) {
+                return;
+            }
+
+            Node[] shrunk = new Node[children.length - 1];
+            System.arraycopy(children, 0, shrunk, 0, position);
+            System.arraycopy(children, position + 1, shrunk, position, shrunk.length - position);
+            this.children = shrunk;
+        }
+
+        private void addTerminal(Suggestion suggestion) {
+            terminals = Arrays.copyOf(terminals, terminals.length + 1);
+            terminals[terminals.length - 1] = suggestion;
+        }
+
+        private void removeTerminal(Suggestion suggestion) {
+            terminals = Arrays.stream(terminals)
+                    .filter(terminal -> !terminal.equals(suggestion))
+                    .toArray(Suggestion[]::new);
+        }
+
+        private boolean isEmpty() {
+            return terminals.length == 0 && children.length == 0;
+        }
+
+        private static int search(Node[] children, char label) {
+            int low = 0;
+            int high = children.length - 1;
+            while (low <= high) {
+                int mid = (low + high) >>> 1;
+                if (children[mid].label < label) {
+                    low = mid + 1;
+                } else if (children[mid].label > label) {
+                    high = mid - 1;
+                } else {
+                    return mid;
+                }
+            }
+
+            return -(low + 1);
+        }
+    }
+
+    public record Suggestion(Long productId, String name, long popularity) {
+    }
+}
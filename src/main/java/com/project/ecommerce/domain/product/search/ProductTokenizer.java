@@ -0,0 +1,111 @@
+package com.project.ecommerce.domain.product.search;
+
+import java.text.Normalizer;
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Set;
+
+/**
+ * 상품명/설명을 검색용 토큰으로 쪼개는 유틸
+ * 한글은 띄어쓰기 없이 붙여 쓰는 경우가 많아서("맥북프로") 단어 단위가 아니라 2-gram 단위로 색인한다.
+ * 이렇게 하면 기존 LIKE '%키워드%' 처럼 단어 중간에 있는 부분 문자열도 찾을 수 있다.
+ */
+public final class ProductTokenizer {
+
+    private static final int GRAM_SIZE = 2;
+
+    // 한글 음절 = 0xAC00 + (초성 * 21 + 중성) * 28 + 종성
+    private static final char HANGUL_FIRST = '\uAC00';
+    private static final char HANGUL_LAST = '\uD7A3';
+    private static final String CHOSEONG = "ㄱㄲㄴㄷㄸㄹㅁㅂㅃㅅㅆㅇㅈㅉㅊㅋㅌㅍㅎ";
+    private static final String JUNGSEONG = "ㅏㅐㅑㅒㅓㅔㅕㅖㅗㅘㅙㅚㅛㅜㅝㅞㅟㅠㅡㅢㅣ";
+    private static final String JONGSEONG = "ㄱㄲㄳㄴㄵㄶㄷㄹㄺㄻㄼㄽㄾㄿㅀㅁㅂㅄㅅㅆㅇㅈㅊㅋㅌㅍㅎ";
+    private static final int JUNGSEONG_COUNT = 21;
+    private static final int JONGSEONG_COUNT = 28; // 받침 없음 포함
+
+    private ProductTokenizer() {
+    }
+
+    /**
+     * 전각/반각, 대소문자 차이를 없애고 앞뒤 공백을 제거한다.
+     */
+    public static String normalize(String text) {
+        if (text == null) {
+            return "";
+        }
+
+        return Normalizer.normalize(text, Normalizer.Form.NFKC)
+                .toLowerCase(Locale.ROOT)
+                .trim();
+    }
+
+    /**
+     * 정규화한 문자열을 글자/숫자가 아닌 문자를 기준으로 단어 단위로 나눈다.
+     */
+    public static List<String> words(String text) {
+        List<String> words = new ArrayList<>();
+        for (String word : normalize(text).split("[^\\p{L}\\p{N}]+")) {
+            if (!word.isEmpty()) {
+                words.add(word);
+            }
+        }
+
+        return words;
+    }
+
+    /**
+     * 단어 하나를 2-gram 으로 나눈다. 한 글자짜리 단어는 그대로 토큰이 된다.
+     */
+    public static Set<String> grams(String word) {
+        Set<String> grams = new LinkedHashSet<>();
+        if (word.length() < GRAM_SIZE) {
+            grams.add(word);
+            return grams;
+        }
+
+        for (int i = 0; i + GRAM_SIZE <= word.length(); i++) {
+            grams.add(word.substring(i, i + GRAM_SIZE));
+        }
+
+        return grams;
+    }
+
+    /**
+     * 색인할 문자열 전체를 토큰 집합으로 만든다.
+     */
+    public static Set<String> tokenize(String text) {
+        Set<String> tokens = new LinkedHashSet<>();
+        for (String word : words(text)) {
+            tokens.addAll(grams(word));
+        }
+
+        return tokens;
+    }
+
+    /**
+     * 한글 음절을 초성/중성/종성 자모로 풀어쓴다. ("맥북" -> "ㅁㅐㄱㅂㅜㄱ")
+     * 오타는 보통 자모 하나를 잘못 누른 것이라서, 음절 단위보다 자모 단위로 편집 거리를 재야 "맥북"과 "맥복"이 가깝게 나온다.
+     */
+    public static String decompose(String word) {
+        StringBuilder jamo = new StringBuilder(word.length() * 3);
+        for (int i = 0; i < word.length(); i++) {
+            char ch = word.charAt(i);
+            if (ch < HANGUL_FIRST || ch > HANGUL_LAST) {
+                jamo.append(ch);
+                continue;
+            }
+
+            int offset = ch - HANGUL_FIRST;
+            int jongseong = offset % JONGSEONG_COUNT;
+            jamo.append(CHOSEONG.charAt(offset / JONGSEONG_COUNT / JUNGSEONG_COUNT))
+                    .append(JUNGSEONG.charAt(offset / JONGSEONG_COUNT % JUNGSEONG_COUNT));
+            if (jongseong > 0) {
+                jamo.append(JONGSEONG.charAt(jongseong - 1));
+            }
+        }
+
+        return jamo.toString();
+    }
+}
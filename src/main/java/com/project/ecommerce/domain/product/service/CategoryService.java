@@ -4,12 +4,18 @@ import com.project.ecommerce.domain.product.dto.CategoryDto;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 
+import java.util.List;
+
 public interface CategoryService {
 
     Page<CategoryDto.CategoryResponse> getCategoryList(Pageable pageable);
 
     CategoryDto.CategoryResponse getCategory(Long categoryId);
 
+    List<CategoryDto.CategoryTreeResponse> getCategoryTree();
+
+    List<CategoryDto.CategoryPathResponse> getCategoryPath(Long categoryId);
+
     CategoryDto.CategoryResponse registerCategory(CategoryDto.CategoryRegisterRequest request, Long sellerId);
 
     CategoryDto.CategoryResponse updateCategory(CategoryDto.CategoryUpdateRequest request, Long sellerId, Long categoryId);
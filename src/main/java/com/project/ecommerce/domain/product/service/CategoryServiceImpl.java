@@ -4,41 +4,78 @@ import com.project.ecommerce.common.exception.CategoryErrorMessages;
 import com.project.ecommerce.common.exception.CategoryException;
 import com.project.ecommerce.common.exception.UserErrorMessages;
 import com.project.ecommerce.common.exception.UserException;
+import com.project.ecommerce.common.utils.SingleFlight;
+import com.project.ecommerce.domain.product.category.CategoryTree;
+import com.project.ecommerce.domain.product.category.CategoryTreeStore;
 import com.project.ecommerce.domain.product.dto.CategoryDto;
 import com.project.ecommerce.domain.product.entity.Category;
+import com.project.ecommerce.domain.product.event.CategoryChangedEvent;
 import com.project.ecommerce.domain.product.repository.CategoryRepository;
 import com.project.ecommerce.domain.user.entity.User;
 import com.project.ecommerce.domain.user.repository.UserRepository;
 import lombok.RequiredArgsConstructor;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.http.HttpStatus;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
+import java.time.Duration;
+import java.util.List;
 import java.util.Objects;
 
 @RequiredArgsConstructor
 @Service
 public class CategoryServiceImpl implements CategoryService {
 
+    private static final Duration LOAD_TIMEOUT = Duration.ofSeconds(3);
+
     private final CategoryRepository categoryRepository;
     private final UserRepository userRepository;
+    private final ApplicationEventPublisher eventPublisher;
+    private final CategoryTreeStore categoryTreeStore;
+
+    // 같은 카테고리/페이지를 동시에 읽는 요청은 DB 를 한 번만 읽고 결과를 같이 쓴다
+    private final SingleFlight<Pageable, Page<CategoryDto.CategoryResponse>> categoryListLoads = new SingleFlight<>(LOAD_TIMEOUT, CategoryServiceImpl::loadTimeoutException);
+    private final SingleFlight<Long, CategoryDto.CategoryResponse> categoryLoads = new SingleFlight<>(LOAD_TIMEOUT, CategoryServiceImpl::loadTimeoutException);
 
     @Override
     public Page<CategoryDto.CategoryResponse> getCategoryList(Pageable pageable) {
-        return categoryRepository.findAll(pageable)
-                .map(CategoryDto.CategoryResponse::of);
+        return categoryListLoads.execute(pageable, () -> categoryRepository.findAll(pageable)
+                .map(CategoryDto.CategoryResponse::of));
     }
 
     @Override
     public CategoryDto.CategoryResponse getCategory(Long categoryId) {
-        Category category = categoryRepository.findById(categoryId)
-                .orElseThrow(() -> new CategoryException(CategoryErrorMessages.NOT_FOUND_CATEGORY, HttpStatus.NOT_FOUND));
+        return categoryLoads.execute(categoryId, () -> {
+            Category category = categoryRepository.findById(categoryId)
+                    .orElseThrow(() -> new CategoryException(CategoryErrorMessages.NOT_FOUND_CATEGORY, HttpStatus.NOT_FOUND));
 
-        return CategoryDto.CategoryResponse.of(category);
+            return CategoryDto.CategoryResponse.of(category);
+        });
     }
 
+    /**
+     * 메모리의 트리 스냅샷을 그대로 돌려준다. (DB 를 읽지 않음)
+     */
     @Override
+    public List<CategoryDto.CategoryTreeResponse> getCategoryTree() {
+        return categoryTreeStore.get().getRoots();
+    }
+
+    @Override
+    public List<CategoryDto.CategoryPathResponse> getCategoryPath(Long categoryId) {
+        CategoryTree tree = categoryTreeStore.get();
+        if (!tree.contains(categoryId)) {
+            throw new CategoryException(CategoryErrorMessages.NOT_FOUND_CATEGORY, HttpStatus.NOT_FOUND);
+        }
+
+        return tree.pathOf(categoryId);
+    }
+
+    @Override
+    @Transactional
     public CategoryDto.CategoryResponse registerCategory(CategoryDto.CategoryRegisterRequest request, Long sellerId) {
         // 판매자인지 검증
         User user = userRepository.findById(sellerId)
@@ -63,11 +100,13 @@ public class CategoryServiceImpl implements CategoryService {
                 .build();
 
         Category savedCategory = categoryRepository.save(newCategory);
+        eventPublisher.publishEvent(new CategoryChangedEvent(savedCategory.getId(), CategoryChangedEvent.ChangeType.REGISTERED));
 
         return CategoryDto.CategoryResponse.of(savedCategory);
     }
 
     @Override
+    @Transactional
     public CategoryDto.CategoryResponse updateCategory(CategoryDto.CategoryUpdateRequest request, Long sellerId, Long categoryId) {
         // 판매자인지 검증
         User user = userRepository.findById(sellerId)
@@ -97,16 +136,25 @@ public class CategoryServiceImpl implements CategoryService {
                 throw new CategoryException(CategoryErrorMessages.CANNOT_ASSIGN_MYSELF, HttpStatus.BAD_REQUEST);
             }
 
+            // 하위 카테고리 밑으로 옮기면 순환이 생긴다
+            if (categoryTreeStore.get().isInSubtree(category.getId(), request.getParentCategoryId())) {
+                throw new CategoryException(CategoryErrorMessages.CANNOT_ASSIGN_SUB_CATEGORY, HttpStatus.BAD_REQUEST);
+            }
+
             Category parent = categoryRepository.findById(request.getParentCategoryId())
                     .orElseThrow(() -> new CategoryException(CategoryErrorMessages.NOT_FOUND_CATEGORY, HttpStatus.NOT_FOUND));
 
             category.updateParentCategory(parent);
         }
 
+        // 이 카테고리를 달고 있는 상품 응답 캐시도 갱신되어야 함
+        eventPublisher.publishEvent(new CategoryChangedEvent(category.getId(), CategoryChangedEvent.ChangeType.UPDATED));
+
         return CategoryDto.CategoryResponse.of(category);
     }
 
     @Override
+    @Transactional
     public void deleteCategory(Long categoryId, Long sellerId) {
         // 판매자인지 검증
         User user = userRepository.findById(sellerId)
@@ -124,5 +172,10 @@ public class CategoryServiceImpl implements CategoryService {
         }
 
         categoryRepository.delete(category);
+        eventPublisher.publishEvent(new CategoryChangedEvent(categoryId, CategoryChangedEvent.ChangeType.DELETED));
+    }
+
+    private static CategoryException loadTimeoutException() {
+        return new CategoryException(CategoryErrorMessages.LOAD_TIMEOUT, HttpStatus.SERVICE_UNAVAILABLE);
     }
 }
@@ -1,17 +1,34 @@
 package com.project.ecommerce.domain.product.service;
 
 import com.project.ecommerce.domain.product.dto.ProductDto;
+import com.project.ecommerce.domain.product.dto.ProductSortType;
+import com.project.ecommerce.domain.product.entity.ProductStatus;
+import com.project.ecommerce.domain.product.facet.PriceBand;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 
+import java.util.List;
+
 public interface ProductService {
 
     Page<ProductDto.ProductSimpleResponse> getProductList(Pageable pageable);
 
     ProductDto.ProductResponse getProduct(Long productId);
 
+    ProductDto.ProductBulkResponse getProducts(List<Long> productIds);
+
     Page<ProductDto.ProductSimpleResponse> searchProduct(String keyword, Pageable pageable);
 
+    List<ProductDto.ProductSuggestResponse> suggest(String prefix, int size);
+
+    Page<ProductDto.ProductSimpleResponse> getProductListByCategory(Long categoryId, ProductSortType sortType, int page, int size);
+
+    ProductDto.ProductFacetResponse searchByFacets(ProductStatus status, Long categoryId, Long sellerId, PriceBand priceBand, int page, int size, Long loginSellerId);
+
+    ProductDto.ProductCursorResponse getProductListByCursor(String cursor, int size, ProductSortType sortType, boolean withCount);
+
+    ProductDto.ProductCursorResponse searchProductByCursor(String keyword, String cursor, int size, boolean withCount);
+
     ProductDto.ProductResponse registerProduct(ProductDto.ProductRegisterRequest request, Long sellerId);
 
     ProductDto.ProductResponse updateProduct(Long productId, ProductDto.ProductUpdateRequest request, Long sellerId);
@@ -1,34 +1,71 @@
 package com.project.ecommerce.domain.product.service;
 
 import com.project.ecommerce.common.exception.*;
+import com.project.ecommerce.domain.product.cache.ProductDetailCache;
+import com.project.ecommerce.domain.product.cache.ProductSearchCache;
+import com.project.ecommerce.domain.product.category.CategoryProductIndex;
+import com.project.ecommerce.domain.product.category.CategoryTree;
+import com.project.ecommerce.domain.product.category.CategoryTreeStore;
+import com.project.ecommerce.domain.product.dto.ProductCursor;
 import com.project.ecommerce.domain.product.dto.ProductDto;
+import com.project.ecommerce.domain.product.dto.ProductSortType;
 import com.project.ecommerce.domain.product.entity.Category;
 import com.project.ecommerce.domain.product.entity.Product;
 import com.project.ecommerce.domain.product.entity.ProductCategory;
 import com.project.ecommerce.domain.product.entity.ProductStatus;
+import com.project.ecommerce.domain.product.event.ProductChangedEvent;
+import com.project.ecommerce.domain.product.facet.FacetFilter;
+import com.project.ecommerce.domain.product.facet.FacetResult;
+import com.project.ecommerce.domain.product.facet.PriceBand;
+import com.project.ecommerce.domain.product.facet.ProductFacetIndex;
 import com.project.ecommerce.domain.product.repository.CategoryRepository;
 import com.project.ecommerce.domain.product.repository.ProductRepository;
+import com.project.ecommerce.domain.product.search.ProductFuzzyIndex;
+import com.project.ecommerce.domain.product.search.ProductSearchIndex;
+import com.project.ecommerce.domain.product.search.ProductSuggestIndex;
+import com.project.ecommerce.domain.product.stock.HotStockStore;
 import com.project.ecommerce.domain.user.entity.Role;
 import com.project.ecommerce.domain.user.entity.User;
 import com.project.ecommerce.domain.user.repository.UserRepository;
 import jakarta.transaction.Transactional;
 import lombok.RequiredArgsConstructor;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
 import org.springframework.http.HttpStatus;
 import org.springframework.stereotype.Service;
 
 import java.math.BigDecimal;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Objects;
+import java.util.function.Function;
+import java.util.stream.Collectors;
 
 @RequiredArgsConstructor
 @Service
 public class ProductServiceImpl implements ProductService {
 
+    private static final int MAX_PAGE_SIZE = 100;
+    private static final int MAX_BULK_SIZE = 100;
+    private static final String RELEVANCE_SORT_KEY = "RELEVANCE";
+
     private final ProductRepository productRepository;
     private final CategoryRepository categoryRepository;
     private final UserRepository userRepository;
+    private final ProductSearchIndex productSearchIndex;
+    private final ProductFuzzyIndex productFuzzyIndex;
+    private final ProductSuggestIndex productSuggestIndex;
+    private final ProductDetailCache productDetailCache;
+    private final ProductSearchCache productSearchCache;
+    private final CategoryTreeStore categoryTreeStore;
+    private final CategoryProductIndex categoryProductIndex;
+    private final ProductFacetIndex productFacetIndex;
+    private final HotStockStore hotStockStore;
+    private final ApplicationEventPublisher eventPublisher;
 
     @Override
     public Page<ProductDto.ProductSimpleResponse> getProductList(Pageable pageable) {
@@ -38,16 +75,230 @@ public class ProductServiceImpl implements ProductService {
 
     @Override
     public ProductDto.ProductResponse getProduct(Long productId) {
-        Product product = productRepository.findById(productId)
-                .orElseThrow(() -> new ProductException(ProductErrorMessages.NOT_FOUND_PRODUCT, HttpStatus.NOT_FOUND));
+        // 상세 응답은 캐시에서 꺼내고, 없을 때만 DB 에서 읽어서 만든다 (수정/재고변경/삭제 시 캐시에서 지워짐)
+        ProductDto.ProductResponse response = productDetailCache.get(productId, id -> {
+            Product product = productRepository.findDetailById(id)
+                    .orElseThrow(() -> new ProductException(ProductErrorMessages.NOT_FOUND_PRODUCT, HttpStatus.NOT_FOUND));
 
-        return ProductDto.ProductResponse.of(product);
+            return ProductDto.ProductResponse.of(product);
+        });
+
+        return withCurrentStock(response);
+    }
+
+    /**
+     * 여러 상품 상세를 한 번에 조회한다. 캐시에 있는 상품은 그대로 쓰고, 나머지만 쿼리 2번으로 한꺼번에 읽는다.
+     * 중복 id 는 한 번만 돌려주고, 없는 상품은 실패로 처리하지 않고 missingIds 로 알려준다.
+     */
+    @Override
+    public ProductDto.ProductBulkResponse getProducts(List<Long> productIds) {
+        if (productIds == null || productIds.isEmpty()) {
+            throw new ProductException(ProductErrorMessages.REQUIRED_PRODUCT_ID, HttpStatus.BAD_REQUEST);
+        }
+
+        List<Long> requestedIds = productIds.stream()
+                .filter(Objects::nonNull)
+                .distinct()
+                .toList();
+        if (requestedIds.size() > MAX_BULK_SIZE) {
+            throw new ProductException(ProductErrorMessages.TOO_MANY_PRODUCT_IDS, HttpStatus.BAD_REQUEST);
+        }
+
+        Map<Long, ProductDto.ProductResponse> found = productDetailCache.getAll(requestedIds, missingIds ->
+                productRepository.findDetailsByIdIn(missingIds).stream()
+                        .collect(Collectors.toMap(Product::getId, ProductDto.ProductResponse::of)));
+
+        return ProductDto.ProductBulkResponse.builder()
+                .products(requestedIds.stream()
+                        .filter(found::containsKey)
+                        .map(productId -> withCurrentStock(found.get(productId)))
+                        .toList())
+                .missingIds(requestedIds.stream()
+                        .filter(productId -> !found.containsKey(productId))
+                        .toList())
+                .build();
     }
 
     @Override
     public Page<ProductDto.ProductSimpleResponse> searchProduct(String keyword, Pageable pageable) {
-        return productRepository.findByNameContainingIgnoreCaseAndStatus(keyword, ProductStatus.ACTIVE, pageable)
-                .map(ProductDto.ProductSimpleResponse::of);
+        // 검색 색인에서 관련도 순으로 해당 페이지의 상품 id 만 구하고(자주 찾는 검색어는 캐시에서), DB 는 PK 로만 조회한다
+        Page<Long> productIds = productSearchCache.get(keyword, pageable, () -> searchProductIds(keyword, pageable));
+
+        List<ProductDto.ProductSimpleResponse> content = findActiveProductsInOrder(productIds.getContent()).stream()
+                .map(ProductDto.ProductSimpleResponse::of)
+                .toList();
+
+        return new PageImpl<>(content, pageable, productIds.getTotalElements());
+    }
+
+    private Page<Long> searchProductIds(String keyword, Pageable pageable) {
+        Page<Long> productIds = productSearchIndex.search(keyword, pageable);
+
+        // 정확히 맞는 상품이 하나도 없으면 오타로 보고 편집 거리가 가까운 단어를 가진 상품을 대신 돌려준다
+        if (productIds.getTotalElements() == 0) {
+            return productFuzzyIndex.search(keyword, pageable);
+        }
+
+        return productIds;
+    }
+
+    /**
+     * 자동완성은 키 입력마다 호출되므로 DB 를 거치지 않고 색인에 들어있는 상품명을 그대로 돌려준다.
+     */
+    @Override
+    public List<ProductDto.ProductSuggestResponse> suggest(String prefix, int size) {
+        return productSuggestIndex.suggest(prefix, Math.min(size, ProductSuggestIndex.MAX_SUGGESTIONS)).stream()
+                .map(ProductDto.ProductSuggestResponse::of)
+                .toList();
+    }
+
+    @Override
+    public Page<ProductDto.ProductSimpleResponse> getProductListByCategory(Long categoryId, ProductSortType sortType, int page, int size) {
+        CategoryTree tree = categoryTreeStore.get();
+        if (!tree.contains(categoryId)) {
+            throw new CategoryException(CategoryErrorMessages.NOT_FOUND_CATEGORY, HttpStatus.NOT_FOUND);
+        }
+
+        // 하위 카테고리까지 포함한 판매중 상품을 색인에서 정렬해 해당 페이지의 id 만 구하고, DB 는 PK 로만 조회한다
+        Pageable pageable = PageRequest.of(Math.max(page, 0), Math.min(Math.max(size, 1), MAX_PAGE_SIZE));
+        Page<Long> productIds = categoryProductIndex.findActiveProductIds(tree.subtreeIdsOf(categoryId), sortType, pageable);
+
+        List<ProductDto.ProductSimpleResponse> content = findActiveProductsInOrder(productIds.getContent()).stream()
+                .map(ProductDto.ProductSimpleResponse::of)
+                .toList();
+
+        return new PageImpl<>(content, pageable, productIds.getTotalElements());
+    }
+
+    /**
+     * 상태/카테고리/판매자/가격 구간 조건을 비트맵 색인에서 한 번에 걸러서 최신순으로 돌려준다.
+     * 카테고리 개수는 선택한 카테고리의 바로 아래 카테고리별로 (선택하지 않았으면 최상위 카테고리별로) 센다.
+     * 다른 목록처럼 판매중 상품만 보여주고, 판매중지/품절 상품과 그 개수는 판매자가 자기 상품을 조회할 때만 보여준다.
+     * @param loginSellerId 로그인한 사용자가 판매자면 그 id, 아니면 null
+     */
+    @Override
+    public ProductDto.ProductFacetResponse searchByFacets(ProductStatus status, Long categoryId, Long sellerId, PriceBand priceBand, int page, int size, Long loginSellerId) {
+        boolean ownProducts = loginSellerId != null && loginSellerId.equals(sellerId);
+        if (status != ProductStatus.ACTIVE && !ownProducts) {
+            throw new ProductException(ProductErrorMessages.NO_AUTHORIZATION, HttpStatus.FORBIDDEN);
+        }
+
+        CategoryTree tree = categoryTreeStore.get();
+        if (categoryId != null && !tree.contains(categoryId)) {
+            throw new CategoryException(CategoryErrorMessages.NOT_FOUND_CATEGORY, HttpStatus.NOT_FOUND);
+        }
+
+        Map<Long, long[]> categoryGroups = new LinkedHashMap<>();
+        for (Long childId : tree.childIdsOf(categoryId)) {
+            categoryGroups.put(childId, tree.subtreeIdsOf(childId));
+        }
+
+        FacetFilter filter = new FacetFilter(status, categoryId == null ? null : tree.subtreeIdsOf(categoryId), sellerId, priceBand);
+        Pageable pageable = PageRequest.of(Math.max(page, 0), Math.min(Math.max(size, 1), MAX_PAGE_SIZE));
+        FacetResult result = productFacetIndex.search(filter, categoryGroups, pageable);
+
+        List<ProductDto.ProductSimpleResponse> content = findProductsInOrder(result.productIds().getContent()).stream()
+                .map(ProductDto.ProductSimpleResponse::of)
+                .toList();
+
+        Map<String, Integer> statusCounts = new LinkedHashMap<>();
+        result.statusCounts().forEach((key, count) -> {
+            if (ownProducts || key == ProductStatus.ACTIVE) {
+                statusCounts.put(key.name(), count);
+            }
+        });
+        Map<String, Integer> priceBandCounts = new LinkedHashMap<>();
+        result.priceBandCounts().forEach((key, count) -> priceBandCounts.put(key.name(), count));
+
+        return ProductDto.ProductFacetResponse.builder()
+                .products(new PageImpl<>(content, pageable, result.productIds().getTotalElements()))
+                .statusCounts(statusCounts)
+                .priceBandCounts(priceBandCounts)
+                .categoryCounts(result.categoryCounts().entrySet().stream()
+                        .map(entry -> ProductDto.FacetCountResponse.builder()
+                                .id(entry.getKey())
+                                .name(tree.nameOf(entry.getKey()))
+                                .count(entry.getValue())
+                                .build())
+                        .toList())
+                .sellerCounts(result.sellerCounts().entrySet().stream()
+                        .map(entry -> ProductDto.FacetCountResponse.builder()
+                                .id(entry.getKey())
+                                .count(entry.getValue())
+                                .build())
+                        .toList())
+                .build();
+    }
+
+    @Override
+    public ProductDto.ProductCursorResponse getProductListByCursor(String cursor, int size, ProductSortType sortType, boolean withCount) {
+        int pageSize = Math.min(Math.max(size, 1), MAX_PAGE_SIZE);
+
+        // 한 건을 더 읽어서 다음 페이지가 있는지 판단한다 (count 쿼리 대신)
+        Pageable limit = PageRequest.of(0, pageSize + 1);
+
+        List<Product> products;
+        if (cursor == null) {
+            products = productRepository.findAllByStatus(ProductStatus.ACTIVE, PageRequest.of(0, pageSize + 1, sortType.getSort()));
+        } else {
+            // offset 없이 마지막으로 본 (정렬 값, id) 다음부터 읽으므로 깊은 페이지도 인덱스만 타고 바로 찾아간다
+            ProductCursor last = ProductCursor.decode(cursor, sortType.name());
+            products = switch (sortType) {
+                case LATEST -> productRepository.findNextByLatest(ProductStatus.ACTIVE, last.getProductId(), limit);
+                case PRICE_ASC -> productRepository.findNextByPriceAsc(ProductStatus.ACTIVE, last.decimalValue(), last.getProductId(), limit);
+                case PRICE_DESC -> productRepository.findNextByPriceDesc(ProductStatus.ACTIVE, last.decimalValue(), last.getProductId(), limit);
+            };
+        }
+
+        boolean hasNext = products.size() > pageSize;
+        List<Product> content = hasNext ? products.subList(0, pageSize) : products;
+
+        String nextCursor = null;
+        if (hasNext) {
+            Product lastProduct = content.get(content.size() - 1);
+            Object sortValue = sortType == ProductSortType.LATEST ? null : lastProduct.getPrice();
+            nextCursor = ProductCursor.of(sortType.name(), sortValue, lastProduct.getId()).encode();
+        }
+
+        return ProductDto.ProductCursorResponse.builder()
+                .content(content.stream().map(ProductDto.ProductSimpleResponse::of).toList())
+                .nextCursor(nextCursor)
+                .hasNext(hasNext)
+                .totalCount(withCount ? productRepository.countByStatus(ProductStatus.ACTIVE) : null)
+                .build();
+    }
+
+    @Override
+    public ProductDto.ProductCursorResponse searchProductByCursor(String keyword, String cursor, int size, boolean withCount) {
+        int pageSize = Math.min(Math.max(size, 1), MAX_PAGE_SIZE);
+
+        ProductSearchIndex.SearchHit after = null;
+        if (cursor != null) {
+            ProductCursor last = ProductCursor.decode(cursor, RELEVANCE_SORT_KEY);
+            after = new ProductSearchIndex.SearchHit(last.getProductId(), last.intValue());
+        }
+
+        List<ProductSearchIndex.SearchHit> hits = productSearchIndex.searchAfter(keyword, after, pageSize + 1);
+
+        boolean hasNext = hits.size() > pageSize;
+        List<ProductSearchIndex.SearchHit> pageHits = hasNext ? hits.subList(0, pageSize) : hits;
+
+        String nextCursor = null;
+        if (hasNext) {
+            ProductSearchIndex.SearchHit lastHit = pageHits.get(pageHits.size() - 1);
+            nextCursor = ProductCursor.of(RELEVANCE_SORT_KEY, lastHit.score(), lastHit.productId()).encode();
+        }
+
+        List<Long> productIds = pageHits.stream()
+                .map(ProductSearchIndex.SearchHit::productId)
+                .toList();
+
+        return ProductDto.ProductCursorResponse.builder()
+                .content(findActiveProductsInOrder(productIds).stream().map(ProductDto.ProductSimpleResponse::of).toList())
+                .nextCursor(nextCursor)
+                .hasNext(hasNext)
+                .totalCount(withCount ? (long) productSearchIndex.count(keyword) : null)
+                .build();
     }
 
     @Override
@@ -75,6 +326,7 @@ public class ProductServiceImpl implements ProductService {
 
         // 상품 저장
         Product savedProduct = productRepository.save(newProduct);
+        eventPublisher.publishEvent(new ProductChangedEvent(savedProduct, ProductChangedEvent.ChangeType.REGISTERED));
 
         // 응답 생성
         return ProductDto.ProductResponse.of(savedProduct);
@@ -111,6 +363,7 @@ public class ProductServiceImpl implements ProductService {
 
         // 변경 사항 저장 (명확한 의도를 위해 추가)
 //        productRepository.save(product);
+        eventPublisher.publishEvent(new ProductChangedEvent(product, ProductChangedEvent.ChangeType.UPDATED));
 
         return ProductDto.ProductResponse.of(product);
     }
@@ -126,6 +379,7 @@ public class ProductServiceImpl implements ProductService {
         }
 
         product.delete();
+        eventPublisher.publishEvent(new ProductChangedEvent(product, ProductChangedEvent.ChangeType.DELETED));
     }
 
     @Override
@@ -145,14 +399,63 @@ public class ProductServiceImpl implements ProductService {
             throw new ProductException(ProductErrorMessages.STOCK_MUST_MORE_THAN_ZERO, HttpStatus.BAD_REQUEST);
         }
 
+        // 인메모리 재고 대상 상품은 카운터를 기준으로 수정하고, DB 에는 변경량으로 나중에 반영된다
+        if (hotStockStore.isHot(productId)) {
+            if (request.getStock() == hotStockStore.getStock(productId)) {
+                throw new ProductException(ProductErrorMessages.CANNOT_UPDATE_PRODUCT_WITH_SAME_STOCK, HttpStatus.BAD_REQUEST);
+            }
+            hotStockStore.set(productId, request.getStock());
+            eventPublisher.publishEvent(new ProductChangedEvent(product, ProductChangedEvent.ChangeType.STOCK_CHANGED));
+
+            return ProductDto.ProductResponse.of(product).toBuilder()
+                    .stock(request.getStock())
+                    .build();
+        }
+
         if (request.getStock() == product.getStock()) {
             throw new ProductException(ProductErrorMessages.CANNOT_UPDATE_PRODUCT_WITH_SAME_STOCK, HttpStatus.BAD_REQUEST);
         }
         Product updatedStock = product.updateStock(request.getStock());
+        eventPublisher.publishEvent(new ProductChangedEvent(updatedStock, ProductChangedEvent.ChangeType.STOCK_CHANGED));
 
         return ProductDto.ProductResponse.of(updatedStock);
     }
 
+    /**
+     * id 목록 순서를 유지한 채로 판매중인 상품만 돌려준다. (색인과 DB 사이에 잠깐 어긋난 상품은 제외)
+     */
+    private List<Product> findActiveProductsInOrder(List<Long> productIds) {
+        return findProductsInOrder(productIds).stream()
+                .filter(product -> product.getStatus() == ProductStatus.ACTIVE)
+                .toList();
+    }
+
+    /**
+     * id 목록 순서를 유지한 채로 상품을 돌려준다. (없는 상품은 제외)
+     */
+    private List<Product> findProductsInOrder(List<Long> productIds) {
+        Map<Long, Product> products = productRepository.findAllById(productIds).stream()
+                .collect(Collectors.toMap(Product::getId, Function.identity()));
+
+        return productIds.stream()
+                .map(products::get)
+                .filter(Objects::nonNull)
+                .toList();
+    }
+
+    /**
+     * 인메모리 재고 대상 상품은 DB 반영을 기다리지 않고 카운터의 현재 재고를 보여준다
+     */
+    private ProductDto.ProductResponse withCurrentStock(ProductDto.ProductResponse response) {
+        if (hotStockStore.isHot(response.getProductId())) {
+            return response.toBuilder()
+                    .stock(hotStockStore.getStock(response.getProductId()))
+                    .build();
+        }
+
+        return response;
+    }
+
     private void addCategoriesToProduct(List<Long> categoryIds, Product product) {
         for (Long categoryId : categoryIds) {
             Category category = categoryRepository.findById(categoryId)
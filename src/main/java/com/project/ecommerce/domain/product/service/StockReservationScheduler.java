@@ -0,0 +1,42 @@
+package com.project.ecommerce.domain.product.service;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+
+/**
+ * 유효시간이 지난 재고 예약을 주기적으로 만료 처리해서 잡혀있던 재고를 되돌린다.
+ * 예약 하나마다 트랜잭션을 따로 열어서 상품 행 락을 오래 잡지 않는다.
+ */
+@Slf4j
+@RequiredArgsConstructor
+@Component
+public class StockReservationScheduler {
+
+    private static final int SWEEP_BATCH_SIZE = 500;
+
+    private final StockReservationService stockReservationService;
+
+    @Scheduled(fixedDelayString = "${stock.reservation.sweep-interval:30s}")
+    public void expireReservations() {
+        List<Long> reservationIds = stockReservationService.findExpiredReservationIds(SWEEP_BATCH_SIZE);
+
+        int expired = 0;
+        for (Long reservationId : reservationIds) {
+            try {
+                if (stockReservationService.expire(reservationId)) {
+                    expired++;
+                }
+            } catch (RuntimeException e) {
+                log.warn("재고 예약 만료 처리 실패: reservationId={}", reservationId, e);
+            }
+        }
+
+        if (expired > 0) {
+            log.info("만료된 재고 예약 {}건 처리", expired);
+        }
+    }
+}
@@ -0,0 +1,19 @@
+package com.project.ecommerce.domain.product.service;
+
+import java.util.List;
+import java.util.Map;
+
+public interface StockReservationService {
+
+    Long reserve(Long productId, int quantity);
+
+    void reserveAll(Long orderId, Map<Long, Integer> quantities);
+
+    void confirm(Long reservationId);
+
+    void release(Long reservationId);
+
+    boolean expire(Long reservationId);
+
+    List<Long> findExpiredReservationIds(int limit);
+}
@@ -0,0 +1,286 @@
+package com.project.ecommerce.domain.product.service;
+
+import com.project.ecommerce.common.exception.ProductErrorMessages;
+import com.project.ecommerce.common.exception.ProductException;
+import com.project.ecommerce.common.utils.AfterCommit;
+import com.project.ecommerce.domain.product.entity.ProductStatus;
+import com.project.ecommerce.domain.product.entity.StockReservation;
+import com.project.ecommerce.domain.product.entity.StockReservationStatus;
+import com.project.ecommerce.domain.product.event.ProductChangedEvent;
+import com.project.ecommerce.domain.product.repository.ProductRepository;
+import com.project.ecommerce.domain.product.repository.StockReservationRepository;
+import com.project.ecommerce.domain.product.stock.HotStockStore;
+import jakarta.persistence.EntityManager;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.http.HttpStatus;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * 주문 과정에서 재고를 먼저 잡아두고(reserve), 결제가 끝나면 확정(confirm), 취소되거나 유효시간이 지나면 되돌린다(release/expire).
+ * 재고 차감은 "stock >= 수량" 조건부 UPDATE 한 번으로 처리해서 애플리케이션 락 없이도 초과 판매가 생기지 않는다.
+ * 상품 행 락은 트랜잭션이 끝날 때까지만 잡히므로 예약 트랜잭션에는 차감/상태 변경/예약 저장 외에 다른 작업을 넣지 않는다.
+ */
+@Service
+public class StockReservationServiceImpl implements StockReservationService {
+
+    private static final String DECREASE_STOCK_SQL =
+            "update products set stock = stock - ?, version = version + 1 where product_id = ? and stock >= ? and status = 'ACTIVE'";
+    private static final String MARK_SOLD_OUT_SQL =
+            "update products set status = 'OUT_OR_STOCK' where product_id = ? and stock = 0 and status = 'ACTIVE'";
+
+    private final ProductRepository productRepository;
+    private final StockReservationRepository stockReservationRepository;
+    private final HotStockStore hotStockStore;
+    private final JdbcTemplate jdbcTemplate;
+    private final EntityManager entityManager;
+    private final ApplicationEventPublisher eventPublisher;
+    private final Duration reservationTtl;
+
+    public StockReservationServiceImpl(ProductRepository productRepository,
+                                       StockReservationRepository stockReservationRepository,
+                                       HotStockStore hotStockStore,
+                                       JdbcTemplate jdbcTemplate,
+                                       EntityManager entityManager,
+                                       ApplicationEventPublisher eventPublisher,
+                                       @Value("${stock.reservation.ttl:10m}") Duration reservationTtl) {
+        this.productRepository = productRepository;
+        this.stockReservationRepository = stockReservationRepository;
+        this.hotStockStore = hotStockStore;
+        this.jdbcTemplate = jdbcTemplate;
+        this.entityManager = entityManager;
+        this.eventPublisher = eventPublisher;
+        this.reservationTtl = reservationTtl;
+    }
+
+    @Override
+    @Transactional
+    public Long reserve(Long productId, int quantity) {
+        if (quantity <= 0) {
+            throw new ProductException(ProductErrorMessages.INVALID_RESERVATION_QUANTITY, HttpStatus.BAD_REQUEST);
+        }
+
+        if (hotStockStore.isHot(productId)) {
+            reserveHotStock(productId, quantity);
+        } else {
+            reserveStock(productId, quantity);
+        }
+
+        return stockReservationRepository.save(createReservation(null, productId, quantity, StockReservationStatus.RESERVED)).getId();
+    }
+
+    /**
+     * 주문 한 건의 여러 상품 재고를 한 번에 잡는다.
+     * 조건부 차감을 JDBC 배치 한 번으로 보내고, 상품 id 순서로 보내서 여러 주문이 같은 상품들을 서로 다른 순서로 잠그다 교착되는 일을 막는다.
+     * 하나라도 재고가 부족하면 예외를 던지고, 트랜잭션이 롤백되면서 먼저 차감된 상품도 함께 되돌아간다.
+     * 주문과 같은 트랜잭션에서 커밋되므로 예약은 바로 확정 상태로 남긴다. 주문이 살아 있는 동안 만료 처리가 재고를 되돌리면 같은 재고를 두 번 팔게 된다.
+     */
+    @Override
+    @Transactional
+    public void reserveAll(Long orderId, Map<Long, Integer> quantities) {
+        List<Long> productIds = quantities.keySet().stream().sorted().toList();
+        List<Long> dbProductIds = new ArrayList<>();
+
+        for (Long productId : productIds) {
+            int quantity = quantities.get(productId);
+            if (quantity <= 0) {
+                throw new ProductException(ProductErrorMessages.INVALID_RESERVATION_QUANTITY, HttpStatus.BAD_REQUEST);
+            }
+
+            if (hotStockStore.isHot(productId)) {
+                reserveHotStock(productId, quantity);
+            } else {
+                dbProductIds.add(productId);
+            }
+        }
+
+        if (!dbProductIds.isEmpty()) {
+            reserveStockInBatch(dbProductIds, quantities);
+        }
+
+        List<StockReservation> reservations = productIds.stream()
+                .map(productId -> createReservation(orderId, productId, quantities.get(productId), StockReservationStatus.CONFIRMED))
+                .toList();
+        stockReservationRepository.saveAll(reservations);
+    }
+
+    @Override
+    @Transactional
+    public void confirm(Long reservationId) {
+        int updated = stockReservationRepository.changeStatusIfNotExpired(
+                reservationId, StockReservationStatus.RESERVED, StockReservationStatus.CONFIRMED, LocalDateTime.now());
+
+        if (updated == 0) {
+            throw notActive(reservationId);
+        }
+    }
+
+    @Override
+    @Transactional
+    public void release(Long reservationId) {
+        if (!restore(reservationId, StockReservationStatus.RELEASED)) {
+            throw notActive(reservationId);
+        }
+    }
+
+    @Override
+    @Transactional
+    public boolean expire(Long reservationId) {
+        // 이미 확정/취소된 예약이면 아무 일도 하지 않는다
+        return restore(reservationId, StockReservationStatus.EXPIRED);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public List<Long> findExpiredReservationIds(int limit) {
+        return stockReservationRepository.findExpiredIds(
+                StockReservationStatus.RESERVED, LocalDateTime.now(), PageRequest.of(0, limit));
+    }
+
+    private void reserveStock(Long productId, int quantity) {
+        // 조건부 차감: 판매중이 아니거나 남은 재고가 부족하면 아무 행도 바뀌지 않는다
+        if (productRepository.decreaseStock(productId, quantity) == 0) {
+            throw notReservable(productId);
+        }
+
+        // 마지막 재고가 나가면 품절로 바꾼다
+        if (productRepository.markSoldOutIfEmpty(productId) > 0) {
+            publishStatusChanged(productId);
+        }
+    }
+
+    private void reserveStockInBatch(List<Long> productIds, Map<Long, Integer> quantities) {
+        List<Object[]> decreaseArgs = productIds.stream()
+                .map(productId -> new Object[]{quantities.get(productId), productId, quantities.get(productId)})
+                .toList();
+
+        // 드라이버가 건별 결과를 주지 않는 경우(SUCCESS_NO_INFO)는 성공으로 보고, 0 건만 예약 실패로 판단한다
+        int[] decreased = jdbcTemplate.batchUpdate(DECREASE_STOCK_SQL, decreaseArgs);
+        for (int i = 0; i < decreased.length; i++) {
+            if (decreased[i] == 0) {
+                throw notReservable(productIds.get(i));
+            }
+        }
+
+        List<Object[]> soldOutArgs = productIds.stream()
+                .map(productId -> new Object[]{productId})
+                .toList();
+
+        int[] soldOut = jdbcTemplate.batchUpdate(MARK_SOLD_OUT_SQL, soldOutArgs);
+        for (int i = 0; i < soldOut.length; i++) {
+            if (soldOut[i] > 0) {
+                publishStatusChanged(productIds.get(i));
+            }
+        }
+    }
+
+    /**
+     * 인메모리 카운터에서 차감한다. 카운터는 트랜잭션 밖에 있으므로 예약 저장이 롤백되면 차감한 수량을 돌려놓는다.
+     */
+    private void reserveHotStock(Long productId, int quantity) {
+        // 카운터에는 상품 상태가 없으므로 DB 차감 조건(status = ACTIVE)과 같은 확인을 먼저 한다
+        if (!hotStockStore.isOrderable(productId)) {
+            throw new ProductException(ProductErrorMessages.NOT_ORDERABLE_PRODUCT, HttpStatus.BAD_REQUEST);
+        }
+        if (!hotStockStore.tryDecrease(productId, quantity)) {
+            throw new ProductException(ProductErrorMessages.NOT_ENOUGH_STOCK, HttpStatus.CONFLICT);
+        }
+
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCompletion(int status) {
+                    if (status != STATUS_COMMITTED) {
+                        hotStockStore.increase(productId, quantity);
+                    }
+                }
+            });
+        }
+    }
+
+    private StockReservation createReservation(Long orderId, Long productId, int quantity, StockReservationStatus status) {
+        return StockReservation.builder()
+                .orderId(orderId)
+                .productId(productId)
+                .quantity(quantity)
+                .status(status)
+                .expiresAt(LocalDateTime.now().plus(reservationTtl))
+                .build();
+    }
+
+    /**
+     * 예약 상태를 먼저 바꾸고 성공한 경우에만 재고를 돌려준다. 취소와 만료가 동시에 들어와도 재고는 한 번만 복구된다.
+     */
+    private boolean restore(Long reservationId, StockReservationStatus to) {
+        StockReservation reservation = stockReservationRepository.findById(reservationId)
+                .orElseThrow(() -> new ProductException(ProductErrorMessages.NOT_FOUND_STOCK_RESERVATION, HttpStatus.NOT_FOUND));
+
+        if (stockReservationRepository.changeStatus(reservationId, StockReservationStatus.RESERVED, to) == 0) {
+            return false;
+        }
+
+        if (hotStockStore.isHot(reservation.getProductId())) {
+            restoreHotStock(reservation);
+            return true;
+        }
+
+        productRepository.increaseStock(reservation.getProductId(), reservation.getQuantity());
+        if (productRepository.markActiveIfRestocked(reservation.getProductId()) > 0) {
+            publishStatusChanged(reservation.getProductId());
+        }
+
+        return true;
+    }
+
+    /**
+     * 카운터도 트랜잭션 밖에 있으므로 예약 상태 변경이 커밋된 뒤에 재고를 돌려준다.
+     */
+    private void restoreHotStock(StockReservation reservation) {
+        AfterCommit.run(() -> hotStockStore.increase(reservation.getProductId(), reservation.getQuantity()));
+    }
+
+    /**
+     * 품절/재입고로 상태가 바뀐 경우에만 이벤트를 발행해서 검색 색인과 상세 캐시를 갱신한다.
+     * 단순 수량 변경마다 캐시를 비우면 한정 판매처럼 주문이 몰릴 때 상세 캐시가 매번 깨지므로 상세 화면의 재고 수량은 캐시 만료 시간만큼 늦게 반영될 수 있다.
+     */
+    private void publishStatusChanged(Long productId) {
+        productRepository.findById(productId)
+                .ifPresent(product -> {
+                    // 벌크 UPDATE 는 영속성 컨텍스트를 거치지 않으므로, 이미 읽어둔 엔티티라면 DB 값으로 다시 읽는다
+                    entityManager.refresh(product);
+                    eventPublisher.publishEvent(new ProductChangedEvent(product, ProductChangedEvent.ChangeType.STOCK_CHANGED));
+                });
+    }
+
+    /**
+     * 조건부 차감이 0 건이면 이유를 가린다. 판매중지된 상품은 주문할 수 없고, 품절 상품이나 재고가 모자란 상품은 재고 부족이다.
+     */
+    private ProductException notReservable(Long productId) {
+        ProductStatus status = productRepository.findStatusById(productId).orElse(null);
+        if (status == null) {
+            return new ProductException(ProductErrorMessages.NOT_FOUND_PRODUCT, HttpStatus.NOT_FOUND);
+        }
+        if (status == ProductStatus.INACTIVE) {
+            return new ProductException(ProductErrorMessages.NOT_ORDERABLE_PRODUCT, HttpStatus.BAD_REQUEST);
+        }
+        return new ProductException(ProductErrorMessages.NOT_ENOUGH_STOCK, HttpStatus.CONFLICT);
+    }
+
+    private ProductException notActive(Long reservationId) {
+        if (!stockReservationRepository.existsById(reservationId)) {
+            return new ProductException(ProductErrorMessages.NOT_FOUND_STOCK_RESERVATION, HttpStatus.NOT_FOUND);
+        }
+        return new ProductException(ProductErrorMessages.STOCK_RESERVATION_NOT_ACTIVE, HttpStatus.CONFLICT);
+    }
+}
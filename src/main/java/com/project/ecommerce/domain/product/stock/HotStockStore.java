@@ -0,0 +1,245 @@
+package com.project.ecommerce.domain.product.stock;
+
+import com.project.ecommerce.common.utils.AfterCommit;
+import com.project.ecommerce.domain.product.entity.Product;
+import com.project.ecommerce.domain.product.entity.ProductStatus;
+import com.project.ecommerce.domain.product.entity.StockJournalCheckpoint;
+import com.project.ecommerce.domain.product.event.ProductChangedEvent;
+import com.project.ecommerce.domain.product.repository.ProductRepository;
+import com.project.ecommerce.domain.product.repository.StockJournalCheckpointRepository;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.SmartInitializingSingleton;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * 프로모션처럼 주문이 한 상품에 몰릴 때 쓰는 인메모리 재고 저장소
+ * stock.hot.product-ids 로 지정한 상품만 대상이며, 이 상품들의 재고는 DB 가 아니라 여기 있는 카운터가 기준이 된다.
+ * 차감은 락 없이 카운터에서 처리하고, 변경량은 저널에 남긴 뒤 주기적으로 모아서 한 번의 배치 UPDATE 로 DB 에 반영한다.
+ * 카운터가 프로세스 메모리에 있으므로 지정한 상품의 주문은 한 인스턴스에서만 처리해야 한다.
+ * 카운터는 상품 상태를 보지 않으므로 판매중지된 상품은 따로 기억해두고, 예약하기 전에 isOrderable 로 확인한다.
+ */
+@Slf4j
+@Component
+public class HotStockStore implements SmartInitializingSingleton {
+
+    private static final String JOURNAL_NAME = "hot-stock";
+
+    // status 를 먼저 계산해야 MySQL 처럼 SET 을 왼쪽부터 적용하는 DB 에서도 변경 전 재고 기준으로 판단한다
+    private static final String APPLY_DELTA_SQL = "update products set " +
+            "status = case " +
+            "when stock + ? <= 0 and status = 'ACTIVE' then 'OUT_OR_STOCK' " +
+            "when stock + ? > 0 and status = 'OUT_OR_STOCK' then 'ACTIVE' " +
+            "else status end, " +
+            "stock = stock + ? " +
+            "where product_id = ?";
+
+    private final List<Long> hotProductIds;
+    private final int stripes;
+    private final StockJournal journal;
+    private final ProductRepository productRepository;
+    private final StockJournalCheckpointRepository checkpointRepository;
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final ApplicationEventPublisher eventPublisher;
+
+    private final Map<Long, StripedStockCounter> counters = new ConcurrentHashMap<>();
+
+    // 마지막 반영 시점에 품절이었던 상품 (품절/재입고가 바뀐 상품에만 이벤트를 발행하기 위해)
+    private final Set<Long> soldOut = ConcurrentHashMap.newKeySet();
+
+    // 판매중지(삭제)된 상품. 품절은 카운터가 0 인 것으로 판단하므로 여기 넣지 않는다
+    private final Set<Long> inactive = ConcurrentHashMap.newKeySet();
+
+    public HotStockStore(@Value("${stock.hot.product-ids:}") List<Long> hotProductIds,
+                         @Value("${stock.hot.stripes:0}") int stripes,
+                         @Value("${stock.hot.journal-dir:./data/stock-journal}") Path journalDir,
+                         ProductRepository productRepository,
+                         StockJournalCheckpointRepository checkpointRepository,
+                         JdbcTemplate jdbcTemplate,
+                         PlatformTransactionManager transactionManager,
+                         ApplicationEventPublisher eventPublisher) {
+        this.hotProductIds = hotProductIds;
+        this.stripes = stripes > 0 ? stripes : Runtime.getRuntime().availableProcessors();
+        this.journal = new StockJournal(journalDir);
+        this.productRepository = productRepository;
+        this.checkpointRepository = checkpointRepository;
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.eventPublisher = eventPublisher;
+    }
+
+    /**
+     * 웹 서버가 요청을 받기 전에, 남아있는 저널을 DB 에 마저 반영하고 DB 재고로 카운터를 채운다.
+     */
+    @Override
+    public void afterSingletonsInstantiated() {
+        if (hotProductIds.isEmpty()) {
+            return;
+        }
+
+        // 반영이 끝난 세그먼트 파일은 지워지므로, 체크포인트보다 큰 번호부터 써야 새 세그먼트가 반영된 것으로 건너뛰어지지 않는다
+        journal.open(checkpointRepository.findById(JOURNAL_NAME)
+                .map(StockJournalCheckpoint::getLastAppliedSegment)
+                .orElse(0L));
+        applySealedSegments();
+
+        for (Product product : productRepository.findAllById(hotProductIds)) {
+            counters.put(product.getId(), new StripedStockCounter(product.getStock(), stripes));
+            if (product.getStock() == 0) {
+                soldOut.add(product.getId());
+            }
+            if (product.getStatus() == ProductStatus.INACTIVE) {
+                inactive.add(product.getId());
+            }
+        }
+
+        log.info("인메모리 재고 카운터 적재 완료: {}", counters.keySet());
+    }
+
+    public boolean isHot(Long productId) {
+        return counters.containsKey(productId);
+    }
+
+    public boolean isOrderable(Long productId) {
+        return !inactive.contains(productId);
+    }
+
+    public int getStock(Long productId) {
+        return (int) counters.get(productId).sum();
+    }
+
+    public boolean tryDecrease(Long productId, int quantity) {
+        if (!counters.get(productId).tryDecrease(quantity)) {
+            return false;
+        }
+
+        journal.append(productId, -quantity);
+        return true;
+    }
+
+    public void increase(Long productId, int quantity) {
+        counters.get(productId).increase(quantity);
+        journal.append(productId, quantity);
+    }
+
+    public void set(Long productId, int stock) {
+        long delta = counters.get(productId).set(stock);
+        if (delta != 0) {
+            journal.append(productId, delta);
+        }
+    }
+
+    /**
+     * 카운터 대상 상품이 판매중지되거나 다시 판매되면, 커밋된 뒤에 예약 가능 여부를 바꾼다.
+     */
+    @TransactionalEventListener(phase = TransactionPhase.BEFORE_COMMIT, fallbackExecution = true)
+    public void onProductChanged(ProductChangedEvent event) {
+        Long productId = event.getProduct().getId();
+        if (!isHot(productId)) {
+            return;
+        }
+
+        boolean deactivated = event.getProduct().getStatus() == ProductStatus.INACTIVE;
+        AfterCommit.run(() -> {
+            if (deactivated) {
+                inactive.add(productId);
+            } else {
+                inactive.remove(productId);
+            }
+        });
+    }
+
+    /**
+     * 지금까지 쌓인 변경량을 DB 에 반영한다.
+     */
+    @Scheduled(fixedDelayString = "${stock.hot.flush-interval:1s}")
+    public synchronized void flush() {
+        if (counters.isEmpty()) {
+            return;
+        }
+
+        journal.roll();
+        applySealedSegments();
+    }
+
+    /**
+     * 종료할 때 남은 변경량을 반영하고 저널을 닫는다. 반영이 끝난 세그먼트 파일은 모두 지워지므로 다음 시작은 체크포인트 번호를 이어서 쓴다.
+     */
+    @PreDestroy
+    public synchronized void shutdown() {
+        if (counters.isEmpty()) {
+            return;
+        }
+
+        flush();
+        journal.close();
+    }
+
+    private void applySealedSegments() {
+        for (Long sequence : journal.sealedSegments()) {
+            Map<Long, Long> deltas = journal.read(sequence);
+            transactionTemplate.executeWithoutResult(status -> apply(sequence, deltas));
+            journal.delete(sequence);
+
+            publishStatusChanges(deltas.keySet());
+        }
+    }
+
+    private void apply(long sequence, Map<Long, Long> deltas) {
+        StockJournalCheckpoint checkpoint = checkpointRepository.findById(JOURNAL_NAME)
+                .orElseGet(() -> checkpointRepository.save(new StockJournalCheckpoint(JOURNAL_NAME)));
+
+        // 이미 반영한 세그먼트 (반영 후 파일을 지우기 전에 종료된 경우)
+        if (checkpoint.getLastAppliedSegment() >= sequence) {
+            return;
+        }
+
+        List<Object[]> args = new ArrayList<>();
+        deltas.forEach((productId, delta) -> {
+            if (delta != 0) {
+                args.add(new Object[]{delta, delta, delta, productId});
+            }
+        });
+        if (!args.isEmpty()) {
+            jdbcTemplate.batchUpdate(APPLY_DELTA_SQL, args);
+        }
+
+        checkpoint.advance(sequence);
+    }
+
+    /**
+     * 품절이 되거나 다시 입고된 상품만 이벤트를 발행해서 검색 색인과 상세 캐시를 갱신한다.
+     */
+    private void publishStatusChanges(Set<Long> productIds) {
+        for (Long productId : productIds) {
+            StripedStockCounter counter = counters.get(productId);
+            if (counter == null) {
+                continue;
+            }
+
+            boolean nowSoldOut = counter.sum() == 0;
+            boolean changed = nowSoldOut ? soldOut.add(productId) : soldOut.remove(productId);
+            if (changed) {
+                productRepository.findById(productId)
+                        .ifPresent(product -> eventPublisher.publishEvent(
+                                new ProductChangedEvent(product, ProductChangedEvent.ChangeType.STOCK_CHANGED)));
+            }
+        }
+    }
+}
@@ -0,0 +1,35 @@
+package com.project.ecommerce.domain.product.stock;
+
+import com.project.ecommerce.common.journal.SegmentedJournal;
+
+import java.nio.file.Path;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * 아직 DB 에 반영하지 않은 재고 변경량을 파일에 남겨두는 저널
+ * "상품id 변경량" 한 줄씩 세그먼트 파일 끝에 덧붙이고, DB 반영 주기마다 새 세그먼트로 넘긴다(roll).
+ */
+public class StockJournal extends SegmentedJournal {
+
+    public StockJournal(Path directory) {
+        super(directory);
+    }
+
+    public void append(long productId, long delta) {
+        appendLine(productId + " " + delta);
+    }
+
+    /**
+     * 세그먼트의 변경량을 상품별로 합쳐서 돌려준다. 쓰다가 끊긴 마지막 줄은 무시한다.
+     */
+    public Map<Long, Long> read(long sequence) {
+        Map<Long, Long> deltas = new HashMap<>();
+        for (String line : readLines(sequence)) {
+            String[] fields = line.split(" ");
+            deltas.merge(Long.parseLong(fields[0]), Long.parseLong(fields[1]), Long::sum);
+        }
+
+        return deltas;
+    }
+}
@@ -0,0 +1,96 @@
+package com.project.ecommerce.domain.product.stock;
+
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * 한 상품의 재고를 여러 칸(shard)에 나눠 담은 카운터
+ * 차감은 임의의 칸 하나에 CAS 로만 하기 때문에 주문이 몰려도 한 값을 두고 경합하지 않는다.
+ * 어느 칸에도 남은 수량이 부족할 때만 락을 잡고 칸들을 모아서 다시 나눈다(reconcile). 이때 전체 합이 부족하면 차감에 실패한다.
+ */
+public class StripedStockCounter {
+
+    private final AtomicLongArray shards;
+
+    public StripedStockCounter(long stock, int stripes) {
+        this.shards = new AtomicLongArray(Math.max(1, stripes));
+        distribute(stock);
+    }
+
+    public boolean tryDecrease(long quantity) {
+        int length = shards.length();
+        int start = ThreadLocalRandom.current().nextInt(length);
+
+        for (int i = 0; i < length; i++) {
+            int index = (start + i) % length;
+            long current;
+            while ((current = shards.get(index)) >= quantity) {
+                if (shards.compareAndSet(index, current, current - quantity)) {
+                    return true;
+                }
+            }
+        }
+
+        return reconcileAndDecrease(quantity);
+    }
+
+    public void increase(long quantity) {
+        shards.addAndGet(ThreadLocalRandom.current().nextInt(shards.length()), quantity);
+    }
+
+    /**
+     * 재고를 지정한 수량으로 맞추고, 기존 수량과의 차이를 돌려준다.
+     */
+    public synchronized long set(long stock) {
+        long current = drain();
+        distribute(stock);
+
+        return stock - current;
+    }
+
+    /**
+     * 동시에 차감 중이면 순간적인 근사값일 수 있다.
+     */
+    public long sum() {
+        long sum = 0;
+        for (int i = 0; i < shards.length(); i++) {
+            sum += shards.get(i);
+        }
+
+        return sum;
+    }
+
+    private synchronized boolean reconcileAndDecrease(long quantity) {
+        long total = drain();
+        if (total < quantity) {
+            distribute(total);
+            return false;
+        }
+
+        distribute(total - quantity);
+        return true;
+    }
+
+    /**
+     * 칸을 비우는 동안 들어온 차감은 CAS 가 실패하거나 남은 수량이 없어서 reconcile 로 넘어오므로 사라지는 수량은 없다.
+     */
+    private long drain() {
+        long total = 0;
+        for (int i = 0; i < shards.length(); i++) {
+            total += shards.getAndSet(i, 0);
+        }
+
+        return total;
+    }
+
+    private void distribute(long total) {
+        int length = shards.length();
+        long each = total / length;
+        long rest = total % length;
+
+        // 비우는 사이 다른 스레드가 증가시킨 수량이 있을 수 있으므로 set 이 아니라 더한다
+        for (int i = 0; i < length; i++) {
+            shards.addAndGet(i, each + (i < rest ? 1 : 0));
+        }
+    }
+}
@@ -14,7 +14,8 @@ import lombok.NoArgsConstructor;
 public class Address extends BaseEntity {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "address_seq_generator")
+    @SequenceGenerator(name = "address_seq_generator", sequenceName = "addresses_seq", allocationSize = 50)
     @Column(name = "address_id")
     private Long id;
 
@@ -23,7 +23,8 @@ import java.util.Collections;
 public class User extends BaseEntity implements UserDetails {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "user_seq_generator")
+    @SequenceGenerator(name = "user_seq_generator", sequenceName = "users_seq", allocationSize = 50)
     @Column(name = "user_id")
     private Long id;
 
@@ -0,0 +1,11 @@
+package com.project.ecommerce.domain.user.repository;
+
+import com.project.ecommerce.domain.user.entity.Address;
+import org.springframework.data.jpa.repository.JpaRepository;
+
+import java.util.Optional;
+
+public interface AddressRepository extends JpaRepository<Address, Long> {
+
+    Optional<Address> findByIdAndUserId(Long addressId, Long userId);
+}
@@ -1,5 +1,7 @@
 package com.project.ecommerce.common.config;
 
+import com.project.ecommerce.common.exception.JwtErrorMessages;
+import com.project.ecommerce.common.exception.JwtException;
 import com.project.ecommerce.common.utils.JwtTokenProvider;
 import jakarta.servlet.ServletException;
 import org.junit.jupiter.api.BeforeEach;
@@ -15,8 +17,8 @@ import org.springframework.security.core.context.SecurityContextHolder;
 import java.io.IOException;
 
 import static org.assertj.core.api.Assertions.assertThat;
-import static org.mockito.Mockito.doReturn;
-import static org.mockito.Mockito.verify;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.*;
 
 class JwtAuthenticationFilterTest {
 
@@ -47,16 +49,31 @@ class JwtAuthenticationFilterTest {
         String token = "valid_token";
         request.addHeader("Authorization", "Bearer " + token);
 
-        doReturn(true).when(jwtTokenProvider.validateToken(token));
-        doReturn(authentication).when(jwtTokenProvider.getAuthentication(token));
+        doReturn(authentication).when(jwtTokenProvider).authenticate(token);
 
         // when
         jwtAuthenticationFilter.doFilterInternal(request, response, filterChain);
 
         // then
-        verify(jwtTokenProvider).validateToken(token);
-        verify(jwtTokenProvider).getAuthentication(token);
+        verify(jwtTokenProvider).authenticate(token);
+        verify(jwtTokenProvider, never()).validateToken(anyString());
+        verify(jwtTokenProvider, never()).getAuthentication(anyString());
         assertThat(SecurityContextHolder.getContext().getAuthentication()).isEqualTo(authentication);
     }
 
-}
\ No newline at end of file
+    @Test
+    void 잘못된_토큰이면_인증정보_없이_다음_필터로_넘어가는지() throws ServletException, IOException {
+        // given
+        String token = "invalid_token";
+        request.addHeader("Authorization", "Bearer " + token);
+
+        doThrow(new JwtException(JwtErrorMessages.INVALID_TOKEN)).when(jwtTokenProvider).authenticate(token);
+
+        // when
+        jwtAuthenticationFilter.doFilterInternal(request, response, filterChain);
+
+        // then
+        assertThat(SecurityContextHolder.getContext().getAuthentication()).isNull();
+        assertThat(filterChain.getRequest()).isEqualTo(request);
+    }
+}
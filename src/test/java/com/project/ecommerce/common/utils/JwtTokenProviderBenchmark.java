@@ -0,0 +1,96 @@
+package com.project.ecommerce.common.utils;
+
+import com.project.ecommerce.domain.user.entity.Role;
+import com.project.ecommerce.domain.user.entity.User;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfEnvironmentVariable;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.Authentication;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * 요청마다 필터에서 부르는 authenticate() 의 시간을 재는 측정용 테스트
+ * 평소 빌드에서는 돌지 않는다. JWT_BENCHMARK=true ./gradlew test --tests '*JwtTokenProviderBenchmark'
+ * 같은 토큰을 반복하는 경우(캐시 적중), 매번 다른 토큰인 경우(서명 검증 + 파싱), 예전처럼 validateToken 후 getAuthentication 을 부르는 경우를 비교한다.
+ */
+@EnabledIfEnvironmentVariable(named = "JWT_BENCHMARK", matches = "true")
+class JwtTokenProviderBenchmark {
+
+    private static final int TOKEN_COUNT = 20_000;
+    private static final int CACHED_CALLS = 1_000_000;
+
+    @DisplayName("캐시된 토큰과 처음 보는 토큰, 예전 방식(파싱 두 번)의 authenticate 호출당 시간을 잰다")
+    @Test
+    void 토큰_인증_캐시_측정() throws Exception {
+        // given
+        JwtTokenProvider tokenProvider = tokenProvider();
+        String[] tokens = new String[TOKEN_COUNT];
+        for (int i = 0; i < TOKEN_COUNT; i++) {
+            tokens[i] = tokenProvider.createToken(loginAuthentication(i + 1L));
+        }
+
+        // 워밍업은 측정할 토큰과 겹치지 않도록 다른 공급자와 토큰으로 한다
+        JwtTokenProvider warmUpProvider = tokenProvider();
+        String warmUpToken = warmUpProvider.createToken(loginAuthentication(0L));
+        for (int i = 0; i < 20_000; i++) {
+            warmUpProvider.authenticate(warmUpToken);
+            warmUpProvider.getAuthentication(warmUpToken);
+        }
+
+        // when
+        long uncachedStarted = System.nanoTime();
+        for (String token : tokens) {
+            tokenProvider.authenticate(token);
+        }
+        long uncachedNanos = (System.nanoTime() - uncachedStarted) / TOKEN_COUNT;
+
+        long twoParseStarted = System.nanoTime();
+        for (String token : tokens) {
+            tokenProvider.validateToken(token);
+            tokenProvider.getAuthentication(token);
+        }
+        long twoParseNanos = (System.nanoTime() - twoParseStarted) / TOKEN_COUNT;
+
+        String cachedToken = tokens[0];
+        tokenProvider.authenticate(cachedToken);
+        Authentication last = null;
+        long cachedStarted = System.nanoTime();
+        for (int i = 0; i < CACHED_CALLS; i++) {
+            last = tokenProvider.authenticate(cachedToken);
+        }
+        long cachedNanos = (System.nanoTime() - cachedStarted) / CACHED_CALLS;
+
+        // then
+        System.out.printf("authenticate 호출당: 캐시 적중 %dns, 처음 보는 토큰 %dns, 예전 방식(파싱 두 번) %dns%n",
+                cachedNanos, uncachedNanos, twoParseNanos);
+
+        assertThat(((UserPrincipal) last.getPrincipal()).getId()).isEqualTo(1L);
+        assertThat(cachedNanos).isLessThan(uncachedNanos);
+    }
+
+    private JwtTokenProvider tokenProvider() {
+        JwtTokenProvider tokenProvider = new JwtTokenProvider();
+        ReflectionTestUtils.setField(tokenProvider, "secretKey", "D0BUrCTCH2C0ima4cy7k5hPATiO90GU8dDw8mBj6LfAu07+BVkueaknyKqfQ6m+wKqCfVfNxaAnK2sJAhZlV4w==");
+        ReflectionTestUtils.setField(tokenProvider, "tokenValidInSeconds", 1800L);
+        // 처음 보는 토큰이 모두 캐시에 들어가도록 토큰 수보다 크게 잡는다
+        ReflectionTestUtils.setField(tokenProvider, "cacheMaximumSize", (long) TOKEN_COUNT * 2);
+        tokenProvider.init();
+
+        return tokenProvider;
+    }
+
+    private Authentication loginAuthentication(Long userId) {
+        User user = User.builder()
+                .email("user" + userId + "@example.com")
+                .password("encodedPassword")
+                .name("test user")
+                .role(Role.CUSTOMER)
+                .build();
+        ReflectionTestUtils.setField(user, "id", userId);
+
+        return new UsernamePasswordAuthenticationToken(user, "password", user.getAuthorities());
+    }
+}
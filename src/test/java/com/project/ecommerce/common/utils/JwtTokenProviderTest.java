@@ -1,6 +1,9 @@
 package com.project.ecommerce.common.utils;
 
+import com.project.ecommerce.common.exception.JwtErrorMessages;
 import com.project.ecommerce.common.exception.JwtException;
+import com.project.ecommerce.domain.user.entity.Role;
+import com.project.ecommerce.domain.user.entity.User;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
@@ -47,11 +50,7 @@ class JwtTokenProviderTest {
     @Test
     void 생성된_토큰에서_인증정보를_올바르게_추출하는지() {
         // given
-        Authentication authentication = new UsernamePasswordAuthenticationToken(
-                "testUser",
-                "password",
-                Collections.singletonList(new SimpleGrantedAuthority("ROLE_USER"))
-        );
+        Authentication authentication = loginAuthentication();
         String token = jwtTokenProvider.createToken(authentication);
 
         // when
@@ -59,10 +58,10 @@ class JwtTokenProviderTest {
 
         // then
         assertThat(resultAuth).isNotNull();
-        assertThat(resultAuth.getName()).isEqualTo("testUser");
+        assertThat(resultAuth.getName()).isEqualTo("test@example.com");
         assertThat(resultAuth.getAuthorities())
                 .extracting("authority")
-                .containsExactly("ROLE_USER");
+                .containsExactly("ROLE_CUSTOMER");
     }
 
     @Test
@@ -115,4 +114,116 @@ class JwtTokenProviderTest {
             jwtTokenProvider.validateToken(token);
         });
     }
-}
\ No newline at end of file
+
+    @Test
+    void 한_번의_파싱으로_검증과_인증정보_추출을_하는지() throws Exception {
+        // given
+        Authentication authentication = loginAuthentication();
+        String token = jwtTokenProvider.createToken(authentication);
+
+        // when
+        Authentication first = jwtTokenProvider.authenticate(token);
+        Authentication second = jwtTokenProvider.authenticate(token);
+
+        // then
+        assertThat(first.getName()).isEqualTo("test@example.com");
+        assertThat(second.getAuthorities())
+                .extracting("authority")
+                .containsExactly("ROLE_CUSTOMER");
+        assertThat(second).isNotSameAs(first); // 캐시된 검증 결과로 매번 새 Authentication 을 만든다
+        assertThat(second.getPrincipal()).isSameAs(first.getPrincipal());
+    }
+
+    @Test
+    void 서명이_다른_토큰은_캐시와_상관없이_거부하는지() throws Exception {
+        // given
+        Authentication authentication = loginAuthentication();
+        String token = jwtTokenProvider.createToken(authentication);
+        jwtTokenProvider.authenticate(token);
+
+        String tampered = token.substring(0, token.length() - 2) + (token.endsWith("A") ? "BB" : "AA");
+
+        // when & then
+        assertThatThrownBy(() -> jwtTokenProvider.authenticate(tampered))
+                .isInstanceOf(JwtException.class);
+    }
+
+    @Test
+    void 캐시된_토큰도_만료되면_거부하는지() throws Exception {
+        // given
+        JwtTokenProvider shortLivedTokenProvider = new JwtTokenProvider();
+        ReflectionTestUtils.setField(shortLivedTokenProvider, "secretKey", "D0BUrCTCH2C0ima4cy7k5hPATiO90GU8dDw8mBj6LfAu07+BVkueaknyKqfQ6m+wKqCfVfNxaAnK2sJAhZlV4w==");
+        ReflectionTestUtils.setField(shortLivedTokenProvider, "tokenValidInSeconds", 1L);
+        shortLivedTokenProvider.init();
+
+        Authentication authentication = loginAuthentication();
+        String token = shortLivedTokenProvider.createToken(authentication);
+        shortLivedTokenProvider.authenticate(token);
+
+        // when & then
+        Thread.sleep(2000);
+        assertThatThrownBy(() -> shortLivedTokenProvider.authenticate(token))
+                .isInstanceOf(JwtException.class)
+                .hasMessage(JwtErrorMessages.EXPIRED_TOKEN);
+    }
+
+    @Test
+    void 로그인한_사용자의_id와_역할을_토큰에서_바로_꺼내는지() throws Exception {
+        // given
+        User user = User.builder()
+                .email("test@example.com")
+                .password("encodedPassword")
+                .name("test user")
+                .role(Role.SELLER)
+                .build();
+        ReflectionTestUtils.setField(user, "id", 7L);
+
+        Authentication authentication = new UsernamePasswordAuthenticationToken(user, "password", user.getAuthorities());
+        String token = jwtTokenProvider.createToken(authentication);
+
+        // when
+        Authentication resultAuth = jwtTokenProvider.authenticate(token);
+
+        // then
+        UserPrincipal principal = (UserPrincipal) resultAuth.getPrincipal();
+        assertThat(principal.getId()).isEqualTo(7L);
+        assertThat(principal.getUsername()).isEqualTo("test@example.com");
+        assertThat(principal.getRole()).isEqualTo(Role.SELLER);
+        assertThat(principal.isSeller()).isTrue();
+        assertThat(resultAuth.getAuthorities())
+                .extracting("authority")
+                .containsExactly("ROLE_SELLER");
+    }
+
+    @Test
+    void 서명이_맞아도_사용자_id가_없는_토큰은_거부하는지() throws Exception {
+        // given
+        Authentication authentication = new UsernamePasswordAuthenticationToken(
+                "testUser",
+                "password",
+                Collections.singletonList(new SimpleGrantedAuthority("ROLE_USER"))
+        );
+        String token = jwtTokenProvider.createToken(authentication);
+
+        // when & then
+        assertThatThrownBy(() -> jwtTokenProvider.authenticate(token))
+                .isInstanceOf(JwtException.class)
+                .hasMessage(JwtErrorMessages.INVALID_TOKEN);
+        assertThatThrownBy(() -> jwtTokenProvider.getAuthentication(token))
+                .isInstanceOf(JwtException.class)
+                .hasMessage(JwtErrorMessages.INVALID_TOKEN);
+    }
+
+    // 로그인할 때처럼 id 가 있는 사용자로 인증 정보를 만든다
+    private Authentication loginAuthentication() {
+        User user = User.builder()
+                .email("test@example.com")
+                .password("encodedPassword")
+                .name("test user")
+                .role(Role.CUSTOMER)
+                .build();
+        ReflectionTestUtils.setField(user, "id", 1L);
+
+        return new UsernamePasswordAuthenticationToken(user, "password", user.getAuthorities());
+    }
+}
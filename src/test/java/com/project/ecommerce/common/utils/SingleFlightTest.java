@@ -0,0 +1,125 @@
+package com.project.ecommerce.common.utils;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class SingleFlightTest {
+
+    private static final int THREAD_COUNT = 10;
+
+    private final AtomicInteger loadCount = new AtomicInteger();
+
+    @DisplayName("같은 키를 동시에 읽으면 한 번만 읽고 모두 같은 결과를 받는다")
+    @Test
+    void 동시_요청_합치기_테스트() throws Exception {
+        // given
+        SingleFlight<Long, String> singleFlight = new SingleFlight<>(Duration.ofSeconds(5), IllegalStateException::new);
+        CountDownLatch release = new CountDownLatch(1);
+
+        // when
+        List<Future<String>> results = runConcurrently(() -> singleFlight.execute(1L, () -> {
+            loadCount.incrementAndGet();
+            await(release);
+            return "상품 1";
+        }), release, singleFlight);
+
+        // then
+        for (Future<String> result : results) {
+            assertThat(result.get()).isEqualTo("상품 1");
+        }
+        assertThat(loadCount.get()).isEqualTo(1);
+        assertThat(singleFlight.inFlightCount()).isZero();
+    }
+
+    @DisplayName("처음 요청이 실패하면 기다리던 요청도 다시 읽지 않고 같은 예외를 받는다")
+    @Test
+    void 실패_전파_테스트() throws Exception {
+        // given
+        SingleFlight<Long, String> singleFlight = new SingleFlight<>(Duration.ofSeconds(5), IllegalStateException::new);
+        CountDownLatch release = new CountDownLatch(1);
+
+        // when
+        List<Future<String>> results = runConcurrently(() -> singleFlight.execute(1L, () -> {
+            loadCount.incrementAndGet();
+            await(release);
+            throw new IllegalArgumentException("없는 상품");
+        }), release, singleFlight);
+
+        // then
+        for (Future<String> result : results) {
+            assertThatThrownBy(result::get).hasCauseInstanceOf(IllegalArgumentException.class);
+        }
+        assertThat(loadCount.get()).isEqualTo(1);
+    }
+
+    @DisplayName("기다리는 요청은 timeout 이 지나면 지정한 예외로 끝나고, 처음 요청은 끝까지 읽는다")
+    @Test
+    void 대기_시간_초과_테스트() throws Exception {
+        // given
+        SingleFlight<Long, String> singleFlight = new SingleFlight<>(Duration.ofMillis(50), () -> new IllegalStateException("timeout"));
+        CountDownLatch started = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        ExecutorService executor = Executors.newSingleThreadExecutor();
+
+        Future<String> leader = executor.submit(() -> singleFlight.execute(1L, () -> {
+            started.countDown();
+            await(release);
+            return "상품 1";
+        }));
+        started.await();
+
+        // when & then
+        assertThatThrownBy(() -> singleFlight.execute(1L, () -> "다시 읽음"))
+                .isInstanceOf(IllegalStateException.class)
+                .hasMessage("timeout");
+
+        release.countDown();
+        assertThat(leader.get()).isEqualTo("상품 1");
+        executor.shutdown();
+    }
+
+    /**
+     * 모든 스레드가 같은 키를 요청해서 처음 요청을 빼고 모두 기다리는 상태가 되면 release 로 읽기를 끝낸다.
+     */
+    private <V> List<Future<V>> runConcurrently(Callable<V> task, CountDownLatch release, SingleFlight<?, ?> singleFlight) throws Exception {
+        ExecutorService executor = Executors.newFixedThreadPool(THREAD_COUNT);
+        CountDownLatch ready = new CountDownLatch(THREAD_COUNT);
+        List<Future<V>> results = new ArrayList<>();
+        for (int i = 0; i < THREAD_COUNT; i++) {
+            results.add(executor.submit(() -> {
+                ready.countDown();
+                return task.call();
+            }));
+        }
+
+        ready.await();
+        while (loadCount.get() == 0 || singleFlight.inFlightCount() == 0) {
+            Thread.onSpinWait();
+        }
+        // 나머지 스레드가 putIfAbsent 까지 갈 시간을 준다
+        Thread.sleep(100);
+        release.countDown();
+
+        executor.shutdown();
+        executor.awaitTermination(5, TimeUnit.SECONDS);
+
+        return results;
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            latch.await();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
@@ -0,0 +1,193 @@
+package com.project.ecommerce.domain.cart.intergration;
+
+import com.project.ecommerce.domain.cart.dto.CartDto;
+import com.project.ecommerce.domain.cart.entity.Cart;
+import com.project.ecommerce.domain.cart.repository.CartRepository;
+import com.project.ecommerce.domain.cart.service.CartService;
+import com.project.ecommerce.domain.product.entity.Product;
+import com.project.ecommerce.domain.product.entity.ProductStatus;
+import com.project.ecommerce.domain.product.repository.ProductRepository;
+import com.project.ecommerce.domain.user.entity.Role;
+import com.project.ecommerce.domain.user.entity.User;
+import com.project.ecommerce.domain.user.repository.UserRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+@SpringBootTest
+public class CartConcurrencyIntegrationTest {
+
+    private static final String TOTALS_SQL = "select c.item_count, c.total_price, " +
+            "(select count(*) from cart_items ci where ci.cart_id = c.cart_id) as actual_count, " +
+            "(select coalesce(sum(ci.unit_price * ci.quantity), 0) from cart_items ci where ci.cart_id = c.cart_id) as actual_price " +
+            "from carts c where c.cart_id = ?";
+
+    @Autowired
+    private CartService cartService;
+
+    @Autowired
+    private CartRepository cartRepository;
+
+    @Autowired
+    private ProductRepository productRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    private Long userId;
+    private Long keyboardId;
+    private Long mouseId;
+    private Long keyboardItemId;
+    private Long cartId;
+
+    @BeforeEach
+    void setUp() {
+        userId = userRepository.save(User.builder()
+                .email("cart-buyer@example.com")
+                .password("encodedPassword")
+                .name("구매자")
+                .role(Role.CUSTOMER)
+                .build()).getId();
+        keyboardId = saveProduct("기계식 키보드", 100_000);
+        mouseId = saveProduct("무선 마우스", 30_000);
+
+        CartDto.CartResponse cart = cartService.addItemToCart(userId, CartDto.AddItemRequest.builder()
+                .productId(keyboardId)
+                .quantity(1)
+                .build());
+        cartId = cart.getCartId();
+        keyboardItemId = cart.getItems().get(0).getCartItemId();
+    }
+
+    @AfterEach
+    void tearDown() {
+        cartRepository.deleteAll();
+        productRepository.deleteAll();
+        userRepository.deleteAll();
+    }
+
+    @DisplayName("장바구니를 읽은 뒤 다른 요청이 먼저 상품을 담으면, 메모리에서 계산한 합계로 덮어쓰지 않고 충돌로 끝난다")
+    @Test
+    void 합계_덮어쓰기_방지_테스트() throws Exception {
+        // given
+        TransactionTemplate transaction = new TransactionTemplate(transactionManager);
+        TransactionTemplate otherTransaction = new TransactionTemplate(transactionManager);
+        otherTransaction.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+
+        // when & then
+        assertThatThrownBy(() -> transaction.executeWithoutResult(status -> {
+            Cart cart = cartRepository.findWithItemsByUserId(userId).orElseThrow();
+
+            // 수량을 바꾸기 전에 다른 요청이 마우스를 담고 먼저 커밋한다
+            otherTransaction.executeWithoutResult(other -> cartService.addItemToCart(userId, CartDto.AddItemRequest.builder()
+                    .productId(mouseId)
+                    .quantity(2)
+                    .build()));
+
+            cart.updateQuantity(keyboardItemId, 3);
+            cartRepository.flush();
+        })).isInstanceOf(ObjectOptimisticLockingFailureException.class);
+
+        Map<String, Object> totals = totals();
+        assertThat(totals.get("item_count")).isEqualTo(2);
+        assertThat((BigDecimal) totals.get("total_price")).isEqualByComparingTo("160000");
+    }
+
+    @DisplayName("담기와 수량 변경이 동시에 몰려도 담기는 모두 반영되고, 장바구니 합계는 아이템으로 다시 계산한 값과 같다")
+    @Test
+    void 동시_장바구니_변경_합계_테스트() throws Exception {
+        // given
+        int requestCount = 200;
+        ExecutorService executor = Executors.newFixedThreadPool(16);
+        CountDownLatch start = new CountDownLatch(1);
+        CountDownLatch done = new CountDownLatch(requestCount);
+        AtomicInteger succeeded = new AtomicInteger();
+        AtomicInteger addsSucceeded = new AtomicInteger();
+        AtomicInteger mouseAdds = new AtomicInteger();
+
+        // when
+        for (int i = 0; i < requestCount; i++) {
+            boolean add = i % 2 == 0;
+            boolean mouse = ThreadLocalRandom.current().nextBoolean();
+            if (add && mouse) {
+                mouseAdds.incrementAndGet();
+            }
+            executor.submit(() -> {
+                try {
+                    start.await();
+                    if (add) {
+                        cartService.addItemToCart(userId, CartDto.AddItemRequest.builder()
+                                .productId(mouse ? mouseId : keyboardId)
+                                .quantity(1)
+                                .build());
+                        addsSucceeded.incrementAndGet();
+                    } else {
+                        cartService.updateItemQuantity(userId, CartDto.UpdateItemQuantityRequest.builder()
+                                .cartItemId(keyboardItemId)
+                                .quantity(ThreadLocalRandom.current().nextInt(1, 10))
+                                .build());
+                    }
+                    succeeded.incrementAndGet();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                } catch (RuntimeException e) {
+                    // 수량 변경의 충돌(CartException)은 롤백되므로 합계에 영향이 없다. 담기는 유니크 제약에 걸려도 다시 담으므로 실패하지 않는다
+                } finally {
+                    done.countDown();
+                }
+            });
+        }
+        start.countDown();
+        done.await(60, TimeUnit.SECONDS);
+        executor.shutdown();
+
+        // then
+        Map<String, Object> totals = totals();
+        assertThat(succeeded.get()).isPositive();
+        assertThat(addsSucceeded.get()).isEqualTo(requestCount / 2);
+        assertThat(jdbcTemplate.queryForObject("select quantity from cart_items where cart_id = ? and product_id = ?",
+                Integer.class, cartId, mouseId)).isEqualTo(mouseAdds.get());
+        assertThat(((Number) totals.get("item_count")).longValue()).isEqualTo(((Number) totals.get("actual_count")).longValue());
+        assertThat((BigDecimal) totals.get("total_price")).isEqualByComparingTo((BigDecimal) totals.get("actual_price"));
+    }
+
+    private Long saveProduct(String name, long price) {
+        return productRepository.save(Product.builder()
+                .name(name)
+                .price(BigDecimal.valueOf(price))
+                .stock(100)
+                .sellerId(1L)
+                .status(ProductStatus.ACTIVE)
+                .build()).getId();
+    }
+
+    private Map<String, Object> totals() {
+        return jdbcTemplate.queryForMap(TOTALS_SQL, cartId);
+    }
+}
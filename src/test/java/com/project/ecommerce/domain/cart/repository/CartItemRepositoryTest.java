@@ -0,0 +1,114 @@
+package com.project.ecommerce.domain.cart.repository;
+
+import com.project.ecommerce.domain.cart.entity.Cart;
+import com.project.ecommerce.domain.cart.entity.CartItem;
+import com.project.ecommerce.domain.cart.entity.ProductSnapshot;
+import com.project.ecommerce.domain.product.entity.Product;
+import com.project.ecommerce.domain.product.entity.ProductStatus;
+import com.project.ecommerce.domain.user.entity.Role;
+import com.project.ecommerce.domain.user.entity.User;
+import org.hibernate.Hibernate;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+
+import java.math.BigDecimal;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@DataJpaTest
+class CartItemRepositoryTest {
+
+    @Autowired
+    private CartItemRepository cartItemRepository;
+
+    @Autowired
+    private CartRepository cartRepository;
+
+    @Autowired
+    private TestEntityManager entityManager;
+
+    private Long userId;
+    private Long cartId;
+    private Long productId;
+
+    @BeforeEach
+    void setUp() {
+        User user = entityManager.persist(User.builder()
+                .email("test@example.com")
+                .password("encodedPassword")
+                .name("test user")
+                .role(Role.CUSTOMER)
+                .build());
+        userId = user.getId();
+        cartId = entityManager.persist(Cart.builder()
+                .user(user)
+                .build()).getId();
+        productId = entityManager.persist(Product.builder()
+                .name("맥북 프로")
+                .description("애플 맥북 프로 16인치")
+                .price(BigDecimal.valueOf(2_500_000))
+                .stock(10)
+                .sellerId(1L)
+                .status(ProductStatus.ACTIVE)
+                .build()).getId();
+
+        entityManager.flush();
+        entityManager.clear();
+    }
+
+    @DisplayName("같은 상품을 다시 담으면 새 줄을 만들지 않고 수량만 더한다")
+    @Test
+    void 장바구니_담기_upsert_테스트() throws Exception {
+        // when
+        cartItemRepository.upsertQuantity(cartId, productId, 2);
+        cartItemRepository.upsertQuantity(cartId, productId, 3);
+
+        // then
+        List<CartItem> cartItems = cartRepository.findWithItemsByUserId(userId).orElseThrow().getCartItems();
+        assertThat(cartItems).hasSize(1);
+        assertThat(cartItems.get(0).getProductId()).isEqualTo(productId);
+        assertThat(cartItems.get(0).getQuantity()).isEqualTo(5);
+    }
+
+    @DisplayName("장바구니에서 같은 상품을 찾을 때 상품 프록시를 초기화하지 않는다")
+    @Test
+    void 상품_id_로_아이템_찾기_테스트() throws Exception {
+        // given
+        cartItemRepository.upsertQuantity(cartId, productId, 1);
+        Cart cart = cartRepository.findById(cartId).orElseThrow();
+
+        // when
+        cart.addItems(entityManager.getEntityManager().getReference(Product.class, productId), 2);
+
+        // then
+        CartItem cartItem = cart.getCartItems().get(0);
+        assertThat(cart.getCartItems()).hasSize(1);
+        assertThat(cartItem.getQuantity()).isEqualTo(3);
+        assertThat(Hibernate.isInitialized(cartItem.getProduct())).isFalse();
+    }
+
+    @DisplayName("상품 가격이 바뀌면 담긴 아이템의 가격과 장바구니 합계가 함께 바뀐다")
+    @Test
+    void 가격_변경_합계_반영_테스트() throws Exception {
+        // given
+        cartItemRepository.upsertQuantity(cartId, productId, 2);
+        cartRepository.addToTotals(cartId, productId, 2);
+        ProductSnapshot changed = new ProductSnapshot("맥북 프로", BigDecimal.valueOf(2_000_000), null, ProductStatus.ACTIVE);
+
+        // when
+        cartRepository.applyPriceChange(productId, changed.getPrice());
+        cartItemRepository.updateProductSnapshot(productId, changed);
+        entityManager.clear();
+
+        // then
+        Cart cart = cartRepository.findWithItemsByUserId(userId).orElseThrow();
+        assertThat(cart.getItemCount()).isEqualTo(1);
+        assertThat(cart.getTotalPrice()).isEqualByComparingTo("4000000");
+        assertThat(cart.getCartItems().get(0).getProductSnapshot().getPrice()).isEqualByComparingTo("2000000");
+    }
+}
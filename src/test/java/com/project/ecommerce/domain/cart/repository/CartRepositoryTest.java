@@ -0,0 +1,120 @@
+package com.project.ecommerce.domain.cart.repository;
+
+import com.project.ecommerce.domain.cart.entity.Cart;
+import com.project.ecommerce.domain.product.entity.Product;
+import com.project.ecommerce.domain.product.entity.ProductStatus;
+import com.project.ecommerce.domain.user.entity.Role;
+import com.project.ecommerce.domain.user.entity.User;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@DataJpaTest(properties = "spring.jpa.properties.hibernate.generate_statistics=true")
+class CartRepositoryTest {
+
+    @Autowired
+    private CartRepository cartRepository;
+
+    @Autowired
+    private TestEntityManager entityManager;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    private Long userId;
+    private Long cartId;
+    private List<Long> cartItemIds;
+
+    @BeforeEach
+    void setUp() {
+        User user = entityManager.persist(User.builder()
+                .email("test@example.com")
+                .password("encodedPassword")
+                .name("test user")
+                .role(Role.CUSTOMER)
+                .build());
+        userId = user.getId();
+
+        Cart cart = entityManager.persist(Cart.builder()
+                .user(user)
+                .build());
+        for (int i = 1; i <= 3; i++) {
+            Product product = entityManager.persist(Product.builder()
+                    .name("상품 " + i)
+                    .description("상품 설명 " + i)
+                    .price(BigDecimal.valueOf(1_000L * i))
+                    .stock(10)
+                    .sellerId(1L)
+                    .status(ProductStatus.ACTIVE)
+                    .build());
+            cart.addItems(product, 1);
+        }
+
+        entityManager.flush();
+        cartId = cart.getId();
+        cartItemIds = new ArrayList<>();
+        cart.getCartItems().forEach(cartItem -> cartItemIds.add(cartItem.getId()));
+        entityManager.clear();
+    }
+
+    @DisplayName("장바구니 비우기는 아이템 수와 상관없이 DELETE 한 번과 합계 UPDATE 한 번으로 끝난다")
+    @Test
+    void 장바구니_비우기_쿼리_수_테스트() throws Exception {
+        // given
+        Cart cart = cartRepository.findWithItemsByUserId(userId).orElseThrow();
+        Statistics statistics = statistics();
+
+        // when
+        int deleted = cartRepository.clearItems(cartId);
+
+        // then
+        assertThat(deleted).isEqualTo(3);
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(2);
+        assertThat(entityManager.getEntityManager().contains(cart)).isFalse();
+
+        Cart reloaded = cartRepository.findWithItemsByUserId(userId).orElseThrow();
+        assertThat(reloaded.getCartItems()).isEmpty();
+        assertThat(reloaded.getItemCount()).isZero();
+        assertThat(reloaded.getTotalPrice()).isEqualByComparingTo("0");
+    }
+
+    @DisplayName("여러 아이템 삭제는 DELETE 한 번과 합계 UPDATE 한 번으로 끝나고, 남은 아이템으로 합계를 다시 계산한다")
+    @Test
+    void 여러_아이템_삭제_쿼리_수_테스트() throws Exception {
+        // given
+        Cart cart = cartRepository.findWithItemsByUserId(userId).orElseThrow();
+        Statistics statistics = statistics();
+
+        // when
+        int deleted = cartRepository.removeItems(cartId, List.of(cartItemIds.get(0), cartItemIds.get(2), -1L));
+
+        // then
+        assertThat(deleted).isEqualTo(2);
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(2);
+        assertThat(entityManager.getEntityManager().contains(cart)).isFalse();
+
+        Cart reloaded = cartRepository.findWithItemsByUserId(userId).orElseThrow();
+        assertThat(reloaded.getCartItems()).extracting("id").containsExactly(cartItemIds.get(1));
+        assertThat(reloaded.getItemCount()).isEqualTo(1);
+        assertThat(reloaded.getTotalPrice()).isEqualByComparingTo("2000");
+    }
+
+    private Statistics statistics() {
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+
+        return statistics;
+    }
+}
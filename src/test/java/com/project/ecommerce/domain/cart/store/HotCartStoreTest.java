@@ -0,0 +1,195 @@
+package com.project.ecommerce.domain.cart.store;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.project.ecommerce.domain.cart.entity.ProductSnapshot;
+import com.project.ecommerce.domain.cart.repository.CartRepository;
+import com.project.ecommerce.domain.product.entity.ProductStatus;
+import com.project.ecommerce.domain.user.repository.UserRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.junit.jupiter.api.io.TempDir;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Captor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.math.BigDecimal;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class HotCartStoreTest {
+
+    private static final long USER_ID = 1L;
+    private static final long CART_ID = 10L;
+    private static final long PRODUCT_ID = 5L;
+    private static final long ITEM_ID = 100L;
+
+    @TempDir
+    Path directory;
+
+    @Mock
+    private CartRepository cartRepository;
+
+    @Mock
+    private UserRepository userRepository;
+
+    @Mock
+    private JdbcTemplate jdbcTemplate;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    @Captor
+    private ArgumentCaptor<List<Object[]>> upsertCaptor;
+
+    @Captor
+    private ArgumentCaptor<List<Object[]>> deleteCaptor;
+
+    private final ProductSnapshot product = new ProductSnapshot("맥북 프로", BigDecimal.valueOf(1_000), null, ProductStatus.ACTIVE);
+
+    @BeforeEach
+    void setUp() {
+        lenient().when(cartRepository.findWithItemsByUserId(USER_ID)).thenReturn(Optional.empty());
+        lenient().when(cartRepository.findIdByUserId(USER_ID)).thenReturn(Optional.of(CART_ID));
+        lenient().when(jdbcTemplate.queryForObject(anyString(), eq(Long.class))).thenReturn(ITEM_ID);
+    }
+
+    @DisplayName("flush 하면 여러 번 바뀐 줄의 마지막 상태만 한 번 반영하고, 반영이 끝난 세그먼트를 지운다")
+    @Test
+    void 변경_반영_테스트() throws Exception {
+        // given
+        HotCartStore store = start(100);
+        CartView added = store.addItem(USER_ID, PRODUCT_ID, 1, product);
+        store.updateQuantity(USER_ID, added.items().get(0).cartItemId(), 3);
+
+        // when
+        store.flush();
+
+        // then
+        verify(jdbcTemplate).batchUpdate(startsWith("merge"), upsertCaptor.capture());
+        assertThat(upsertCaptor.getValue()).singleElement()
+                .satisfies(args -> assertThat(args).containsExactly(ITEM_ID, CART_ID, 3, PRODUCT_ID));
+        assertThat(store.getCart(USER_ID).cartId()).isEqualTo(CART_ID);
+        assertThat(segmentFiles()).containsExactly("segment-2.log");
+    }
+
+    @DisplayName("반영하지 않은 변경이 있는 장바구니는 메모리에서 밀려나도 DB 에서 다시 읽지 않고 그대로 반영한다")
+    @Test
+    void 밀려난_장바구니_반영_테스트() throws Exception {
+        // given
+        HotCartStore store = start(0);
+        store.addItem(USER_ID, PRODUCT_ID, 2, product);
+        cartsOf(store).cleanUp();
+        assertThat(cartsOf(store).asMap()).isEmpty();
+
+        // when
+        CartView view = store.getCart(USER_ID);
+        store.flush();
+
+        // then
+        assertThat(view.items()).containsExactly(new CartView.Item(ITEM_ID, PRODUCT_ID, 2, product));
+        verify(cartRepository, times(1)).findWithItemsByUserId(USER_ID);
+        verify(jdbcTemplate).batchUpdate(startsWith("merge"), upsertCaptor.capture());
+        assertThat(upsertCaptor.getValue()).singleElement()
+                .satisfies(args -> assertThat(args).containsExactly(ITEM_ID, CART_ID, 2, PRODUCT_ID));
+    }
+
+    @DisplayName("flush 하기 전에 프로세스가 죽으면 재시작할 때 저널에 남은 줄을 DB 에 반영하고 세그먼트를 지운다")
+    @Test
+    void 재시작_저널_복구_테스트() throws Exception {
+        // given
+        HotCartStore crashed = start(100);
+        crashed.addItem(USER_ID, PRODUCT_ID, 2, product);
+
+        // when
+        start(100);
+
+        // then
+        verify(jdbcTemplate).batchUpdate(startsWith("merge"), upsertCaptor.capture());
+        assertThat(upsertCaptor.getValue()).singleElement()
+                .satisfies(args -> assertThat(args).containsExactly(ITEM_ID, CART_ID, 2, PRODUCT_ID));
+        assertThat(segmentFiles()).containsExactly("segment-2.log");
+    }
+
+    @DisplayName("주문된 줄을 지운 뒤 프로세스가 죽으면, 재시작할 때 주문된 줄을 다시 넣지 않고 삭제로 반영한다")
+    @Test
+    void 주문_후_재시작_테스트() throws Exception {
+        // given
+        HotCartStore crashed = start(100);
+        crashed.addItem(USER_ID, PRODUCT_ID, 2, product);
+        crashed.flush();
+        // flush 와 주문 사이에 수량을 바꿔서 장바구니가 반영 대상으로 남아 있다
+        crashed.updateQuantity(USER_ID, ITEM_ID, 4);
+
+        // when
+        crashed.discard(USER_ID, Map.of(ITEM_ID, PRODUCT_ID));
+        start(100);
+
+        // then
+        assertThat(crashed.getCart(USER_ID).items()).isEmpty();
+        verify(jdbcTemplate, times(2)).batchUpdate(startsWith("merge"), upsertCaptor.capture());
+        assertThat(upsertCaptor.getAllValues().get(1)).isEmpty();
+        verify(jdbcTemplate, times(2)).batchUpdate(startsWith("delete"), deleteCaptor.capture());
+        assertThat(deleteCaptor.getAllValues().get(1)).singleElement()
+                .satisfies(args -> assertThat(args).containsExactly(ITEM_ID));
+    }
+
+    @DisplayName("주문 전에는 주문하는 사용자의 장바구니만 반영하고, 메모리에 없는 장바구니도 주문된 줄을 저널에 삭제로 남긴다")
+    @Test
+    void 주문_전_사용자_반영_테스트() throws Exception {
+        // given
+        HotCartStore crashed = start(0);
+        crashed.addItem(USER_ID, PRODUCT_ID, 2, product);
+
+        // when
+        crashed.flush(USER_ID);
+        cartsOf(crashed).cleanUp();
+        crashed.discard(USER_ID, Map.of(ITEM_ID, PRODUCT_ID));
+
+        // then
+        assertThat(cartsOf(crashed).asMap()).isEmpty();
+        assertThat(segmentFiles()).containsExactly("segment-1.log");
+        verify(jdbcTemplate).batchUpdate(startsWith("merge"), upsertCaptor.capture());
+        assertThat(upsertCaptor.getValue()).singleElement()
+                .satisfies(args -> assertThat(args).containsExactly(ITEM_ID, CART_ID, 2, PRODUCT_ID));
+
+        // 재시작하면 세그먼트에 남은 줄을 다시 넣지 않고 삭제로 반영한다
+        start(100);
+        verify(jdbcTemplate, times(2)).batchUpdate(startsWith("delete"), deleteCaptor.capture());
+        assertThat(deleteCaptor.getAllValues().get(1)).singleElement()
+                .satisfies(args -> assertThat(args).containsExactly(ITEM_ID));
+        assertThat(segmentFiles()).containsExactly("segment-2.log");
+    }
+
+    private HotCartStore start(long maximumSize) {
+        HotCartStore store = new HotCartStore(true, maximumSize, Duration.ofMinutes(30), directory,
+                cartRepository, userRepository, jdbcTemplate, transactionManager);
+        store.afterSingletonsInstantiated();
+
+        return store;
+    }
+
+    @SuppressWarnings("unchecked")
+    private Cache<Long, HotCart> cartsOf(HotCartStore store) {
+        return (Cache<Long, HotCart>) ReflectionTestUtils.getField(store, "carts");
+    }
+
+    private List<String> segmentFiles() throws Exception {
+        try (var files = Files.list(directory)) {
+            return files.map(Path::getFileName).map(Path::toString).toList();
+        }
+    }
+}
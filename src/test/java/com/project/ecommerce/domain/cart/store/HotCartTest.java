@@ -0,0 +1,154 @@
+package com.project.ecommerce.domain.cart.store;
+
+import com.project.ecommerce.common.exception.CartException;
+import com.project.ecommerce.domain.cart.entity.ProductSnapshot;
+import com.project.ecommerce.domain.product.entity.ProductStatus;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.LongSupplier;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class HotCartTest {
+
+    private final AtomicLong itemIds = new AtomicLong(100);
+    private final LongSupplier nextItemId = itemIds::incrementAndGet;
+    private final ProductSnapshot product = new ProductSnapshot("맥북 프로", BigDecimal.valueOf(1_000), null, ProductStatus.ACTIVE);
+
+    @DisplayName("같은 상품을 여러 번 담으면 한 줄의 수량만 늘고, DB 에는 마지막 상태 한 줄만 반영한다")
+    @Test
+    void 변경_합치기_테스트() throws Exception {
+        // given
+        HotCart cart = new HotCart(1L, 10L);
+
+        // when
+        CartLine first = cart.add(5L, 1, product, nextItemId);
+        cart.add(5L, 2, product, nextItemId);
+        cart.update(first.cartItemId(), 7);
+
+        // then
+        HotCart.Snapshot snapshot = cart.snapshot();
+        assertThat(snapshot.changes().lines()).containsExactly(new CartLine(first.cartItemId(), 5L, 7));
+        assertThat(cart.view().items()).containsExactly(new CartView.Item(first.cartItemId(), 5L, 7, product));
+    }
+
+    @DisplayName("반영하는 동안 다시 바뀐 줄은 반영이 끝나도 계속 반영 대상으로 남는다")
+    @Test
+    void 반영_중_변경_테스트() throws Exception {
+        // given
+        HotCart cart = new HotCart(1L, null);
+        CartLine line = cart.add(5L, 1, product, nextItemId);
+        HotCart.Snapshot snapshot = cart.snapshot();
+
+        // when
+        cart.update(line.cartItemId(), 3);
+        cart.markFlushed(snapshot, 10L);
+
+        // then
+        assertThat(cart.isDirty()).isTrue();
+        assertThat(cart.snapshot().changes().cartId()).isEqualTo(10L);
+        assertThat(cart.snapshot().changes().lines()).containsExactly(new CartLine(line.cartItemId(), 5L, 3));
+
+        // when
+        cart.markFlushed(cart.snapshot(), 10L);
+
+        // then
+        assertThat(cart.isDirty()).isFalse();
+    }
+
+    @DisplayName("삭제한 상품을 반영 전에 다시 담으면 같은 아이템 id 를 다시 쓴다")
+    @Test
+    void 삭제_후_다시_담기_테스트() throws Exception {
+        // given
+        HotCart cart = new HotCart(1L, 10L);
+        CartLine line = cart.add(5L, 1, product, nextItemId);
+        cart.markFlushed(cart.snapshot(), 10L);
+
+        // when
+        cart.remove(line.cartItemId());
+        CartLine readded = cart.add(5L, 2, product, nextItemId);
+
+        // then
+        assertThat(readded.cartItemId()).isEqualTo(line.cartItemId());
+        assertThat(cart.snapshot().changes().lines()).containsExactly(new CartLine(line.cartItemId(), 5L, 2));
+    }
+
+    @DisplayName("삭제한 줄은 수정하거나 다시 삭제할 수 없다")
+    @Test
+    void 삭제된_줄_수정_실패_테스트() throws Exception {
+        // given
+        HotCart cart = new HotCart(1L, 10L);
+        CartLine line = cart.add(5L, 1, product, nextItemId);
+        cart.clear();
+
+        // when & then
+        assertThat(cart.view().items()).isEmpty();
+        assertThat(cart.snapshot().changes().lines()).containsExactly(new CartLine(line.cartItemId(), 5L, CartLine.REMOVED));
+        assertThatThrownBy(() -> cart.update(line.cartItemId(), 3))
+                .isInstanceOf(CartException.class);
+        assertThatThrownBy(() -> cart.remove(line.cartItemId()))
+                .isInstanceOf(CartException.class);
+    }
+
+    @DisplayName("담기, 수정, 삭제, 가격 변경 때마다 아이템 수와 합계가 바뀐 만큼만 갱신된다")
+    @Test
+    void 합계_갱신_테스트() throws Exception {
+        // given
+        HotCart cart = new HotCart(1L, 10L);
+        ProductSnapshot other = new ProductSnapshot("매직 마우스", BigDecimal.valueOf(500), null, ProductStatus.ACTIVE);
+        CartLine line = cart.add(5L, 2, product, nextItemId);
+        cart.add(6L, 1, other, nextItemId);
+
+        // when
+        cart.update(line.cartItemId(), 3);
+        cart.applyProductChange(6L, new ProductSnapshot("매직 마우스", BigDecimal.valueOf(700), null, ProductStatus.ACTIVE));
+
+        // then
+        CartView view = cart.view();
+        assertThat(view.itemCount()).isEqualTo(2);
+        assertThat(view.totalPrice()).isEqualByComparingTo("3700");
+
+        // when
+        cart.remove(line.cartItemId());
+
+        // then
+        assertThat(cart.view().itemCount()).isEqualTo(1);
+        assertThat(cart.view().totalPrice()).isEqualByComparingTo("700");
+    }
+
+    @DisplayName("여러 건을 한 번에 반영할 때 하나라도 실패하면 아무 것도 바뀌지 않는다")
+    @Test
+    void 여러_건_반영_원자성_테스트() throws Exception {
+        // given
+        HotCart cart = new HotCart(1L, 10L);
+        CartLine line = cart.add(5L, 1, product, nextItemId);
+        cart.markFlushed(cart.snapshot(), 10L);
+
+        // when & then
+        assertThatThrownBy(() -> cart.applyAll(List.of(
+                CartMutation.add(6L, 2, product),
+                CartMutation.remove(line.cartItemId()),
+                CartMutation.update(line.cartItemId(), 3)
+        ), nextItemId)).isInstanceOf(CartException.class);
+
+        assertThat(cart.isDirty()).isFalse();
+        assertThat(cart.view().items()).containsExactly(new CartView.Item(line.cartItemId(), 5L, 1, product));
+
+        // when
+        cart.applyAll(List.of(
+                CartMutation.remove(line.cartItemId()),
+                CartMutation.add(5L, 4, product),
+                CartMutation.add(6L, 2, product)
+        ), nextItemId);
+
+        // then
+        assertThat(cart.view().itemCount()).isEqualTo(2);
+        assertThat(cart.view().totalPrice()).isEqualByComparingTo("6000");
+        assertThat(cart.view().items().get(0).cartItemId()).isEqualTo(line.cartItemId());
+    }
+}
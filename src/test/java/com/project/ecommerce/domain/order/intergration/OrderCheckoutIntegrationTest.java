@@ -0,0 +1,121 @@
+package com.project.ecommerce.domain.order.intergration;
+
+import com.project.ecommerce.domain.cart.entity.Cart;
+import com.project.ecommerce.domain.cart.repository.CartRepository;
+import com.project.ecommerce.domain.order.dto.OrderDto;
+import com.project.ecommerce.domain.order.entity.OrderStatus;
+import com.project.ecommerce.domain.order.entity.PaymentMethod;
+import com.project.ecommerce.domain.order.service.OrderService;
+import com.project.ecommerce.domain.product.entity.Product;
+import com.project.ecommerce.domain.product.entity.ProductStatus;
+import com.project.ecommerce.domain.product.entity.StockReservationStatus;
+import com.project.ecommerce.domain.product.repository.ProductRepository;
+import com.project.ecommerce.domain.product.service.StockReservationScheduler;
+import com.project.ecommerce.domain.user.entity.Address;
+import com.project.ecommerce.domain.user.entity.Role;
+import com.project.ecommerce.domain.user.entity.User;
+import com.project.ecommerce.domain.user.repository.AddressRepository;
+import com.project.ecommerce.domain.user.repository.UserRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@Transactional
+@SpringBootTest
+public class OrderCheckoutIntegrationTest {
+
+    private static final int STOCK = 10;
+
+    @Autowired
+    private OrderService orderService;
+
+    @Autowired
+    private StockReservationScheduler stockReservationScheduler;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private AddressRepository addressRepository;
+
+    @Autowired
+    private ProductRepository productRepository;
+
+    @Autowired
+    private CartRepository cartRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    private Long userId;
+    private Long addressId;
+    private Long productId;
+
+    @BeforeEach
+    void setUp() {
+        User user = userRepository.save(User.builder()
+                .email("buyer@example.com")
+                .password("encodedPassword")
+                .name("구매자")
+                .role(Role.CUSTOMER)
+                .build());
+        userId = user.getId();
+
+        addressId = addressRepository.save(Address.builder()
+                .streetAddress("테헤란로 1")
+                .city("서울")
+                .zipCode("06234")
+                .isDefault(true)
+                .recipientName("구매자")
+                .recipientPhone("010-1234-5678")
+                .user(user)
+                .build()).getId();
+
+        Product product = productRepository.save(Product.builder()
+                .name("맥북 프로")
+                .description("애플 맥북 프로 16인치")
+                .price(BigDecimal.valueOf(2_500_000))
+                .stock(STOCK)
+                .sellerId(1L)
+                .status(ProductStatus.ACTIVE)
+                .build());
+        productId = product.getId();
+
+        Cart cart = Cart.builder()
+                .user(user)
+                .build();
+        cart.addItems(product, 3);
+        cartRepository.save(cart);
+    }
+
+    @DisplayName("주문으로 잡은 재고는 예약 유효시간이 지나 만료 처리가 돌아도 되돌아가지 않는다")
+    @Test
+    void 주문_후_예약_만료_처리_테스트() throws Exception {
+        // given
+        OrderDto.OrderResponse order = orderService.placeOrder(userId, "checkout-key", OrderDto.PlaceOrderRequest.builder()
+                .addressId(addressId)
+                .paymentMethod(PaymentMethod.CREDIT_CARD)
+                .build());
+        jdbcTemplate.update("update stock_reservations set expires_at = ? where order_id = ?",
+                LocalDateTime.now().minusMinutes(1), order.getOrderId());
+
+        // when
+        stockReservationScheduler.expireReservations();
+
+        // then
+        assertThat(order.getStatus()).isEqualTo(OrderStatus.PENDING_PAYMENT.name());
+        assertThat(jdbcTemplate.queryForObject("select stock from products where product_id = ?", Integer.class, productId))
+                .isEqualTo(STOCK - 3);
+        assertThat(jdbcTemplate.queryForList("select status from stock_reservations where order_id = ?", String.class, order.getOrderId()))
+                .containsExactly(StockReservationStatus.CONFIRMED.name());
+    }
+}
@@ -0,0 +1,102 @@
+package com.project.ecommerce.domain.order.number;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfEnvironmentVariable;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * 주문번호 생성기의 초당 생성 수를 재는 측정용 테스트
+ * 평소 빌드에서는 돌지 않는다. ORDER_NUMBER_BENCHMARK=true ./gradlew test --tests '*OrderNumberGeneratorBenchmark'
+ * 스레드 하나와 여러 스레드가 동시에 만드는 경우를 재고, 만든 번호를 모두 모아 겹치지 않는지도 확인한다.
+ */
+@EnabledIfEnvironmentVariable(named = "ORDER_NUMBER_BENCHMARK", matches = "true")
+class OrderNumberGeneratorBenchmark {
+
+    private static final int ID_COUNT = 8_000_000;
+    private static final int THREAD_COUNT = 4;
+
+    // 초당 수백만 건을 만든다는 주장의 하한 (순번이 ms 당 4,096개라 시계대로라면 초당 약 409만 건이 한도지만, 넘치면 다음 ms 를 당겨 쓴다)
+    private static final long MIN_IDS_PER_SECOND = 2_000_000;
+
+    @DisplayName("스레드 1개와 4개로 주문번호 800만 건씩 만들어 초당 생성 수를 재고, 번호가 겹치지 않는지 확인한다")
+    @Test
+    void 주문번호_생성_속도_측정() throws Exception {
+        // given
+        OrderNumberGenerator warmUp = new OrderNumberGenerator(1);
+        for (int i = 0; i < 2_000_000; i++) {
+            warmUp.nextId();
+        }
+
+        // when
+        OrderNumberGenerator singleGenerator = new OrderNumberGenerator(1);
+        long[] singleIds = new long[ID_COUNT];
+        long singleStarted = System.nanoTime();
+        for (int i = 0; i < ID_COUNT; i++) {
+            singleIds[i] = singleGenerator.nextId();
+        }
+        long singlePerSecond = perSecond(ID_COUNT, System.nanoTime() - singleStarted);
+
+        OrderNumberGenerator sharedGenerator = new OrderNumberGenerator(2);
+        long[][] threadIds = new long[THREAD_COUNT][ID_COUNT / THREAD_COUNT];
+        ExecutorService executor = Executors.newFixedThreadPool(THREAD_COUNT);
+        CountDownLatch ready = new CountDownLatch(THREAD_COUNT);
+        CountDownLatch start = new CountDownLatch(1);
+        List<Future<Boolean>> results = new ArrayList<>();
+        for (long[] ids : threadIds) {
+            results.add(executor.submit(() -> {
+                ready.countDown();
+                start.await();
+                for (int j = 0; j < ids.length; j++) {
+                    ids[j] = sharedGenerator.nextId();
+                    // 스레드 안에서는 번호가 계속 커져야 한다
+                    if (j > 0 && ids[j] <= ids[j - 1]) {
+                        return false;
+                    }
+                }
+                return true;
+            }));
+        }
+        ready.await();
+        long sharedStarted = System.nanoTime();
+        start.countDown();
+        for (Future<Boolean> result : results) {
+            assertThat(result.get()).isTrue();
+        }
+        long sharedPerSecond = perSecond(ID_COUNT, System.nanoTime() - sharedStarted);
+        executor.shutdown();
+
+        // then
+        System.out.printf("주문번호 %d건: 스레드 1개 초당 %,d건, 스레드 %d개 초당 %,d건%n",
+                ID_COUNT, singlePerSecond, THREAD_COUNT, sharedPerSecond);
+
+        long[] sharedIds = Arrays.stream(threadIds).flatMapToLong(Arrays::stream).sorted().toArray();
+        assertThat(strictlyIncreasing(singleIds)).isTrue();
+        assertThat(strictlyIncreasing(sharedIds)).isTrue();
+        assertThat(singlePerSecond).isGreaterThan(MIN_IDS_PER_SECOND);
+        assertThat(sharedPerSecond).isGreaterThan(MIN_IDS_PER_SECOND);
+    }
+
+    // 정렬된 배열이면 겹치는 번호가 없다는 뜻이기도 하다
+    private boolean strictlyIncreasing(long[] ids) {
+        for (int i = 1; i < ids.length; i++) {
+            if (ids[i] <= ids[i - 1]) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private long perSecond(long count, long nanos) {
+        return count * 1_000_000_000L / nanos;
+    }
+}
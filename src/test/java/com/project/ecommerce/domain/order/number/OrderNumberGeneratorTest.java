@@ -0,0 +1,93 @@
+package com.project.ecommerce.domain.order.number;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class OrderNumberGeneratorTest {
+
+    @DisplayName("여러 스레드가 동시에 만들어도 주문번호가 겹치지 않고, 스레드마다 번호가 계속 커진다")
+    @Test
+    void 동시_생성_유일성_테스트() throws Exception {
+        // given
+        OrderNumberGenerator generator = new OrderNumberGenerator(7);
+        int threadCount = 8;
+        int perThread = 50_000;
+        ExecutorService executor = Executors.newFixedThreadPool(threadCount);
+        Set<Long> ids = ConcurrentHashMap.newKeySet();
+        List<Future<Boolean>> results = new ArrayList<>();
+
+        // when
+        for (int i = 0; i < threadCount; i++) {
+            results.add(executor.submit(() -> {
+                long previous = -1;
+                for (int j = 0; j < perThread; j++) {
+                    long id = generator.nextId();
+                    if (id <= previous) {
+                        return false;
+                    }
+                    previous = id;
+                    ids.add(id);
+                }
+                return true;
+            }));
+        }
+
+        // then
+        for (Future<Boolean> result : results) {
+            assertThat(result.get(30, TimeUnit.SECONDS)).isTrue();
+        }
+        executor.shutdown();
+        assertThat(ids).hasSize(threadCount * perThread);
+    }
+
+    @DisplayName("한 ms 에 순번을 다 쓰거나 시계가 뒤로 가도 번호는 계속 커진다")
+    @Test
+    void 시계_역행_순번_초과_테스트() throws Exception {
+        // given
+        AtomicLong now = new AtomicLong(1_800_000_000_000L);
+        OrderNumberGenerator generator = new OrderNumberGenerator(1, now::get);
+
+        // when
+        List<Long> ids = new ArrayList<>();
+        for (int i = 0; i < 5_000; i++) {
+            ids.add(generator.nextId());
+        }
+        now.addAndGet(-10_000);
+        ids.add(generator.nextId());
+
+        // then
+        assertThat(ids).isSorted().doesNotHaveDuplicates();
+    }
+
+    @DisplayName("base32 주문번호는 13자리 고정 길이라 문자열 순서가 생성 순서와 같다")
+    @Test
+    void 주문번호_정렬_테스트() throws Exception {
+        // given
+        OrderNumberGenerator generator = new OrderNumberGenerator(1023);
+
+        // when
+        String first = generator.nextOrderNumber();
+        String second = generator.nextOrderNumber();
+
+        // then
+        assertThat(first).hasSize(13).matches("[0-9A-HJKMNP-TV-Z]+");
+        assertThat(first).isLessThan(second);
+        assertThat(OrderNumberGenerator.encode(Long.MAX_VALUE)).isEqualTo("7ZZZZZZZZZZZZ");
+    }
+
+    @DisplayName("노드 id 가 10비트 범위를 벗어나면 생성할 수 없다")
+    @Test
+    void 노드_id_범위_테스트() throws Exception {
+        assertThatThrownBy(() -> new OrderNumberGenerator(1024))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+}
@@ -0,0 +1,226 @@
+package com.project.ecommerce.domain.order.service;
+
+import com.project.ecommerce.common.exception.OrderErrorMessages;
+import com.project.ecommerce.common.exception.OrderException;
+import com.project.ecommerce.domain.cart.entity.Cart;
+import com.project.ecommerce.domain.cart.repository.CartRepository;
+import com.project.ecommerce.domain.cart.store.HotCartStore;
+import com.project.ecommerce.domain.order.dto.OrderDto;
+import com.project.ecommerce.domain.order.entity.Order;
+import com.project.ecommerce.domain.order.entity.PaymentMethod;
+import com.project.ecommerce.domain.order.number.OrderNumberGenerator;
+import com.project.ecommerce.domain.order.repository.OrderRepository;
+import com.project.ecommerce.domain.product.entity.Product;
+import com.project.ecommerce.domain.product.entity.ProductStatus;
+import com.project.ecommerce.domain.product.service.StockReservationService;
+import com.project.ecommerce.domain.user.entity.Address;
+import com.project.ecommerce.domain.user.entity.Role;
+import com.project.ecommerce.domain.user.entity.User;
+import com.project.ecommerce.domain.user.repository.AddressRepository;
+import com.project.ecommerce.domain.user.repository.UserRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.Spy;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.support.TransactionCallback;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.util.Map;
+import java.util.Optional;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class OrderServiceImplTest {
+
+    @Mock
+    private OrderRepository orderRepository;
+
+    @Mock
+    private CartRepository cartRepository;
+
+    @Mock
+    private AddressRepository addressRepository;
+
+    @Mock
+    private UserRepository userRepository;
+
+    @Mock
+    private StockReservationService stockReservationService;
+
+    @Spy
+    private OrderNumberGenerator orderNumberGenerator = new OrderNumberGenerator(1);
+
+    @Mock
+    private TransactionTemplate transactionTemplate;
+
+    @Mock
+    private HotCartStore hotCartStore;
+
+    @InjectMocks
+    private OrderServiceImpl orderService;
+
+    private final long USER_ID = 1L;
+    private final String IDEMPOTENCY_KEY = "order-key-1";
+
+    private User user;
+    private Address address;
+    private Cart cart;
+    private Product macbook;
+    private Product mouse;
+    private OrderDto.PlaceOrderRequest request;
+
+    @BeforeEach
+    void setUp() {
+        user = User.builder()
+                .email("user@example.com")
+                .password("password")
+                .name("사용자")
+                .role(Role.CUSTOMER)
+                .build();
+        ReflectionTestUtils.setField(user, "id", USER_ID);
+
+        address = Address.builder()
+                .streetAddress("테헤란로 1")
+                .city("서울")
+                .zipCode("06234")
+                .isDefault(true)
+                .recipientName("사용자")
+                .recipientPhone("010-0000-0000")
+                .user(user)
+                .build();
+        ReflectionTestUtils.setField(address, "id", 10L);
+
+        macbook = createProduct(1L, "맥북 프로", 2_500_000);
+        mouse = createProduct(2L, "매직 마우스", 100_000);
+
+        cart = Cart.builder()
+                .user(user)
+                .build();
+        ReflectionTestUtils.setField(cart, "id", 100L);
+        cart.addItems(macbook, 1);
+        cart.addItems(mouse, 3);
+        ReflectionTestUtils.setField(cart.getCartItems().get(0), "id", 101L);
+        ReflectionTestUtils.setField(cart.getCartItems().get(1), "id", 102L);
+
+        request = OrderDto.PlaceOrderRequest.builder()
+                .addressId(10L)
+                .deliveryMessage("문 앞에 놓아주세요")
+                .paymentMethod(PaymentMethod.CREDIT_CARD)
+                .build();
+
+        lenient().when(transactionTemplate.execute(any()))
+                .thenAnswer(invocation -> invocation.<TransactionCallback<?>>getArgument(0).doInTransaction(null));
+    }
+
+    @DisplayName("장바구니를 주문으로 바꾸면 주문 시점 가격이 기록되고, 재고를 한 번에 잡고, 장바구니를 비운다")
+    @Test
+    void 주문_성공_테스트() throws Exception {
+        // given
+        when(orderRepository.findByUserIdAndIdempotencyKey(USER_ID, IDEMPOTENCY_KEY)).thenReturn(Optional.empty());
+        when(cartRepository.findWithItemsAndProductsByUserId(USER_ID)).thenReturn(Optional.of(cart));
+        when(addressRepository.findByIdAndUserId(10L, USER_ID)).thenReturn(Optional.of(address));
+        when(userRepository.getReferenceById(USER_ID)).thenReturn(user);
+        when(orderRepository.saveAndFlush(any(Order.class))).thenAnswer(invocation -> {
+            Order order = invocation.getArgument(0);
+            ReflectionTestUtils.setField(order, "id", 1000L);
+            return order;
+        });
+
+        // when
+        OrderDto.OrderResponse response = orderService.placeOrder(USER_ID, IDEMPOTENCY_KEY, request);
+
+        // then
+        assertThat(response.getOrderId()).isEqualTo(1000L);
+        assertThat(response.getOrderNumber()).hasSize(13);
+        assertThat(response.getTotalAmount()).isEqualByComparingTo(BigDecimal.valueOf(2_800_000));
+        assertThat(response.getStatus()).isEqualTo("PENDING_PAYMENT");
+        assertThat(response.getPaymentStatus()).isEqualTo("PENDING");
+        assertThat(response.getItems()).extracting(OrderDto.OrderItemResponse::getTotalPrice)
+                .usingComparatorForType(BigDecimal::compareTo, BigDecimal.class)
+                .containsExactly(BigDecimal.valueOf(2_500_000), BigDecimal.valueOf(300_000));
+
+        verify(cartRepository).clearItems(100L);
+        verify(stockReservationService).reserveAll(1000L, Map.of(1L, 1, 2L, 3));
+        verify(hotCartStore).flush(USER_ID);
+        verify(hotCartStore).discard(USER_ID, Map.of(101L, 1L, 102L, 2L));
+    }
+
+    @DisplayName("같은 멱등키로 다시 주문하면 새로 만들지 않고 처음 주문을 돌려준다")
+    @Test
+    void 멱등키_재시도_테스트() throws Exception {
+        // given
+        Order existingOrder = Order.builder()
+                .orderNumber("ORDER-1")
+                .idempotencyKey(IDEMPOTENCY_KEY)
+                .user(user)
+                .deliveryAddress(address)
+                .build();
+        ReflectionTestUtils.setField(existingOrder, "id", 1000L);
+
+        when(orderRepository.findByUserIdAndIdempotencyKey(USER_ID, IDEMPOTENCY_KEY)).thenReturn(Optional.of(existingOrder));
+
+        // when
+        OrderDto.OrderResponse response = orderService.placeOrder(USER_ID, IDEMPOTENCY_KEY, request);
+
+        // then
+        assertThat(response.getOrderId()).isEqualTo(1000L);
+        verify(cartRepository, never()).findWithItemsAndProductsByUserId(anyLong());
+        verify(stockReservationService, never()).reserveAll(anyLong(), any());
+    }
+
+    @DisplayName("장바구니가 비어있으면 주문할 수 없다")
+    @Test
+    void 빈_장바구니_주문_테스트() throws Exception {
+        // given
+        when(cartRepository.findWithItemsAndProductsByUserId(USER_ID)).thenReturn(Optional.empty());
+
+        // when & then
+        assertThatThrownBy(() -> orderService.placeOrder(USER_ID, null, request))
+                .isInstanceOf(OrderException.class)
+                .hasMessageContaining(OrderErrorMessages.EMPTY_CART);
+    }
+
+    @DisplayName("판매중이 아닌 상품이 있으면 주문할 수 없고 재고도 잡지 않는다")
+    @Test
+    void 판매중지_상품_주문_테스트() throws Exception {
+        // given
+        mouse.delete();
+
+        when(cartRepository.findWithItemsAndProductsByUserId(USER_ID)).thenReturn(Optional.of(cart));
+        when(addressRepository.findByIdAndUserId(10L, USER_ID)).thenReturn(Optional.of(address));
+        when(userRepository.getReferenceById(USER_ID)).thenReturn(user);
+
+        // when & then
+        assertThatThrownBy(() -> orderService.placeOrder(USER_ID, null, request))
+                .isInstanceOf(OrderException.class)
+                .hasMessageContaining(OrderErrorMessages.NOT_ORDERABLE_PRODUCT);
+
+        verify(orderRepository, never()).saveAndFlush(any());
+        verify(stockReservationService, never()).reserveAll(anyLong(), any());
+    }
+
+    private Product createProduct(Long id, String name, long price) {
+        Product product = Product.builder()
+                .name(name)
+                .description(name + " 설명")
+                .price(BigDecimal.valueOf(price))
+                .stock(10)
+                .sellerId(2L)
+                .status(ProductStatus.ACTIVE)
+                .build();
+        ReflectionTestUtils.setField(product, "id", id);
+
+        return product;
+    }
+}
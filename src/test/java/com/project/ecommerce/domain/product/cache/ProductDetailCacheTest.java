@@ -0,0 +1,162 @@
+package com.project.ecommerce.domain.product.cache;
+
+import com.project.ecommerce.common.exception.ProductErrorMessages;
+import com.project.ecommerce.common.exception.ProductException;
+import com.project.ecommerce.domain.product.dto.ProductDto;
+import com.project.ecommerce.domain.product.entity.Product;
+import com.project.ecommerce.domain.product.entity.ProductStatus;
+import com.project.ecommerce.domain.product.event.CategoryChangedEvent;
+import com.project.ecommerce.domain.product.event.ProductChangedEvent;
+import com.project.ecommerce.domain.product.repository.ProductRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpStatus;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class ProductDetailCacheTest {
+
+    private ProductRepository productRepository;
+    private ProductDetailCache productDetailCache;
+    private AtomicInteger loadCount;
+
+    @BeforeEach
+    void setUp() {
+        productRepository = mock(ProductRepository.class);
+        productDetailCache = new ProductDetailCache(100, Duration.ofMinutes(10), Duration.ofSeconds(3), productRepository, new SimpleMeterRegistry());
+        loadCount = new AtomicInteger();
+    }
+
+    @DisplayName("상품이 수정되면 해당 상품의 캐시만 지워진다")
+    @Test
+    void 상품_변경시_캐시_무효화_테스트() throws Exception {
+        // given
+        productDetailCache.get(1L, this::load);
+        productDetailCache.get(2L, this::load);
+
+        // when
+        productDetailCache.onProductChanged(new ProductChangedEvent(createProduct(1L), ProductChangedEvent.ChangeType.UPDATED));
+        productDetailCache.get(1L, this::load);
+        productDetailCache.get(2L, this::load);
+
+        // then
+        assertThat(loadCount.get()).isEqualTo(3);
+        assertThat(productDetailCache.stats().hitCount()).isEqualTo(1);
+    }
+
+    @DisplayName("카테고리 이름이 바뀌면 그 카테고리에 속한 상품의 캐시만 지워진다")
+    @Test
+    void 카테고리_변경시_캐시_무효화_테스트() throws Exception {
+        // given
+        productDetailCache.get(1L, this::load);
+        productDetailCache.get(2L, this::load);
+        when(productRepository.findIdsByCategoryId(10L)).thenReturn(List.of(2L));
+
+        // when
+        productDetailCache.onCategoryChanged(new CategoryChangedEvent(10L, CategoryChangedEvent.ChangeType.UPDATED));
+        productDetailCache.get(1L, this::load);
+        productDetailCache.get(2L, this::load);
+
+        // then
+        assertThat(loadCount.get()).isEqualTo(3);
+        assertThat(productDetailCache.stats().hitCount()).isEqualTo(1);
+    }
+
+    @DisplayName("같은 상품을 읽는 중에 들어온 요청은 DB 를 다시 읽지 않고 처음 요청의 결과를 기다린다")
+    @Test
+    void 동시_캐시_미스_합치기_테스트() throws Exception {
+        // given
+        CountDownLatch started = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        ExecutorService executor = Executors.newFixedThreadPool(2);
+
+        Future<ProductDto.ProductResponse> leader = executor.submit(() -> productDetailCache.get(1L, productId -> {
+            started.countDown();
+            try {
+                release.await();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            return load(productId);
+        }));
+        started.await();
+
+        // when
+        Future<ProductDto.ProductResponse> follower = executor.submit(() -> productDetailCache.get(1L, this::load));
+        Thread.sleep(100);
+        release.countDown();
+
+        // then
+        assertThat(follower.get()).isSameAs(leader.get());
+        assertThat(loadCount.get()).isEqualTo(1);
+        executor.shutdown();
+    }
+
+    @DisplayName("여러 상품 조회가 같이 기다린 단건 조회가 없는 상품으로 끝나면, 그 상품만 빠지고 나머지는 돌려준다")
+    @Test
+    void 여러_상품_조회_중_없는_상품_단건_조회_테스트() throws Exception {
+        // given
+        CountDownLatch started = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        ExecutorService executor = Executors.newFixedThreadPool(2);
+
+        Future<ProductDto.ProductResponse> single = executor.submit(() -> productDetailCache.get(2L, productId -> {
+            started.countDown();
+            try {
+                release.await();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            throw new ProductException(ProductErrorMessages.NOT_FOUND_PRODUCT, HttpStatus.NOT_FOUND);
+        }));
+        started.await();
+
+        // when
+        Future<Map<Long, ProductDto.ProductResponse>> bulk = executor.submit(() -> productDetailCache.getAll(List.of(1L, 2L),
+                productIds -> Map.of(1L, load(1L))));
+        Thread.sleep(100);
+        release.countDown();
+
+        // then
+        assertThat(bulk.get()).containsOnlyKeys(1L);
+        assertThatThrownBy(single::get).hasCauseInstanceOf(ProductException.class);
+        assertThat(loadCount.get()).isEqualTo(1);
+        executor.shutdown();
+    }
+
+    private ProductDto.ProductResponse load(Long productId) {
+        loadCount.incrementAndGet();
+        return ProductDto.ProductResponse.builder()
+                .productId(productId)
+                .build();
+    }
+
+    private Product createProduct(Long id) {
+        Product product = Product.builder()
+                .name("맥북 프로")
+                .price(BigDecimal.valueOf(10_000))
+                .stock(10)
+                .sellerId(1L)
+                .status(ProductStatus.ACTIVE)
+                .build();
+        ReflectionTestUtils.setField(product, "id", id);
+
+        return product;
+    }
+}
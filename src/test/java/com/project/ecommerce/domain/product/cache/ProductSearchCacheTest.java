@@ -0,0 +1,95 @@
+package com.project.ecommerce.domain.product.cache;
+
+import com.project.ecommerce.domain.product.repository.ProductRepository;
+import com.project.ecommerce.domain.product.search.ProductSearchIndex;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.util.unit.DataSize;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+
+class ProductSearchCacheTest {
+
+    private ProductSearchIndex productSearchIndex;
+    private ProductSearchCache productSearchCache;
+    private AtomicInteger loadCount;
+
+    @BeforeEach
+    void setUp() {
+        productSearchIndex = new ProductSearchIndex(mock(ProductRepository.class));
+        productSearchIndex.index(1L, "맥북 프로", "애플 노트북");
+        productSearchIndex.index(2L, "갤럭시북", "삼성 노트북");
+        productSearchCache = new ProductSearchCache(DataSize.ofMegabytes(1), Duration.ofMinutes(10), productSearchIndex, new SimpleMeterRegistry());
+        loadCount = new AtomicInteger();
+    }
+
+    @DisplayName("대소문자나 공백만 다른 검색어는 같은 페이지면 캐시된 결과를 쓴다")
+    @Test
+    void 정규화한_검색어_캐시_적중_테스트() throws Exception {
+        // when
+        Page<Long> first = productSearchCache.get("맥북  PRO", PageRequest.of(0, 20), this::load);
+        Page<Long> second = productSearchCache.get(" 맥북 pro", PageRequest.of(0, 20), this::load);
+        productSearchCache.get("맥북 pro", PageRequest.of(1, 20), this::load);
+
+        // then
+        assertThat(second).isSameAs(first);
+        assertThat(loadCount.get()).isEqualTo(2);
+        assertThat(productSearchCache.stats().hitCount()).isEqualTo(1);
+        assertThat(productSearchCache.weightedSize()).isPositive();
+    }
+
+    @DisplayName("상품이 바뀌면 그 상품의 예전/새 토큰에 걸리는 검색어만 버리고 나머지는 그대로 쓴다")
+    @Test
+    void 색인_변경시_관련_검색어만_무효화_테스트() throws Exception {
+        // given
+        productSearchCache.get("맥북", PageRequest.of(0, 20), this::load);
+        productSearchCache.get("아이패드", PageRequest.of(0, 20), this::load);
+        productSearchCache.get("갤럭시", PageRequest.of(0, 20), this::load);
+
+        // when
+        productSearchIndex.index(1L, "아이패드 프로", "애플 태블릿");
+        productSearchCache.get("맥북", PageRequest.of(0, 20), this::load);
+        productSearchCache.get("아이패드", PageRequest.of(0, 20), this::load);
+        productSearchCache.get("갤럭시", PageRequest.of(0, 20), this::load);
+
+        // then
+        assertThat(loadCount.get()).isEqualTo(5);
+        assertThat(productSearchCache.stats().hitCount()).isEqualTo(1);
+    }
+
+    @DisplayName("검색하는 동안 색인이 바뀌면 그 결과는 캐시에 남기지 않고, 다음 요청은 캐시 실패로 다시 검색한다")
+    @Test
+    void 검색_중_색인_변경_테스트() throws Exception {
+        // given
+        Supplier<Page<Long>> changingLoader = () -> {
+            Page<Long> page = load();
+            productSearchIndex.index(3L, "맥북 에어", "애플 노트북");
+            return page;
+        };
+
+        // when
+        productSearchCache.get("맥북", PageRequest.of(0, 20), changingLoader);
+        productSearchCache.get("맥북", PageRequest.of(0, 20), this::load);
+
+        // then
+        assertThat(loadCount.get()).isEqualTo(2);
+        assertThat(productSearchCache.stats().hitCount()).isZero();
+        assertThat(productSearchCache.stats().missCount()).isEqualTo(2);
+    }
+
+    private Page<Long> load() {
+        loadCount.incrementAndGet();
+        return new PageImpl<>(List.of(1L, 2L), PageRequest.of(0, 20), 2);
+    }
+}
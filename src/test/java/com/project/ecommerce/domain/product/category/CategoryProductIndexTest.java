@@ -0,0 +1,95 @@
+package com.project.ecommerce.domain.product.category;
+
+import com.project.ecommerce.domain.product.dto.ProductSortType;
+import com.project.ecommerce.domain.product.entity.ProductStatus;
+import com.project.ecommerce.domain.product.event.CategoryChangedEvent;
+import com.project.ecommerce.domain.product.repository.ProductRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+
+import java.math.BigDecimal;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class CategoryProductIndexTest {
+
+    private CategoryProductIndex categoryProductIndex;
+
+    @BeforeEach
+    void setUp() {
+        ProductRepository productRepository = mock(ProductRepository.class);
+        when(productRepository.findAllCategoryRows()).thenReturn(List.of(
+                new ProductCategoryRow(1L, 1L, BigDecimal.valueOf(3_000), ProductStatus.ACTIVE, 10L),
+                new ProductCategoryRow(2L, 1L, BigDecimal.valueOf(1_000), ProductStatus.ACTIVE, 11L),
+                new ProductCategoryRow(2L, 1L, BigDecimal.valueOf(1_000), ProductStatus.ACTIVE, 10L),
+                new ProductCategoryRow(3L, 1L, BigDecimal.valueOf(2_000), ProductStatus.ACTIVE, 11L),
+                new ProductCategoryRow(4L, 1L, BigDecimal.valueOf(500), ProductStatus.OUT_OR_STOCK, 11L),
+                new ProductCategoryRow(5L, 1L, BigDecimal.valueOf(700), ProductStatus.ACTIVE, null)
+        ));
+
+        categoryProductIndex = new CategoryProductIndex(productRepository);
+        categoryProductIndex.rebuild();
+    }
+
+    @DisplayName("여러 카테고리에 함께 연결된 상품은 한 번만 나오고, 판매중이 아닌 상품은 빠진다")
+    @Test
+    void 하위_카테고리_합치기_테스트() throws Exception {
+        // when
+        Page<Long> result = categoryProductIndex.findActiveProductIds(new long[]{10L, 11L}, ProductSortType.LATEST, PageRequest.of(0, 20));
+
+        // then
+        assertThat(result.getContent()).containsExactly(3L, 2L, 1L);
+        assertThat(result.getTotalElements()).isEqualTo(3);
+    }
+
+    @DisplayName("가격순으로 정렬해서 요청한 페이지만 돌려준다")
+    @Test
+    void 가격_정렬_페이지_테스트() throws Exception {
+        // when
+        Page<Long> firstPage = categoryProductIndex.findActiveProductIds(new long[]{10L, 11L}, ProductSortType.PRICE_ASC, PageRequest.of(0, 2));
+        Page<Long> secondPage = categoryProductIndex.findActiveProductIds(new long[]{10L, 11L}, ProductSortType.PRICE_DESC, PageRequest.of(1, 2));
+
+        // then
+        assertThat(firstPage.getContent()).containsExactly(2L, 3L);
+        assertThat(secondPage.getContent()).containsExactly(2L);
+        assertThat(firstPage.getTotalElements()).isEqualTo(3);
+    }
+
+    @DisplayName("상품이 다시 판매중이 되거나 카테고리가 삭제되면 색인에 반영된다")
+    @Test
+    void 색인_갱신_테스트() throws Exception {
+        // when
+        categoryProductIndex.index(4L, ProductStatus.ACTIVE, BigDecimal.valueOf(500));
+        categoryProductIndex.onCategoryChanged(new CategoryChangedEvent(10L, CategoryChangedEvent.ChangeType.DELETED));
+
+        // then
+        Page<Long> result = categoryProductIndex.findActiveProductIds(new long[]{10L, 11L}, ProductSortType.PRICE_ASC, PageRequest.of(0, 20));
+        assertThat(result.getContent()).containsExactly(4L, 2L, 3L);
+    }
+
+    @DisplayName("이미 조회해서 만들어 둔 정렬 목록도 가격이 바뀌거나 상품이 추가되면 다시 만든다")
+    @Test
+    void 정렬_목록_캐시_갱신_테스트() throws Exception {
+        // given
+        Page<Long> before = categoryProductIndex.findActiveProductIds(new long[]{10L, 11L}, ProductSortType.PRICE_ASC, PageRequest.of(0, 20));
+
+        // when
+        categoryProductIndex.index(1L, ProductStatus.ACTIVE, BigDecimal.valueOf(100));
+        categoryProductIndex.addToCategory(11L, 6L);
+        categoryProductIndex.index(6L, ProductStatus.ACTIVE, BigDecimal.valueOf(1_500));
+
+        // then
+        Page<Long> byPrice = categoryProductIndex.findActiveProductIds(new long[]{10L, 11L}, ProductSortType.PRICE_ASC, PageRequest.of(0, 20));
+        Page<Long> latest = categoryProductIndex.findActiveProductIds(new long[]{10L, 11L}, ProductSortType.LATEST, PageRequest.of(0, 2));
+        assertThat(before.getContent()).containsExactly(2L, 3L, 1L);
+        assertThat(byPrice.getContent()).containsExactly(1L, 2L, 6L, 3L);
+        assertThat(latest.getContent()).containsExactly(6L, 3L);
+        assertThat(latest.getTotalElements()).isEqualTo(4);
+    }
+}
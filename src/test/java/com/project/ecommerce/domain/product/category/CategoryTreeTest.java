@@ -0,0 +1,71 @@
+package com.project.ecommerce.domain.product.category;
+
+import com.project.ecommerce.domain.product.dto.CategoryDto;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class CategoryTreeTest {
+
+    // 1 가전
+    // ├─ 2 컴퓨터
+    // │  ├─ 4 노트북
+    // │  └─ 5 데스크탑
+    // └─ 3 주방가전
+    // 6 의류
+    private final CategoryTree tree = CategoryTree.of(List.of(
+            new CategoryRow(5L, "데스크탑", null, 2L),
+            new CategoryRow(1L, "가전", "가전 제품", null),
+            new CategoryRow(2L, "컴퓨터", null, 1L),
+            new CategoryRow(3L, "주방가전", null, 1L),
+            new CategoryRow(4L, "노트북", null, 2L),
+            new CategoryRow(6L, "의류", null, null)
+    ));
+
+    @DisplayName("카테고리 목록으로 최상위부터 하위 카테고리까지 트리를 만든다")
+    @Test
+    void 트리_생성_테스트() throws Exception {
+        // when
+        List<CategoryDto.CategoryTreeResponse> roots = tree.getRoots();
+
+        // then
+        assertThat(roots).extracting(CategoryDto.CategoryTreeResponse::getCategoryId).containsExactly(1L, 6L);
+        assertThat(roots.get(0).getChildren()).extracting(CategoryDto.CategoryTreeResponse::getCategoryId).containsExactly(2L, 3L);
+        assertThat(roots.get(0).getChildren().get(0).getChildren())
+                .extracting(CategoryDto.CategoryTreeResponse::getDepth).containsExactly(2, 2);
+        assertThat(tree.size()).isEqualTo(6);
+    }
+
+    @DisplayName("상위 카테고리, 상위 경로, 하위 카테고리를 트리에서 바로 구한다")
+    @Test
+    void 상위_하위_조회_테스트() throws Exception {
+        // then
+        assertThat(tree.parentOf(4L)).isEqualTo(2L);
+        assertThat(tree.parentOf(1L)).isNull();
+        assertThat(tree.pathOf(4L)).extracting(CategoryDto.CategoryPathResponse::getName).containsExactly("가전", "컴퓨터", "노트북");
+        assertThat(tree.subtreeIdsOf(1L)).containsExactly(1L, 2L, 4L, 5L, 3L);
+        assertThat(tree.subtreeIdsOf(3L)).containsExactly(3L);
+        assertThat(tree.isInSubtree(1L, 5L)).isTrue();
+        assertThat(tree.isInSubtree(2L, 3L)).isFalse();
+        assertThat(tree.isInSubtree(6L, 6L)).isTrue();
+    }
+
+    @DisplayName("상위 카테고리가 순환하는 카테고리는 트리에서 빠진다")
+    @Test
+    void 순환_카테고리_제외_테스트() throws Exception {
+        // when
+        CategoryTree cyclic = CategoryTree.of(List.of(
+                new CategoryRow(1L, "가전", null, null),
+                new CategoryRow(2L, "A", null, 3L),
+                new CategoryRow(3L, "B", null, 2L)
+        ));
+
+        // then
+        assertThat(cyclic.size()).isEqualTo(1);
+        assertThat(cyclic.contains(2L)).isFalse();
+        assertThat(cyclic.pathOf(2L)).isEmpty();
+    }
+}
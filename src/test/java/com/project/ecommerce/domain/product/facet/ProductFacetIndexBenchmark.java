@@ -0,0 +1,106 @@
+package com.project.ecommerce.domain.product.facet;
+
+import com.project.ecommerce.domain.product.entity.ProductStatus;
+import com.project.ecommerce.domain.product.repository.ProductRepository;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfEnvironmentVariable;
+import org.springframework.data.domain.PageRequest;
+
+import java.math.BigDecimal;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.SplittableRandom;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+
+/**
+ * 상품 100만 건을 만들어서 필터 색인의 메모리와 검색 시간을 재는 측정용 테스트
+ * 오래 걸리므로 평소 빌드에서는 돌지 않는다. FACET_BENCHMARK=true ./gradlew test --tests '*ProductFacetIndexBenchmark'
+ * 판매자는 소수가 상품 대부분을 가진 분포로, 카테고리는 고르게 나눠 만든다.
+ */
+@EnabledIfEnvironmentVariable(named = "FACET_BENCHMARK", matches = "true")
+class ProductFacetIndexBenchmark {
+
+    private static final int PRODUCT_COUNT = 1_000_000;
+    private static final int SELLER_COUNT = 5_000;
+    private static final int CATEGORY_COUNT = 2_000;
+    private static final int QUERY_COUNT = 200;
+
+    // 색인이 상품 하나에 쓰는 메모리 상한 (판매자/카테고리 값마다 BitSet 을 두던 때는 상품 하나에 1,300바이트 넘게 썼다)
+    private static final long MAX_BYTES_PER_PRODUCT = 150;
+
+    private final SplittableRandom random = new SplittableRandom(42);
+
+    @DisplayName("상품 100만 건, 판매자 5천 명, 카테고리 2천 개에서 색인 메모리와 필터/개수 검색 시간을 잰다")
+    @Test
+    void 상품_100만건_필터_색인_측정() throws Exception {
+        // given
+        long[] sellers = new long[PRODUCT_COUNT];
+        long heapBefore = usedHeap();
+
+        ProductFacetIndex index = new ProductFacetIndex(mock(ProductRepository.class));
+        long buildStarted = System.nanoTime();
+        for (int i = 0; i < PRODUCT_COUNT; i++) {
+            sellers[i] = skewedSeller();
+            index.index((long) i + 1, sellers[i], status(), BigDecimal.valueOf(random.nextLong(1_000, 3_000_000)),
+                    List.of((long) random.nextInt(CATEGORY_COUNT) + 1));
+        }
+        long buildMillis = (System.nanoTime() - buildStarted) / 1_000_000;
+        long bytesPerProduct = (usedHeap() - heapBefore) / PRODUCT_COUNT;
+
+        // when
+        Map<Long, long[]> categoryGroups = Map.of(1L, new long[]{1L, 2L, 3L}, 4L, new long[]{4L});
+        List<FacetFilter> filters = List.of(
+                new FacetFilter(ProductStatus.ACTIVE, null, null, null),
+                new FacetFilter(ProductStatus.ACTIVE, new long[]{1L, 2L, 3L}, null, PriceBand.FROM_100K_TO_500K),
+                new FacetFilter(null, null, 1L, null),
+                new FacetFilter(ProductStatus.ACTIVE, null, 4_000L, PriceBand.OVER_1M)
+        );
+        for (FacetFilter filter : filters) {
+            index.search(filter, categoryGroups, PageRequest.of(0, 20));
+        }
+
+        long searchStarted = System.nanoTime();
+        for (int i = 0; i < QUERY_COUNT; i++) {
+            index.search(filters.get(i % filters.size()), categoryGroups, PageRequest.of(0, 20));
+        }
+        long microsPerSearch = (System.nanoTime() - searchStarted) / 1_000 / QUERY_COUNT;
+
+        FacetResult bySeller = index.search(new FacetFilter(null, null, 1L, null), Map.of(), PageRequest.of(0, 20));
+
+        // then
+        System.out.printf("상품 %d건 색인: %dms, 상품당 %d바이트, 검색 평균 %dus%n",
+                PRODUCT_COUNT, buildMillis, bytesPerProduct, microsPerSearch);
+
+        long expected = Arrays.stream(sellers).filter(seller -> seller == 1L).count();
+        assertThat(bySeller.productIds().getTotalElements()).isEqualTo(expected);
+        assertThat(bySeller.sellerCounts()).hasSize(10).containsEntry(1L, (int) expected);
+        assertThat(bytesPerProduct).isLessThan(MAX_BYTES_PER_PRODUCT);
+    }
+
+    /**
+     * 판매자 번호가 작을수록 상품이 많다. (상위 판매자 몇 명이 상품 대부분을 가진다)
+     */
+    private long skewedSeller() {
+        double u = random.nextDouble();
+        return (long) (Math.pow(u, 3) * SELLER_COUNT) + 1;
+    }
+
+    private ProductStatus status() {
+        int roll = random.nextInt(10);
+        return roll < 8 ? ProductStatus.ACTIVE : roll == 8 ? ProductStatus.OUT_OR_STOCK : ProductStatus.INACTIVE;
+    }
+
+    private long usedHeap() throws InterruptedException {
+        Runtime runtime = Runtime.getRuntime();
+        for (int i = 0; i < 3; i++) {
+            System.gc();
+            Thread.sleep(100);
+        }
+
+        return runtime.totalMemory() - runtime.freeMemory();
+    }
+}
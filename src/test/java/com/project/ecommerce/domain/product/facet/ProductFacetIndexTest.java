@@ -0,0 +1,82 @@
+package com.project.ecommerce.domain.product.facet;
+
+import com.project.ecommerce.domain.product.category.ProductCategoryRow;
+import com.project.ecommerce.domain.product.entity.ProductStatus;
+import com.project.ecommerce.domain.product.repository.ProductRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.domain.PageRequest;
+
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class ProductFacetIndexTest {
+
+    private ProductFacetIndex productFacetIndex;
+
+    @BeforeEach
+    void setUp() {
+        ProductRepository productRepository = mock(ProductRepository.class);
+        when(productRepository.findAllCategoryRows()).thenReturn(List.of(
+                new ProductCategoryRow(1L, 100L, BigDecimal.valueOf(5_000), ProductStatus.ACTIVE, 10L),
+                new ProductCategoryRow(2L, 100L, BigDecimal.valueOf(20_000), ProductStatus.ACTIVE, 11L),
+                new ProductCategoryRow(3L, 200L, BigDecimal.valueOf(30_000), ProductStatus.ACTIVE, 11L),
+                new ProductCategoryRow(4L, 200L, BigDecimal.valueOf(40_000), ProductStatus.INACTIVE, 11L),
+                new ProductCategoryRow(5L, 200L, BigDecimal.valueOf(2_000_000), ProductStatus.ACTIVE, 20L)
+        ));
+
+        productFacetIndex = new ProductFacetIndex(productRepository);
+        productFacetIndex.rebuild();
+    }
+
+    @DisplayName("여러 조건을 모두 만족하는 상품만 최신순으로 돌려준다")
+    @Test
+    void 조건_교집합_테스트() throws Exception {
+        // when
+        FacetResult result = productFacetIndex.search(
+                new FacetFilter(ProductStatus.ACTIVE, new long[]{10L, 11L}, null, PriceBand.FROM_10K_TO_50K),
+                Map.of(), PageRequest.of(0, 20));
+
+        // then
+        assertThat(result.productIds().getContent()).containsExactly(3L, 2L);
+        assertThat(result.productIds().getTotalElements()).isEqualTo(2);
+    }
+
+    @DisplayName("항목별 개수는 그 항목 조건만 빼고 나머지 조건으로 센다")
+    @Test
+    void 항목별_개수_테스트() throws Exception {
+        // when
+        FacetResult result = productFacetIndex.search(
+                new FacetFilter(ProductStatus.ACTIVE, null, 200L, null),
+                Map.of(1L, new long[]{10L, 11L}, 2L, new long[]{20L}), PageRequest.of(0, 20));
+
+        // then
+        assertThat(result.productIds().getContent()).containsExactly(5L, 3L);
+        assertThat(result.statusCounts()).containsEntry(ProductStatus.ACTIVE, 2).containsEntry(ProductStatus.INACTIVE, 1);
+        assertThat(result.priceBandCounts()).containsEntry(PriceBand.FROM_10K_TO_50K, 1).containsEntry(PriceBand.OVER_1M, 1);
+        assertThat(result.categoryCounts()).containsEntry(1L, 1).containsEntry(2L, 1);
+        assertThat(result.sellerCounts()).containsExactly(Map.entry(100L, 2), Map.entry(200L, 2));
+    }
+
+    @DisplayName("상품 상태나 가격이 바뀌면 비트가 옮겨지고, 새 상품은 가장 최신으로 나온다")
+    @Test
+    void 색인_갱신_테스트() throws Exception {
+        // when
+        productFacetIndex.index(2L, 100L, ProductStatus.OUT_OR_STOCK, BigDecimal.valueOf(20_000), List.of());
+        productFacetIndex.index(6L, 300L, ProductStatus.ACTIVE, BigDecimal.valueOf(1_000), List.of(10L));
+
+        // then
+        FacetResult result = productFacetIndex.search(
+                new FacetFilter(ProductStatus.ACTIVE, new long[]{10L, 11L}, null, null),
+                Map.of(), PageRequest.of(0, 2));
+        assertThat(result.productIds().getContent()).containsExactly(6L, 3L);
+        assertThat(result.productIds().getTotalElements()).isEqualTo(3);
+        assertThat(productFacetIndex.size()).isEqualTo(6);
+    }
+}
@@ -0,0 +1,244 @@
+package com.project.ecommerce.domain.product.intergration;
+
+import com.project.ecommerce.common.exception.ProductErrorMessages;
+import com.project.ecommerce.common.exception.ProductException;
+import com.project.ecommerce.domain.product.entity.Product;
+import com.project.ecommerce.domain.product.entity.ProductStatus;
+import com.project.ecommerce.domain.product.entity.StockReservation;
+import com.project.ecommerce.domain.product.entity.StockReservationStatus;
+import com.project.ecommerce.domain.product.event.ProductChangedEvent;
+import com.project.ecommerce.domain.product.repository.ProductRepository;
+import com.project.ecommerce.domain.product.repository.StockJournalCheckpointRepository;
+import com.project.ecommerce.domain.product.repository.StockReservationRepository;
+import com.project.ecommerce.domain.product.service.StockReservationService;
+import com.project.ecommerce.domain.product.service.StockReservationServiceImpl;
+import com.project.ecommerce.domain.product.stock.HotStockStore;
+import jakarta.persistence.EntityManager;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.math.BigDecimal;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+@SpringBootTest
+public class StockReservationIntegrationTest {
+
+    private static final int STOCK = 100;
+
+    @Autowired
+    private StockReservationService stockReservationService;
+
+    @Autowired
+    private ProductRepository productRepository;
+
+    @Autowired
+    private StockReservationRepository stockReservationRepository;
+
+    @Autowired
+    private StockJournalCheckpointRepository checkpointRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    @Autowired
+    private ApplicationEventPublisher eventPublisher;
+
+    @TempDir
+    Path journalDir;
+
+    private Long productId;
+
+    @BeforeEach
+    void setUp() {
+        productId = productRepository.save(Product.builder()
+                .name("한정판 운동화")
+                .description("선착순 100족")
+                .price(BigDecimal.valueOf(199_000))
+                .stock(STOCK)
+                .sellerId(1L)
+                .status(ProductStatus.ACTIVE)
+                .build()).getId();
+    }
+
+    @AfterEach
+    void tearDown() {
+        stockReservationRepository.deleteAll();
+        productRepository.deleteAll();
+        checkpointRepository.deleteAll();
+    }
+
+    @DisplayName("재고보다 많은 요청이 동시에 몰려도 재고 수량만큼만 예약되고 품절로 바뀐다")
+    @Test
+    void 동시_재고_예약_테스트() throws Exception {
+        // given
+        int requestCount = 300;
+        ExecutorService executor = Executors.newFixedThreadPool(32);
+        CountDownLatch start = new CountDownLatch(1);
+        CountDownLatch done = new CountDownLatch(requestCount);
+        AtomicInteger succeeded = new AtomicInteger();
+        AtomicInteger rejected = new AtomicInteger();
+
+        // when
+        for (int i = 0; i < requestCount; i++) {
+            executor.submit(() -> {
+                try {
+                    start.await();
+                    stockReservationService.reserve(productId, 1);
+                    succeeded.incrementAndGet();
+                } catch (ProductException e) {
+                    rejected.incrementAndGet();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                } finally {
+                    done.countDown();
+                }
+            });
+        }
+        start.countDown();
+        done.await(60, TimeUnit.SECONDS);
+        executor.shutdown();
+
+        // then
+        Product product = productRepository.findById(productId).orElseThrow();
+        assertThat(succeeded.get()).isEqualTo(STOCK);
+        assertThat(rejected.get()).isEqualTo(requestCount - STOCK);
+        assertThat(product.getStock()).isZero();
+        assertThat(product.getStatus()).isEqualTo(ProductStatus.OUT_OR_STOCK);
+        assertThat(stockReservationRepository.count()).isEqualTo(STOCK);
+    }
+
+    @DisplayName("예약을 취소하면 재고가 돌아오고, 확정된 예약은 취소할 수 없다")
+    @Test
+    void 재고_예약_확정_취소_테스트() throws Exception {
+        // given
+        Long confirmedId = stockReservationService.reserve(productId, 30);
+        Long releasedId = stockReservationService.reserve(productId, 70);
+        assertThat(productRepository.findById(productId).orElseThrow().getStatus()).isEqualTo(ProductStatus.OUT_OR_STOCK);
+
+        // when
+        stockReservationService.confirm(confirmedId);
+        stockReservationService.release(releasedId);
+
+        // then
+        Product product = productRepository.findById(productId).orElseThrow();
+        assertThat(product.getStock()).isEqualTo(70);
+        assertThat(product.getStatus()).isEqualTo(ProductStatus.ACTIVE);
+        assertThatThrownBy(() -> stockReservationService.release(confirmedId))
+                .isInstanceOf(ProductException.class);
+        assertThatThrownBy(() -> stockReservationService.release(releasedId))
+                .isInstanceOf(ProductException.class);
+    }
+
+    @DisplayName("유효시간이 지난 예약은 만료 처리되어 재고가 돌아오고 확정할 수 없다")
+    @Test
+    void 재고_예약_만료_테스트() throws Exception {
+        // given
+        Long reservationId = stockReservationService.reserve(productId, 10);
+        StockReservation reservation = stockReservationRepository.findById(reservationId).orElseThrow();
+        ReflectionTestUtils.setField(reservation, "expiresAt", LocalDateTime.now().minusMinutes(1));
+        stockReservationRepository.save(reservation);
+
+        // when
+        assertThatThrownBy(() -> stockReservationService.confirm(reservationId))
+                .isInstanceOf(ProductException.class);
+        boolean expired = stockReservationService.findExpiredReservationIds(100).contains(reservationId)
+                && stockReservationService.expire(reservationId);
+
+        // then
+        assertThat(expired).isTrue();
+        assertThat(productRepository.findById(productId).orElseThrow().getStock()).isEqualTo(STOCK);
+        assertThat(stockReservationRepository.findById(reservationId).orElseThrow().getStatus())
+                .isEqualTo(StockReservationStatus.EXPIRED);
+        assertThat(stockReservationService.expire(reservationId)).isFalse();
+    }
+
+    @DisplayName("판매중지된 상품은 재고가 남아 있어도 예약되지 않고 재고도 줄지 않는다")
+    @Test
+    void 판매중지_상품_예약_테스트() throws Exception {
+        // given
+        Product product = productRepository.findById(productId).orElseThrow();
+        product.delete();
+        productRepository.save(product);
+
+        // when & then
+        assertThatThrownBy(() -> stockReservationService.reserve(productId, 1))
+                .isInstanceOf(ProductException.class)
+                .hasMessage(ProductErrorMessages.NOT_ORDERABLE_PRODUCT);
+        assertThatThrownBy(() -> stockReservationService.reserveAll(1L, Map.of(productId, 1)))
+                .isInstanceOf(ProductException.class)
+                .hasMessage(ProductErrorMessages.NOT_ORDERABLE_PRODUCT);
+        assertThat(productRepository.findById(productId).orElseThrow().getStock()).isEqualTo(STOCK);
+        assertThat(stockReservationRepository.count()).isZero();
+    }
+
+    @DisplayName("인메모리 재고 카운터 대상 상품도 판매중지되면 카운터에 재고가 남아 있어도 예약되지 않는다")
+    @Test
+    void 판매중지_인메모리_재고_상품_예약_테스트() throws Exception {
+        // given
+        HotStockStore hotStockStore = startHotStockStore();
+        StockReservationService hotReservationService = new StockReservationServiceImpl(productRepository,
+                stockReservationRepository, hotStockStore, jdbcTemplate, entityManager, eventPublisher, Duration.ofMinutes(10));
+        hotReservationService.reserve(productId, 1);
+
+        Product product = productRepository.findById(productId).orElseThrow();
+        product.delete();
+        productRepository.save(product);
+
+        // when
+        hotStockStore.onProductChanged(new ProductChangedEvent(product, ProductChangedEvent.ChangeType.DELETED));
+        hotStockStore.shutdown();
+        HotStockStore restarted = startHotStockStore();
+
+        // then
+        for (HotStockStore store : List.of(hotStockStore, restarted)) {
+            StockReservationService service = new StockReservationServiceImpl(productRepository,
+                    stockReservationRepository, store, jdbcTemplate, entityManager, eventPublisher, Duration.ofMinutes(10));
+            assertThatThrownBy(() -> service.reserve(productId, 1))
+                    .isInstanceOf(ProductException.class)
+                    .hasMessage(ProductErrorMessages.NOT_ORDERABLE_PRODUCT);
+            assertThatThrownBy(() -> service.reserveAll(1L, Map.of(productId, 1)))
+                    .isInstanceOf(ProductException.class)
+                    .hasMessage(ProductErrorMessages.NOT_ORDERABLE_PRODUCT);
+            assertThat(store.getStock(productId)).isEqualTo(STOCK - 1);
+        }
+        restarted.shutdown();
+        assertThat(productRepository.findById(productId).orElseThrow().getStock()).isEqualTo(STOCK - 1);
+        assertThat(stockReservationRepository.count()).isEqualTo(1);
+    }
+
+    // 테스트에서 만든 상품을 대상으로 하는 카운터 (애플리케이션의 카운터 대상은 시작할 때 설정으로 정해진다)
+    private HotStockStore startHotStockStore() {
+        HotStockStore hotStockStore = new HotStockStore(List.of(productId), 4, journalDir, productRepository,
+                checkpointRepository, jdbcTemplate, transactionManager, eventPublisher);
+        hotStockStore.afterSingletonsInstantiated();
+
+        return hotStockStore;
+    }
+}
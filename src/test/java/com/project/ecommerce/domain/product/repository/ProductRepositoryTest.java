@@ -0,0 +1,175 @@
+package com.project.ecommerce.domain.product.repository;
+
+import com.project.ecommerce.domain.product.dto.CategoryDto;
+import com.project.ecommerce.domain.product.dto.ProductDto;
+import com.project.ecommerce.domain.product.entity.Category;
+import com.project.ecommerce.domain.product.entity.Product;
+import com.project.ecommerce.domain.product.entity.ProductCategory;
+import com.project.ecommerce.domain.product.entity.ProductStatus;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@DataJpaTest(properties = "spring.jpa.properties.hibernate.generate_statistics=true")
+class ProductRepositoryTest {
+
+    @Autowired
+    private ProductRepository productRepository;
+
+    @Autowired
+    private TestEntityManager entityManager;
+
+    private Statistics statistics;
+    private Long productId;
+
+    @BeforeEach
+    void setUp() {
+        Category parent = entityManager.persist(Category.builder()
+                .name("전자제품")
+                .build());
+        Category laptop = entityManager.persist(Category.builder()
+                .name("노트북")
+                .parentCategory(parent)
+                .build());
+        Category apple = entityManager.persist(Category.builder()
+                .name("애플")
+                .parentCategory(parent)
+                .build());
+
+        Product product = Product.builder()
+                .name("맥북 프로")
+                .description("애플 맥북 프로 16인치")
+                .price(BigDecimal.valueOf(2_500_000))
+                .stock(10)
+                .sellerId(1L)
+                .imageUrls(List.of("image1.jpg", "image2.png", "image3.png"))
+                .status(ProductStatus.ACTIVE)
+                .build();
+        product.addProductCategory(new ProductCategory(product, laptop));
+        product.addProductCategory(new ProductCategory(product, apple));
+        productId = entityManager.persist(product).getId();
+
+        entityManager.flush();
+        entityManager.clear();
+
+        statistics = entityManager.getEntityManager()
+                .getEntityManagerFactory()
+                .unwrap(SessionFactory.class)
+                .getStatistics();
+        statistics.clear();
+    }
+
+    @DisplayName("상품 상세 응답을 만들 때 카테고리/이미지 수와 상관없이 쿼리는 2번만 나간다")
+    @Test
+    void 상품_상세_조회_쿼리_수_테스트() throws Exception {
+        // when
+        Product product = productRepository.findDetailById(productId).orElseThrow();
+        ProductDto.ProductResponse response = ProductDto.ProductResponse.of(product);
+
+        // then
+        assertThat(response.getImageUrls()).hasSize(3);
+        assertThat(response.getCategories()).hasSize(2);
+        assertThat(response.getCategories())
+                .extracting(CategoryDto.CategoryResponse::getParentCategoryId)
+                .doesNotContainNull();
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(2);
+    }
+
+    @DisplayName("여러 상품 상세를 한 번에 읽어도 상품 수와 상관없이 쿼리는 2번만 나가고, 없는 상품은 빠진다")
+    @Test
+    void 여러_상품_상세_조회_쿼리_수_테스트() throws Exception {
+        // given
+        List<Long> productIds = new ArrayList<>(List.of(productId, -1L));
+        for (int i = 0; i < 5; i++) {
+            productIds.add(entityManager.persist(Product.builder()
+                    .name("상품" + i)
+                    .price(BigDecimal.valueOf(10_000))
+                    .stock(10)
+                    .sellerId(1L)
+                    .imageUrls(List.of("main" + i + ".jpg", "sub" + i + ".jpg"))
+                    .status(ProductStatus.ACTIVE)
+                    .build()).getId());
+        }
+        entityManager.flush();
+        entityManager.clear();
+        statistics.clear();
+
+        // when
+        List<ProductDto.ProductResponse> responses = productRepository.findDetailsByIdIn(productIds).stream()
+                .map(ProductDto.ProductResponse::of)
+                .toList();
+
+        // then
+        assertThat(responses).hasSize(6);
+        assertThat(responses).allSatisfy(response -> assertThat(response.getImageUrls()).isNotEmpty());
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(2);
+    }
+
+    @DisplayName("상품 목록 페이지는 상품 수와 상관없이 목록 조회 + count 쿼리만 나간다")
+    @Test
+    void 상품_목록_조회_쿼리_수_테스트() throws Exception {
+        // given
+        for (int i = 0; i < 10; i++) {
+            entityManager.persist(Product.builder()
+                    .name("상품" + i)
+                    .price(BigDecimal.valueOf(10_000))
+                    .stock(10)
+                    .sellerId(1L)
+                    .imageUrls(List.of("main" + i + ".jpg", "sub" + i + ".jpg"))
+                    .status(ProductStatus.ACTIVE)
+                    .build());
+        }
+        entityManager.flush();
+        entityManager.clear();
+        statistics.clear();
+
+        // when
+        Page<ProductDto.ProductSimpleResponse> page = productRepository.findByStatus(ProductStatus.ACTIVE, PageRequest.of(0, 5))
+                .map(ProductDto.ProductSimpleResponse::of);
+
+        // then
+        assertThat(page.getContent()).hasSize(5);
+        assertThat(page.getContent())
+                .extracting(ProductDto.ProductSimpleResponse::getMainImage)
+                .doesNotContainNull();
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(2);
+    }
+
+    @DisplayName("상품을 여러 개 저장하면 INSERT 가 JDBC 배치로 묶이고 id 는 시퀀스 몇 번으로 할당된다")
+    @Test
+    void 상품_일괄_저장_배치_테스트() throws Exception {
+        // given
+        List<Product> products = new ArrayList<>();
+        for (int i = 0; i < 100; i++) {
+            products.add(Product.builder()
+                    .name("일괄 등록 상품" + i)
+                    .price(BigDecimal.valueOf(10_000))
+                    .stock(10)
+                    .sellerId(1L)
+                    .status(ProductStatus.ACTIVE)
+                    .build());
+        }
+
+        // when
+        productRepository.saveAll(products);
+        entityManager.flush();
+
+        // then
+        // IDENTITY 였다면 INSERT 100번 + 시퀀스 0번, 지금은 시퀀스 2~3번 + 배치 INSERT 2번
+        assertThat(products).extracting(Product::getId).doesNotContainNull().doesNotHaveDuplicates();
+        assertThat(statistics.getPrepareStatementCount()).isLessThanOrEqualTo(6);
+    }
+}
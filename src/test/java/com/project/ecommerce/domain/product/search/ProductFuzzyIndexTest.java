@@ -0,0 +1,60 @@
+package com.project.ecommerce.domain.product.search;
+
+import com.project.ecommerce.domain.product.repository.ProductRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+
+class ProductFuzzyIndexTest {
+
+    private ProductFuzzyIndex productFuzzyIndex;
+
+    @BeforeEach
+    void setUp() {
+        productFuzzyIndex = new ProductFuzzyIndex(mock(ProductRepository.class));
+
+        productFuzzyIndex.index(1L, "맥북 프로 16인치", "애플 노트북");
+        productFuzzyIndex.index(2L, "갤럭시북", "삼성 노트북, 맥북 대체용");
+        productFuzzyIndex.index(3L, "Magic Keyboard", "애플 무선 키보드");
+    }
+
+    @DisplayName("자모 하나가 틀린 한글 검색어로도 상품을 찾고, 상품명에 있는 상품이 먼저 나온다")
+    @Test
+    void 한글_자모_오타_검색_테스트() throws Exception {
+        // when
+        Page<Long> result = productFuzzyIndex.search("맥복", PageRequest.of(0, 20));
+
+        // then
+        assertThat(result.getContent()).containsExactly(1L, 2L);
+        assertThat(result.getTotalElements()).isEqualTo(2);
+    }
+
+    @DisplayName("영문 오타와 여러 단어 검색어도 모든 단어가 가까운 상품만 찾는다")
+    @Test
+    void 영문_여러_단어_오타_검색_테스트() throws Exception {
+        // when
+        Page<Long> result = productFuzzyIndex.search("magik keybaord", PageRequest.of(0, 20));
+        Page<Long> noResult = productFuzzyIndex.search("magik 마우스", PageRequest.of(0, 20));
+
+        // then
+        assertThat(result.getContent()).containsExactly(3L);
+        assertThat(noResult.getContent()).isEmpty();
+    }
+
+    @DisplayName("허용 거리보다 많이 틀린 검색어나 빠진 상품은 찾지 않는다")
+    @Test
+    void 허용_거리_색인_삭제_테스트() throws Exception {
+        // when
+        productFuzzyIndex.remove(2L);
+
+        // then
+        assertThat(productFuzzyIndex.search("갤럭시북", PageRequest.of(0, 20)).getContent()).isEmpty();
+        assertThat(productFuzzyIndex.search("맥붘", PageRequest.of(0, 20)).getContent()).containsExactly(1L);
+        assertThat(productFuzzyIndex.search("먹봅", PageRequest.of(0, 20)).getContent()).isEmpty();
+    }
+}
@@ -0,0 +1,163 @@
+package com.project.ecommerce.domain.product.search;
+
+import com.project.ecommerce.domain.product.entity.Product;
+import com.project.ecommerce.domain.product.entity.ProductStatus;
+import com.project.ecommerce.domain.product.event.ProductChangedEvent;
+import com.project.ecommerce.domain.product.repository.ProductRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionSynchronizationUtils;
+
+import java.math.BigDecimal;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+
+class ProductSearchIndexTest {
+
+    private ProductSearchIndex productSearchIndex;
+
+    @BeforeEach
+    void setUp() {
+        productSearchIndex = new ProductSearchIndex(mock(ProductRepository.class));
+
+        productSearchIndex.index(createProduct(1L, "맥북 프로 16인치", "애플 노트북"));
+        productSearchIndex.index(createProduct(2L, "갤럭시북", "삼성 노트북, 맥북 대체용"));
+        productSearchIndex.index(createProduct(3L, "Magic Mouse", "애플 무선 마우스"));
+    }
+
+    @DisplayName("띄어쓰기 없이 붙은 한글 상품명도 부분 문자열로 검색된다")
+    @Test
+    void 한글_부분_문자열_검색_테스트() throws Exception {
+        // when
+        Page<Long> result = productSearchIndex.search("럭시", PageRequest.of(0, 20));
+
+        // then
+        assertThat(result.getContent()).containsExactly(2L);
+    }
+
+    @DisplayName("상품명에 키워드가 있는 상품이 설명에만 있는 상품보다 먼저 나온다")
+    @Test
+    void 관련도_순_정렬_테스트() throws Exception {
+        // when
+        Page<Long> result = productSearchIndex.search("맥북", PageRequest.of(0, 20));
+
+        // then
+        assertThat(result.getContent()).containsExactly(1L, 2L);
+        assertThat(result.getTotalElements()).isEqualTo(2);
+    }
+
+    @DisplayName("대소문자와 상관없이 모든 단어를 포함하는 상품만 검색된다")
+    @Test
+    void 여러_단어_검색_테스트() throws Exception {
+        // when
+        Page<Long> result = productSearchIndex.search("MAGIC mouse", PageRequest.of(0, 20));
+        Page<Long> noResult = productSearchIndex.search("magic 키보드", PageRequest.of(0, 20));
+
+        // then
+        assertThat(result.getContent()).containsExactly(3L);
+        assertThat(noResult.getContent()).isEmpty();
+    }
+
+    @DisplayName("검색 결과는 요청한 페이지만큼 잘라서 돌려준다")
+    @Test
+    void 검색_페이지네이션_테스트() throws Exception {
+        // when
+        Page<Long> firstPage = productSearchIndex.search("노트북", PageRequest.of(0, 1));
+        Page<Long> secondPage = productSearchIndex.search("노트북", PageRequest.of(1, 1));
+
+        // then
+        assertThat(firstPage.getContent()).containsExactly(2L);
+        assertThat(secondPage.getContent()).containsExactly(1L);
+        assertThat(firstPage.getTotalElements()).isEqualTo(2);
+    }
+
+    @DisplayName("커서 기반 검색은 마지막으로 본 결과 다음부터 이어서 돌려준다")
+    @Test
+    void 커서_기반_검색_테스트() throws Exception {
+        // when
+        List<ProductSearchIndex.SearchHit> firstPage = productSearchIndex.searchAfter("노트북", null, 1);
+        List<ProductSearchIndex.SearchHit> secondPage = productSearchIndex.searchAfter("노트북", firstPage.get(0), 1);
+
+        // then
+        assertThat(firstPage).extracting(ProductSearchIndex.SearchHit::productId).containsExactly(2L);
+        assertThat(secondPage).extracting(ProductSearchIndex.SearchHit::productId).containsExactly(1L);
+        assertThat(productSearchIndex.count("노트북")).isEqualTo(2);
+    }
+
+    @DisplayName("상품이 수정되거나 삭제되면 색인도 함께 갱신된다")
+    @Test
+    void 상품_변경_색인_갱신_테스트() throws Exception {
+        // given
+        Product product = createProduct(1L, "맥북 프로 16인치", "애플 노트북");
+
+        // when
+        product.updateName("아이패드 프로");
+        productSearchIndex.onProductChanged(new ProductChangedEvent(product, ProductChangedEvent.ChangeType.UPDATED));
+
+        // then
+        assertThat(productSearchIndex.search("맥북", PageRequest.of(0, 20)).getContent()).containsExactly(2L);
+        assertThat(productSearchIndex.search("아이패드", PageRequest.of(0, 20)).getContent()).containsExactly(1L);
+
+        // when
+        product.delete();
+        productSearchIndex.onProductChanged(new ProductChangedEvent(product, ProductChangedEvent.ChangeType.DELETED));
+
+        // then
+        assertThat(productSearchIndex.search("아이패드", PageRequest.of(0, 20)).getContent()).isEmpty();
+        assertThat(productSearchIndex.size()).isEqualTo(2);
+    }
+
+    @DisplayName("트랜잭션 안에서 바뀐 상품은 커밋된 뒤에만 색인에 반영되고, 롤백되면 색인은 그대로다")
+    @Test
+    void 커밋_후_색인_갱신_테스트() throws Exception {
+        // given
+        Product product = createProduct(1L, "맥북 프로 16인치", "애플 노트북");
+        product.updateName("아이패드 프로");
+        ProductChangedEvent event = new ProductChangedEvent(product, ProductChangedEvent.ChangeType.UPDATED);
+
+        // when (커밋 전에 flush 가 실패해서 롤백되면 afterCommit 이 불리지 않는다)
+        TransactionSynchronizationManager.initSynchronization();
+        try {
+            productSearchIndex.onProductChanged(event);
+        } finally {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+
+        // then
+        assertThat(productSearchIndex.search("아이패드", PageRequest.of(0, 20)).getContent()).isEmpty();
+        assertThat(productSearchIndex.search("맥북", PageRequest.of(0, 20)).getContent()).containsExactly(1L, 2L);
+
+        // when
+        TransactionSynchronizationManager.initSynchronization();
+        try {
+            productSearchIndex.onProductChanged(event);
+            TransactionSynchronizationUtils.invokeAfterCommit(TransactionSynchronizationManager.getSynchronizations());
+        } finally {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+
+        // then
+        assertThat(productSearchIndex.search("아이패드", PageRequest.of(0, 20)).getContent()).containsExactly(1L);
+    }
+
+    private Product createProduct(Long id, String name, String description) {
+        Product product = Product.builder()
+                .name(name)
+                .description(description)
+                .price(BigDecimal.valueOf(10_000))
+                .stock(10)
+                .sellerId(1L)
+                .status(ProductStatus.ACTIVE)
+                .build();
+        ReflectionTestUtils.setField(product, "id", id);
+
+        return product;
+    }
+}
@@ -0,0 +1,70 @@
+package com.project.ecommerce.domain.product.search;
+
+import com.project.ecommerce.domain.product.repository.ProductRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+
+class ProductSuggestIndexTest {
+
+    private ProductSuggestIndex productSuggestIndex;
+
+    @BeforeEach
+    void setUp() {
+        productSuggestIndex = new ProductSuggestIndex(mock(ProductRepository.class));
+
+        productSuggestIndex.index(1L, "맥북 프로 16인치");
+        productSuggestIndex.index(2L, "맥북 에어");
+        productSuggestIndex.index(3L, "Magic Mouse");
+        productSuggestIndex.updatePopularity(List.of(new ProductSalesRow(1L, 5L), new ProductSalesRow(2L, 30L)));
+    }
+
+    @DisplayName("입력한 앞부분으로 시작하는 상품을 인기순으로 돌려준다")
+    @Test
+    void 인기순_자동완성_테스트() throws Exception {
+        // when
+        List<ProductSuggestIndex.Suggestion> result = productSuggestIndex.suggest("맥", 10);
+
+        // then
+        assertThat(result).extracting(ProductSuggestIndex.Suggestion::productId).containsExactly(2L, 1L);
+        assertThat(result.get(0).name()).isEqualTo("맥북 에어");
+    }
+
+    @DisplayName("가운데 단어로 시작해도, 대소문자나 공백 수가 달라도 찾는다")
+    @Test
+    void 단어_시작_정규화_테스트() throws Exception {
+        // when & then
+        assertThat(productSuggestIndex.suggest("프로", 10)).extracting(ProductSuggestIndex.Suggestion::productId).containsExactly(1L);
+        assertThat(productSuggestIndex.suggest("MAGIC  mo", 10)).extracting(ProductSuggestIndex.Suggestion::productId).containsExactly(3L);
+        assertThat(productSuggestIndex.suggest("ouse", 10)).isEmpty();
+    }
+
+    @DisplayName("이름이 바뀌거나 판매중에서 빠진 상품은 예전 이름으로 나오지 않는다")
+    @Test
+    void 자동완성_갱신_테스트() throws Exception {
+        // when
+        productSuggestIndex.index(2L, "그램 노트북");
+        productSuggestIndex.remove(3L);
+
+        // then
+        assertThat(productSuggestIndex.suggest("맥북", 10)).extracting(ProductSuggestIndex.Suggestion::productId).containsExactly(1L);
+        assertThat(productSuggestIndex.suggest("노트", 10)).extracting(ProductSuggestIndex.Suggestion::productId).containsExactly(2L);
+        assertThat(productSuggestIndex.suggest("m", 10)).isEmpty();
+        assertThat(productSuggestIndex.size()).isEqualTo(2);
+    }
+
+    @DisplayName("요청한 개수만큼만 돌려준다")
+    @Test
+    void 개수_제한_테스트() throws Exception {
+        // when
+        List<ProductSuggestIndex.Suggestion> result = productSuggestIndex.suggest("맥북", 1);
+
+        // then
+        assertThat(result).extracting(ProductSuggestIndex.Suggestion::productId).containsExactly(2L);
+    }
+}
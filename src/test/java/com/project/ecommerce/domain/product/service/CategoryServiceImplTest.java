@@ -4,6 +4,9 @@ import com.project.ecommerce.common.exception.CategoryErrorMessages;
 import com.project.ecommerce.common.exception.CategoryException;
 import com.project.ecommerce.common.exception.UserErrorMessages;
 import com.project.ecommerce.common.exception.UserException;
+import com.project.ecommerce.domain.product.category.CategoryRow;
+import com.project.ecommerce.domain.product.category.CategoryTree;
+import com.project.ecommerce.domain.product.category.CategoryTreeStore;
 import com.project.ecommerce.domain.product.dto.CategoryDto;
 import com.project.ecommerce.domain.product.entity.Category;
 import com.project.ecommerce.domain.product.repository.CategoryRepository;
@@ -17,6 +20,7 @@ import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.data.domain.*;
 import org.springframework.test.util.ReflectionTestUtils;
 
@@ -36,6 +40,12 @@ class CategoryServiceImplTest {
     @Mock
     private UserRepository userRepository;
 
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+
+    @Mock
+    private CategoryTreeStore categoryTreeStore;
+
     @InjectMocks
     private CategoryServiceImpl categoryService;
 
@@ -259,6 +269,30 @@ class CategoryServiceImplTest {
                 .hasMessageContaining(CategoryErrorMessages.CANNOT_ASSIGN_MYSELF);
     }
 
+    @DisplayName("카테고리를 수정시 하위 카테고리를 상위카테고리로 지정시 실패한다.")
+    @Test
+    void 카테고리_수정_판매자용_실패_하위카테고리() {
+        // given
+        CategoryDto.CategoryUpdateRequest request = CategoryDto.CategoryUpdateRequest.builder()
+                .name("수정된 카테고리 이름")
+                .parentCategoryId(3L)
+                .build();
+
+        when(userRepository.findById(seller.getId())).thenReturn(Optional.of(seller));
+        when(categoryRepository.findById(category1.getId())).thenReturn(Optional.of(category1));
+        when(categoryTreeStore.get()).thenReturn(CategoryTree.of(List.of(
+                new CategoryRow(1L, "카테고리1", null, null),
+                new CategoryRow(2L, "카테고리2", null, 1L),
+                new CategoryRow(3L, "카테고리3", null, 2L)
+        )));
+
+        // when & then
+        assertThatThrownBy(() -> categoryService.updateCategory(request, seller.getId(), category1.getId()))
+                .isInstanceOf(CategoryException.class)
+                .hasMessageContaining(CategoryErrorMessages.CANNOT_ASSIGN_SUB_CATEGORY);
+        verify(categoryRepository, never()).findById(3L);
+    }
+
     @DisplayName("판매자가 카테고리 삭제시 성공한다. 단, 하위 카테고리가 없는 경우에")
     @Test
     void 카테고리_삭제_판매자용_성공() {
@@ -1,34 +1,59 @@
 package com.project.ecommerce.domain.product.service;
 
+import com.project.ecommerce.common.exception.CategoryErrorMessages;
+import com.project.ecommerce.common.exception.CategoryException;
 import com.project.ecommerce.common.exception.ProductErrorMessages;
 import com.project.ecommerce.common.exception.ProductException;
 import com.project.ecommerce.common.exception.UserErrorMessages;
 import com.project.ecommerce.common.exception.UserException;
+import com.project.ecommerce.domain.product.cache.ProductDetailCache;
+import com.project.ecommerce.domain.product.cache.ProductSearchCache;
+import com.project.ecommerce.domain.product.category.CategoryProductIndex;
+import com.project.ecommerce.domain.product.category.CategoryRow;
+import com.project.ecommerce.domain.product.category.CategoryTree;
+import com.project.ecommerce.domain.product.category.CategoryTreeStore;
+import com.project.ecommerce.domain.product.dto.ProductCursor;
 import com.project.ecommerce.domain.product.dto.ProductDto;
+import com.project.ecommerce.domain.product.dto.ProductSortType;
 import com.project.ecommerce.domain.product.entity.Category;
 import com.project.ecommerce.domain.product.entity.Product;
 import com.project.ecommerce.domain.product.entity.ProductCategory;
 import com.project.ecommerce.domain.product.entity.ProductStatus;
+import com.project.ecommerce.domain.product.facet.FacetResult;
+import com.project.ecommerce.domain.product.facet.ProductFacetIndex;
 import com.project.ecommerce.domain.product.repository.CategoryRepository;
 import com.project.ecommerce.domain.product.repository.ProductRepository;
+import com.project.ecommerce.domain.product.search.ProductFuzzyIndex;
+import com.project.ecommerce.domain.product.search.ProductSearchIndex;
+import com.project.ecommerce.domain.product.search.ProductSuggestIndex;
+import com.project.ecommerce.domain.product.stock.HotStockStore;
 import com.project.ecommerce.domain.user.entity.Role;
 import com.project.ecommerce.domain.user.entity.User;
 import com.project.ecommerce.domain.user.repository.UserRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
+import org.mockito.Spy;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.data.domain.*;
 import org.springframework.http.HttpStatus;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.util.unit.DataSize;
 
 import java.math.BigDecimal;
+import java.time.Duration;
 import java.util.Arrays;
 import java.util.Collections;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
+import java.util.stream.LongStream;
 
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.assertj.core.api.Assertions.assertThatThrownBy;
@@ -47,6 +72,36 @@ class ProductServiceImplTest {
     @Mock
     private UserRepository userRepository;
 
+    @Mock
+    private ProductSearchIndex productSearchIndex;
+
+    @Mock
+    private ProductFuzzyIndex productFuzzyIndex;
+
+    @Mock
+    private ProductSuggestIndex productSuggestIndex;
+
+    @Mock
+    private HotStockStore hotStockStore;
+
+    @Mock
+    private CategoryTreeStore categoryTreeStore;
+
+    @Mock
+    private CategoryProductIndex categoryProductIndex;
+
+    @Mock
+    private ProductFacetIndex productFacetIndex;
+
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+
+    @Spy
+    private ProductDetailCache productDetailCache = new ProductDetailCache(100, Duration.ofMinutes(10), Duration.ofSeconds(3), null, new SimpleMeterRegistry());
+
+    @Spy
+    private ProductSearchCache productSearchCache = new ProductSearchCache(DataSize.ofMegabytes(1), Duration.ofMinutes(10), mock(ProductSearchIndex.class), new SimpleMeterRegistry());
+
     @InjectMocks
     private ProductServiceImpl productService;
 
@@ -133,6 +188,7 @@ class ProductServiceImplTest {
         assertThat(response.getTotalElements()).isEqualTo(products.size());
         assertThat(response.getContent()).hasSize(1);
         assertThat(response.getContent().get(0).getName()).isEqualTo(product.getName());
+        assertThat(response.getContent().get(0).getMainImage()).isEqualTo("image1.jpg");
 
         verify(productRepository).findByStatus(ProductStatus.ACTIVE, pageable);
     }
@@ -141,7 +197,7 @@ class ProductServiceImplTest {
     @Test
     void 상품_상세_조회_테스트_성공() throws Exception {
         // given
-        when(productRepository.findById(PRODUCT_ID)).thenReturn(Optional.of(product));
+        when(productRepository.findDetailById(PRODUCT_ID)).thenReturn(Optional.of(product));
 
         // when
         ProductDto.ProductResponse response = productService.getProduct(PRODUCT_ID);
@@ -160,7 +216,23 @@ class ProductServiceImplTest {
         assertThat(response.getCategories().get(0).getName()).isEqualTo("전자제품");
         assertThat(response.getCategories().get(1).getName()).isEqualTo("노트북");
 
-        verify(productRepository).findById(1L);
+        verify(productRepository).findDetailById(1L);
+    }
+
+    @DisplayName("같은 상품을 다시 조회하면 DB 를 거치지 않고 캐시에서 돌려준다")
+    @Test
+    void 상품_상세_조회_캐시_테스트() throws Exception {
+        // given
+        when(productRepository.findDetailById(PRODUCT_ID)).thenReturn(Optional.of(product));
+
+        // when
+        ProductDto.ProductResponse first = productService.getProduct(PRODUCT_ID);
+        ProductDto.ProductResponse second = productService.getProduct(PRODUCT_ID);
+
+        // then
+        assertThat(second).isSameAs(first);
+        assertThat(productDetailCache.stats().hitCount()).isEqualTo(1);
+        verify(productRepository, times(1)).findDetailById(PRODUCT_ID);
     }
 
     @DisplayName("없는 상품 아이디로 조회시 에러 발생")
@@ -168,14 +240,55 @@ class ProductServiceImplTest {
     void 상품_상세_조회_테스트_실패() throws Exception {
         // given
         Long nonExistingProductId = 999L;
-        when(productRepository.findById(nonExistingProductId)).thenReturn(Optional.empty());
+        when(productRepository.findDetailById(nonExistingProductId)).thenReturn(Optional.empty());
 
         // when & then
         assertThatThrownBy(() -> productService.getProduct(nonExistingProductId))
                 .isInstanceOf(ProductException.class)
                 .hasMessageContaining(ProductErrorMessages.NOT_FOUND_PRODUCT);
 
-        verify(productRepository).findById(nonExistingProductId);
+        verify(productRepository).findDetailById(nonExistingProductId);
+    }
+
+    @DisplayName("여러 상품 조회는 캐시에 없는 상품만 한 번에 읽고, 요청한 순서대로 돌려주며 없는 상품은 missingIds 로 알려준다")
+    @Test
+    void 여러_상품_상세_조회_테스트() throws Exception {
+        // given
+        Product other = Product.builder()
+                .name("맥북 에어")
+                .price(BigDecimal.valueOf(1_500_000))
+                .stock(10)
+                .sellerId(SELLER_ID)
+                .status(ProductStatus.ACTIVE)
+                .build();
+        setId(other, 2L);
+
+        when(productRepository.findDetailById(PRODUCT_ID)).thenReturn(Optional.of(product));
+        when(productRepository.findDetailsByIdIn(Set.of(2L, 999L))).thenReturn(List.of(other));
+        productService.getProduct(PRODUCT_ID);
+
+        // when
+        ProductDto.ProductBulkResponse response = productService.getProducts(List.of(2L, 999L, PRODUCT_ID, 2L));
+
+        // then
+        assertThat(response.getProducts()).extracting(ProductDto.ProductResponse::getProductId).containsExactly(2L, PRODUCT_ID);
+        assertThat(response.getProducts().get(1).getCategories()).hasSize(2);
+        assertThat(response.getMissingIds()).containsExactly(999L);
+        verify(productRepository, times(1)).findDetailsByIdIn(Set.of(2L, 999L));
+    }
+
+    @DisplayName("여러 상품 조회는 한 번에 100개까지만 가능하다")
+    @Test
+    void 여러_상품_상세_조회_개수_초과_테스트() throws Exception {
+        // given
+        List<Long> productIds = LongStream.rangeClosed(1, 101).boxed().toList();
+
+        // when & then
+        assertThatThrownBy(() -> productService.getProducts(productIds))
+                .isInstanceOf(ProductException.class)
+                .hasMessageContaining(ProductErrorMessages.TOO_MANY_PRODUCT_IDS);
+
+        verify(productRepository, never()).findDetailsByIdIn(any());
     }
 
     @DisplayName("상품명 키워드로 검색 시 해당 키워드를 포함하는 활성화된 상품만 조회된다")
@@ -184,21 +297,191 @@ class ProductServiceImplTest {
         // given
         String keyword = "맥북";
         Pageable pageable = PageRequest.of(0, 20, Sort.by("id").descending());
-        List<Product> products = Collections.singletonList(product);
-        Page<Product> productPage = new PageImpl<>(products, pageable, products.size());
+        Page<Long> productIds = new PageImpl<>(Collections.singletonList(PRODUCT_ID), pageable, 1);
 
-        when(productRepository.findByNameContainingIgnoreCaseAndStatus(keyword, ProductStatus.ACTIVE, pageable)).thenReturn(productPage);
+        when(productSearchIndex.search(keyword, pageable)).thenReturn(productIds);
+        when(productRepository.findAllById(productIds.getContent())).thenReturn(Collections.singletonList(product));
 
         // when
         Page<ProductDto.ProductSimpleResponse> response = productService.searchProduct(keyword, pageable);
 
         // then
         assertThat(response).isNotNull();
-        assertThat(response.getTotalElements()).isEqualTo(products.size());
+        assertThat(response.getTotalElements()).isEqualTo(1);
         assertThat(response.getContent().get(0).getName()).isEqualTo(product.getName());
         assertThat(response.getContent().get(0).getName()).contains(keyword);
 
-        verify(productRepository).findByNameContainingIgnoreCaseAndStatus(keyword, ProductStatus.ACTIVE, pageable);
+        verify(productSearchIndex).search(keyword, pageable);
+        verify(productRepository).findAllById(productIds.getContent());
+    }
+
+    @DisplayName("정확히 맞는 상품이 없으면 오타 검색 결과를 돌려준다")
+    @Test
+    void 상품_검색_오타_대체_테스트() throws Exception {
+        // given
+        String keyword = "맥복";
+        Pageable pageable = PageRequest.of(0, 20, Sort.by("id").descending());
+        Page<Long> productIds = new PageImpl<>(Collections.singletonList(PRODUCT_ID), pageable, 1);
+
+        when(productSearchIndex.search(keyword, pageable)).thenReturn(Page.empty(pageable));
+        when(productFuzzyIndex.search(keyword, pageable)).thenReturn(productIds);
+        when(productRepository.findAllById(productIds.getContent())).thenReturn(Collections.singletonList(product));
+
+        // when
+        Page<ProductDto.ProductSimpleResponse> response = productService.searchProduct(keyword, pageable);
+
+        // then
+        assertThat(response.getTotalElements()).isEqualTo(1);
+        assertThat(response.getContent().get(0).getProductId()).isEqualTo(PRODUCT_ID);
+    }
+
+    @DisplayName("검색 색인에는 있지만 판매중이 아닌 상품은 검색 결과에서 제외된다")
+    @Test
+    void 상품_검색_비활성_상품_제외_테스트() throws Exception {
+        // given
+        String keyword = "맥북";
+        Pageable pageable = PageRequest.of(0, 20, Sort.by("id").descending());
+        Page<Long> productIds = new PageImpl<>(Collections.singletonList(PRODUCT_ID), pageable, 1);
+        product.delete();
+
+        when(productSearchIndex.search(keyword, pageable)).thenReturn(productIds);
+        when(productRepository.findAllById(productIds.getContent())).thenReturn(Collections.singletonList(product));
+
+        // when
+        Page<ProductDto.ProductSimpleResponse> response = productService.searchProduct(keyword, pageable);
+
+        // then
+        assertThat(response.getContent()).isEmpty();
+    }
+
+    @DisplayName("카테고리별 상품 목록은 하위 카테고리까지 포함해서 색인에서 찾은 상품을 돌려준다")
+    @Test
+    void 카테고리별_상품_목록_테스트() throws Exception {
+        // given
+        Pageable pageable = PageRequest.of(0, 20);
+        when(categoryTreeStore.get()).thenReturn(CategoryTree.of(List.of(
+                new CategoryRow(1L, "전자제품", null, null),
+                new CategoryRow(2L, "노트북", null, 1L)
+        )));
+        when(categoryProductIndex.findActiveProductIds(new long[]{1L, 2L}, ProductSortType.LATEST, pageable))
+                .thenReturn(new PageImpl<>(List.of(PRODUCT_ID), pageable, 1));
+        when(productRepository.findAllById(List.of(PRODUCT_ID))).thenReturn(List.of(product));
+
+        // when
+        Page<ProductDto.ProductSimpleResponse> response = productService.getProductListByCategory(1L, ProductSortType.LATEST, 0, 20);
+
+        // then
+        assertThat(response.getTotalElements()).isEqualTo(1);
+        assertThat(response.getContent()).extracting(ProductDto.ProductSimpleResponse::getProductId).containsExactly(PRODUCT_ID);
+    }
+
+    @DisplayName("없는 카테고리의 상품 목록을 요청하면 실패한다")
+    @Test
+    void 없는_카테고리_상품_목록_테스트() throws Exception {
+        // given
+        when(categoryTreeStore.get()).thenReturn(CategoryTree.EMPTY);
+
+        // when & then
+        assertThatThrownBy(() -> productService.getProductListByCategory(99L, ProductSortType.LATEST, 0, 20))
+                .isInstanceOf(CategoryException.class)
+                .hasMessageContaining(CategoryErrorMessages.NOT_FOUND_CATEGORY);
+        verifyNoInteractions(categoryProductIndex);
+    }
+
+    @DisplayName("필터 검색에서 판매중이 아닌 상품은 판매자가 자기 상품을 조회할 때만 볼 수 있다")
+    @Test
+    void 필터_검색_판매중지_상품_권한_테스트() throws Exception {
+        // when & then
+        assertThatThrownBy(() -> productService.searchByFacets(ProductStatus.INACTIVE, null, null, null, 0, 20, null))
+                .isInstanceOf(ProductException.class)
+                .hasMessageContaining(ProductErrorMessages.NO_AUTHORIZATION);
+        assertThatThrownBy(() -> productService.searchByFacets(ProductStatus.INACTIVE, null, 2L, null, 0, 20, SELLER_ID))
+                .isInstanceOf(ProductException.class)
+                .hasMessageContaining(ProductErrorMessages.NO_AUTHORIZATION);
+        verifyNoInteractions(productFacetIndex);
+    }
+
+    @DisplayName("필터 검색의 상태별 개수는 판매자가 자기 상품을 조회할 때만 판매중이 아닌 상품까지 보여준다")
+    @Test
+    void 필터_검색_상태별_개수_테스트() throws Exception {
+        // given
+        when(categoryTreeStore.get()).thenReturn(CategoryTree.EMPTY);
+        when(productFacetIndex.search(any(), any(), any())).thenAnswer(invocation -> new FacetResult(
+                new PageImpl<>(List.of(PRODUCT_ID), invocation.getArgument(2), 1),
+                Map.of(ProductStatus.ACTIVE, 1, ProductStatus.INACTIVE, 3),
+                Map.of(), Map.of(), Map.of()));
+        when(productRepository.findAllById(List.of(PRODUCT_ID))).thenReturn(List.of(product));
+
+        // when
+        ProductDto.ProductFacetResponse shopper = productService.searchByFacets(ProductStatus.ACTIVE, null, null, null, 0, 20, null);
+        ProductDto.ProductFacetResponse owner = productService.searchByFacets(ProductStatus.ACTIVE, null, SELLER_ID, null, 0, 20, SELLER_ID);
+
+        // then
+        assertThat(shopper.getStatusCounts()).containsOnlyKeys("ACTIVE");
+        assertThat(owner.getStatusCounts()).containsEntry("ACTIVE", 1).containsEntry("INACTIVE", 3);
+    }
+
+    @DisplayName("커서 없이 목록을 요청하면 첫 페이지와 다음 페이지 커서를 돌려준다")
+    @Test
+    void 커서_기반_상품_목록_첫_페이지_테스트() throws Exception {
+        // given
+        Product other = Product.builder()
+                .name("맥북 에어")
+                .price(BigDecimal.valueOf(1_500_000))
+                .stock(10)
+                .sellerId(SELLER_ID)
+                .status(ProductStatus.ACTIVE)
+                .build();
+        setId(other, 2L);
+
+        when(productRepository.findAllByStatus(ProductStatus.ACTIVE, PageRequest.of(0, 2, ProductSortType.PRICE_ASC.getSort())))
+                .thenReturn(Arrays.asList(other, product));
+
+        // when
+        ProductDto.ProductCursorResponse response = productService.getProductListByCursor(null, 1, ProductSortType.PRICE_ASC, false);
+
+        // then
+        assertThat(response.getContent()).hasSize(1);
+        assertThat(response.isHasNext()).isTrue();
+        assertThat(response.getTotalCount()).isNull();
+
+        ProductCursor cursor = ProductCursor.decode(response.getNextCursor(), ProductSortType.PRICE_ASC.name());
+        assertThat(cursor.getProductId()).isEqualTo(2L);
+        assertThat(cursor.decimalValue()).isEqualByComparingTo(BigDecimal.valueOf(1_500_000));
+
+        verify(productRepository, never()).countByStatus(any());
+    }
+
+    @DisplayName("커서를 넘기면 offset 없이 마지막으로 본 상품 다음부터 조회한다")
+    @Test
+    void 커서_기반_상품_목록_다음_페이지_테스트() throws Exception {
+        // given
+        String cursor = ProductCursor.of(ProductSortType.PRICE_ASC.name(), BigDecimal.valueOf(1_500_000), 2L).encode();
+
+        when(productRepository.findNextByPriceAsc(ProductStatus.ACTIVE, new BigDecimal("1500000"), 2L, PageRequest.of(0, 21)))
+                .thenReturn(Collections.singletonList(product));
+        when(productRepository.countByStatus(ProductStatus.ACTIVE)).thenReturn(2L);
+
+        // when
+        ProductDto.ProductCursorResponse response = productService.getProductListByCursor(cursor, 20, ProductSortType.PRICE_ASC, true);
+
+        // then
+        assertThat(response.getContent()).hasSize(1);
+        assertThat(response.isHasNext()).isFalse();
+        assertThat(response.getNextCursor()).isNull();
+        assertThat(response.getTotalCount()).isEqualTo(2L);
+    }
+
+    @DisplayName("다른 정렬 기준으로 만든 커서를 넘기면 에러가 발생한다")
+    @Test
+    void 커서_기반_상품_목록_잘못된_커서_테스트() throws Exception {
+        // given
+        String cursor = ProductCursor.of(ProductSortType.LATEST.name(), null, 2L).encode();
+
+        // when & then
+        assertThatThrownBy(() -> productService.getProductListByCursor(cursor, 20, ProductSortType.PRICE_ASC, false))
+                .isInstanceOf(ProductException.class)
+                .hasMessageContaining(ProductErrorMessages.INVALID_CURSOR);
     }
 
     @DisplayName("판매자가 상품을 등록하면 성공적으로 저장된다")
@@ -425,6 +708,27 @@ class ProductServiceImplTest {
         verify(productRepository, never()).save(any(Product.class));
     }
 
+    @DisplayName("인메모리 재고 대상 상품은 엔티티가 아니라 카운터의 재고를 수정한다")
+    @Test
+    void 인메모리_재고_수정_테스트_판매자용() throws Exception {
+        // given
+        ProductDto.StockUpdateRequest request = ProductDto.StockUpdateRequest.builder()
+                .stock(500)
+                .build();
+
+        when(productRepository.findById(PRODUCT_ID)).thenReturn(Optional.of(product));
+        when(hotStockStore.isHot(PRODUCT_ID)).thenReturn(true);
+        when(hotStockStore.getStock(PRODUCT_ID)).thenReturn(3);
+
+        // when
+        ProductDto.ProductResponse response = productService.updateStock(request, PRODUCT_ID, SELLER_ID);
+
+        // then
+        assertThat(response.getStock()).isEqualTo(500);
+        assertThat(product.getStock()).isNotEqualTo(500);
+        verify(hotStockStore).set(PRODUCT_ID, 500);
+    }
+
     @DisplayName("수정하려는 재고 수량이 음수이면 에러가 발생한다")
     @Test
     void 재고_수정_음수_테스트_판매자용() throws Exception {
@@ -475,12 +779,6 @@ class ProductServiceImplTest {
     }
 
     private void setId(Object entity, Long id) {
-        try {
-            java.lang.reflect.Field idField = entity.getClass().getSuperclass().getDeclaredField("id");
-            idField.setAccessible(true);
-            idField.set(entity, id);
-        } catch (Exception e) {
-            e.printStackTrace();
-        }
+        ReflectionTestUtils.setField(entity, "id", id);
     }
 }
\ No newline at end of file
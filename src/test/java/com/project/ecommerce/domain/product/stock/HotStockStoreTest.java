@@ -0,0 +1,146 @@
+package com.project.ecommerce.domain.product.stock;
+
+import com.project.ecommerce.domain.product.entity.Product;
+import com.project.ecommerce.domain.product.entity.ProductStatus;
+import com.project.ecommerce.domain.product.entity.StockJournalCheckpoint;
+import com.project.ecommerce.domain.product.repository.ProductRepository;
+import com.project.ecommerce.domain.product.repository.StockJournalCheckpointRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.junit.jupiter.api.io.TempDir;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Captor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.math.BigDecimal;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Optional;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class HotStockStoreTest {
+
+    private static final long PRODUCT_ID = 1L;
+
+    @TempDir
+    Path directory;
+
+    @Mock
+    private ProductRepository productRepository;
+
+    @Mock
+    private StockJournalCheckpointRepository checkpointRepository;
+
+    @Mock
+    private JdbcTemplate jdbcTemplate;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+
+    @Captor
+    private ArgumentCaptor<List<Object[]>> deltaCaptor;
+
+    // DB 의 체크포인트 행 (재시작해도 남는다)
+    private final StockJournalCheckpoint checkpoint = new StockJournalCheckpoint("hot-stock");
+
+    @BeforeEach
+    void setUp() {
+        Product product = Product.builder()
+                .name("한정판 운동화")
+                .price(BigDecimal.valueOf(199_000))
+                .stock(10)
+                .sellerId(1L)
+                .status(ProductStatus.ACTIVE)
+                .build();
+        ReflectionTestUtils.setField(product, "id", PRODUCT_ID);
+
+        when(productRepository.findAllById(List.of(PRODUCT_ID))).thenReturn(List.of(product));
+        when(checkpointRepository.findById("hot-stock")).thenReturn(Optional.of(checkpoint));
+    }
+
+    @DisplayName("flush 하면 쌓인 변경량을 합쳐서 DB 에 반영하고 반영이 끝난 세그먼트를 지운다")
+    @Test
+    void 변경량_반영_테스트() throws Exception {
+        // given
+        HotStockStore store = start();
+        store.tryDecrease(PRODUCT_ID, 3);
+        store.tryDecrease(PRODUCT_ID, 2);
+        store.increase(PRODUCT_ID, 1);
+
+        // when
+        store.flush();
+
+        // then
+        verify(jdbcTemplate).batchUpdate(anyString(), deltaCaptor.capture());
+        assertThat(deltaCaptor.getValue()).singleElement()
+                .satisfies(args -> assertThat(args).containsExactly(-4L, -4L, -4L, PRODUCT_ID));
+        assertThat(checkpoint.getLastAppliedSegment()).isEqualTo(1L);
+        assertThat(store.getStock(PRODUCT_ID)).isEqualTo(6);
+        try (var files = Files.list(directory)) {
+            assertThat(files.map(Path::getFileName).map(Path::toString)).containsExactly("segment-2.log");
+        }
+    }
+
+    @DisplayName("flush 하기 전에 프로세스가 죽으면 재시작할 때 남은 저널을 DB 에 반영한다")
+    @Test
+    void 재시작_저널_복구_테스트() throws Exception {
+        // given
+        HotStockStore crashed = start();
+        crashed.tryDecrease(PRODUCT_ID, 3);
+
+        // when
+        start();
+
+        // then
+        verify(jdbcTemplate).batchUpdate(anyString(), deltaCaptor.capture());
+        assertThat(deltaCaptor.getValue()).singleElement()
+                .satisfies(args -> assertThat(args).containsExactly(-3L, -3L, -3L, PRODUCT_ID));
+        assertThat(checkpoint.getLastAppliedSegment()).isEqualTo(1L);
+    }
+
+    @DisplayName("반영을 마치고 종료해서 세그먼트 파일이 모두 지워진 뒤 재시작해도 체크포인트 다음 번호부터 써서 변경량을 잃지 않는다")
+    @Test
+    void 반영_후_재시작_테스트() throws Exception {
+        // given
+        HotStockStore before = start();
+        before.tryDecrease(PRODUCT_ID, 2);
+        before.shutdown();
+        try (var files = Files.list(directory)) {
+            assertThat(files).isEmpty();
+        }
+
+        // when
+        HotStockStore restarted = start();
+        restarted.tryDecrease(PRODUCT_ID, 1);
+        restarted.flush();
+
+        // then
+        verify(jdbcTemplate, times(2)).batchUpdate(anyString(), deltaCaptor.capture());
+        assertThat(deltaCaptor.getAllValues().get(1)).singleElement()
+                .satisfies(args -> assertThat(args).containsExactly(-1L, -1L, -1L, PRODUCT_ID));
+        assertThat(checkpoint.getLastAppliedSegment()).isEqualTo(2L);
+    }
+
+    private HotStockStore start() {
+        HotStockStore store = new HotStockStore(List.of(PRODUCT_ID), 4, directory, productRepository,
+                checkpointRepository, jdbcTemplate, transactionManager, eventPublisher);
+        store.afterSingletonsInstantiated();
+
+        return store;
+    }
+}
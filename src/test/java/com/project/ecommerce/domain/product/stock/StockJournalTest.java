@@ -0,0 +1,110 @@
+package com.project.ecommerce.domain.product.stock;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class StockJournalTest {
+
+    @TempDir
+    Path directory;
+
+    @DisplayName("roll 한 세그먼트의 변경량을 상품별로 합쳐서 읽고, 다시 열어도 남아있는 세그먼트를 찾는다")
+    @Test
+    void 세그먼트_읽기_테스트() throws Exception {
+        // given
+        StockJournal journal = new StockJournal(directory);
+        journal.open();
+        journal.append(1L, -1);
+        journal.append(1L, -2);
+        journal.append(2L, 5);
+
+        // when
+        journal.roll();
+        journal.append(1L, -1);
+        StockJournal reopened = new StockJournal(directory);
+        reopened.open();
+
+        // then
+        assertThat(journal.sealedSegments()).containsExactly(1L);
+        assertThat(journal.read(1L)).isEqualTo(Map.of(1L, -3L, 2L, 5L));
+        assertThat(reopened.sealedSegments()).containsExactly(1L, 2L);
+    }
+
+    @DisplayName("여러 스레드가 덧붙이는 중에 roll 해도 모든 줄이 어느 한 세그먼트에 한 번씩만 남는다")
+    @Test
+    void 동시_덧붙이기_테스트() throws Exception {
+        // given
+        StockJournal journal = new StockJournal(directory);
+        journal.open();
+        int threadCount = 8;
+        int appendCount = 2_000;
+        ExecutorService executor = Executors.newFixedThreadPool(threadCount);
+        List<Future<?>> futures = new ArrayList<>();
+
+        // when
+        for (int i = 0; i < threadCount; i++) {
+            futures.add(executor.submit(() -> {
+                for (int j = 0; j < appendCount; j++) {
+                    journal.append(1L, -1);
+                }
+            }));
+        }
+        while (futures.stream().anyMatch(future -> !future.isDone())) {
+            journal.roll();
+            Thread.sleep(1);
+        }
+        for (Future<?> future : futures) {
+            future.get();
+        }
+        executor.shutdown();
+        journal.roll();
+
+        // then
+        long sum = journal.sealedSegments().stream()
+                .mapToLong(sequence -> journal.read(sequence).getOrDefault(1L, 0L))
+                .sum();
+        assertThat(sum).isEqualTo(-(long) threadCount * appendCount);
+    }
+
+    @DisplayName("반영 기록보다 작은 번호의 세그먼트만 남아 있으면 반영 기록 다음 번호부터 쓴다")
+    @Test
+    void 세그먼트_번호_이어쓰기_테스트() throws Exception {
+        // given
+        StockJournal journal = new StockJournal(directory);
+
+        // when
+        journal.open(7L);
+        journal.append(1L, -1);
+        journal.roll();
+
+        // then
+        assertThat(journal.sealedSegments()).containsExactly(8L);
+    }
+
+    @DisplayName("쓰다가 끊긴 마지막 줄은 무시한다")
+    @Test
+    void 끊긴_줄_무시_테스트() throws Exception {
+        // given
+        Files.writeString(directory.resolve("segment-1.log"), "1 -1\n1 -2\n2 ");
+        StockJournal journal = new StockJournal(directory);
+        journal.open();
+
+        // when
+        Map<Long, Long> deltas = journal.read(1L);
+
+        // then
+        assertThat(deltas).isEqualTo(Map.of(1L, -3L));
+    }
+}
@@ -0,0 +1,71 @@
+package com.project.ecommerce.domain.product.stock;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class StripedStockCounterTest {
+
+    @DisplayName("여러 스레드가 동시에 차감해도 재고 수량만큼만 성공하고 음수가 되지 않는다")
+    @Test
+    void 동시_차감_테스트() throws Exception {
+        // given
+        StripedStockCounter counter = new StripedStockCounter(1_000, 8);
+        ExecutorService executor = Executors.newFixedThreadPool(16);
+        CountDownLatch done = new CountDownLatch(16);
+        AtomicInteger succeeded = new AtomicInteger();
+
+        // when
+        for (int i = 0; i < 16; i++) {
+            executor.submit(() -> {
+                for (int j = 0; j < 200; j++) {
+                    if (counter.tryDecrease(1)) {
+                        succeeded.incrementAndGet();
+                    }
+                }
+                done.countDown();
+            });
+        }
+        done.await(10, TimeUnit.SECONDS);
+        executor.shutdown();
+
+        // then
+        assertThat(succeeded.get()).isEqualTo(1_000);
+        assertThat(counter.sum()).isZero();
+    }
+
+    @DisplayName("한 칸의 수량이 부족해도 전체 합이 충분하면 칸을 모아서 차감한다")
+    @Test
+    void 재분배_차감_테스트() throws Exception {
+        // given
+        StripedStockCounter counter = new StripedStockCounter(10, 4);
+
+        // when & then
+        assertThat(counter.tryDecrease(9)).isTrue();
+        assertThat(counter.tryDecrease(2)).isFalse();
+        assertThat(counter.sum()).isEqualTo(1);
+    }
+
+    @DisplayName("재고를 지정한 수량으로 바꾸면 기존 수량과의 차이를 돌려준다")
+    @Test
+    void 재고_설정_테스트() throws Exception {
+        // given
+        StripedStockCounter counter = new StripedStockCounter(10, 4);
+        counter.tryDecrease(3);
+        counter.increase(1);
+
+        // when
+        long delta = counter.set(20);
+
+        // then
+        assertThat(delta).isEqualTo(12);
+        assertThat(counter.sum()).isEqualTo(20);
+    }
+}